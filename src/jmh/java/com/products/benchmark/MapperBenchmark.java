@@ -0,0 +1,108 @@
+package com.products.benchmark;
+
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.priadapter.mapper.ProductsPriMapper;
+import com.products.priadapter.mapper.ProductsPriMapperImpl;
+import com.products.priadapter.model.response.ProductResponseDto;
+import com.products.secadapter.mapper.rowmapper.ProductsRowMapper;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapper;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapperImpl;
+import com.products.secadapter.model.ProductEntity;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coste de cada conversión del camino de una búsqueda: fila JDBC a entidad, entidad a DTO de aplicación, petición a
+ * filtro y DTO a respuesta.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+  private final ProductsRowMapper rowMapper = new ProductsRowMapper();
+
+  private final ProductsSecMapper secMapper = new ProductsSecMapperImpl();
+
+  private final ProductsPriMapper priMapper = new ProductsPriMapperImpl();
+
+  private SimpleResultSet resultSet;
+
+  private ProductEntity entity;
+
+  private ProductDto dto;
+
+  private LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+  @Setup
+  public void setUp() throws SQLException {
+
+    resultSet = new SimpleResultSet();
+    resultSet.setAutoClose(false);
+    resultSet.addColumn("brandId", Types.INTEGER, 10, 0);
+    resultSet.addColumn("startDate", Types.TIMESTAMP, 26, 0);
+    resultSet.addColumn("endDate", Types.TIMESTAMP, 26, 0);
+    resultSet.addColumn("priceList", Types.INTEGER, 10, 0);
+    resultSet.addColumn("productId", Types.INTEGER, 10, 0);
+    resultSet.addColumn("priority", Types.INTEGER, 10, 0);
+    resultSet.addColumn("price", Types.DECIMAL, 10, 2);
+    resultSet.addColumn("currency", Types.VARCHAR, 3, 0);
+    resultSet.addRow(1, Timestamp.valueOf("2020-06-14 00:00:00"), Timestamp.valueOf("2020-12-31 23:59:59"), 1,
+        35455, 0, new BigDecimal("35.50"), "EUR");
+
+    entity = new ProductEntity();
+    entity.setBrandId(1);
+    entity.setStartDate(LocalDateTime.of(2020, 6, 14, 0, 0));
+    entity.setEndDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59));
+    entity.setPriceList(1);
+    entity.setProductId(35455);
+    entity.setPriority(0);
+    entity.setPrice(new BigDecimal("35.50"));
+    entity.setCurrency("EUR");
+
+    dto = secMapper.toProductDto(entity);
+
+  }
+
+  @Benchmark
+  public ProductEntity rowMapperMapRow() throws SQLException {
+    resultSet.beforeFirst();
+    resultSet.next();
+    return rowMapper.mapRow(resultSet, 0);
+  }
+
+  @Benchmark
+  public ProductDto secMapperToProductDto() {
+    return secMapper.toProductDto(entity);
+  }
+
+  @Benchmark
+  public ProductFilterDto priMapperToProductFilterDto() {
+    return priMapper.toProductFilterDto(1, 35455, applicationDate);
+  }
+
+  @Benchmark
+  public ProductResponseDto priMapperToProductResponseDto() {
+    return priMapper.toProductResponseDto(dto);
+  }
+
+}
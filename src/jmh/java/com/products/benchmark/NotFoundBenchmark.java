@@ -0,0 +1,153 @@
+package com.products.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.application.cache.PriceWindowCache;
+import com.products.application.current.CurrentPriceView;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.ports.secondary.ProductsRepository;
+import com.products.application.service.ProductsUseCaseImpl;
+import com.products.priadapter.adapter.ControllerProducts;
+import com.products.priadapter.config.caching.PriceCacheHeaders;
+import com.products.priadapter.mapper.ProductsPriMapperImpl;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapperImpl;
+import com.products.secadapter.repository.KnownPricePairs;
+import com.products.secadapter.repository.ProductsMemoryRepositoryImpl;
+import com.products.secadapter.repository.ProductsRepositoryImpl;
+import com.products.secadapter.repository.dataset.PricesDatasetGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Búsquedas sin tarifa vigente de extremo a extremo, desde {@link ControllerProducts} hasta el repositorio, sin
+ * servlet ni JSON. Con el repositorio en memoria la búsqueda en sí cuesta poco y se ve el coste del camino de
+ * "no encontrado"; con JDBC se ve su peso frente a la consulta y, con {@code jdbc-bloom}, lo que ahorra el filtro de
+ * {@link KnownPricePairs} para los pares sin ninguna tarifa ({@link #unknownPair()}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+  @Param({"memory", "jdbc", "jdbc-bloom"})
+  private String repositoryType;
+
+  @Param({"1000"})
+  private int productsPerBrand;
+
+  private HikariDataSource dataSource;
+
+  private ControllerProducts controller;
+
+  private int brandId;
+
+  private int[] productIds;
+
+  private int[] unknownProductIds;
+
+  private String foundDate;
+
+  private String notFoundDate;
+
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl("jdbc:h2:mem:notfound;DB_CLOSE_DELAY=-1");
+    dataSource.setUsername("sa");
+    new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+    NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+
+    PricesDatasetGenerator dataset = PricesDatasetGenerator.builder()
+        .productsPerBrand(productsPerBrand)
+        .build();
+    dataset.load(jdbcTemplate.getJdbcTemplate());
+
+    LookupMetrics lookupMetrics = new LookupMetrics(new SimpleMeterRegistry());
+    ProductsRepository repository;
+    if ("memory".equals(repositoryType)) {
+      ProductsMemoryRepositoryImpl memoryRepository =
+          new ProductsMemoryRepositoryImpl(jdbcTemplate, new ProductsSecMapperImpl(), lookupMetrics);
+      memoryRepository.reload();
+      repository = memoryRepository;
+    } else {
+      KnownPricePairs knownPricePairs = new KnownPricePairs("jdbc-bloom".equals(repositoryType), 0.01, jdbcTemplate,
+          new SimpleMeterRegistry());
+      knownPricePairs.reload();
+      repository = new ProductsRepositoryImpl(jdbcTemplate, new ProductsSecMapperImpl(), lookupMetrics,
+          knownPricePairs);
+    }
+    // Sin caché: cada búsqueda llega al repositorio, también las que sí encuentran tarifa
+    PriceWindowCache cache = new PriceWindowCache(false, 0, new SimpleMeterRegistry());
+    CurrentPriceView currentPriceView = new CurrentPriceView(repository, false, Duration.ofMillis(10), 64,
+        Duration.ofDays(7), 0, new SimpleMeterRegistry());
+    // Sin cabeceras de caché HTTP: sin caché de periodos cada tarifa encontrada es una instancia nueva
+    controller = new ControllerProducts(new ProductsUseCaseImpl(repository, cache, currentPriceView, lookupMetrics),
+        new ProductsPriMapperImpl(), lookupMetrics, new ObjectMapper(), new PriceCacheHeaders(false, Duration.ZERO, 0));
+
+    brandId = dataset.getFirstBrandId();
+    productIds = new int[LOOKUPS];
+    unknownProductIds = new int[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      productIds[i] = dataset.getFirstProductId() + i % productsPerBrand;
+      unknownProductIds[i] = dataset.getFirstProductId() + productsPerBrand + i;
+    }
+    foundDate = dataset.getFrom().plusDays(1).format(FORMATTER);
+    notFoundDate = dataset.getFrom().minusYears(1).format(FORMATTER);
+
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    dataSource.close();
+  }
+
+  @Benchmark
+  public Object found() {
+    return controller.getProductByFilter(brandId, nextProductId(), foundDate, null);
+  }
+
+  @Benchmark
+  public Object notFound() {
+    return controller.getProductByFilter(brandId, nextProductId(), notFoundDate, null);
+  }
+
+  @Benchmark
+  public Object unknownPair() {
+    next = (next + 1) & (LOOKUPS - 1);
+    return controller.getProductByFilter(brandId, unknownProductIds[next], foundDate, null);
+  }
+
+  private int nextProductId() {
+    next = (next + 1) & (LOOKUPS - 1);
+    return productIds[next];
+  }
+
+}
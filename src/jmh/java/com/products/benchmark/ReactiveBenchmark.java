@@ -0,0 +1,147 @@
+package com.products.benchmark;
+
+import com.products.products_api.ProductsApiApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.h2.api.DatabaseEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Prueba de carga HTTP de la búsqueda bloqueante ({@code /products}) frente a la reactiva
+ * ({@code /reactive/products}) con muchos clientes ({@value #CLIENTS}) y pocos hilos de Tomcat
+ * ({@code tomcatThreads}).
+ *
+ * <p>Cada búsqueda llega a H2 y {@code dbLatencyMillis} simula la ida y vuelta a una BD remota dentro del propio
+ * H2 ({@link SlowStatements}), así que la espera es la misma con JDBC que con R2DBC. r2dbc-h2 no es un driver no
+ * bloqueante: ejecuta cada consulta de forma síncrona en el hilo que se suscribe, así que con H2 la variante reactiva
+ * también tiene un hilo ocupado durante la consulta. Lo que mide es el coste de la cadena Mono/Flux y de las
+ * peticiones asíncronas de Spring MVC frente a la bloqueante, no lo que ganaría con un driver que soltara el hilo.
+ *
+ * <p>{@link Mode#Throughput} da peticiones por milisegundo y {@link Mode#SampleTime} la distribución de latencias.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(ReactiveBenchmark.CLIENTS)
+@Fork(1)
+public class ReactiveBenchmark {
+
+  static final int CLIENTS = 256;
+
+  private static final String[] APPLICATION_DATES = {
+      "2020-06-14T10:00:00", "2020-06-14T16:00:00", "2020-06-14T21:00:00", "2020-06-15T10:00:00",
+      "2020-06-16T21:00:00"};
+
+  @Param({"servlet", "reactive"})
+  private String api;
+
+  @Param({"0", "5"})
+  private int dbLatencyMillis;
+
+  @Param({"8"})
+  private int tomcatThreads;
+
+  @Param({"64"})
+  private int poolSize;
+
+  private ConfigurableApplicationContext context;
+
+  private HttpClient client;
+
+  private HttpRequest[] requests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+
+    context = SpringApplication.run(ProductsApiApplication.class,
+        "--server.port=0",
+        "--server.tomcat.threads.max=" + tomcatThreads,
+        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+        "--products.reactive.enabled=true",
+        "--products.reactive.r2dbc.pool.max-size=" + poolSize,
+        "--products.cache.enabled=false",
+        "--products.current-price.enabled=false",
+        "--products.repository.coalescing.enabled=false",
+        "--logging.level.root=WARN");
+    SlowStatements.latencyMillis = dbLatencyMillis;
+    if (dbLatencyMillis > 0) {
+      // Se registra en la BD, no en una conexión: afecta también a las que ya tienen abiertas Hikari y el pool R2DBC
+      context.getBean(JdbcTemplate.class)
+          .execute("SET DATABASE_EVENT_LISTENER '" + SlowStatements.class.getName() + "'");
+    }
+
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    String path = "reactive".equals(api) ? "/reactive/products" : "/products";
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    requests = new HttpRequest[APPLICATION_DATES.length];
+    for (int i = 0; i < requests.length; i++) {
+      requests[i] = HttpRequest.newBuilder(URI.create(
+          "http://localhost:" + port + path + "/1/35455?applicationDate=" + APPLICATION_DATES[i])).build();
+    }
+
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+    context.close();
+  }
+
+  @Benchmark
+  public int lookup() throws Exception {
+    HttpRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    if (status != 200) {
+      throw new IllegalStateException("Respuesta " + status + " para " + request.uri());
+    }
+    return status;
+  }
+
+  /**
+   * Hace que H2 duerma {@code latencyMillis} al empezar cada sentencia, en el hilo que la ejecuta, sea cual sea el
+   * driver. H2 lo instancia por su nombre, por eso es público y recibe la latencia en un campo estático.
+   */
+  public static class SlowStatements implements DatabaseEventListener {
+
+    static volatile int latencyMillis;
+
+    @Override
+    public void setProgress(int state, String name, long x, long max) {
+
+      if (state != STATE_STATEMENT_START || latencyMillis <= 0) {
+        return;
+      }
+      try {
+        Thread.sleep(latencyMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+    }
+
+  }
+
+}
@@ -0,0 +1,139 @@
+package com.products.benchmark;
+
+import com.products.application.cache.PriceWindowCache;
+import com.products.application.current.CurrentPriceView;
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.application.service.PricesUseCaseImpl;
+import com.products.application.service.ProductsUseCaseImpl;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapperImpl;
+import com.products.secadapter.repository.PricesRepositoryImpl;
+import com.products.secadapter.repository.ProductsMemoryRepositoryImpl;
+import com.products.secadapter.repository.dataset.PricesDatasetGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Búsquedas con el repositorio en memoria y la caché de periodos mientras otro hilo modifica tarifas con
+ * {@link PricesUseCaseImpl}. {@code reads} es la referencia sin escrituras; en {@code mixed} cada escritura va a la
+ * BD y rehace solo la línea temporal del producto cambiado, así que el throughput de {@code mixed:read} debe quedar
+ * cerca del de {@code reads}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadsUnderWritesBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  private HikariDataSource dataSource;
+
+  private ProductsUseCaseImpl productsUseCase;
+
+  private PricesUseCaseImpl pricesUseCase;
+
+  private List<ProductFilterDto> lookups;
+
+  private List<ProductDto> writableRows;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl("jdbc:h2:mem:readsunderwrites;DB_CLOSE_DELAY=-1");
+    dataSource.setUsername("sa");
+    new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+    NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+
+    PricesDatasetGenerator dataset = PricesDatasetGenerator.builder().productsPerBrand(10_000).build();
+    dataset.load(jdbcTemplate.getJdbcTemplate());
+
+    LookupMetrics lookupMetrics = new LookupMetrics(new SimpleMeterRegistry());
+    ProductsSecMapperImpl productsSecMapper = new ProductsSecMapperImpl();
+    ProductsMemoryRepositoryImpl repository =
+        new ProductsMemoryRepositoryImpl(jdbcTemplate, productsSecMapper, lookupMetrics);
+    repository.reload();
+    PriceWindowCache cache = new PriceWindowCache(true, 100_000, new SimpleMeterRegistry());
+    CurrentPriceView currentPriceView = new CurrentPriceView(repository, false, Duration.ofMillis(10), 64,
+        Duration.ofDays(7), 0, new SimpleMeterRegistry());
+    productsUseCase = new ProductsUseCaseImpl(repository, cache, currentPriceView, lookupMetrics);
+    // Los listeners se llaman en el mismo hilo, como hace Spring con @EventListener
+    pricesUseCase = new PricesUseCaseImpl(new PricesRepositoryImpl(jdbcTemplate), event -> {
+      repository.onPricesChanged((PricesChangedEvent) event);
+      cache.onPricesChanged((PricesChangedEvent) event);
+    });
+
+    lookups = dataset.lookups(LOOKUPS, 42L);
+    writableRows = dataset.toBuilder().productsPerBrand(LOOKUPS).build().generate().stream()
+        .map(productsSecMapper::toProductDto)
+        .toList();
+
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    dataSource.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int next;
+
+    int next(int size) {
+      next = next + 1 == size ? 0 : next + 1;
+      return next;
+    }
+
+  }
+
+  @Benchmark
+  @Group("reads")
+  @GroupThreads(3)
+  public Object readOnly(Cursor cursor) throws Exception {
+    return productsUseCase.getProductByFilter(lookups.get(cursor.next(LOOKUPS)));
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(3)
+  public Object read(Cursor cursor) throws Exception {
+    return productsUseCase.getProductByFilter(lookups.get(cursor.next(LOOKUPS)));
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public boolean write(Cursor cursor) throws Exception {
+    ProductDto row = writableRows.get(cursor.next(writableRows.size()));
+    row.setPrice(row.getPrice().add(BigDecimal.ONE));
+    return pricesUseCase.updatePrice(row);
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.products.benchmark;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapperImpl;
+import com.products.secadapter.repository.KnownPricePairs;
+import com.products.secadapter.repository.ProductsRepositoryImpl;
+import com.products.secadapter.repository.dataset.PricesDatasetGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * {@link ProductsRepositoryImpl} contra una H2 en memoria detrás de Hikari, como en la aplicación, con el esquema
+ * de schema.sql y el dataset sintético de {@link PricesDatasetGenerator}; el volumen y el solapamiento se ajustan
+ * con los {@code @Param}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+  private static final int LOOKUPS = 4096;
+
+  @Param({"1"})
+  private int brands;
+
+  @Param({"10000"})
+  private int productsPerBrand;
+
+  @Param({"8"})
+  private int rowsPerProduct;
+
+  @Param({"3"})
+  private int overlapDepth;
+
+  private HikariDataSource dataSource;
+
+  private ProductsRepositoryImpl repository;
+
+  private ProductFilterDto[] filters;
+
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+    dataSource.setUsername("sa");
+    new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+    NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+
+    PricesDatasetGenerator dataset = PricesDatasetGenerator.builder()
+        .brands(brands)
+        .productsPerBrand(productsPerBrand)
+        .rowsPerProduct(rowsPerProduct)
+        .overlapDepth(overlapDepth)
+        .build();
+    dataset.load(jdbcTemplate.getJdbcTemplate());
+
+    repository = new ProductsRepositoryImpl(jdbcTemplate, new ProductsSecMapperImpl(),
+        new LookupMetrics(new SimpleMeterRegistry()),
+        new KnownPricePairs(false, 0.01, jdbcTemplate, new SimpleMeterRegistry()));
+
+    filters = dataset.lookups(LOOKUPS, 42).toArray(new ProductFilterDto[0]);
+
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    dataSource.close();
+  }
+
+  @Benchmark
+  public Optional<ProductDto> getHighestPriorityProductByFilters() throws DbException.BadExecution {
+    return repository.getHighestPriorityProductByFilters(nextFilter());
+  }
+
+  @Benchmark
+  public Optional<PriceSegmentDto> getEffectivePriceSegmentByFilters() throws DbException.BadExecution {
+    return repository.getEffectivePriceSegmentByFilters(nextFilter());
+  }
+
+  private ProductFilterDto nextFilter() {
+    next = (next + 1) & (LOOKUPS - 1);
+    return filters[next];
+  }
+
+}
@@ -0,0 +1,66 @@
+package com.products.benchmark;
+
+import com.products.application.utils.Utils;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coste del parseo de la fecha de aplicación que llega en cada petición.
+ *
+ * <p>{@code formatterValidateAndMap} reproduce el camino anterior: el validador y el mapper parseaban la misma
+ * cadena con {@link DateTimeFormatter}. {@code parseLocalDateTime} es el parser de ancho fijo que valida y convierte
+ * en una sola pasada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsBenchmark {
+
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+  private String applicationDate = "2020-06-14T10:17:42";
+
+  private String invalidApplicationDate = "14/06/2020 10:17";
+
+  private LocalDateTime dateTime = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+  @Benchmark
+  public LocalDateTime formatterParse() {
+    return LocalDateTime.parse(applicationDate, FORMATTER);
+  }
+
+  @Benchmark
+  public LocalDateTime formatterValidateAndMap() {
+    LocalDateTime.parse(applicationDate, FORMATTER);
+    return LocalDateTime.parse(applicationDate, FORMATTER);
+  }
+
+  @Benchmark
+  public LocalDateTime parseLocalDateTime() {
+    return Utils.parseLocalDateTime(applicationDate);
+  }
+
+  @Benchmark
+  public LocalDateTime parseLocalDateTimeInvalid() {
+    return Utils.parseLocalDateTime(invalidApplicationDate);
+  }
+
+  @Benchmark
+  public String localDateTimeToString() {
+    return Utils.localDateTimeToString(dateTime);
+  }
+
+}
@@ -0,0 +1,170 @@
+package com.products.benchmark;
+
+import com.products.products_api.ProductsApiApplication;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Prueba de carga HTTP de extremo a extremo: arranca la aplicación en un puerto libre y {@value #CLIENTS} clientes
+ * lanzan búsquedas con {@link HttpClient} sin pausa. Compara Tomcat con hilos de plataforma (lo de siempre) y con
+ * hilos virtuales (perfil {@code virtual}).
+ *
+ * <p>Cada búsqueda llega a H2: sin caché de periodos, sin vista de tarifas vigentes y sin coalescing. Como H2 en
+ * memoria no bloquea, {@code dbLatencyMillis} añade una espera al preparar cada consulta, con la conexión tomada,
+ * para simular la ida y vuelta a una BD remota. Con esa latencia los hilos de plataforma se agotan en
+ * {@code tomcatThreads} peticiones en curso; con hilos virtuales el límite pasa a ser {@code poolSize}.
+ *
+ * <p>{@link Mode#Throughput} da peticiones por milisegundo y {@link Mode#SampleTime} la distribución de latencias,
+ * con p0.99 entre sus percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(VirtualThreadsBenchmark.CLIENTS)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+  static final int CLIENTS = 256;
+
+  private static final String[] APPLICATION_DATES = {
+      "2020-06-14T10:00:00", "2020-06-14T16:00:00", "2020-06-14T21:00:00", "2020-06-15T10:00:00",
+      "2020-06-16T21:00:00"};
+
+  @Param({"platform", "virtual"})
+  private String threads;
+
+  @Param({"5"})
+  private int dbLatencyMillis;
+
+  @Param({"32"})
+  private int tomcatThreads;
+
+  @Param({"64"})
+  private int poolSize;
+
+  private ConfigurableApplicationContext context;
+
+  private HttpClient client;
+
+  private HttpRequest[] requests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+
+    List<String> args = new ArrayList<>(List.of(
+        "--server.port=0",
+        "--server.tomcat.threads.max=" + tomcatThreads,
+        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+        // Se mide la cola delante del pool, no cuántas peticiones fallan con el connection-timeout del perfil
+        "--spring.datasource.hikari.connection-timeout=60000",
+        "--products.cache.enabled=false",
+        "--products.current-price.enabled=false",
+        "--products.repository.coalescing.enabled=false",
+        "--logging.level.root=WARN"));
+    if ("virtual".equals(threads)) {
+      args.add("--spring.profiles.active=virtual");
+    }
+    SpringApplication application = new SpringApplication(ProductsApiApplication.class);
+    application.addInitializers(applicationContext ->
+        applicationContext.getBeanFactory().addBeanPostProcessor(new SlowDatabase(dbLatencyMillis)));
+    context = application.run(args.toArray(String[]::new));
+
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    requests = new HttpRequest[APPLICATION_DATES.length];
+    for (int i = 0; i < requests.length; i++) {
+      requests[i] = HttpRequest.newBuilder(URI.create(
+          "http://localhost:" + port + "/products/1/35455?applicationDate=" + APPLICATION_DATES[i])).build();
+    }
+
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+    context.close();
+  }
+
+  @Benchmark
+  public int lookup() throws Exception {
+    HttpRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    if (status != 200) {
+      throw new IllegalStateException("Respuesta " + status + " para " + request.uri());
+    }
+    return status;
+  }
+
+  /**
+   * Envuelve el {@link DataSource} para que preparar cada consulta bloquee el hilo {@code latencyMillis}.
+   */
+  private record SlowDatabase(int latencyMillis) implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+      if (!(bean instanceof DataSource dataSource) || latencyMillis <= 0) {
+        return bean;
+      }
+      return new DelegatingDataSource(dataSource) {
+        @Override
+        public Connection getConnection() throws SQLException {
+          return slow(super.getConnection());
+        }
+      };
+
+    }
+
+    private Connection slow(Connection connection) {
+
+      InvocationHandler handler = (proxy, method, methodArgs) -> {
+        if (method.getName().startsWith("prepare")) {
+          Thread.sleep(latencyMillis);
+        }
+        try {
+          return method.invoke(connection, methodArgs);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+      };
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+          handler);
+
+    }
+
+  }
+
+}
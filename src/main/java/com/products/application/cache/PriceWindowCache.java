@@ -0,0 +1,187 @@
+package com.products.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché de precios resueltos indexada por periodo de validez.
+ *
+ * <p>Cada entrada es un (brandId, productId) con los periodos {@code [validFrom, validTo)} ya resueltos y su tarifa
+ * ganadora. Una búsqueda es un acierto si su fecha cae dentro de cualquiera de esos periodos, aunque nunca se haya
+ * pedido exactamente esa fecha. El tamaño máximo cuenta periodos, no productos, y se desalojan por tamaño.
+ *
+ * <p>Las entradas no caducan: solo las descarta {@link PricesChangedEvent}. Por eso un periodo leído antes de un
+ * cambio no se guarda si el evento llega entre la lectura y {@link #put}, como en la vista de tarifas vigentes.
+ *
+ * <p>Publica en Micrometer {@code products.cache.requests{result=hit|miss}}, {@code products.cache.size} y
+ * {@code products.cache.evictions}.
+ */
+@Component
+public class PriceWindowCache {
+
+  private final boolean enabled;
+
+  private final Cache<Long, PriceSegmentDto[]> cache;
+
+  /**
+   * Se incrementa con cada cambio notificado; un periodo leído antes no se guarda.
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final Counter hits;
+
+  private final Counter misses;
+
+  public PriceWindowCache(
+      @Value("${products.cache.enabled:true}") boolean enabled,
+      @Value("${products.cache.maximum-size:100000}") long maximumSize,
+      MeterRegistry meterRegistry) {
+
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maximumSize)
+        .<Long, PriceSegmentDto[]>weigher((key, windows) -> windows.length)
+        .recordStats()
+        .build();
+
+    this.hits = meterRegistry.counter("products.cache.requests", "result", "hit");
+    this.misses = meterRegistry.counter("products.cache.requests", "result", "miss");
+    Gauge.builder("products.cache.size", cache, Cache::estimatedSize)
+        .description("Productos con periodos cacheados")
+        .register(meterRegistry);
+    FunctionCounter.builder("products.cache.evictions", cache, c -> c.stats().evictionCount())
+        .description("Productos desalojados por tamaño")
+        .register(meterRegistry);
+
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Devuelve la tarifa cacheada cuyo periodo contiene la fecha, o {@code null} si no hay ninguna.
+   */
+  public ProductDto get(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+
+    if (!enabled || brandId == null || productId == null || applicationDate == null) {
+      return null;
+    }
+
+    PriceSegmentDto[] windows = cache.getIfPresent(key(brandId, productId));
+    int position = windows != null ? floor(windows, applicationDate) : -1;
+    if (position < 0 || !windows[position].contains(applicationDate)) {
+      misses.increment();
+      return null;
+    }
+
+    hits.increment();
+    return windows[position].getProduct();
+
+  }
+
+  /**
+   * Generación que hay que leer antes de consultar el repositorio y pasar a {@link #put}.
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Añade un periodo resuelto a las entradas de su producto, salvo que desde {@code observedGeneration} se haya
+   * notificado algún cambio de tarifas: el periodo puede ser anterior al cambio y ya no llegaría otro evento que lo
+   * descartara.
+   */
+  public void put(PriceSegmentDto segment, long observedGeneration) {
+
+    if (!enabled) {
+      return;
+    }
+
+    ProductDto product = segment.getProduct();
+    cache.asMap().compute(key(product.getBrandId(), product.getProductId()), (key, windows) -> {
+      if (generation.get() != observedGeneration) {
+        return windows;
+      }
+      if (windows == null) {
+        return new PriceSegmentDto[] {segment};
+      }
+      int position = floor(windows, segment.getValidFrom());
+      if (position >= 0 && windows[position].getValidFrom().equals(segment.getValidFrom())) {
+        PriceSegmentDto[] replaced = windows.clone();
+        replaced[position] = segment;
+        return replaced;
+      }
+      PriceSegmentDto[] merged = Arrays.copyOf(windows, windows.length + 1);
+      merged[windows.length] = segment;
+      Arrays.sort(merged, Comparator.comparing(PriceSegmentDto::getValidFrom));
+      return merged;
+    });
+
+  }
+
+  /**
+   * Descarta los periodos de los productos cuyas tarifas han cambiado.
+   */
+  @EventListener
+  @Order(PricesChangedEvent.DERIVED_ORDER)
+  public void onPricesChanged(PricesChangedEvent event) {
+
+    generation.incrementAndGet();
+    if (event.isFullReload()) {
+      cache.invalidateAll();
+      return;
+    }
+    for (PricesChangedEvent.ProductKey product : event.products()) {
+      cache.invalidate(key(product.brandId(), product.productId()));
+    }
+
+  }
+
+  /**
+   * Productos con periodos cacheados, tras aplicar los desalojos pendientes.
+   */
+  public long size() {
+    cache.cleanUp();
+    return cache.estimatedSize();
+  }
+
+  public double hitRate() {
+    double requests = hits.count() + misses.count();
+    return requests == 0 ? 0 : hits.count() / requests;
+  }
+
+  private static long key(int brandId, int productId) {
+    return ((long) brandId << 32) | (productId & 0xFFFFFFFFL);
+  }
+
+  private static int floor(PriceSegmentDto[] windows, LocalDateTime date) {
+    int low = 0;
+    int high = windows.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (windows[mid].getValidFrom().isAfter(date)) {
+        high = mid - 1;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return high;
+  }
+
+}
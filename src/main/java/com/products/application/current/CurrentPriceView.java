@@ -0,0 +1,283 @@
+package com.products.application.current;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.ports.secondary.ProductsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vista materializada de la tarifa vigente ahora mismo para cada (brandId, productId), para las búsquedas sin fecha
+ * de aplicación.
+ *
+ * <p>Cada producto se carga la primera vez que se pide: se leen sus periodos de precio efectivo desde ahora hasta
+ * {@code horizon} y se guarda la tarifa vigente (o que no hay ninguna hasta que empiece el siguiente periodo). Una
+ * {@link HashedTimerWheel} sustituye la entrada en el momento en que pasa la siguiente frontera (fin del periodo
+ * vigente o inicio del siguiente), así que una búsqueda es una sola lectura del mapa, sin comparar fechas. El cambio
+ * se aplica como mucho un tick después de la frontera. Al llegar al final del horizonte la entrada se descarta y se
+ * vuelve a cargar en la siguiente búsqueda.
+ *
+ * <p>Los productos sin ningún periodo en el horizonte no se guardan: cada búsqueda vuelve a pasar por el repositorio
+ * y su filtro de Bloom, así que los pares desconocidos no ocupan memoria ni temporizadores. La vista guarda como mucho
+ * {@code maximum-size} productos; al desalojar uno se cancela su temporizador.
+ *
+ * <p>Los cambios notificados con {@link PricesChangedEvent} descartan las entradas afectadas. El listener va después
+ * de los de los repositorios ({@link PricesChangedEvent#DERIVED_ORDER}): una carga que empieza tras el descarte ya
+ * lee las tarifas nuevas, y una que empezó antes no se guarda.
+ *
+ * <p>Publica en Micrometer {@code products.current.requests{result=hit|miss}}, {@code products.current.size} y
+ * {@code products.current.transitions}.
+ */
+@Component
+public class CurrentPriceView {
+
+  private final ProductsRepository productsRepository;
+
+  private final boolean enabled;
+
+  private final Duration horizon;
+
+  private final HashedTimerWheel timerWheel;
+
+  private final Cache<Long, Entry> cache;
+
+  private final Map<Long, Entry> entries;
+
+  /**
+   * Se incrementa con cada cambio notificado; una carga que empezó antes no se guarda.
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final Counter hits;
+
+  private final Counter misses;
+
+  private final Counter transitions;
+
+  public CurrentPriceView(
+      @NonNull ProductsRepository productsRepository,
+      @Value("${products.current-price.enabled:true}") boolean enabled,
+      @Value("${products.current-price.tick:10ms}") Duration tick,
+      @Value("${products.current-price.wheel-size:4096}") int wheelSize,
+      @Value("${products.current-price.horizon:7d}") Duration horizon,
+      @Value("${products.current-price.maximum-size:100000}") long maximumSize,
+      MeterRegistry meterRegistry) {
+
+    this.productsRepository = productsRepository;
+    this.enabled = enabled;
+    this.horizon = horizon;
+    this.timerWheel = enabled ? new HashedTimerWheel("current-price-wheel", tick, wheelSize) : null;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .<Long, Entry>evictionListener((key, entry, cause) -> cancel(entry))
+        .build();
+    this.entries = cache.asMap();
+
+    this.hits = meterRegistry.counter("products.current.requests", "result", "hit");
+    this.misses = meterRegistry.counter("products.current.requests", "result", "miss");
+    this.transitions = meterRegistry.counter("products.current.transitions");
+    Gauge.builder("products.current.size", cache, Cache::estimatedSize)
+        .description("Productos con la tarifa vigente materializada")
+        .register(meterRegistry);
+
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Fecha y hora con la que se resuelven las búsquedas sin fecha de aplicación.
+   */
+  public LocalDateTime now() {
+    return LocalDateTime.now();
+  }
+
+  /**
+   * Tarifa vigente ahora mismo, o {@link Optional#empty()} si no hay ninguna.
+   */
+  public Optional<ProductDto> get(Integer brandId, Integer productId) throws DbException.BadExecution {
+    return entry(brandId, productId).current;
+  }
+
+  /**
+   * Igual que {@link #get(Integer, Integer)}, con el periodo durante el que la tarifa sigue siendo la vigente. El fin
+   * del periodo es la siguiente frontera o el final del horizonte cargado, lo que llegue antes: hasta entonces la
+   * respuesta no cambia salvo que se modifiquen las tarifas.
+   */
+  public Optional<PriceSegmentDto> getSegment(Integer brandId, Integer productId) throws DbException.BadExecution {
+    return entry(brandId, productId).currentSegment;
+  }
+
+  private Entry entry(int brandId, int productId) throws DbException.BadExecution {
+
+    Entry entry = entries.get(key(brandId, productId));
+    if (entry != null) {
+      hits.increment();
+      return entry;
+    }
+    misses.increment();
+    return load(brandId, productId);
+
+  }
+
+  /**
+   * Descarta las entradas de los productos cuyas tarifas han cambiado.
+   */
+  @EventListener
+  @Order(PricesChangedEvent.DERIVED_ORDER)
+  public void onPricesChanged(PricesChangedEvent event) {
+
+    generation.incrementAndGet();
+    if (event.isFullReload()) {
+      entries.keySet().forEach(this::discard);
+      return;
+    }
+    for (PricesChangedEvent.ProductKey product : event.products()) {
+      discard(key(product.brandId(), product.productId()));
+    }
+
+  }
+
+  /**
+   * Productos con la tarifa vigente materializada, tras aplicar los desalojos pendientes.
+   */
+  public long size() {
+    cache.cleanUp();
+    return cache.estimatedSize();
+  }
+
+  @PreDestroy
+  public void close() {
+    if (timerWheel != null) {
+      timerWheel.close();
+    }
+  }
+
+  private Entry load(int brandId, int productId) throws DbException.BadExecution {
+
+    long observedGeneration = generation.get();
+    LocalDateTime now = now();
+    LocalDateTime horizonEnd = now.plus(horizon);
+    List<PriceSegmentDto> segments = productsRepository.getPriceHistoryByFilters(brandId, productId, now,
+        horizonEnd);
+
+    long key = key(brandId, productId);
+    Entry loaded = new Entry(key, segments, horizonEnd, 0, now);
+    if (segments.isEmpty()) {
+      return loaded;
+    }
+    Entry stored = entries.compute(key, (k, existing) ->
+        existing != null || generation.get() != observedGeneration ? existing : loaded);
+    if (stored == loaded) {
+      schedule(loaded);
+    }
+    return stored != null ? stored : loaded;
+
+  }
+
+  private void schedule(Entry entry) {
+    entry.timeout = timerWheel.schedule(Duration.between(now(), entry.boundary), entry);
+  }
+
+  private void discard(long key) {
+    cancel(entries.remove(key));
+  }
+
+  private static void cancel(Entry entry) {
+    if (entry != null && entry.timeout != null) {
+      entry.timeout.cancel();
+    }
+  }
+
+  private static long key(int brandId, int productId) {
+    return ((long) brandId << 32) | (productId & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Tarifa vigente de un producto hasta {@code boundary}. Al pasar la frontera se sustituye por la entrada siguiente,
+   * calculada sobre los mismos periodos, salvo que mientras tanto se haya descartado.
+   */
+  private final class Entry implements Runnable {
+
+    private final long key;
+
+    private final List<PriceSegmentDto> segments;
+
+    private final LocalDateTime horizonEnd;
+
+    private final int position;
+
+    private final Optional<ProductDto> current;
+
+    private final Optional<PriceSegmentDto> currentSegment;
+
+    private final LocalDateTime boundary;
+
+    private volatile HashedTimerWheel.Timeout timeout;
+
+    private Entry(long key, List<PriceSegmentDto> segments, LocalDateTime horizonEnd, int from, LocalDateTime date) {
+
+      this.key = key;
+      this.segments = segments;
+      this.horizonEnd = horizonEnd;
+
+      int next = from;
+      while (next < segments.size() && !segments.get(next).getValidTo().isAfter(date)) {
+        next++;
+      }
+      this.position = next;
+      if (next == segments.size()) {
+        this.current = Optional.empty();
+        this.currentSegment = Optional.empty();
+        this.boundary = horizonEnd;
+      } else if (segments.get(next).getValidFrom().isAfter(date)) {
+        this.current = Optional.empty();
+        this.currentSegment = Optional.empty();
+        this.boundary = segments.get(next).getValidFrom();
+      } else {
+        PriceSegmentDto segment = segments.get(next);
+        this.current = Optional.of(segment.getProduct());
+        this.boundary = segment.getValidTo().isAfter(horizonEnd) ? horizonEnd : segment.getValidTo();
+        this.currentSegment = Optional.of(boundary.equals(segment.getValidTo())
+            ? segment
+            : new PriceSegmentDto(segment.getValidFrom(), boundary, segment.getProduct()));
+      }
+
+    }
+
+    @Override
+    public void run() {
+
+      if (!boundary.isBefore(horizonEnd)) {
+        entries.remove(key, this);
+        return;
+      }
+      Entry next = new Entry(key, segments, horizonEnd, position, boundary);
+      if (entries.replace(key, this, next)) {
+        transitions.increment();
+        schedule(next);
+      }
+
+    }
+
+  }
+
+}
@@ -0,0 +1,190 @@
+package com.products.application.current;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rueda de temporizadores con hash (hashed timing wheel): {@code wheelSize} ranuras que un único hilo recorre una
+ * por tick. Programar o cancelar es O(1) sea cual sea el número de temporizadores pendientes, y cada tick solo toca
+ * los temporizadores de su ranura.
+ *
+ * <p>Un temporizador se coloca en la ranura de su tick de vencimiento con las vueltas completas que le faltan. Nunca
+ * se ejecuta antes de su plazo y como mucho un tick después. Las tareas se ejecutan en el hilo de la rueda, así que
+ * tienen que ser cortas y no bloquear.
+ */
+@Slf4j
+public final class HashedTimerWheel implements AutoCloseable {
+
+  private final long tickNanos;
+
+  private final ArrayDeque<Timeout>[] wheel;
+
+  private final int mask;
+
+  private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final long startNanos;
+
+  private final Thread worker;
+
+  private volatile boolean closed;
+
+  private long tick;
+
+  @SuppressWarnings("unchecked")
+  public HashedTimerWheel(String name, Duration tickDuration, int wheelSize) {
+
+    if (tickDuration.toNanos() <= 0 || wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("El tick debe ser positivo y wheelSize una potencia de 2");
+    }
+    this.tickNanos = tickDuration.toNanos();
+    this.wheel = new ArrayDeque[wheelSize];
+    for (int slot = 0; slot < wheelSize; slot++) {
+      wheel[slot] = new ArrayDeque<>();
+    }
+    this.mask = wheelSize - 1;
+
+    this.startNanos = System.nanoTime();
+    this.worker = Thread.ofPlatform().daemon().name(name).start(this::run);
+
+  }
+
+  /**
+   * Programa {@code task} para dentro de {@code delay}. Un retardo negativo o cero la ejecuta en el siguiente tick.
+   */
+  public Timeout schedule(Duration delay, Runnable task) {
+
+    if (closed) {
+      throw new IllegalStateException("HashedTimerWheel cerrada");
+    }
+    long deadline = System.nanoTime() - startNanos + Math.max(0, saturatedNanos(delay));
+    Timeout timeout = new Timeout(this, deadline, task);
+    pending.incrementAndGet();
+    scheduled.add(timeout);
+    return timeout;
+
+  }
+
+  /**
+   * Temporizadores programados que todavía no se han ejecutado ni cancelado.
+   */
+  public int pendingCount() {
+    return pending.get();
+  }
+
+  @Override
+  public void close() {
+
+    closed = true;
+    LockSupport.unpark(worker);
+
+  }
+
+  private void run() {
+
+    while (!closed) {
+      long sleepNanos = tickNanos * (tick + 1) - (System.nanoTime() - startNanos);
+      if (sleepNanos > 0) {
+        LockSupport.parkNanos(this, sleepNanos);
+        continue;
+      }
+      transferScheduled();
+      expire(wheel[(int) (tick & mask)]);
+      tick++;
+    }
+
+  }
+
+  private void transferScheduled() {
+
+    Timeout timeout;
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.isDone()) {
+        continue;
+      }
+      long calculated = timeout.deadline / tickNanos;
+      timeout.remainingRounds = (calculated - tick) / wheel.length;
+      wheel[(int) (Math.max(calculated, tick) & mask)].add(timeout);
+    }
+
+  }
+
+  private void expire(ArrayDeque<Timeout> slot) {
+
+    for (int remaining = slot.size(); remaining > 0; remaining--) {
+      Timeout timeout = slot.poll();
+      if (timeout.isDone()) {
+        continue;
+      }
+      if (timeout.remainingRounds > 0) {
+        timeout.remainingRounds--;
+        slot.add(timeout);
+        continue;
+      }
+      if (timeout.done.compareAndSet(false, true)) {
+        pending.decrementAndGet();
+        try {
+          timeout.task.run();
+        } catch (RuntimeException e) {
+          log.warn("Error en una tarea de la rueda de temporizadores: {}", e.getMessage(), e);
+        }
+      }
+    }
+
+  }
+
+  private static long saturatedNanos(Duration delay) {
+    try {
+      return delay.toNanos();
+    } catch (ArithmeticException e) {
+      return delay.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE / 2;
+    }
+  }
+
+  /**
+   * Temporizador programado. Se puede cancelar mientras no se haya ejecutado.
+   */
+  public static final class Timeout {
+
+    private final HashedTimerWheel timerWheel;
+
+    private final long deadline;
+
+    private final Runnable task;
+
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private long remainingRounds;
+
+    private Timeout(HashedTimerWheel timerWheel, long deadline, Runnable task) {
+      this.timerWheel = timerWheel;
+      this.deadline = deadline;
+      this.task = task;
+    }
+
+    /**
+     * Cancela el temporizador. Devuelve {@code false} si ya se había ejecutado o cancelado.
+     */
+    public boolean cancel() {
+      if (!done.compareAndSet(false, true)) {
+        return false;
+      }
+      timerWheel.pending.decrementAndGet();
+      return true;
+    }
+
+    boolean isDone() {
+      return done.get();
+    }
+
+  }
+
+}
@@ -0,0 +1,45 @@
+package com.products.application.events;
+
+import java.util.Set;
+
+/**
+ * Evento publicado cuando cambian filas de PRICES, para que las estructuras en memoria derivadas de la tabla se
+ * reconstruyan.
+ *
+ * <p>Si {@code products} está vacío el cambio afecta a toda la tabla; si no, solo a los (brandId, productId)
+ * indicados.
+ */
+public record PricesChangedEvent(Set<ProductKey> products) {
+
+  /**
+   * Orden de los listeners que guardan las tarifas (repositorios en memoria, filtro de Bloom): se aplican antes que
+   * los de {@link #DERIVED_ORDER}.
+   */
+  public static final int SOURCE_ORDER = 0;
+
+  /**
+   * Orden de los listeners de las cachés que se cargan desde los repositorios: cuando descartan sus entradas los
+   * repositorios ya tienen las tarifas nuevas, así que una carga posterior al descarte no guarda las anteriores.
+   */
+  public static final int DERIVED_ORDER = 100;
+
+  public PricesChangedEvent {
+    products = Set.copyOf(products);
+  }
+
+  public static PricesChangedEvent all() {
+    return new PricesChangedEvent(Set.of());
+  }
+
+  public static PricesChangedEvent of(int brandId, int productId) {
+    return new PricesChangedEvent(Set.of(new ProductKey(brandId, productId)));
+  }
+
+  public boolean isFullReload() {
+    return products.isEmpty();
+  }
+
+  public record ProductKey(int brandId, int productId) {
+  }
+
+}
@@ -15,12 +15,15 @@ public class DbException {
 
   }
 
-  public static class NoData extends Exception {
+  /**
+   * La fila ya existe: se ha intentado crear una tarifa con la misma clave (brandId, productId, startDate).
+   */
+  public static class Duplicated extends Exception {
 
     @Serial
-    private static final long serialVersionUID = 960850727716258181L;
+    private static final long serialVersionUID = -2838170540412176713L;
 
-    public NoData(String msg) {
+    public Duplicated(String msg) {
       super(msg);
     }
 
@@ -0,0 +1,128 @@
+package com.products.application.metrics;
+
+import com.products.application.exceptions.DbException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tiempos de una búsqueda de precio en cada capa: controlador, caso de uso y repositorio.
+ *
+ * <p>Publica el timer {@code products.lookup{layer, outcome}} con histograma de percentiles y el contador
+ * {@code products.lookup.failures{layer, outcome}} para las búsquedas sin tarifa ({@code no_data}) o con error
+ * ({@code bad_execution}). Restando el tiempo de una capa al de la capa que la envuelve se ve dónde se va la
+ * latencia; {@code http.server.requests} añade la validación y la serialización que quedan fuera del controlador.
+ *
+ * <p>Los timers y contadores se registran al arrancar, así que medir no busca ni crea meters.
+ */
+@Component
+public class LookupMetrics {
+
+  public enum Layer {
+    CONTROLLER("controller"),
+    USE_CASE("use_case"),
+    REPOSITORY("repository");
+
+    private final String tag;
+
+    Layer(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  public enum Outcome {
+    FOUND("found"),
+    NO_DATA("no_data"),
+    BAD_EXECUTION("bad_execution");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  /**
+   * Búsqueda medida. Un resultado vacío cuenta como {@code no_data} y cualquier excepción como
+   * {@code bad_execution}.
+   */
+  @FunctionalInterface
+  public interface Lookup<T> {
+    Optional<T> get() throws DbException.BadExecution;
+  }
+
+  private final Timer[][] timers = new Timer[Layer.values().length][Outcome.values().length];
+
+  private final Counter[][] failures = new Counter[Layer.values().length][Outcome.values().length];
+
+  public LookupMetrics(MeterRegistry meterRegistry) {
+
+    for (Layer layer : Layer.values()) {
+      for (Outcome outcome : Outcome.values()) {
+        timers[layer.ordinal()][outcome.ordinal()] = Timer.builder("products.lookup")
+            .description("Tiempo de una búsqueda de precio por capa")
+            .tag("layer", layer.tag)
+            .tag("outcome", outcome.tag)
+            .publishPercentileHistogram()
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .minimumExpectedValue(Duration.ofNanos(500))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+        if (outcome != Outcome.FOUND) {
+          failures[layer.ordinal()][outcome.ordinal()] = Counter.builder("products.lookup.failures")
+              .description("Búsquedas de precio sin tarifa vigente o con error")
+              .tag("layer", layer.tag)
+              .tag("outcome", outcome.tag)
+              .register(meterRegistry);
+        }
+      }
+    }
+
+  }
+
+  public <T> Optional<T> record(Layer layer, Lookup<T> lookup) throws DbException.BadExecution {
+
+    long start = System.nanoTime();
+    Outcome outcome = Outcome.BAD_EXECUTION;
+    try {
+      Optional<T> result = lookup.get();
+      outcome = result.isPresent() ? Outcome.FOUND : Outcome.NO_DATA;
+      return result;
+    } finally {
+      record(layer, outcome, System.nanoTime() - start);
+    }
+
+  }
+
+  /**
+   * Versión de {@link #record(Layer, Lookup)} para búsquedas no bloqueantes: mide desde la suscripción hasta la
+   * señal de fin. Vacío cuenta como {@code no_data} y un error como {@code bad_execution}; una cancelación no se
+   * mide.
+   */
+  public <T> Mono<T> record(Layer layer, Mono<T> lookup) {
+
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return lookup
+          .doOnSuccess(result -> record(layer, result != null ? Outcome.FOUND : Outcome.NO_DATA,
+              System.nanoTime() - start))
+          .doOnError(e -> record(layer, Outcome.BAD_EXECUTION, System.nanoTime() - start));
+    });
+
+  }
+
+  public void record(Layer layer, Outcome outcome, long elapsedNanos) {
+
+    timers[layer.ordinal()][outcome.ordinal()].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    if (outcome != Outcome.FOUND) {
+      failures[layer.ordinal()][outcome.ordinal()].increment();
+    }
+
+  }
+
+}
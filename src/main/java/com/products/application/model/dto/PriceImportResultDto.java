@@ -0,0 +1,27 @@
+package com.products.application.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una importación de tarifas. {@code rejectedRows} lleva como mucho las primeras líneas rechazadas;
+ * {@code rejected} las cuenta todas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceImportResultDto {
+
+  private long read;
+  private long imported;
+  private long rejected;
+  private List<PriceImportRowDto> rejectedRows;
+  private long elapsedMillis;
+
+  public long getRowsPerSecond() {
+    return elapsedMillis == 0 ? imported * 1000 : imported * 1000 / elapsedMillis;
+  }
+
+}
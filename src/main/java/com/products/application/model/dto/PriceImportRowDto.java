@@ -0,0 +1,31 @@
+package com.products.application.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Una línea de un fichero de importación de tarifas: la tarifa ya validada o, si la línea no es válida, el motivo.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceImportRowDto {
+
+  private long lineNumber;
+  private ProductDto price;
+  private String error;
+
+  public static PriceImportRowDto valid(long lineNumber, ProductDto price) {
+    return new PriceImportRowDto(lineNumber, price, null);
+  }
+
+  public static PriceImportRowDto rejected(long lineNumber, String error) {
+    return new PriceImportRowDto(lineNumber, null, error);
+  }
+
+  public boolean isRejected() {
+    return error != null;
+  }
+
+}
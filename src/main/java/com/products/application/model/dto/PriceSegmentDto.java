@@ -0,0 +1,25 @@
+package com.products.application.model.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tarifa vigente junto con el periodo {@code [validFrom, validTo)} durante el que sigue siendo la ganadora para su
+ * (brandId, productId). Cualquier fecha de aplicación dentro de ese periodo resuelve la misma tarifa.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceSegmentDto {
+
+  private LocalDateTime validFrom;
+  private LocalDateTime validTo;
+  private ProductDto product;
+
+  public boolean contains(LocalDateTime applicationDate) {
+    return !applicationDate.isBefore(validFrom) && applicationDate.isBefore(validTo);
+  }
+
+}
@@ -0,0 +1,20 @@
+package com.products.application.ports.primary;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceImportResultDto;
+import com.products.application.model.dto.PriceImportRowDto;
+import java.util.Iterator;
+
+/**
+ * Importación masiva de tarifas.
+ */
+public interface PricesImportUseCase {
+
+  /**
+   * Inserta o sustituye las tarifas válidas en bloques transaccionales, recorriendo {@code rows} una sola vez sin
+   * guardarlas, y publica el cambio a las estructuras en memoria de una vez al final. Si falla un bloque se publica
+   * lo ya confirmado y se lanza {@link DbException.BadExecution}.
+   */
+  PriceImportResultDto importPrices(Iterator<PriceImportRowDto> rows) throws DbException.BadExecution;
+
+}
@@ -0,0 +1,25 @@
+package com.products.application.ports.primary;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.ProductDto;
+import java.time.LocalDateTime;
+
+/**
+ * Alta, modificación y baja de tarifas. Tras cada escritura las estructuras en memoria derivadas de PRICES
+ * (índices, cachés) se actualizan solo para el (brandId, productId) afectado.
+ */
+public interface PricesUseCase {
+
+  void createPrice(ProductDto price) throws DbException.Duplicated, DbException.BadExecution;
+
+  /**
+   * Devuelve {@code false} si no existe la tarifa con la clave (brandId, productId, startDate) de {@code price}.
+   */
+  boolean updatePrice(ProductDto price) throws DbException.BadExecution;
+
+  /**
+   * Devuelve {@code false} si no existe la tarifa.
+   */
+  boolean deletePrice(Integer brandId, Integer productId, LocalDateTime startDate) throws DbException.BadExecution;
+
+}
@@ -1,11 +1,46 @@
 package com.products.application.ports.primary;
 
 import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductsUseCase {
 
-  ProductDto getProductByFilter(ProductFilterDto productFilterDto) throws DbException.BadExecution, DbException.NoData;
+  /**
+   * Tarifa vigente del producto en la fecha indicada, o {@link Optional#empty()} si no hay ninguna.
+   */
+  Optional<ProductDto> getProductByFilter(ProductFilterDto productFilterDto) throws DbException.BadExecution;
+
+  /**
+   * Tarifa vigente del producto en este momento con el periodo durante el que sigue siendo la vigente, o
+   * {@link Optional#empty()} si no hay ninguna. Hasta el fin del periodo la respuesta no cambia salvo que se
+   * modifiquen las tarifas.
+   */
+  Optional<PriceSegmentDto> getCurrentPriceSegment(Integer brandId, Integer productId)
+      throws DbException.BadExecution;
+
+  /**
+   * Versión por lotes de {@link #getProductByFilter(ProductFilterDto)}: devuelve un resultado por filtro, en el
+   * mismo orden, con {@code null} cuando no hay tarifa vigente.
+   */
+  List<ProductDto> getProductsByFilters(List<ProductFilterDto> productFilterDtos) throws DbException.BadExecution;
+
+  /**
+   * Periodos de precio efectivo del producto en {@code [from, to)}, en orden y sin huecos sin tarifa.
+   */
+  List<PriceSegmentDto> getPriceHistory(Integer brandId, Integer productId, LocalDateTime from, LocalDateTime to)
+      throws DbException.BadExecution;
+
+  /**
+   * Tarifa vigente en la fecha de cada producto de la marca, entregada a {@code consumer} una a una según se resuelve.
+   * Mientras {@code consumer} no vuelve no se resuelve la siguiente, así que un consumidor lento frena el recorrido.
+   */
+  void exportBrandPrices(Integer brandId, LocalDateTime applicationDate, Consumer<ProductDto> consumer)
+      throws DbException.BadExecution;
 
 }
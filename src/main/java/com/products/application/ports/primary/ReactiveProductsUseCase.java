@@ -0,0 +1,31 @@
+package com.products.application.ports.primary;
+
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import java.time.LocalDateTime;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de {@link ProductsUseCase}. Los errores de la BD llegan como señal de error con un
+ * {@link com.products.application.exceptions.DbException.BadExecution}.
+ */
+public interface ReactiveProductsUseCase {
+
+  /**
+   * Tarifa vigente del producto en la fecha indicada; vacío si no hay ninguna.
+   */
+  Mono<ProductDto> getProductByFilter(ProductFilterDto productFilterDto);
+
+  /**
+   * Tarifa vigente del producto en este momento; vacío si no hay ninguna.
+   */
+  Mono<ProductDto> getCurrentProduct(Integer brandId, Integer productId);
+
+  /**
+   * Tarifa vigente en la fecha de cada producto de la marca. Las filas se piden a la BD según las consume el
+   * suscriptor.
+   */
+  Flux<ProductDto> exportBrandPrices(Integer brandId, LocalDateTime applicationDate);
+
+}
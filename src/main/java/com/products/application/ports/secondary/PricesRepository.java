@@ -0,0 +1,35 @@
+package com.products.application.ports.secondary;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.ProductDto;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escritura de filas de PRICES. Cada tarifa se identifica por (brandId, productId, startDate).
+ */
+public interface PricesRepository {
+
+  /**
+   * Inserta la tarifa; falla con {@link DbException.Duplicated} si ya existe una con la misma clave.
+   */
+  void insertPrice(ProductDto price) throws DbException.Duplicated, DbException.BadExecution;
+
+  /**
+   * Sustituye END_DATE, PRICE_LIST, PRIORITY, PRICE y CURR de la tarifa con la clave de {@code price}. Devuelve
+   * {@code false} si no existe.
+   */
+  boolean updatePrice(ProductDto price) throws DbException.BadExecution;
+
+  /**
+   * Borra la tarifa. Devuelve {@code false} si no existe.
+   */
+  boolean deletePrice(Integer brandId, Integer productId, LocalDateTime startDate) throws DbException.BadExecution;
+
+  /**
+   * Inserta las tarifas o sustituye las que ya existen con la misma clave, todas en una sola transacción con
+   * sentencias JDBC por lotes: o se guardan todas o ninguna.
+   */
+  void upsertPrices(List<ProductDto> prices) throws DbException.BadExecution;
+
+}
@@ -1,12 +1,51 @@
 package com.products.application.ports.secondary;
 
 import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductsRepository {
 
-  ProductDto getHighestPriorityProductByFilters(ProductFilterDto productFilterDto)
-      throws DbException.BadExecution, DbException.NoData;
+  /**
+   * Tarifa de mayor prioridad vigente en la fecha indicada. Que no haya ninguna es un resultado habitual, no un
+   * error: se devuelve {@link Optional#empty()}.
+   */
+  Optional<ProductDto> getHighestPriorityProductByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution;
+
+  /**
+   * Igual que {@link #getHighestPriorityProductByFilters(ProductFilterDto)}, pero devuelve también el periodo durante
+   * el que la tarifa encontrada sigue siendo la de mayor prioridad.
+   */
+  Optional<PriceSegmentDto> getEffectivePriceSegmentByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution;
+
+  /**
+   * Resuelve varias búsquedas de una sola vez. El resultado tiene el mismo tamaño y orden que los filtros
+   * recibidos, con {@code null} en las posiciones sin tarifa vigente.
+   */
+  List<ProductDto> getHighestPriorityProductsByFilters(List<ProductFilterDto> productFilterDtos)
+      throws DbException.BadExecution;
+
+  /**
+   * Evolución del precio efectivo del producto en {@code [from, to)}: los periodos consecutivos con la misma tarifa
+   * ganadora, en orden y recortados al rango. Los huecos sin tarifa vigente no aparecen; sin ninguna tarifa en el
+   * rango devuelve una lista vacía.
+   */
+  List<PriceSegmentDto> getPriceHistoryByFilters(Integer brandId, Integer productId, LocalDateTime from,
+      LocalDateTime to) throws DbException.BadExecution;
+
+  /**
+   * Pasa a {@code consumer} la tarifa vigente en la fecha de cada producto de la marca, según la va resolviendo y sin
+   * acumular el resultado, así que la memoria no depende del tamaño de la marca. El orden no está definido. Las
+   * excepciones de {@code consumer} interrumpen el recorrido y se propagan tal cual.
+   */
+  void forEachHighestPriorityProductByBrand(Integer brandId, LocalDateTime applicationDate,
+      Consumer<ProductDto> consumer) throws DbException.BadExecution;
 
 }
@@ -0,0 +1,26 @@
+package com.products.application.ports.secondary;
+
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import java.time.LocalDateTime;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de {@link ProductsRepository}. Los errores de la BD llegan como señal de error con un
+ * {@link com.products.application.exceptions.DbException.BadExecution}. Que el hilo que se suscribe quede libre
+ * durante la consulta depende del driver: r2dbc-h2 la ejecuta de forma síncrona en ese mismo hilo.
+ */
+public interface ReactiveProductsRepository {
+
+  /**
+   * Tarifa de mayor prioridad vigente en la fecha indicada; vacío si no hay ninguna.
+   */
+  Mono<ProductDto> getHighestPriorityProductByFilters(ProductFilterDto productFilterDto);
+
+  /**
+   * Tarifa vigente en la fecha de cada producto de la marca, sin orden definido y sin acumular el resultado.
+   */
+  Flux<ProductDto> findHighestPriorityProductsByBrand(Integer brandId, LocalDateTime applicationDate);
+
+}
@@ -0,0 +1,142 @@
+package com.products.application.service;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceImportResultDto;
+import com.products.application.model.dto.PriceImportRowDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.ports.primary.PricesImportUseCase;
+import com.products.application.ports.secondary.PricesRepository;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Importa tarifas en bloques de {@code products.import.chunk-size} filas, cada uno en su propia transacción, y al
+ * terminar publica un único {@link PricesChangedEvent}: las estructuras en memoria pasan de la versión anterior a la
+ * importación a la que la incluye entera en un solo paso. Si la importación afecta a más de
+ * {@code products.import.full-reload-threshold} productos el evento pide una recarga completa, que sale más barata
+ * que rehacer los productos uno a uno.
+ */
+@Slf4j
+@Service
+public class PricesImportUseCaseImpl implements PricesImportUseCase {
+
+  /**
+   * Líneas rechazadas que se devuelven con su motivo; el resto solo se cuentan.
+   */
+  static final int MAX_REPORTED_REJECTS = 1000;
+
+  private final PricesRepository pricesRepository;
+
+  private final ApplicationEventPublisher applicationEventPublisher;
+
+  private final int chunkSize;
+
+  private final int fullReloadThreshold;
+
+  public PricesImportUseCaseImpl(
+      PricesRepository pricesRepository,
+      ApplicationEventPublisher applicationEventPublisher,
+      @Value("${products.import.chunk-size:1000}") int chunkSize,
+      @Value("${products.import.full-reload-threshold:1000}") int fullReloadThreshold) {
+
+    this.pricesRepository = pricesRepository;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.chunkSize = chunkSize;
+    this.fullReloadThreshold = fullReloadThreshold;
+
+  }
+
+  @Override
+  public PriceImportResultDto importPrices(Iterator<PriceImportRowDto> rows) throws DbException.BadExecution {
+
+    long start = System.nanoTime();
+    long read = 0;
+    long imported = 0;
+    long rejected = 0;
+    List<PriceImportRowDto> rejectedRows = new ArrayList<>();
+    List<ProductDto> chunk = new ArrayList<>(chunkSize);
+    long chunkFirstLine = 0;
+    Set<PricesChangedEvent.ProductKey> changed = new HashSet<>();
+    boolean fullReload = false;
+
+    try {
+
+      while (rows.hasNext()) {
+        PriceImportRowDto row = rows.next();
+        read++;
+        if (row.isRejected()) {
+          rejected++;
+          if (rejectedRows.size() < MAX_REPORTED_REJECTS) {
+            rejectedRows.add(row);
+          }
+          continue;
+        }
+
+        if (chunk.isEmpty()) {
+          chunkFirstLine = row.getLineNumber();
+        }
+        chunk.add(row.getPrice());
+        if (chunk.size() == chunkSize) {
+          imported += writeChunk(chunk, chunkFirstLine);
+          fullReload = collectChanges(chunk, changed, fullReload);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        imported += writeChunk(chunk, chunkFirstLine);
+        fullReload = collectChanges(chunk, changed, fullReload);
+      }
+
+    } finally {
+      // También si se interrumpe: lo ya confirmado en BD tiene que verse en memoria
+      if (fullReload) {
+        applicationEventPublisher.publishEvent(PricesChangedEvent.all());
+      } else if (!changed.isEmpty()) {
+        applicationEventPublisher.publishEvent(new PricesChangedEvent(changed));
+      }
+    }
+
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    PriceImportResultDto result = new PriceImportResultDto(read, imported, rejected, rejectedRows, elapsedMillis);
+    log.info("Importación de tarifas: {} líneas, {} importadas, {} rechazadas en {} ms ({} filas/s)", read, imported,
+        rejected, elapsedMillis, result.getRowsPerSecond());
+    return result;
+
+  }
+
+  private int writeChunk(List<ProductDto> chunk, long firstLine) throws DbException.BadExecution {
+    try {
+      pricesRepository.upsertPrices(chunk);
+      return chunk.size();
+    } catch (DbException.BadExecution e) {
+      throw new DbException.BadExecution("Importación interrumpida en el bloque que empieza en la línea "
+          + firstLine + ": " + e.getMessage());
+    }
+  }
+
+  private boolean collectChanges(List<ProductDto> chunk, Set<PricesChangedEvent.ProductKey> changed,
+      boolean fullReload) {
+
+    if (fullReload) {
+      return true;
+    }
+    for (ProductDto price : chunk) {
+      changed.add(new PricesChangedEvent.ProductKey(price.getBrandId(), price.getProductId()));
+    }
+    if (changed.size() > fullReloadThreshold) {
+      changed.clear();
+      return true;
+    }
+    return false;
+
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.products.application.service;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.ports.primary.PricesUseCase;
+import com.products.application.ports.secondary.PricesRepository;
+import java.time.LocalDateTime;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Escribe en PRICES y publica un {@link PricesChangedEvent} del producto afectado, de forma que los índices en
+ * memoria y las cachés rehacen solo su línea temporal en lugar de recargar la tabla entera. Las escrituras que no
+ * cambian nada (tarifa inexistente, clave duplicada) no publican evento.
+ */
+@Service
+@RequiredArgsConstructor
+public class PricesUseCaseImpl implements PricesUseCase {
+
+  private final @NonNull PricesRepository pricesRepository;
+
+  private final @NonNull ApplicationEventPublisher applicationEventPublisher;
+
+  @Override
+  public void createPrice(ProductDto price) throws DbException.Duplicated, DbException.BadExecution {
+
+    pricesRepository.insertPrice(price);
+    publishChange(price.getBrandId(), price.getProductId());
+
+  }
+
+  @Override
+  public boolean updatePrice(ProductDto price) throws DbException.BadExecution {
+
+    if (!pricesRepository.updatePrice(price)) {
+      return false;
+    }
+    publishChange(price.getBrandId(), price.getProductId());
+    return true;
+
+  }
+
+  @Override
+  public boolean deletePrice(Integer brandId, Integer productId, LocalDateTime startDate)
+      throws DbException.BadExecution {
+
+    if (!pricesRepository.deletePrice(brandId, productId, startDate)) {
+      return false;
+    }
+    publishChange(brandId, productId);
+    return true;
+
+  }
+
+  private void publishChange(int brandId, int productId) {
+    applicationEventPublisher.publishEvent(PricesChangedEvent.of(brandId, productId));
+  }
+
+}
@@ -1,10 +1,19 @@
 package com.products.application.service;
 
+import com.products.application.cache.PriceWindowCache;
+import com.products.application.current.CurrentPriceView;
 import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
 import com.products.application.ports.primary.ProductsUseCase;
 import com.products.application.ports.secondary.ProductsRepository;
+import com.products.application.timing.StageTimings;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,11 +24,85 @@ public class ProductsUseCaseImpl implements ProductsUseCase {
 
   private final @NonNull ProductsRepository productsRepository;
 
+  private final @NonNull PriceWindowCache priceWindowCache;
+
+  private final @NonNull CurrentPriceView currentPriceView;
+
+  private final @NonNull LookupMetrics lookupMetrics;
+
+  @Override
+  public Optional<ProductDto> getProductByFilter(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    return lookupMetrics.record(LookupMetrics.Layer.USE_CASE, () -> lookup(productFilterDto));
+  }
+
+  /**
+   * Sin la vista se resuelve el periodo con la fecha actual directamente en el repositorio, sin la caché de periodos,
+   * que solo devuelve la tarifa.
+   */
+  @Override
+  public Optional<PriceSegmentDto> getCurrentPriceSegment(Integer brandId, Integer productId)
+      throws DbException.BadExecution {
+    return lookupMetrics.record(LookupMetrics.Layer.USE_CASE, () -> {
+      if (currentPriceView.isEnabled()) {
+        return currentPriceView.getSegment(brandId, productId);
+      }
+      return productsRepository.getEffectivePriceSegmentByFilters(
+          new ProductFilterDto(currentPriceView.now(), productId, brandId));
+    });
+  }
+
+  private Optional<ProductDto> lookup(ProductFilterDto productFilterDto) throws DbException.BadExecution {
+
+    if (!priceWindowCache.isEnabled()) {
+      return productsRepository.getHighestPriorityProductByFilters(productFilterDto);
+    }
+
+    long start = StageTimings.start();
+    ProductDto cached = priceWindowCache.get(productFilterDto.getBrandId(), productFilterDto.getProductId(),
+        productFilterDto.getApplicationDate());
+    StageTimings.stop(StageTimings.Stage.CACHE, start);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    long generation = priceWindowCache.generation();
+    Optional<PriceSegmentDto> segment = productsRepository.getEffectivePriceSegmentByFilters(productFilterDto);
+    if (segment.isEmpty()) {
+      return Optional.empty();
+    }
+    start = StageTimings.start();
+    priceWindowCache.put(segment.get(), generation);
+    StageTimings.stop(StageTimings.Stage.CACHE, start);
+    return Optional.of(segment.get().getProduct());
+
+  }
+
+  @Override
+  public List<ProductDto> getProductsByFilters(List<ProductFilterDto> productFilterDtos)
+      throws DbException.BadExecution {
+
+    return productsRepository.getHighestPriorityProductsByFilters(productFilterDtos);
+
+  }
+
+  @Override
+  public List<PriceSegmentDto> getPriceHistory(Integer brandId, Integer productId, LocalDateTime from,
+      LocalDateTime to) throws DbException.BadExecution {
+
+    return productsRepository.getPriceHistoryByFilters(brandId, productId, from, to);
+
+  }
+
+  /**
+   * No pasa por la caché de periodos: cada producto se lee una sola vez y llenaría la caché con periodos que no se
+   * van a volver a pedir.
+   */
   @Override
-  public ProductDto getProductByFilter(ProductFilterDto productFilterDto)
-      throws DbException.BadExecution, DbException.NoData {
+  public void exportBrandPrices(Integer brandId, LocalDateTime applicationDate, Consumer<ProductDto> consumer)
+      throws DbException.BadExecution {
 
-    return productsRepository.getHighestPriorityProductByFilters(productFilterDto);
+    productsRepository.forEachHighestPriorityProductByBrand(brandId, applicationDate, consumer);
 
   }
 
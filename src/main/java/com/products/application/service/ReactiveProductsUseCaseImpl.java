@@ -0,0 +1,51 @@
+package com.products.application.service;
+
+import com.products.application.current.CurrentPriceView;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.application.ports.primary.ReactiveProductsUseCase;
+import com.products.application.ports.secondary.ReactiveProductsRepository;
+import java.time.LocalDateTime;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Va directamente al repositorio reactivo: la caché de periodos y la vista de tarifas vigentes se rellenan con
+ * consultas bloqueantes en un fallo, y usarlas aquí bloquearía el hilo del bucle de eventos.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "products.reactive.enabled", havingValue = "true")
+public class ReactiveProductsUseCaseImpl implements ReactiveProductsUseCase {
+
+  private final @NonNull ReactiveProductsRepository reactiveProductsRepository;
+
+  private final @NonNull CurrentPriceView currentPriceView;
+
+  private final @NonNull LookupMetrics lookupMetrics;
+
+  @Override
+  public Mono<ProductDto> getProductByFilter(ProductFilterDto productFilterDto) {
+    return lookupMetrics.record(LookupMetrics.Layer.USE_CASE,
+        reactiveProductsRepository.getHighestPriorityProductByFilters(productFilterDto));
+  }
+
+  /**
+   * Misma fecha actual que {@link ProductsUseCaseImpl#getCurrentPriceSegment(Integer, Integer)}, pero sin la vista.
+   */
+  @Override
+  public Mono<ProductDto> getCurrentProduct(Integer brandId, Integer productId) {
+    return Mono.defer(() -> getProductByFilter(new ProductFilterDto(currentPriceView.now(), productId, brandId)));
+  }
+
+  @Override
+  public Flux<ProductDto> exportBrandPrices(Integer brandId, LocalDateTime applicationDate) {
+    return reactiveProductsRepository.findHighestPriorityProductsByBrand(brandId, applicationDate);
+  }
+
+}
@@ -0,0 +1,156 @@
+package com.products.application.timing;
+
+import java.util.Arrays;
+
+/**
+ * Desglose por etapas del tiempo de la petición en curso, para la cabecera {@code Server-Timing}.
+ *
+ * <p>Se guarda en un {@link ThreadLocal} que se reutiliza entre peticiones del mismo hilo, así que medir no reserva
+ * memoria; con hilos virtuales cada petición tiene un hilo nuevo y se crea una instancia por petición. Fuera de una
+ * petición iniciada con {@link #begin()} (o con el modo desactivado) {@link #start()} devuelve 0 sin leer el reloj y
+ * {@link #stop(Stage, long)} no hace nada.
+ *
+ * <p>Las etapas se pueden anidar: {@link Stage#DB} incluye la de {@link Stage#ROW_MAPPING} que ocurre dentro de la
+ * consulta, y al publicarla se le resta.
+ */
+public final class StageTimings {
+
+  public enum Stage {
+    PARSE("parse"),
+    CACHE("cache"),
+    DB("db"),
+    ROW_MAPPING("rowmap"),
+    DTO_MAPPING("dto");
+
+    private final String metricName;
+
+    Stage(String metricName) {
+      this.metricName = metricName;
+    }
+  }
+
+  private static final Stage[] STAGES = Stage.values();
+
+  private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+
+  private final long[] nanos = new long[STAGES.length];
+
+  private int recorded;
+
+  private boolean active;
+
+  private long beginNanos;
+
+  private StageTimings() {
+  }
+
+  /**
+   * Empieza a medir la petición del hilo actual.
+   */
+  public static void begin() {
+
+    StageTimings timings = CURRENT.get();
+    if (timings == null) {
+      timings = new StageTimings();
+      CURRENT.set(timings);
+    }
+    Arrays.fill(timings.nanos, 0L);
+    timings.recorded = 0;
+    timings.active = true;
+    timings.beginNanos = System.nanoTime();
+
+  }
+
+  /**
+   * Deja de medir en el hilo actual; las llamadas posteriores no registran nada.
+   */
+  public static void end() {
+    StageTimings timings = CURRENT.get();
+    if (timings != null) {
+      timings.active = false;
+    }
+  }
+
+  public static boolean isActive() {
+    StageTimings timings = CURRENT.get();
+    return timings != null && timings.active;
+  }
+
+  /**
+   * Marca de inicio de una etapa, o 0 si no se está midiendo.
+   */
+  public static long start() {
+    return isActive() ? System.nanoTime() : 0L;
+  }
+
+  public static void stop(Stage stage, long startNanos) {
+    if (startNanos != 0L) {
+      add(stage, System.nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * Registra como {@code stage} el tiempo transcurrido desde {@link #begin()}.
+   */
+  public static void sinceBegin(Stage stage) {
+    StageTimings timings = CURRENT.get();
+    if (timings != null && timings.active) {
+      timings.record(stage, System.nanoTime() - timings.beginNanos);
+    }
+  }
+
+  public static void add(Stage stage, long elapsedNanos) {
+    StageTimings timings = CURRENT.get();
+    if (timings != null && timings.active) {
+      timings.record(stage, elapsedNanos);
+    }
+  }
+
+  /**
+   * Valor de la cabecera {@code Server-Timing} con las etapas registradas y el total desde {@link #begin()}, en
+   * milisegundos; {@code null} si no se está midiendo.
+   */
+  public static String header() {
+
+    StageTimings timings = CURRENT.get();
+    if (timings == null || !timings.active) {
+      return null;
+    }
+
+    StringBuilder header = new StringBuilder(128);
+    for (Stage stage : STAGES) {
+      if ((timings.recorded & (1 << stage.ordinal())) == 0) {
+        continue;
+      }
+      long elapsed = timings.nanos[stage.ordinal()];
+      if (stage == Stage.DB) {
+        elapsed = Math.max(0L, elapsed - timings.nanos[Stage.ROW_MAPPING.ordinal()]);
+      }
+      appendMetric(header, stage.metricName, elapsed);
+    }
+    appendMetric(header, "total", System.nanoTime() - timings.beginNanos);
+    return header.toString();
+
+  }
+
+  private void record(Stage stage, long elapsedNanos) {
+    nanos[stage.ordinal()] += elapsedNanos;
+    recorded |= 1 << stage.ordinal();
+  }
+
+  private static void appendMetric(StringBuilder header, String name, long elapsedNanos) {
+
+    if (!header.isEmpty()) {
+      header.append(", ");
+    }
+    long micros = elapsedNanos / 1_000;
+    long fraction = micros % 1_000;
+    header.append(name).append(";dur=").append(micros / 1_000).append('.');
+    if (fraction < 100) {
+      header.append(fraction < 10 ? "00" : "0");
+    }
+    header.append(fraction);
+
+  }
+
+}
@@ -4,13 +4,17 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import org.springframework.util.StringUtils;
 
 public class Utils {
 
-  private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER =
-      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+  private static final int LOCAL_DATE_TIME_LENGTH = "yyyy-MM-ddTHH:mm:ss".length();
+
+  private static final int DATE_TIME_LENGTH = "dd/MM/yyyy HH:mm:ss".length();
 
   private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
 
@@ -25,20 +29,100 @@ public class Utils {
   public static LocalDateTime stringToLocalDateTime(String value) {
 
     if (StringUtils.hasText(value)) {
-      return LocalDateTime.parse(value, LOCAL_DATE_TIME_FORMATTER);
+      LocalDateTime dateTime = parseLocalDateTime(value);
+      if (dateTime == null) {
+        throw new DateTimeParseException("Text '" + value + "' could not be parsed", value, 0);
+      }
+      return dateTime;
     }
     return null;
 
   }
 
+  /**
+   * Valida y convierte {@code yyyy-MM-dd'T'HH:mm:ss} en una sola pasada sobre los caracteres, sin objetos
+   * intermedios; devuelve {@code null} si el texto no tiene ese formato.
+   *
+   * <p>Acepta lo mismo que {@code DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")} en modo SMART: un día entre
+   * 29 y 31 que no existe en el mes se ajusta al último día del mes, y {@code 24:00:00} es la medianoche del día
+   * siguiente.
+   */
+  public static LocalDateTime parseLocalDateTime(CharSequence value) {
+
+    if (value == null || value.length() != LOCAL_DATE_TIME_LENGTH
+        || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+        || value.charAt(13) != ':' || value.charAt(16) != ':') {
+      return null;
+    }
+
+    int year = digits(value, 0, 4);
+    int month = digits(value, 5, 2);
+    int day = digits(value, 8, 2);
+    int hour = digits(value, 11, 2);
+    int minute = digits(value, 14, 2);
+    int second = digits(value, 17, 2);
+    boolean endOfDay = hour == 24 && minute == 0 && second == 0;
+    if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31
+        || hour < 0 || (hour > 23 && !endOfDay) || minute < 0 || minute > 59 || second < 0 || second > 59) {
+      return null;
+    }
+
+    int lastDay = Month.of(month).length(Year.isLeap(year));
+    if (endOfDay) {
+      return LocalDateTime.of(year, month, Math.min(day, lastDay), 0, 0).plusDays(1);
+    }
+    return LocalDateTime.of(year, month, Math.min(day, lastDay), hour, minute, second);
+
+  }
+
+  /**
+   * Formatea como {@code dd/MM/yyyy HH:mm:ss} escribiendo los dígitos directamente en un {@code char[]}, de modo
+   * que la única reserva es la propia cadena. Los años fuera de 1..9999 se delegan en el formatter.
+   */
   public static String localDateTimeToString(LocalDateTime dateTime) {
 
     if (dateTime == null) {
       return "";
     }
 
-    return dateTime.format(DATE_TIME_FORMATTER);
+    int year = dateTime.getYear();
+    if (year < 1 || year > 9999) {
+      return dateTime.format(DATE_TIME_FORMATTER);
+    }
+
+    char[] chars = new char[DATE_TIME_LENGTH];
+    writeDigits(chars, 0, 2, dateTime.getDayOfMonth());
+    chars[2] = '/';
+    writeDigits(chars, 3, 2, dateTime.getMonthValue());
+    chars[5] = '/';
+    writeDigits(chars, 6, 4, year);
+    chars[10] = ' ';
+    writeDigits(chars, 11, 2, dateTime.getHour());
+    chars[13] = ':';
+    writeDigits(chars, 14, 2, dateTime.getMinute());
+    chars[16] = ':';
+    writeDigits(chars, 17, 2, dateTime.getSecond());
+    return new String(chars);
+
+  }
 
+  private static void writeDigits(char[] chars, int from, int count, int value) {
+    for (int i = from + count - 1; i >= from; i--) {
+      chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private static int digits(CharSequence value, int from, int count) {
+    int result = 0;
+    for (int i = from; i < from + count; i++) {
+      int digit = value.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      result = result * 10 + digit;
+    }
+    return result;
   }
 
 }
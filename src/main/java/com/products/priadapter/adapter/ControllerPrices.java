@@ -0,0 +1,297 @@
+package com.products.priadapter.adapter;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceImportResultDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.ports.primary.PricesImportUseCase;
+import com.products.application.ports.primary.PricesUseCase;
+import com.products.application.utils.Utils;
+import com.products.priadapter.imports.PriceImportFormat;
+import com.products.priadapter.imports.PriceImportParser;
+import com.products.priadapter.mapper.PricesPriMapper;
+import com.products.priadapter.model.request.PriceRequestDto;
+import com.products.priadapter.model.response.BaseResponse;
+import com.products.priadapter.model.response.PriceImportResponseDto;
+import com.products.priadapter.model.response.PriceResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Alta, modificación y baja de tarifas de PRICES. Cada escritura actualiza solo la línea temporal del producto
+ * afectado en los índices y cachés en memoria, sin recargar la tabla ni bloquear las búsquedas en curso. La importación
+ * masiva publica todos sus cambios de una vez al terminar.
+ */
+@RestController("controllerPrices")
+@RequestMapping(path = "/prices")
+@RequiredArgsConstructor
+@Tag(name = "Tarifas",
+     description = "Endpoints para dar de alta, modificar y borrar tarifas")
+public class ControllerPrices {
+
+  private final @NonNull PricesUseCase pricesUseCase;
+
+  private final @NonNull PricesImportUseCase pricesImportUseCase;
+
+  private final @NonNull PricesPriMapper pricesPriMapper;
+
+  private final @NonNull PriceImportParser priceImportParser;
+
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+               produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Crear tarifa",
+      description = "Da de alta una tarifa nueva. La marca, el producto y la fecha de inicio la identifican y no "
+          + "pueden coincidir con los de otra tarifa existente."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "201",
+          description = "Tarifa creada",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BaseResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - campos requeridos faltantes, formato de fecha incorrecto o fecha de "
+              + "fin anterior a la de inicio",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "409",
+          description = "Ya existe una tarifa con la misma marca, producto y fecha de inicio",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Error interno del servidor",
+          content = @Content()
+      )
+  })
+  public ResponseEntity<BaseResponse<PriceResponseDto>> createPrice(@RequestBody @Valid PriceRequestDto request) {
+    try {
+
+      ProductDto price = pricesPriMapper.toProductDto(request);
+      pricesUseCase.createPrice(price);
+      return new ResponseEntity<>(new BaseResponse<>("", pricesPriMapper.toPriceResponseDto(price)),
+          HttpStatus.CREATED);
+
+    } catch (DbException.Duplicated e) {
+      return new ResponseEntity<>(new BaseResponse<>(e.getMessage(), null), HttpStatus.CONFLICT);
+    } catch (DbException.BadExecution e) {
+      String msgError = "Error guardando tarifa";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    } catch (Exception e) {
+      String msgError = "Error interno del servidor";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  @PostMapping(value = "/import",
+               consumes = {"text/csv", "application/x-ndjson"},
+               produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Importar tarifas",
+      description = "Inserta o sustituye en bloque las tarifas de un fichero CSV (text/csv, con cabecera con los "
+          + "nombres de los campos) o NDJSON (application/x-ndjson, un objeto por línea). Cada línea se valida como "
+          + "en el alta; las que no son válidas se devuelven con su número de línea y no impiden guardar el resto."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Importación terminada, con el número de tarifas guardadas y las líneas rechazadas",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BaseResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Cabecera del CSV ausente o con columnas desconocidas o que faltan",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "415",
+          description = "Tipo de contenido distinto de text/csv o application/x-ndjson",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Error interno del servidor; los bloques guardados antes del error se mantienen",
+          content = @Content()
+      )
+  })
+  public ResponseEntity<BaseResponse<PriceImportResponseDto>> importPrices(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream body) {
+
+    PriceImportFormat format = PriceImportFormat.fromContentType(contentType).orElseThrow();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+
+      PriceImportResultDto result = pricesImportUseCase.importPrices(priceImportParser.parse(reader, format));
+      return new ResponseEntity<>(new BaseResponse<>("", pricesPriMapper.toPriceImportResponseDto(result)),
+          HttpStatus.OK);
+
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(new BaseResponse<>(e.getMessage(), null), HttpStatus.BAD_REQUEST);
+    } catch (DbException.BadExecution e) {
+      return new ResponseEntity<>(new BaseResponse<>(e.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR);
+    } catch (Exception e) {
+      String msgError = "Error interno del servidor";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+              produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Modificar tarifa",
+      description = "Sustituye fecha de fin, lista de precios, prioridad, precio y moneda de la tarifa identificada "
+          + "por la marca, el producto y la fecha de inicio del cuerpo."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Tarifa modificada",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BaseResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - campos requeridos faltantes, formato de fecha incorrecto o fecha de "
+              + "fin anterior a la de inicio",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "No existe la tarifa indicada",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Error interno del servidor",
+          content = @Content()
+      )
+  })
+  public ResponseEntity<BaseResponse<PriceResponseDto>> updatePrice(@RequestBody @Valid PriceRequestDto request) {
+    try {
+
+      ProductDto price = pricesPriMapper.toProductDto(request);
+      if (!pricesUseCase.updatePrice(price)) {
+        String msgError = "Tarifa no encontrada";
+        return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.NOT_FOUND);
+      }
+      return new ResponseEntity<>(new BaseResponse<>("", pricesPriMapper.toPriceResponseDto(price)), HttpStatus.OK);
+
+    } catch (DbException.BadExecution e) {
+      String msgError = "Error guardando tarifa";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    } catch (Exception e) {
+      String msgError = "Error interno del servidor";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  @DeleteMapping(value = "/{brandId}/{productId}",
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Borrar tarifa",
+      description = "Borra la tarifa identificada por la marca, el producto y la fecha de inicio."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "204",
+          description = "Tarifa borrada",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - IDs no positivos o formato de fecha incorrecto",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "No existe la tarifa indicada",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Error interno del servidor",
+          content = @Content()
+      )
+  })
+  public ResponseEntity<BaseResponse<Void>> deletePrice(
+      @PathVariable
+      @Schema(description = "ID de la marca",
+              example = "1")
+      Integer brandId,
+
+      @PathVariable
+      @Schema(description = "ID del producto",
+              example = "35455")
+      Integer productId,
+
+      @RequestParam
+      @Schema(
+          description = "Fecha y hora de inicio de la tarifa (formato: yyyy-MM-dd'T'HH:mm:ss)",
+          example = "2020-06-14T00:00:00")
+      String startDate) {
+
+    if (brandId <= 0) {
+      return new ResponseEntity<>(new BaseResponse<>("Brand ID debe ser positivo", null), HttpStatus.BAD_REQUEST);
+    }
+    if (productId <= 0) {
+      return new ResponseEntity<>(new BaseResponse<>("Product ID debe ser positivo", null), HttpStatus.BAD_REQUEST);
+    }
+    LocalDateTime parsedStartDate = Utils.parseLocalDateTime(startDate);
+    if (parsedStartDate == null) {
+      return new ResponseEntity<>(new BaseResponse<>("Formato fecha de inicio no válido", null),
+          HttpStatus.BAD_REQUEST);
+    }
+
+    try {
+
+      if (!pricesUseCase.deletePrice(brandId, productId, parsedStartDate)) {
+        String msgError = "Tarifa no encontrada";
+        return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.NOT_FOUND);
+      }
+      return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+
+    } catch (DbException.BadExecution e) {
+      String msgError = "Error borrando tarifa";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    } catch (Exception e) {
+      String msgError = "Error interno del servidor";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+}
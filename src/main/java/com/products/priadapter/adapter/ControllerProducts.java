@@ -1,12 +1,25 @@
 package com.products.priadapter.adapter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
 import com.products.application.ports.primary.ProductsUseCase;
-import com.products.priadapter.config.validation.ValidDateFormat;
+import com.products.application.timing.StageTimings;
+import com.products.application.utils.Utils;
+import com.products.priadapter.config.caching.PriceCacheHeaders;
 import com.products.priadapter.mapper.ProductsPriMapper;
+import com.products.priadapter.model.request.ProductBatchRequestDto;
+import com.products.priadapter.model.request.ProductFilterRequestDto;
 import com.products.priadapter.model.response.BaseResponse;
+import com.products.priadapter.model.response.PriceHistorySegmentResponseDto;
+import com.products.priadapter.model.response.ProductBatchItemResponseDto;
+import com.products.priadapter.model.response.ProductLookupResponse;
 import com.products.priadapter.model.response.ProductResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,25 +27,35 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController("controllerProducts")
 @RequestMapping(path = "/products")
 @RequiredArgsConstructor
-@Validated
 @Tag(name = "Productos",
      description = "Endpoints para gestión y búsqueda de productos")
 public class ControllerProducts {
@@ -41,13 +64,23 @@ public class ControllerProducts {
 
   private final @NonNull ProductsPriMapper productsPriMapper;
 
+  private final @NonNull LookupMetrics lookupMetrics;
+
+  private final @NonNull ObjectMapper objectMapper;
+
+  private final @NonNull PriceCacheHeaders priceCacheHeaders;
+
+  private static final int EXPORT_BUFFER_BYTES = 8192;
+
   @GetMapping(value = "/{brandId}/{productId}",
               produces = MediaType.APPLICATION_JSON_VALUE)
   @Operation(
       summary = "Buscar producto por filtros",
       description = "Busca un producto específico filtrando por ID de producto, marca y fecha "
-          + "de aplicación. Retorna los detalles del producto incluyendo precio, rango de "
-          + "validez y lista de precios."
+          + "de aplicación. Sin fecha de aplicación se usa el momento actual. Retorna los detalles del "
+          + "producto incluyendo precio, rango de validez y lista de precios. La respuesta lleva un ETag por "
+          + "tarifa y Cache-Control: max-age hasta que la tarifa puede cambiar; con If-None-Match y la misma "
+          + "tarifa responde 304 sin cuerpo."
   )
   @ApiResponses(value = {
       @ApiResponse(
@@ -55,9 +88,14 @@ public class ControllerProducts {
           description = "Producto encontrado exitosamente",
           content = @Content(
               mediaType = "application/json",
-              schema = @Schema(implementation = BaseResponse.class)
+              schema = @Schema(implementation = ProductLookupResponse.class)
           )
       ),
+      @ApiResponse(
+          responseCode = "304",
+          description = "La tarifa vigente es la del ETag de If-None-Match",
+          content = @Content()
+      ),
       @ApiResponse(
           responseCode = "400",
           description = "Solicitud inválida - parámetros requeridos faltantes o formato de fecha incorrecto",
@@ -75,42 +113,222 @@ public class ControllerProducts {
           content = @Content()
       )
   })
-  public ResponseEntity<BaseResponse<ProductResponseDto>> getProductByFilter(
+  public ResponseEntity<ProductLookupResponse> getProductByFilter(
       @PathVariable
-      @NotNull(message = "Brand ID es requerido")
-      @Positive(message = "Brand ID debe ser positivo")
       @Schema(description = "ID de la marca",
               example = "1")
       Integer brandId,
 
       @PathVariable
-      @NotNull(message = "Product ID es requerido")
-      @Positive(message = "Product ID debe ser positivo")
       @Schema(description = "ID del producto a buscar",
               example = "35455")
       Integer productId,
 
-      @RequestParam
-      @NotBlank(message = "La fecha de aplicación es requerida")
-      @ValidDateFormat
+      @RequestParam(required = false)
       @Schema(
           description = "Fecha y hora de aplicación para validar el rango de precio "
-              + "(formato: yyyy-MM-dd'T'HH:mm:ss)",
+              + "(formato: yyyy-MM-dd'T'HH:mm:ss). Si no se indica, el momento actual",
           example = "2024-01-14T10:00:00")
-      String applicationDate) {
+      String applicationDate,
+
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+      @Schema(description = "ETag de una respuesta anterior; si la tarifa no ha cambiado se responde 304")
+      String ifNoneMatch) {
+
+    // Validación en línea, sin el proxy de validación de métodos; la fecha se valida y convierte en una sola pasada
+    if (brandId <= 0) {
+      return lookupResponse(ProductLookupResponse.error("Brand ID debe ser positivo"), HttpStatus.BAD_REQUEST);
+    }
+    if (productId <= 0) {
+      return lookupResponse(ProductLookupResponse.error("Product ID debe ser positivo"), HttpStatus.BAD_REQUEST);
+    }
+    boolean current = applicationDate == null || applicationDate.isBlank();
+    LocalDateTime parsedApplicationDate = current ? null : Utils.parseLocalDateTime(applicationDate);
+    if (!current && parsedApplicationDate == null) {
+      return lookupResponse(ProductLookupResponse.error("Formato fecha de aplicación no válido"),
+          HttpStatus.BAD_REQUEST);
+    }
+
+    long lookupStart = System.nanoTime();
+    LookupMetrics.Outcome outcome = LookupMetrics.Outcome.BAD_EXECUTION;
     try {
 
-      ProductFilterDto filter = productsPriMapper.toProductFilterDto(brandId, productId, applicationDate);
-      ProductDto resultService = productsUseCase.getProductByFilter(filter);
+      ProductDto product;
+      LocalDateTime validTo = null;
+      if (current) {
+        StageTimings.sinceBegin(StageTimings.Stage.PARSE);
+        Optional<PriceSegmentDto> segment = productsUseCase.getCurrentPriceSegment(brandId, productId);
+        product = segment.map(PriceSegmentDto::getProduct).orElse(null);
+        validTo = segment.map(PriceSegmentDto::getValidTo).orElse(null);
+      } else {
+        ProductFilterDto filter = productsPriMapper.toProductFilterDto(brandId, productId, parsedApplicationDate);
+        StageTimings.sinceBegin(StageTimings.Stage.PARSE);
+        product = productsUseCase.getProductByFilter(filter).orElse(null);
+      }
+      if (product == null) {
+        outcome = LookupMetrics.Outcome.NO_DATA;
+        String msgError = "Producto no encontrado para los filtros especificados";
+        return lookupResponse(ProductLookupResponse.error(msgError), HttpStatus.NOT_FOUND);
+      }
+      outcome = LookupMetrics.Outcome.FOUND;
 
-      ProductResponseDto result = productsPriMapper.toProductResponseDto(resultService);
-      return new ResponseEntity<>(new BaseResponse<>("", result), HttpStatus.OK);
+      HttpHeaders headers = HttpHeaders.EMPTY;
+      if (priceCacheHeaders.isEnabled()) {
+        headers = current ? priceCacheHeaders.forCurrent(product, validTo) : priceCacheHeaders.forDate(product);
+        // Misma tarifa que la que ya tiene el cliente: sin cuerpo y sin mapear la respuesta
+        if (ifNoneMatch != null && PriceCacheHeaders.matches(ifNoneMatch, headers.getETag())) {
+          return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+      }
+
+      long start = StageTimings.start();
+      ProductLookupResponse response = ProductLookupResponse.found(productsPriMapper.toProductLookupResponse(product));
+      StageTimings.stop(StageTimings.Stage.DTO_MAPPING, start);
+      return new ResponseEntity<>(response, headers, HttpStatus.OK);
 
-    } catch (DbException.NoData e) {
-      String msgError = "Producto no encontrado para los filtros especificados";
-      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.NOT_FOUND);
     } catch (DbException.BadExecution e) {
       String msgError = "Error consultando producto";
+      return lookupResponse(ProductLookupResponse.error(msgError), HttpStatus.INTERNAL_SERVER_ERROR);
+    } catch (Exception e) {
+      String msgError = "Error interno del servidor";
+      return lookupResponse(ProductLookupResponse.error(msgError), HttpStatus.INTERNAL_SERVER_ERROR);
+    } finally {
+      lookupMetrics.record(LookupMetrics.Layer.CONTROLLER, outcome, System.nanoTime() - lookupStart);
+    }
+  }
+
+  @PostMapping(value = "/batch",
+               consumes = MediaType.APPLICATION_JSON_VALUE,
+               produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Buscar varios productos por filtros",
+      description = "Resuelve en una sola petición varias búsquedas (ID de marca, ID de producto y fecha de "
+          + "aplicación). Retorna un resultado por búsqueda, en el mismo orden, con estado FOUND o NOT_FOUND."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Búsquedas resueltas; cada resultado indica si se encontró tarifa vigente",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BaseResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - lista vacía, demasiadas búsquedas o alguna búsqueda incorrecta",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Error interno del servidor",
+          content = @Content()
+      )
+  })
+  public ResponseEntity<BaseResponse<List<ProductBatchItemResponseDto>>> getProductsByFilters(
+      @RequestBody @Valid ProductBatchRequestDto request) {
+    try {
+
+      List<ProductFilterRequestDto> items = request.getItems();
+      List<ProductFilterDto> filters = productsPriMapper.toProductFilterDtos(items);
+      StageTimings.sinceBegin(StageTimings.Stage.PARSE);
+      List<ProductDto> resultService = productsUseCase.getProductsByFilters(filters);
+
+      long start = StageTimings.start();
+      List<ProductBatchItemResponseDto> result = new ArrayList<>(items.size());
+      for (int i = 0; i < items.size(); i++) {
+        result.add(productsPriMapper.toProductBatchItemResponseDto(items.get(i), resultService.get(i)));
+      }
+      StageTimings.stop(StageTimings.Stage.DTO_MAPPING, start);
+      return new ResponseEntity<>(new BaseResponse<>("", result), HttpStatus.OK);
+
+    } catch (DbException.BadExecution e) {
+      String msgError = "Error consultando productos";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    } catch (Exception e) {
+      String msgError = "Error interno del servidor";
+      return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  @GetMapping(value = "/{brandId}/{productId}/history",
+              produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Histórico de precios de un producto",
+      description = "Devuelve, en orden, los periodos entre las fechas desde y hasta (ambas incluidas) durante los "
+          + "que cada tarifa fue la vigente, con su lista de precios y su precio. Los periodos sin tarifa no "
+          + "aparecen."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Periodos de precio efectivo; lista vacía si no hay tarifa en el rango",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BaseResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - IDs no positivos, formato de fecha incorrecto o desde posterior a hasta",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Error interno del servidor",
+          content = @Content()
+      )
+  })
+  public ResponseEntity<BaseResponse<List<PriceHistorySegmentResponseDto>>> getPriceHistory(
+      @PathVariable
+      @Schema(description = "ID de la marca",
+              example = "1")
+      Integer brandId,
+
+      @PathVariable
+      @Schema(description = "ID del producto",
+              example = "35455")
+      Integer productId,
+
+      @RequestParam
+      @Schema(
+          description = "Inicio del rango, incluido (formato: yyyy-MM-dd'T'HH:mm:ss)",
+          example = "2020-06-14T00:00:00")
+      String from,
+
+      @RequestParam
+      @Schema(
+          description = "Fin del rango, incluido (formato: yyyy-MM-dd'T'HH:mm:ss)",
+          example = "2020-06-16T23:59:59")
+      String to) {
+
+    if (brandId <= 0) {
+      return new ResponseEntity<>(new BaseResponse<>("Brand ID debe ser positivo", null), HttpStatus.BAD_REQUEST);
+    }
+    if (productId <= 0) {
+      return new ResponseEntity<>(new BaseResponse<>("Product ID debe ser positivo", null), HttpStatus.BAD_REQUEST);
+    }
+    LocalDateTime parsedFrom = Utils.parseLocalDateTime(from);
+    LocalDateTime parsedTo = Utils.parseLocalDateTime(to);
+    if (parsedFrom == null || parsedTo == null) {
+      return new ResponseEntity<>(new BaseResponse<>("Formato de fecha del rango no válido", null),
+          HttpStatus.BAD_REQUEST);
+    }
+    if (parsedTo.isBefore(parsedFrom)) {
+      return new ResponseEntity<>(new BaseResponse<>("La fecha hasta no puede ser anterior a la fecha desde", null),
+          HttpStatus.BAD_REQUEST);
+    }
+
+    try {
+
+      // Fin del rango incluido, como BETWEEN
+      List<PriceSegmentDto> history = productsUseCase.getPriceHistory(brandId, productId, parsedFrom,
+          parsedTo.plusNanos(1));
+      return new ResponseEntity<>(new BaseResponse<>("", productsPriMapper.toPriceHistorySegmentResponseDtos(history)),
+          HttpStatus.OK);
+
+    } catch (DbException.BadExecution e) {
+      String msgError = "Error consultando histórico de precios";
       return new ResponseEntity<>(new BaseResponse<>(msgError, null), HttpStatus.INTERNAL_SERVER_ERROR);
     } catch (Exception e) {
       String msgError = "Error interno del servidor";
@@ -118,4 +336,146 @@ public class ControllerProducts {
     }
   }
 
+  @GetMapping(value = "/{brandId}/export",
+              produces = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+  @Operation(
+      summary = "Exportar las tarifas vigentes de una marca",
+      description = "Devuelve en NDJSON (un objeto por línea, con los mismos campos que la búsqueda individual) la "
+          + "tarifa vigente en la fecha de aplicación de cada producto de la marca, sin orden definido. Se escribe "
+          + "según se resuelve, con memoria constante, y se comprime con gzip si el cliente lo acepta "
+          + "(Accept-Encoding). Un error a mitad deja la respuesta cortada."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Tarifas vigentes de la marca, una por línea; vacío si no tiene ninguna",
+          content = @Content(
+              mediaType = "application/x-ndjson",
+              schema = @Schema(implementation = ProductResponseDto.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - ID de marca no positivo o formato de fecha incorrecto",
+          content = @Content()
+      )
+  })
+  public ResponseEntity<StreamingResponseBody> exportBrandPrices(
+      @PathVariable
+      @Schema(description = "ID de la marca",
+              example = "1")
+      Integer brandId,
+
+      @RequestParam
+      @Schema(
+          description = "Fecha y hora de aplicación (formato: yyyy-MM-dd'T'HH:mm:ss)",
+          example = "2020-06-14T10:00:00")
+      String applicationDate,
+
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding) {
+
+    if (brandId <= 0) {
+      return exportError("Brand ID debe ser positivo");
+    }
+    LocalDateTime parsedApplicationDate = Utils.parseLocalDateTime(applicationDate);
+    if (parsedApplicationDate == null) {
+      return exportError("Formato fecha de aplicación no válido");
+    }
+
+    boolean gzip = acceptsGzip(acceptEncoding);
+    // Sin FLUSH_AFTER_WRITE_VALUE: el buffer se vacía cuando se llena, no en cada línea
+    ObjectWriter writer = objectMapper.writerFor(ProductResponseDto.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    StreamingResponseBody body = out -> {
+      // Las escrituras bloquean mientras el cliente no lee, y con ellas el recorrido del repositorio
+      OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_BYTES) : out;
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+        generator.setRootValueSeparator(null);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        productsUseCase.exportBrandPrices(brandId, parsedApplicationDate, product -> {
+          try {
+            writer.writeValue(generator, productsPriMapper.toProductResponseDto(product));
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (DbException.BadExecution e) {
+        throw new IOException("Error exportando las tarifas de la marca " + brandId, e);
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      if (gzip) {
+        ((GZIPOutputStream) target).finish();
+      }
+    };
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  /**
+   * Si {@code Accept-Encoding} admite gzip: con una entrada {@code gzip} (o {@code x-gzip}) de peso mayor que 0 o, si
+   * no la nombra, con {@code *} de peso mayor que 0. {@code gzip;q=0} lo rechaza aunque haya {@code *}.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzip = null;
+    boolean wildcard = false;
+    for (String entry : acceptEncoding.split(",")) {
+      String[] parts = entry.split(";");
+      String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      boolean accepted = qualityOf(parts) > 0;
+      if (coding.equals("gzip") || coding.equals("x-gzip")) {
+        gzip = gzip == null ? accepted : gzip || accepted;
+      } else if (coding.equals("*")) {
+        wildcard = accepted;
+      }
+    }
+    return gzip != null ? gzip : wildcard;
+
+  }
+
+  /**
+   * Peso {@code q} de una entrada de {@code Accept-Encoding}; 1 si no lo indica y 0 si no se puede leer.
+   */
+  private static double qualityOf(String[] parts) {
+
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+
+  }
+
+  private ResponseEntity<StreamingResponseBody> exportError(String msgError) {
+    return ResponseEntity.badRequest()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(out -> objectMapper.writeValue(out, new BaseResponse<>(msgError, null)));
+  }
+
+  /**
+   * Las respuestas de error de la búsqueda no llevan cabeceras propias: se reutiliza la instancia vacía de solo
+   * lectura en lugar de crear una por petición.
+   */
+  private static ResponseEntity<ProductLookupResponse> lookupResponse(ProductLookupResponse body, HttpStatus status) {
+    return new ResponseEntity<>(body, HttpHeaders.EMPTY, status);
+  }
+
 }
@@ -0,0 +1,178 @@
+package com.products.priadapter.adapter;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.ports.primary.ReactiveProductsUseCase;
+import com.products.application.utils.Utils;
+import com.products.priadapter.mapper.ProductsPriMapper;
+import com.products.priadapter.model.response.ProductLookupResponse;
+import com.products.priadapter.model.response.ProductResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDateTime;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante reactiva de {@link ControllerProducts}, con las mismas respuestas. Devuelve {@link Mono} y {@link Flux}
+ * y la respuesta se completa de forma asíncrona. Con r2dbc-h2 la consulta se ejecuta de forma síncrona en el hilo que
+ * se suscribe, así que el hilo solo queda libre durante la consulta con un driver R2DBC no bloqueante.
+ */
+@RestController("controllerProductsReactive")
+@RequestMapping(path = "/reactive/products")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "products.reactive.enabled", havingValue = "true")
+@Tag(name = "Productos (reactivo)",
+     description = "Búsqueda de productos reactiva sobre R2DBC")
+public class ControllerProductsReactive {
+
+  private final @NonNull ReactiveProductsUseCase reactiveProductsUseCase;
+
+  private final @NonNull ProductsPriMapper productsPriMapper;
+
+  @GetMapping(value = "/{brandId}/{productId}",
+              produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Buscar producto por filtros (reactivo)",
+      description = "Igual que GET /products/{brandId}/{productId}, resuelto sin bloquear hilos. No pasa por la "
+          + "caché de periodos ni por la vista de tarifas vigentes."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Producto encontrado exitosamente",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ProductLookupResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - IDs no positivos o formato de fecha incorrecto",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "Producto no encontrado para los filtros especificados",
+          content = @Content()
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Error interno del servidor",
+          content = @Content()
+      )
+  })
+  public Mono<ResponseEntity<ProductLookupResponse>> getProductByFilter(
+      @PathVariable
+      @Schema(description = "ID de la marca",
+              example = "1")
+      Integer brandId,
+
+      @PathVariable
+      @Schema(description = "ID del producto a buscar",
+              example = "35455")
+      Integer productId,
+
+      @RequestParam(required = false)
+      @Schema(
+          description = "Fecha y hora de aplicación (formato: yyyy-MM-dd'T'HH:mm:ss). Si no se indica, el momento "
+              + "actual",
+          example = "2020-06-14T10:00:00")
+      String applicationDate) {
+
+    if (brandId <= 0) {
+      return Mono.just(lookupResponse(ProductLookupResponse.error("Brand ID debe ser positivo"),
+          HttpStatus.BAD_REQUEST));
+    }
+    if (productId <= 0) {
+      return Mono.just(lookupResponse(ProductLookupResponse.error("Product ID debe ser positivo"),
+          HttpStatus.BAD_REQUEST));
+    }
+    boolean current = applicationDate == null || applicationDate.isBlank();
+    LocalDateTime parsedApplicationDate = current ? null : Utils.parseLocalDateTime(applicationDate);
+    if (!current && parsedApplicationDate == null) {
+      return Mono.just(lookupResponse(ProductLookupResponse.error("Formato fecha de aplicación no válido"),
+          HttpStatus.BAD_REQUEST));
+    }
+
+    return (current
+        ? reactiveProductsUseCase.getCurrentProduct(brandId, productId)
+        : reactiveProductsUseCase.getProductByFilter(
+            productsPriMapper.toProductFilterDto(brandId, productId, parsedApplicationDate)))
+        .map(product -> lookupResponse(ProductLookupResponse.found(productsPriMapper.toProductLookupResponse(product)),
+            HttpStatus.OK))
+        .defaultIfEmpty(lookupResponse(ProductLookupResponse.error("Producto no encontrado para los filtros "
+            + "especificados"), HttpStatus.NOT_FOUND))
+        .onErrorResume(e -> Mono.just(lookupResponse(ProductLookupResponse.error(
+            e instanceof DbException.BadExecution ? "Error consultando producto" : "Error interno del servidor"),
+            HttpStatus.INTERNAL_SERVER_ERROR)));
+  }
+
+  @GetMapping(value = "/{brandId}/export",
+              produces = "application/x-ndjson")
+  @Operation(
+      summary = "Exportar las tarifas vigentes de una marca (reactivo)",
+      description = "Igual que GET /products/{brandId}/export, sin gzip. Las filas se piden a la BD según se "
+          + "escriben, así que un cliente lento frena la consulta sin ocupar un hilo. Un error a mitad deja la "
+          + "respuesta cortada."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Tarifas vigentes de la marca, una por línea; vacío si no tiene ninguna",
+          content = @Content(
+              mediaType = "application/x-ndjson",
+              schema = @Schema(implementation = ProductResponseDto.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Solicitud inválida - ID de marca no positivo o formato de fecha incorrecto",
+          content = @Content()
+      )
+  })
+  public Flux<ProductResponseDto> exportBrandPrices(
+      @PathVariable
+      @Schema(description = "ID de la marca",
+              example = "1")
+      Integer brandId,
+
+      @RequestParam
+      @Schema(
+          description = "Fecha y hora de aplicación (formato: yyyy-MM-dd'T'HH:mm:ss)",
+          example = "2020-06-14T10:00:00")
+      String applicationDate) {
+
+    // Un Flux con error antes del primer elemento todavía puede responder con otro estado
+    if (brandId <= 0) {
+      return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Brand ID debe ser positivo"));
+    }
+    LocalDateTime parsedApplicationDate = Utils.parseLocalDateTime(applicationDate);
+    if (parsedApplicationDate == null) {
+      return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato fecha de aplicación no válido"));
+    }
+
+    return reactiveProductsUseCase.exportBrandPrices(brandId, parsedApplicationDate)
+        .map(productsPriMapper::toProductResponseDto);
+  }
+
+  private static ResponseEntity<ProductLookupResponse> lookupResponse(ProductLookupResponse body, HttpStatus status) {
+    return new ResponseEntity<>(body, status);
+  }
+
+}
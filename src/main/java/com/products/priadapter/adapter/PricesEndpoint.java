@@ -0,0 +1,38 @@
+package com.products.priadapter.adapter;
+
+import com.products.application.events.PricesChangedEvent;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de actuator para avisar de que PRICES ha cambiado fuera de la aplicación (por ejemplo, con scripts SQL)
+ * y reconstruir las estructuras en memoria derivadas de la tabla.
+ *
+ * <p>{@code POST /actuator/prices} reconstruye todo; con {@code brandId} y {@code productId} solo ese producto.
+ */
+@Component
+@Endpoint(id = "prices")
+@RequiredArgsConstructor
+public class PricesEndpoint {
+
+  private final @NonNull ApplicationEventPublisher applicationEventPublisher;
+
+  @WriteOperation
+  public Map<String, Object> reload(@Nullable Integer brandId, @Nullable Integer productId) {
+
+    PricesChangedEvent event = brandId != null && productId != null
+        ? PricesChangedEvent.of(brandId, productId)
+        : PricesChangedEvent.all();
+    applicationEventPublisher.publishEvent(event);
+
+    return Map.of("fullReload", event.isFullReload(), "products", event.products().size());
+
+  }
+
+}
@@ -0,0 +1,164 @@
+package com.products.priadapter.config.caching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.products.application.model.dto.ProductDto;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cabeceras de caché HTTP de {@code GET /products/{brandId}/{productId}}: un {@code ETag} fuerte por tarifa resuelta
+ * y un {@code Cache-Control: max-age} según cuánto puede tardar en cambiar la respuesta.
+ *
+ * <p>Con fecha de aplicación la tarifa resuelta solo cambia si se modifican las tarifas, así que el
+ * {@code max-age} es fijo ({@code products.http-cache.dated-max-age}). Sin fecha la respuesta cambia además al
+ * acabar el periodo vigente: el {@code max-age} son los segundos que le quedan, redondeados hacia abajo para que
+ * ninguna caché la sirva pasada la frontera, y nunca más que el de las búsquedas con fecha, porque un periodo puede
+ * durar días y modificar las tarifas también la cambia.
+ *
+ * <p>El {@code ETag} y las cabeceras con fecha se guardan por instancia de {@link ProductDto} (claves débiles, por
+ * identidad): las tarifas que sirven la caché de periodos y la vista de tarifas vigentes son siempre la misma
+ * instancia, así que una búsqueda repetida no vuelve a calcular ni a reservar cabeceras.
+ */
+@Component
+public class PriceCacheHeaders {
+
+  private final boolean enabled;
+
+  private final long datedMaxAgeSeconds;
+
+  private final String datedCacheControl;
+
+  private final Cache<ProductDto, Validators> validators;
+
+  private final Function<ProductDto, Validators> validatorsLoader = this::computeValidators;
+
+  public PriceCacheHeaders(
+      @Value("${products.http-cache.enabled:true}") boolean enabled,
+      @Value("${products.http-cache.dated-max-age:60s}") Duration datedMaxAge,
+      @Value("${products.http-cache.maximum-size:100000}") long maximumSize) {
+
+    this.enabled = enabled;
+    this.datedMaxAgeSeconds = datedMaxAge.getSeconds();
+    this.datedCacheControl = maxAge(datedMaxAgeSeconds);
+    this.validators = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(maximumSize)
+        .build();
+
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public String etag(ProductDto product) {
+    return validators.get(product, validatorsLoader).etag();
+  }
+
+  /**
+   * Cabeceras de una búsqueda con fecha de aplicación. Son de solo lectura y se reutilizan entre peticiones.
+   */
+  public HttpHeaders forDate(ProductDto product) {
+    return validators.get(product, validatorsLoader).datedHeaders();
+  }
+
+  /**
+   * Cabeceras de una búsqueda sin fecha cuya tarifa es la vigente hasta {@code validTo} (excluido).
+   */
+  public HttpHeaders forCurrent(ProductDto product, LocalDateTime validTo) {
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(etag(product));
+    long secondsLeft = Math.max(0, Duration.between(now(), validTo).getSeconds());
+    headers.setCacheControl(maxAge(Math.min(datedMaxAgeSeconds, secondsLeft)));
+    return headers;
+
+  }
+
+  /**
+   * Si {@code If-None-Match} incluye {@code etag}. Compara como indica RFC 9110 para esta cabecera: ignorando el
+   * prefijo {@code W/} y con {@code *} coincidiendo con cualquiera.
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals("*") || candidate.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+
+  }
+
+  /**
+   * Fecha y hora con la que se calcula lo que le queda al periodo vigente.
+   */
+  LocalDateTime now() {
+    return LocalDateTime.now();
+  }
+
+  private Validators computeValidators(ProductDto product) {
+
+    String etag = etagOf(product);
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(etag);
+    headers.setCacheControl(datedCacheControl);
+    return new Validators(etag, HttpHeaders.readOnlyHttpHeaders(headers));
+
+  }
+
+  /**
+   * Hash de 64 bits de todos los campos de la tarifa: dos filas que se serializan distinto tienen distinto
+   * {@code ETag}.
+   */
+  static String etagOf(ProductDto product) {
+
+    long hash = 0xcbf29ce484222325L;
+    hash = mix(hash, Objects.hashCode(product.getBrandId()));
+    hash = mix(hash, Objects.hashCode(product.getProductId()));
+    hash = mix(hash, Objects.hashCode(product.getPriceList()));
+    hash = mix(hash, Objects.hashCode(product.getPriority()));
+    hash = mix(hash, epochNanos(product.getStartDate()));
+    hash = mix(hash, epochNanos(product.getEndDate()));
+    hash = mix(hash, Objects.hashCode(product.getPrice()));
+    hash = mix(hash, Objects.hashCode(product.getCurrency()));
+    // Avalancha final de MurmurHash3
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return "\"" + Long.toHexString(hash) + "\"";
+
+  }
+
+  private static long mix(long hash, long value) {
+    return (hash ^ value) * 0x100000001b3L;
+  }
+
+  private static long epochNanos(LocalDateTime date) {
+    return date == null ? 0 : date.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + date.getNano();
+  }
+
+  private static String maxAge(long seconds) {
+    return "max-age=" + seconds;
+  }
+
+  private record Validators(String etag, HttpHeaders datedHeaders) {
+  }
+
+}
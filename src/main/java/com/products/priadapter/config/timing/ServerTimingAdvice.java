@@ -0,0 +1,42 @@
+package com.products.priadapter.config.timing;
+
+import com.products.application.timing.StageTimings;
+import com.products.priadapter.adapter.ControllerProducts;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Añade la cabecera {@code Server-Timing} a las respuestas de {@link ControllerProducts} justo antes de
+ * serializarlas.
+ */
+@ControllerAdvice(assignableTypes = ControllerProducts.class)
+@ConditionalOnProperty(name = "products.server-timing.enabled", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+  static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+      ServerHttpResponse response) {
+
+    String header = StageTimings.header();
+    if (header != null) {
+      response.getHeaders().add(SERVER_TIMING_HEADER, header);
+    }
+    return body;
+
+  }
+
+}
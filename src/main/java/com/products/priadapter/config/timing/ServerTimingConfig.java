@@ -0,0 +1,22 @@
+package com.products.priadapter.config.timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Modo {@code Server-Timing}: cada respuesta de {@code /products} indica cuánto tardaron el parseo y validación, la
+ * caché, la consulta, el mapeo de filas y el mapeo a DTO. Se activa con
+ * {@code products.server-timing.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "products.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new ServerTimingInterceptor()).addPathPatterns("/products/**");
+  }
+
+}
@@ -0,0 +1,25 @@
+package com.products.priadapter.config.timing;
+
+import com.products.application.timing.StageTimings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Abre y cierra la medición por etapas de cada petición a {@code /products}.
+ */
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    StageTimings.begin();
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    StageTimings.end();
+  }
+
+}
@@ -12,11 +12,6 @@ public class DateFormatValidator implements ConstraintValidator<ValidDateFormat,
     if (!StringUtils.hasText(value)) {
       return true; // @NotBlank se encargará de validar si está vacío
     }
-    try {
-      Utils.stringToLocalDateTime(value);
-      return true;
-    } catch (Exception e) {
-      return false;
-    }
+    return Utils.parseLocalDateTime(value) != null;
   }
 }
@@ -0,0 +1,57 @@
+package com.products.priadapter.imports;
+
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos admitidos para importar tarifas.
+ */
+public enum PriceImportFormat {
+
+  /**
+   * Una tarifa por línea con los campos separados por comas, sin comillas, y una cabecera con los nombres de los
+   * campos de la API en cualquier orden.
+   */
+  CSV("text/csv"),
+
+  /**
+   * Un objeto JSON por línea con los mismos campos que el cuerpo de {@code POST /prices}.
+   */
+  NDJSON("application/x-ndjson");
+
+  private final MediaType mediaType;
+
+  PriceImportFormat(String mediaType) {
+    this.mediaType = MediaType.parseMediaType(mediaType);
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  public static Optional<PriceImportFormat> fromContentType(String contentType) {
+    if (contentType == null || contentType.isBlank()) {
+      return Optional.empty();
+    }
+    MediaType parsed = MediaType.parseMediaType(contentType);
+    for (PriceImportFormat format : values()) {
+      if (format.mediaType.isCompatibleWith(parsed) && !parsed.isWildcardSubtype()) {
+        return Optional.of(format);
+      }
+    }
+    return Optional.empty();
+  }
+
+  public static Optional<PriceImportFormat> fromFileName(String fileName) {
+    String lower = fileName.toLowerCase(Locale.ROOT);
+    if (lower.endsWith(".csv")) {
+      return Optional.of(CSV);
+    }
+    if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+      return Optional.of(NDJSON);
+    }
+    return Optional.empty();
+  }
+
+}
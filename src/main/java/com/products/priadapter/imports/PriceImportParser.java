@@ -0,0 +1,206 @@
+package com.products.priadapter.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.application.model.dto.PriceImportRowDto;
+import com.products.priadapter.mapper.PricesPriMapper;
+import com.products.priadapter.model.request.PriceRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Convierte un fichero CSV o NDJSON de tarifas en un iterador de líneas ya validadas con las mismas reglas que
+ * {@code POST /prices}. Lee la siguiente línea solo cuando se pide, así que el fichero nunca está entero en memoria.
+ *
+ * <p>Las líneas que no se pueden leer o no pasan la validación no cortan la importación: salen como rechazadas con su
+ * número de línea y el motivo. Las líneas en blanco se ignoran.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceImportParser {
+
+  static final List<String> CSV_COLUMNS = List.of("brandId", "productId", "startDate", "endDate", "priceList",
+      "priority", "price", "currency");
+
+  private final @NonNull ObjectMapper objectMapper;
+
+  private final @NonNull Validator validator;
+
+  private final @NonNull PricesPriMapper pricesPriMapper;
+
+  /**
+   * Iterador perezoso sobre las líneas de {@code reader}; quien lo recorre es responsable de cerrar el reader.
+   *
+   * @throws IllegalArgumentException si es un CSV sin cabecera o con columnas que faltan o no se conocen
+   * @throws UncheckedIOException si falla la lectura
+   */
+  public Iterator<PriceImportRowDto> parse(BufferedReader reader, PriceImportFormat format) {
+    return format == PriceImportFormat.CSV ? new CsvRows(reader) : new NdjsonRows(reader);
+  }
+
+  private PriceImportRowDto toRow(long lineNumber, PriceRequestDto request) {
+    Set<ConstraintViolation<PriceRequestDto>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      String error = violations.stream()
+          .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+          .map(ConstraintViolation::getMessage)
+          .collect(Collectors.joining("; "));
+      return PriceImportRowDto.rejected(lineNumber, error);
+    }
+    return PriceImportRowDto.valid(lineNumber, pricesPriMapper.toProductDto(request));
+  }
+
+  /**
+   * Recorre las líneas no vacías del reader y delega en {@link #parseLine} la conversión de cada una.
+   */
+  private abstract class Rows implements Iterator<PriceImportRowDto> {
+
+    private final BufferedReader reader;
+
+    private long lineNumber;
+
+    private PriceImportRowDto next;
+
+    private boolean finished;
+
+    Rows(BufferedReader reader) {
+      this.reader = reader;
+    }
+
+    String readLine() {
+      try {
+        String line = reader.readLine();
+        lineNumber++;
+        return line;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    abstract PriceImportRowDto parseLine(long number, String line);
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && !finished) {
+        String line = readLine();
+        if (line == null) {
+          finished = true;
+        } else if (!line.isBlank()) {
+          next = parseLine(lineNumber, line);
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public PriceImportRowDto next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      PriceImportRowDto row = next;
+      next = null;
+      return row;
+    }
+
+  }
+
+  private final class NdjsonRows extends Rows {
+
+    NdjsonRows(BufferedReader reader) {
+      super(reader);
+    }
+
+    @Override
+    PriceImportRowDto parseLine(long number, String line) {
+      try {
+        return toRow(number, objectMapper.readValue(line, PriceRequestDto.class));
+      } catch (JsonProcessingException e) {
+        return PriceImportRowDto.rejected(number, "JSON no válido: " + e.getOriginalMessage());
+      }
+    }
+
+  }
+
+  private final class CsvRows extends Rows {
+
+    /**
+     * Posición de cada columna de {@link #CSV_COLUMNS} en las líneas del fichero.
+     */
+    private final int[] positions = new int[CSV_COLUMNS.size()];
+
+    CsvRows(BufferedReader reader) {
+      super(reader);
+      String header = readLine();
+      while (header != null && header.isBlank()) {
+        header = readLine();
+      }
+      if (header == null) {
+        throw new IllegalArgumentException("El CSV está vacío, falta la cabecera");
+      }
+
+      Map<String, Integer> columns = new HashMap<>();
+      String[] names = header.split(",", -1);
+      for (int i = 0; i < names.length; i++) {
+        String name = names[i].strip();
+        if (!CSV_COLUMNS.contains(name)) {
+          throw new IllegalArgumentException("Columna desconocida en la cabecera del CSV: '" + name + "'");
+        }
+        columns.put(name, i);
+      }
+      for (int i = 0; i < positions.length; i++) {
+        Integer position = columns.get(CSV_COLUMNS.get(i));
+        if (position == null) {
+          throw new IllegalArgumentException("Falta la columna " + CSV_COLUMNS.get(i) + " en la cabecera del CSV");
+        }
+        positions[i] = position;
+      }
+    }
+
+    @Override
+    PriceImportRowDto parseLine(long number, String line) {
+      String[] values = line.split(",", -1);
+      if (values.length != positions.length) {
+        return PriceImportRowDto.rejected(number,
+            "Se esperaban " + positions.length + " campos y hay " + values.length);
+      }
+
+      PriceRequestDto request = new PriceRequestDto();
+      try {
+        request.setBrandId(toInteger(values[positions[0]]));
+        request.setProductId(toInteger(values[positions[1]]));
+        request.setStartDate(values[positions[2]].strip());
+        request.setEndDate(values[positions[3]].strip());
+        request.setPriceList(toInteger(values[positions[4]]));
+        request.setPriority(toInteger(values[positions[5]]));
+        String price = values[positions[6]].strip();
+        request.setPrice(price.isEmpty() ? null : new BigDecimal(price));
+        request.setCurrency(values[positions[7]].strip());
+      } catch (NumberFormatException e) {
+        return PriceImportRowDto.rejected(number, "Valor numérico no válido");
+      }
+      return toRow(number, request);
+    }
+
+    private static Integer toInteger(String value) {
+      String stripped = value.strip();
+      return stripped.isEmpty() ? null : Integer.valueOf(stripped);
+    }
+
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.products.priadapter.imports;
+
+import com.products.application.model.dto.PriceImportResultDto;
+import com.products.application.model.dto.PriceImportRowDto;
+import com.products.application.ports.primary.PricesImportUseCase;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Importación desde línea de comandos: con {@code --products.import.file=tarifas.csv} la aplicación arranca, importa
+ * el fichero, escribe el informe en el log y termina con código 0 si no hubo rechazos, 1 si los hubo y 2 si la
+ * importación falló. El formato se deduce de la extensión (.csv, .ndjson o .jsonl).
+ *
+ * <p>Se lanza con el perfil {@code import}, que no arranca el servidor web. Como el proceso termina al acabar, lo
+ * importado solo perdura con una BD en fichero o en servidor ({@code spring.datasource.url}) o con
+ * {@code products.repository.type=primitive} y {@code products.repository.snapshot.path}: contra la BD en memoria
+ * por defecto no importa nada y termina con código 2.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "products.import.file")
+public class PricesImportRunner implements ApplicationRunner {
+
+  private static final String IN_MEMORY_URL_PREFIX = "jdbc:h2:mem:";
+
+  private final PricesImportUseCase pricesImportUseCase;
+
+  private final PriceImportParser priceImportParser;
+
+  private final ConfigurableApplicationContext context;
+
+  private final Path file;
+
+  private final boolean persistent;
+
+  public PricesImportRunner(
+      PricesImportUseCase pricesImportUseCase,
+      PriceImportParser priceImportParser,
+      ConfigurableApplicationContext context,
+      @Value("${products.import.file}") String file,
+      @Value("${spring.datasource.url:}") String datasourceUrl,
+      @Value("${products.repository.type:jdbc}") String repositoryType,
+      @Value("${products.repository.snapshot.path:}") String snapshotPath) {
+
+    this.pricesImportUseCase = pricesImportUseCase;
+    this.priceImportParser = priceImportParser;
+    this.context = context;
+    this.file = Path.of(file);
+    this.persistent = !datasourceUrl.isBlank() && !datasourceUrl.startsWith(IN_MEMORY_URL_PREFIX)
+        || ("primitive".equals(repositoryType) && !snapshotPath.isBlank());
+
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+
+    if (!persistent) {
+      log.error("Importación de {} cancelada: spring.datasource.url es una BD en memoria y se perdería al terminar. "
+          + "Usa una BD en fichero o en servidor, o products.repository.type=primitive con "
+          + "products.repository.snapshot.path", file);
+      System.exit(SpringApplication.exit(context, () -> 2));
+      return;
+    }
+
+    int exitCode;
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+
+      PriceImportFormat format = PriceImportFormat.fromFileName(file.toString())
+          .orElseThrow(() -> new IllegalArgumentException("Extensión no soportada: " + file.getFileName()));
+      PriceImportResultDto result = pricesImportUseCase.importPrices(priceImportParser.parse(reader, format));
+      for (PriceImportRowDto rejected : result.getRejectedRows()) {
+        log.warn("{}:{} rechazada: {}", file.getFileName(), rejected.getLineNumber(), rejected.getError());
+      }
+      log.info("Importado {}: {} líneas, {} importadas, {} rechazadas en {} ms ({} filas/s)", file, result.getRead(),
+          result.getImported(), result.getRejected(), result.getElapsedMillis(), result.getRowsPerSecond());
+      exitCode = result.getRejected() == 0 ? 0 : 1;
+
+    } catch (Exception e) {
+      log.error("Importación de {} fallida: {}", file, e.getMessage());
+      exitCode = 2;
+    }
+
+    int code = exitCode;
+    System.exit(SpringApplication.exit(context, () -> code));
+
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.products.priadapter.mapper;
+
+import com.products.application.model.dto.PriceImportResultDto;
+import com.products.application.model.dto.PriceImportRowDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.utils.Utils;
+import com.products.priadapter.model.request.PriceRequestDto;
+import com.products.priadapter.model.response.PriceImportRejectResponseDto;
+import com.products.priadapter.model.response.PriceImportResponseDto;
+import com.products.priadapter.model.response.PriceResponseDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring",
+        uses = Utils.class)
+public interface PricesPriMapper {
+
+  @Mapping(target = "startDate", source = "parsedStartDate")
+  @Mapping(target = "endDate", source = "parsedEndDate")
+  ProductDto toProductDto(PriceRequestDto request);
+
+  PriceResponseDto toPriceResponseDto(ProductDto dto);
+
+  PriceImportResponseDto toPriceImportResponseDto(PriceImportResultDto result);
+
+  PriceImportRejectResponseDto toPriceImportRejectResponseDto(PriceImportRowDto row);
+
+}
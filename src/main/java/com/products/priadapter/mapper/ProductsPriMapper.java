@@ -1,10 +1,20 @@
 package com.products.priadapter.mapper;
 
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
 import com.products.application.utils.Utils;
+import com.products.priadapter.model.request.ProductFilterRequestDto;
+import com.products.priadapter.model.response.PriceHistorySegmentResponseDto;
+import com.products.priadapter.model.response.ProductBatchItemResponseDto;
+import com.products.priadapter.model.response.ProductBatchItemStatus;
+import com.products.priadapter.model.response.ProductLookupResponse;
 import com.products.priadapter.model.response.ProductResponseDto;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValueMappingStrategy;
 
 @Mapper(componentModel = "spring",
@@ -12,8 +22,59 @@ import org.mapstruct.NullValueMappingStrategy;
         nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
 public interface ProductsPriMapper {
 
-  ProductFilterDto toProductFilterDto(Integer brandId, Integer productId, String applicationDate);
+  ProductFilterDto toProductFilterDto(Integer brandId, Integer productId, LocalDateTime applicationDate);
+
+  @Mapping(target = "applicationDate", source = "parsedApplicationDate")
+  ProductFilterDto toProductFilterDto(ProductFilterRequestDto request);
+
+  List<ProductFilterDto> toProductFilterDtos(List<ProductFilterRequestDto> requests);
 
   ProductResponseDto toProductResponseDto(ProductDto dto);
 
-}
\ No newline at end of file
+  ProductLookupResponse.Product toProductLookupResponse(ProductDto dto);
+
+  /**
+   * El periodo llega como {@code [validFrom, validTo)} con precisión de nanosegundos (una tarifa acaba en
+   * {@code END_DATE + 1ns}); en la respuesta se da con los dos extremos incluidos y redondeados al segundo, que es la
+   * precisión de las fechas de la API. Devuelve {@code null} si el periodo no contiene ningún segundo entero, como el
+   * nanosegundo que gana la tarifa base entre una promoción que acaba a las 23:59:59 y otra que empieza a las
+   * 00:00:00: redondeado saldría con el inicio después del fin.
+   */
+  default PriceHistorySegmentResponseDto toPriceHistorySegmentResponseDto(PriceSegmentDto segment) {
+    ProductDto product = segment.getProduct();
+    LocalDateTime start = segment.getValidFrom();
+    if (start.getNano() != 0) {
+      start = start.withNano(0).plusSeconds(1);
+    }
+    LocalDateTime end = segment.getValidTo().minusNanos(1).withNano(0);
+    if (start.isAfter(end)) {
+      return null;
+    }
+    return new PriceHistorySegmentResponseDto(Utils.localDateTimeToString(start), Utils.localDateTimeToString(end),
+        product.getPriceList(), product.getPriority(), product.getPrice(), product.getCurrency());
+  }
+
+  /**
+   * Omite los periodos sin ningún segundo entero.
+   */
+  default List<PriceHistorySegmentResponseDto> toPriceHistorySegmentResponseDtos(List<PriceSegmentDto> segments) {
+    List<PriceHistorySegmentResponseDto> history = new ArrayList<>(segments.size());
+    for (PriceSegmentDto segment : segments) {
+      PriceHistorySegmentResponseDto dto = toPriceHistorySegmentResponseDto(segment);
+      if (dto != null) {
+        history.add(dto);
+      }
+    }
+    return history;
+  }
+
+  default ProductBatchItemResponseDto toProductBatchItemResponseDto(ProductFilterRequestDto request, ProductDto dto) {
+    if (dto == null) {
+      return new ProductBatchItemResponseDto(request.getBrandId(), request.getProductId(),
+          request.getApplicationDate(), ProductBatchItemStatus.NOT_FOUND, null);
+    }
+    return new ProductBatchItemResponseDto(request.getBrandId(), request.getProductId(),
+        request.getApplicationDate(), ProductBatchItemStatus.FOUND, toProductResponseDto(dto));
+  }
+
+}
@@ -0,0 +1,149 @@
+package com.products.priadapter.model.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.products.application.utils.Utils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.util.StringUtils;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "DTO con una tarifa completa de PRICES para darla de alta o modificarla")
+public class PriceRequestDto {
+
+  @NotNull(message = "Brand ID es requerido")
+  @Positive(message = "Brand ID debe ser positivo")
+  @Schema(
+      description = "ID de la marca",
+      example = "1",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private Integer brandId;
+
+  @NotNull(message = "Product ID es requerido")
+  @Positive(message = "Product ID debe ser positivo")
+  @Schema(
+      description = "ID del producto",
+      example = "35455",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private Integer productId;
+
+  @NotBlank(message = "La fecha de inicio es requerida")
+  @Schema(
+      description = "Fecha y hora de inicio de validez (formato: yyyy-MM-dd'T'HH:mm:ss); junto con la marca y el "
+          + "producto identifica la tarifa",
+      example = "2020-06-14T00:00:00",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private String startDate;
+
+  @NotBlank(message = "La fecha de fin es requerida")
+  @Schema(
+      description = "Fecha y hora de fin de validez, incluida (formato: yyyy-MM-dd'T'HH:mm:ss)",
+      example = "2020-12-31T23:59:59",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private String endDate;
+
+  @NotNull(message = "La lista de precios es requerida")
+  @Positive(message = "La lista de precios debe ser positiva")
+  @Schema(
+      description = "ID de la lista de precios",
+      example = "1",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private Integer priceList;
+
+  @NotNull(message = "La prioridad es requerida")
+  @PositiveOrZero(message = "La prioridad no puede ser negativa")
+  @Schema(
+      description = "Prioridad frente a otras tarifas del producto que coincidan en el tiempo; gana la mayor",
+      example = "0",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private Integer priority;
+
+  @NotNull(message = "El precio es requerido")
+  @DecimalMin(value = "0.00", message = "El precio no puede ser negativo")
+  @Digits(integer = 8, fraction = 2, message = "El precio admite 8 enteros y 2 decimales")
+  @Schema(
+      description = "Precio final",
+      example = "35.50",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private BigDecimal price;
+
+  @NotBlank(message = "La moneda es requerida")
+  @Pattern(regexp = "[A-Z]{3}", message = "La moneda debe ser un código ISO 4217 de 3 letras")
+  @Schema(
+      description = "Código ISO 4217 de la moneda",
+      example = "EUR",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private String currency;
+
+  /**
+   * Fechas ya convertidas al asignarlas, para que la validación y el mapper no las vuelvan a parsear.
+   */
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @Setter(AccessLevel.NONE)
+  private transient LocalDateTime parsedStartDate;
+
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @Setter(AccessLevel.NONE)
+  private transient LocalDateTime parsedEndDate;
+
+  public void setStartDate(String startDate) {
+    this.startDate = startDate;
+    this.parsedStartDate = Utils.parseLocalDateTime(startDate);
+  }
+
+  public void setEndDate(String endDate) {
+    this.endDate = endDate;
+    this.parsedEndDate = Utils.parseLocalDateTime(endDate);
+  }
+
+  @JsonIgnore
+  public LocalDateTime getParsedStartDate() {
+    return parsedStartDate;
+  }
+
+  @JsonIgnore
+  public LocalDateTime getParsedEndDate() {
+    return parsedEndDate;
+  }
+
+  @AssertTrue(message = "Formato fecha de inicio no válido")
+  boolean isValidStartDate() {
+    return !StringUtils.hasText(startDate) || parsedStartDate != null;
+  }
+
+  @AssertTrue(message = "Formato fecha de fin no válido")
+  boolean isValidEndDate() {
+    return !StringUtils.hasText(endDate) || parsedEndDate != null;
+  }
+
+  @AssertTrue(message = "La fecha de fin no puede ser anterior a la fecha de inicio")
+  boolean isValidDateRange() {
+    return parsedStartDate == null || parsedEndDate == null || !parsedEndDate.isBefore(parsedStartDate);
+  }
+
+}
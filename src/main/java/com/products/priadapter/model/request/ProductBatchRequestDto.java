@@ -0,0 +1,28 @@
+package com.products.priadapter.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "DTO para buscar varios productos en una sola petición")
+public class ProductBatchRequestDto {
+
+  public static final int MAX_ITEMS = 1000;
+
+  @NotEmpty(message = "La lista de búsquedas es requerida")
+  @Size(max = MAX_ITEMS, message = "Máximo " + MAX_ITEMS + " búsquedas por petición")
+  @Schema(
+      description = "Búsquedas a resolver; la respuesta devuelve un resultado por búsqueda en el mismo orden",
+      requiredMode = Schema.RequiredMode.REQUIRED
+  )
+  private List<@Valid ProductFilterRequestDto> items;
+
+}
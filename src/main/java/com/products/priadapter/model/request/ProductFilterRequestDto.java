@@ -1,18 +1,22 @@
 package com.products.priadapter.model.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.products.application.utils.Utils;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.util.StringUtils;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 @Schema(description = "DTO para filtrar búsqueda de productos por ID de producto, marca y fecha de aplicación")
 public class ProductFilterRequestDto {
@@ -43,18 +47,33 @@ public class ProductFilterRequestDto {
   )
   private Integer brandId;
 
+  /**
+   * {@code applicationDate} ya convertida al asignarla, para que la validación y el mapper no la vuelvan a parsear.
+   */
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @Setter(AccessLevel.NONE)
+  private transient LocalDateTime parsedApplicationDate;
+
+  public ProductFilterRequestDto(String applicationDate, Integer productId, Integer brandId) {
+    setApplicationDate(applicationDate);
+    this.productId = productId;
+    this.brandId = brandId;
+  }
+
+  public void setApplicationDate(String applicationDate) {
+    this.applicationDate = applicationDate;
+    this.parsedApplicationDate = Utils.parseLocalDateTime(applicationDate);
+  }
+
+  @JsonIgnore
+  public LocalDateTime getParsedApplicationDate() {
+    return parsedApplicationDate;
+  }
+
   @AssertTrue(message = "Formato fecha de aplicación no válido")
   boolean isValidApplicationDate() {
-
-    try {
-      if (!StringUtils.hasText(applicationDate)) {
-        return true;
-      }
-      Utils.stringToLocalDateTime(applicationDate);
-      return true;
-    } catch (Exception e) {
-      return false;
-    }
+    return !StringUtils.hasText(applicationDate) || parsedApplicationDate != null;
   }
 
-}
\ No newline at end of file
+}
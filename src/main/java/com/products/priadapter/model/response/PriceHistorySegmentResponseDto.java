@@ -0,0 +1,51 @@
+package com.products.priadapter.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Periodo durante el que una misma tarifa es la vigente del producto")
+public class PriceHistorySegmentResponseDto {
+
+  @Schema(
+      description = "Inicio del periodo, incluido (formato: dd/MM/yyyy HH:mm:ss)",
+      example = "14/06/2020 15:00:00"
+  )
+  private String startDate;
+
+  @Schema(
+      description = "Fin del periodo, incluido (formato: dd/MM/yyyy HH:mm:ss)",
+      example = "14/06/2020 18:30:00"
+  )
+  private String endDate;
+
+  @Schema(
+      description = "ID de la lista de precios vigente en el periodo",
+      example = "2"
+  )
+  private Integer priceList;
+
+  @Schema(
+      description = "Prioridad de la tarifa vigente",
+      example = "1"
+  )
+  private Integer priority;
+
+  @Schema(
+      description = "Precio final",
+      example = "25.45"
+  )
+  private BigDecimal price;
+
+  @Schema(
+      description = "Código ISO 4217 de la moneda",
+      example = "EUR"
+  )
+  private String currency;
+
+}
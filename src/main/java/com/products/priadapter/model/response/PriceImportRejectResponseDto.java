@@ -0,0 +1,26 @@
+package com.products.priadapter.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Línea del fichero importado que no se ha guardado")
+public class PriceImportRejectResponseDto {
+
+  @Schema(
+      description = "Número de línea en el fichero, empezando en 1 y contando la cabecera del CSV",
+      example = "7"
+  )
+  private Long lineNumber;
+
+  @Schema(
+      description = "Motivo del rechazo",
+      example = "La moneda debe ser un código ISO 4217 de 3 letras"
+  )
+  private String error;
+
+}
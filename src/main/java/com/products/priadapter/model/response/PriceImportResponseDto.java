@@ -0,0 +1,50 @@
+package com.products.priadapter.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Informe de una importación masiva de tarifas")
+public class PriceImportResponseDto {
+
+  @Schema(
+      description = "Líneas con datos leídas del fichero, sin contar la cabecera ni las líneas en blanco",
+      example = "10000"
+  )
+  private Long read;
+
+  @Schema(
+      description = "Tarifas insertadas o sustituidas",
+      example = "9998"
+  )
+  private Long imported;
+
+  @Schema(
+      description = "Líneas rechazadas",
+      example = "2"
+  )
+  private Long rejected;
+
+  @Schema(
+      description = "Primeras líneas rechazadas con su motivo (como mucho 1000)"
+  )
+  private List<PriceImportRejectResponseDto> rejectedRows;
+
+  @Schema(
+      description = "Duración de la importación en milisegundos",
+      example = "850"
+  )
+  private Long elapsedMillis;
+
+  @Schema(
+      description = "Tarifas importadas por segundo",
+      example = "11762"
+  )
+  private Long rowsPerSecond;
+
+}
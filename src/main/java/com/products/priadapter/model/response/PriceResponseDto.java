@@ -0,0 +1,63 @@
+package com.products.priadapter.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "DTO de respuesta con una tarifa de PRICES tal y como ha quedado guardada")
+public class PriceResponseDto {
+
+  @Schema(
+      description = "ID de la marca",
+      example = "1"
+  )
+  private Integer brandId;
+
+  @Schema(
+      description = "ID del producto",
+      example = "35455"
+  )
+  private Integer productId;
+
+  @Schema(
+      description = "Fecha y hora de inicio de validez (formato: dd/MM/yyyy HH:mm:ss)",
+      example = "14/06/2020 00:00:00"
+  )
+  private String startDate;
+
+  @Schema(
+      description = "Fecha y hora de fin de validez (formato: dd/MM/yyyy HH:mm:ss)",
+      example = "31/12/2020 23:59:59"
+  )
+  private String endDate;
+
+  @Schema(
+      description = "ID de la lista de precios",
+      example = "1"
+  )
+  private Integer priceList;
+
+  @Schema(
+      description = "Prioridad de la tarifa",
+      example = "0"
+  )
+  private Integer priority;
+
+  @Schema(
+      description = "Precio final",
+      example = "35.50"
+  )
+  private BigDecimal price;
+
+  @Schema(
+      description = "Código ISO 4217 de la moneda",
+      example = "EUR"
+  )
+  private String currency;
+
+}
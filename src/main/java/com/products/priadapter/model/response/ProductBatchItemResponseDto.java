@@ -0,0 +1,43 @@
+package com.products.priadapter.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Resultado de una de las búsquedas de una petición por lotes")
+public class ProductBatchItemResponseDto {
+
+  @Schema(
+      description = "ID de la marca buscada",
+      example = "1"
+  )
+  private Integer brandId;
+
+  @Schema(
+      description = "ID del producto buscado",
+      example = "35455"
+  )
+  private Integer productId;
+
+  @Schema(
+      description = "Fecha de aplicación buscada (formato: yyyy-MM-dd'T'HH:mm:ss)",
+      example = "2020-06-14T10:00:00"
+  )
+  private String applicationDate;
+
+  @Schema(
+      description = "FOUND si hay tarifa vigente, NOT_FOUND si no la hay",
+      example = "FOUND"
+  )
+  private ProductBatchItemStatus status;
+
+  @Schema(
+      description = "Datos del producto, nulo si no se encontró"
+  )
+  private ProductResponseDto product;
+
+}
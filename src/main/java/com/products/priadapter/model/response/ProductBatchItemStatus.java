@@ -0,0 +1,9 @@
+package com.products.priadapter.model.response;
+
+public enum ProductBatchItemStatus {
+
+  FOUND,
+
+  NOT_FOUND
+
+}
@@ -0,0 +1,73 @@
+package com.products.priadapter.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Respuesta inmutable de {@code GET /products/{brandId}/{productId}}.
+ *
+ * <p>Serializa igual que {@code BaseResponse<ProductResponseDto>}, pero se construye de una vez a partir del
+ * resultado del caso de uso, sin DTO mutable intermedio.
+ */
+@Schema(description = "Respuesta de la búsqueda de un producto: datos de la tarifa vigente o mensaje de error")
+public record ProductLookupResponse(
+
+    @Schema(
+        description = "Mensaje de error si ocurrió algún problema, vacío si la solicitud fue exitosa",
+        example = ""
+    )
+    String errorMessage,
+
+    @Schema(
+        description = "Datos de la respuesta, nulo si hubo un error"
+    )
+    Product data) {
+
+  public static ProductLookupResponse found(Product data) {
+    return new ProductLookupResponse("", data);
+  }
+
+  public static ProductLookupResponse error(String errorMessage) {
+    return new ProductLookupResponse(errorMessage, null);
+  }
+
+  @Schema(description = "Datos del producto encontrado")
+  public record Product(
+
+      @Schema(
+          description = "ID del producto",
+          example = "35455"
+      )
+      Integer productId,
+
+      @Schema(
+          description = "ID de la marca",
+          example = "1"
+      )
+      Integer brandId,
+
+      @Schema(
+          description = "ID de la lista de precios aplicable",
+          example = "2"
+      )
+      Integer priceList,
+
+      @Schema(
+          description = "Fecha y hora de inicio de validez del precio (formato: dd/MM/yyyy HH:mm:ss)",
+          example = "14/06/2020 00:00:00"
+      )
+      String startDate,
+
+      @Schema(
+          description = "Fecha y hora de fin de validez del precio (formato: dd/MM/yyyy HH:mm:ss)",
+          example = "31/12/2020 23:59:59"
+      )
+      String endDate,
+
+      @Schema(
+          description = "Precio aplicable para el período especificado (en céntimos)",
+          example = "3550"
+      )
+      Long price) {
+  }
+
+}
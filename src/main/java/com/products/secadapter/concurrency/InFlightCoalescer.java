@@ -0,0 +1,77 @@
+package com.products.secadapter.concurrency;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa llamadas idénticas concurrentes (single-flight): mientras una carga para una clave está en curso, el resto
+ * de llamadas con la misma clave esperan a esa carga y comparten su resultado o su excepción en lugar de lanzar
+ * otra.
+ *
+ * <p>No es una caché: en cuanto la carga termina la clave se libera y la siguiente llamada vuelve a cargar.
+ */
+public final class InFlightCoalescer<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder loads = new LongAdder();
+
+  private final LongAdder shared = new LongAdder();
+
+  /**
+   * Ejecuta {@code loader} o, si ya hay una ejecución en curso para {@code key}, espera a que termine. Las
+   * excepciones del loader se relanzan tal cual en todas las llamadas agrupadas.
+   */
+  public V execute(K key, Callable<V> loader) throws Exception {
+
+    CompletableFuture<V> mine = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+    if (existing != null) {
+      shared.increment();
+      return await(existing);
+    }
+
+    loads.increment();
+    try {
+      V value = loader.call();
+      mine.complete(value);
+      return value;
+    } catch (Exception | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+
+  }
+
+  /**
+   * Cargas realmente ejecutadas.
+   */
+  public long loadCount() {
+    return loads.sum();
+  }
+
+  /**
+   * Llamadas que reutilizaron una carga en curso en lugar de ejecutar la suya.
+   */
+  public long sharedCount() {
+    return shared.sum();
+  }
+
+  private static <V> V await(CompletableFuture<V> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw (Exception) cause;
+    }
+  }
+
+}
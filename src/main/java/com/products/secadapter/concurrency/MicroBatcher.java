@@ -0,0 +1,215 @@
+package com.products.secadapter.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa peticiones individuales concurrentes en lotes que se resuelven con una sola llamada a
+ * {@link BatchFunction}; cada llamante recibe solo su resultado.
+ *
+ * <p>La espera es adaptativa: si no hay ningún lote en curso la petición se despacha en el acto, sin retardo
+ * añadido. Solo cuando ya hay lotes ejecutándose se espera como mucho {@code window} a que lleguen más peticiones,
+ * hasta {@code maxBatchSize}. Además no se ejecutan más de {@code maxConcurrentBatches} lotes a la vez; mientras
+ * tanto las peticiones que llegan se acumulan y salen todas en el siguiente lote.
+ */
+public final class MicroBatcher<Q, R> implements AutoCloseable {
+
+  /**
+   * Resuelve un lote. Debe devolver un resultado por petición y en el mismo orden.
+   */
+  @FunctionalInterface
+  public interface BatchFunction<Q, R> {
+    List<R> apply(List<Q> requests) throws Exception;
+  }
+
+  private record Pending<Q, R>(Q request, CompletableFuture<R> result) {
+  }
+
+  private final BlockingQueue<Pending<Q, R>> queue = new LinkedBlockingQueue<>();
+
+  private final BatchFunction<Q, R> batchFunction;
+
+  private final long windowNanos;
+
+  private final int maxBatchSize;
+
+  private final Semaphore batchPermits;
+
+  private final AtomicInteger batchesInFlight = new AtomicInteger();
+
+  private final ExecutorService executor;
+
+  private final Thread dispatcher;
+
+  private final LongAdder batches = new LongAdder();
+
+  private final LongAdder requests = new LongAdder();
+
+  private volatile boolean closed;
+
+  public MicroBatcher(String name, BatchFunction<Q, R> batchFunction, Duration window, int maxBatchSize,
+      int maxConcurrentBatches) {
+    this(name, batchFunction, window, maxBatchSize, maxConcurrentBatches, false);
+  }
+
+  /**
+   * Con {@code virtualWorkers} cada lote se ejecuta en un hilo virtual nuevo en lugar de en un pool fijo de hilos de
+   * plataforma; el número de lotes a la vez sigue limitado por {@code maxConcurrentBatches}.
+   */
+  public MicroBatcher(String name, BatchFunction<Q, R> batchFunction, Duration window, int maxBatchSize,
+      int maxConcurrentBatches, boolean virtualWorkers) {
+
+    if (maxBatchSize < 1 || maxConcurrentBatches < 1) {
+      throw new IllegalArgumentException("maxBatchSize y maxConcurrentBatches deben ser mayores que 0");
+    }
+    this.batchFunction = batchFunction;
+    this.windowNanos = window.toNanos();
+    this.maxBatchSize = maxBatchSize;
+    this.batchPermits = new Semaphore(maxConcurrentBatches);
+
+    this.executor = virtualWorkers
+        ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-worker-", 0).factory())
+        : Executors.newFixedThreadPool(maxConcurrentBatches,
+            Thread.ofPlatform().daemon().name(name + "-worker-", 0).factory());
+    this.dispatcher = Thread.ofPlatform().daemon().name(name + "-dispatcher").start(this::dispatchLoop);
+
+  }
+
+  /**
+   * Encola la petición y espera a que se resuelva su lote. Las excepciones de {@link BatchFunction} se relanzan
+   * tal cual en todos los llamantes del lote.
+   */
+  public R submit(Q request) throws Exception {
+
+    if (closed) {
+      throw new IllegalStateException("MicroBatcher cerrado");
+    }
+    CompletableFuture<R> result = new CompletableFuture<>();
+    queue.add(new Pending<>(request, result));
+    if (closed) {
+      failPending();
+    }
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw (Exception) cause;
+    }
+
+  }
+
+  /**
+   * Lotes ejecutados.
+   */
+  public long batchCount() {
+    return batches.sum();
+  }
+
+  /**
+   * Peticiones resueltas a través de los lotes.
+   */
+  public long requestCount() {
+    return requests.sum();
+  }
+
+  @Override
+  public void close() {
+
+    closed = true;
+    dispatcher.interrupt();
+    executor.shutdown();
+    failPending();
+
+  }
+
+  private void failPending() {
+    Pending<Q, R> pending;
+    while ((pending = queue.poll()) != null) {
+      pending.result().completeExceptionally(new IllegalStateException("MicroBatcher cerrado"));
+    }
+  }
+
+  private void dispatchLoop() {
+
+    List<Pending<Q, R>> batch = new ArrayList<>();
+    try {
+      while (!closed) {
+        batch = new ArrayList<>(maxBatchSize);
+        batch.add(queue.take());
+        batchPermits.acquire();
+
+        queue.drainTo(batch, maxBatchSize - 1);
+        if (batchesInFlight.get() > 0) {
+          fillWithinWindow(batch);
+        }
+
+        batchesInFlight.incrementAndGet();
+        List<Pending<Q, R>> ready = batch;
+        executor.execute(() -> run(ready));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      queue.addAll(batch);
+      failPending();
+    }
+
+  }
+
+  private void fillWithinWindow(List<Pending<Q, R>> batch) throws InterruptedException {
+
+    long deadline = System.nanoTime() + windowNanos;
+    while (batch.size() < maxBatchSize) {
+      long remaining = deadline - System.nanoTime();
+      Pending<Q, R> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+      queue.drainTo(batch, maxBatchSize - batch.size());
+    }
+
+  }
+
+  private void run(List<Pending<Q, R>> batch) {
+
+    batches.increment();
+    requests.add(batch.size());
+    try {
+      List<Q> batchRequests = new ArrayList<>(batch.size());
+      for (Pending<Q, R> pending : batch) {
+        batchRequests.add(pending.request());
+      }
+
+      List<R> results = batchFunction.apply(batchRequests);
+      if (results == null || results.size() != batch.size()) {
+        throw new IllegalStateException("El lote devolvió un número de resultados distinto al de peticiones");
+      }
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result().complete(results.get(i));
+      }
+    } catch (Throwable e) {
+      for (Pending<Q, R> pending : batch) {
+        pending.result().completeExceptionally(e);
+      }
+    } finally {
+      batchesInFlight.decrementAndGet();
+      batchPermits.release();
+    }
+
+  }
+
+}
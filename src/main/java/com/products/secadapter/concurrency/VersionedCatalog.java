@@ -0,0 +1,61 @@
+package com.products.secadapter.concurrency;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Catálogo inmutable publicado por versiones detrás de un {@link AtomicReference} (copy-on-write).
+ *
+ * <p>Los lectores toman la versión actual con una sola lectura atómica, sin locks, y trabajan con ella hasta el final
+ * aunque mientras tanto se publique otra: nunca ven un catálogo a medio actualizar. Los escritores construyen un
+ * catálogo nuevo, completo o derivado del actual, y lo publican con un único intercambio atómico que incrementa la
+ * versión.
+ *
+ * <p>{@code T} tiene que ser inmutable una vez publicado.
+ */
+public final class VersionedCatalog<T> {
+
+  private final AtomicReference<Snapshot<T>> current;
+
+  public VersionedCatalog(T initial) {
+    this.current = new AtomicReference<>(new Snapshot<>(0, initial));
+  }
+
+  /**
+   * Versión publicada ahora mismo junto con su número. Quien necesite varias lecturas coherentes entre sí debe
+   * tomar el snapshot una vez y usarlo para todas.
+   */
+  public Snapshot<T> snapshot() {
+    return current.get();
+  }
+
+  public T get() {
+    return current.get().catalog();
+  }
+
+  public long version() {
+    return current.get().version();
+  }
+
+  /**
+   * Sustituye el catálogo entero por {@code catalog}.
+   */
+  public Snapshot<T> publish(T catalog) {
+    return current.updateAndGet(previous -> new Snapshot<>(previous.version() + 1, catalog));
+  }
+
+  /**
+   * Publica el catálogo derivado de la versión actual. Si otro escritor publica entre medias, {@code change} se
+   * vuelve a aplicar sobre la versión nueva, así que no debe tener efectos laterales.
+   */
+  public Snapshot<T> update(UnaryOperator<T> change) {
+    return current.updateAndGet(previous -> new Snapshot<>(previous.version() + 1, change.apply(previous.catalog())));
+  }
+
+  /**
+   * Una versión publicada del catálogo.
+   */
+  public record Snapshot<T>(long version, T catalog) {
+  }
+
+}
@@ -0,0 +1,302 @@
+package com.products.secadapter.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * {@link PriceStore} que lee las columnas directamente de un snapshot binario mapeado en memoria con
+ * {@link FileChannel#map}, sin deserializar nada: abrir un catálogo de millones de tarifas es mapear el fichero y
+ * comprobar su checksum.
+ *
+ * <p>Formato del snapshot (little-endian), escrito con {@link #write(PriceStore, Path)}:
+ * <pre>
+ *   cabecera (32 bytes): magic "PRCS" | versión | filas | ranuras | claves | monedas | CRC32 del cuerpo (long)
+ *   cuerpo: ranuras -> clave (long), primera fila (int), número de filas (int)
+ *           filas   -> inicio, fin, precio en céntimos (long), lista de precios, prioridad (int), moneda (short)
+ *           monedas -> longitud (short) + bytes UTF-8 de cada código
+ * </pre>
+ * Cada columna ocupa un bloque contiguo y los bloques van de mayor a menor tamaño de elemento, así que todas las
+ * lecturas quedan alineadas. El fichero no puede superar los 2 GB de un {@link MappedByteBuffer}.
+ */
+public final class MappedPriceStore extends PriceStore {
+
+  static final int MAGIC = 0x50524353;
+
+  static final int VERSION = 1;
+
+  static final int HEADER_BYTES = 32;
+
+  private static final int CRC_OFFSET = 24;
+
+  private final ByteBuffer buffer;
+
+  private final int rowCount;
+
+  private final int slotCount;
+
+  private final int keyCount;
+
+  private final String[] currencies;
+
+  private final int slotKeysOffset;
+
+  private final int startSecondsOffset;
+
+  private final int endSecondsOffset;
+
+  private final int pricesOffset;
+
+  private final int slotFirstRowsOffset;
+
+  private final int slotRowCountsOffset;
+
+  private final int priceListsOffset;
+
+  private final int prioritiesOffset;
+
+  private final int currencyCodesOffset;
+
+  private MappedPriceStore(ByteBuffer buffer, int rowCount, int slotCount, int keyCount, String[] currencies) {
+
+    this.buffer = buffer;
+    this.rowCount = rowCount;
+    this.slotCount = slotCount;
+    this.keyCount = keyCount;
+    this.currencies = currencies;
+
+    this.slotKeysOffset = HEADER_BYTES;
+    this.startSecondsOffset = slotKeysOffset + slotCount * Long.BYTES;
+    this.endSecondsOffset = startSecondsOffset + rowCount * Long.BYTES;
+    this.pricesOffset = endSecondsOffset + rowCount * Long.BYTES;
+    this.slotFirstRowsOffset = pricesOffset + rowCount * Long.BYTES;
+    this.slotRowCountsOffset = slotFirstRowsOffset + slotCount * Integer.BYTES;
+    this.priceListsOffset = slotRowCountsOffset + slotCount * Integer.BYTES;
+    this.prioritiesOffset = priceListsOffset + rowCount * Integer.BYTES;
+    this.currencyCodesOffset = prioritiesOffset + rowCount * Integer.BYTES;
+
+  }
+
+  /**
+   * Escribe el almacén en {@code path} con el formato de snapshot. Se escribe primero en un fichero temporal del
+   * mismo directorio que luego sustituye al destino, de forma que nunca queda un snapshot a medias.
+   */
+  public static void write(PriceStore store, Path path) throws IOException {
+
+    byte[][] currencyBytes = new byte[store.currencyCount()][];
+    long currencySection = 0;
+    for (int code = 0; code < currencyBytes.length; code++) {
+      currencyBytes[code] = store.currency(code).getBytes(StandardCharsets.UTF_8);
+      currencySection += Short.BYTES + currencyBytes[code].length;
+    }
+    long size = bodyOffset(store.rowCount(), store.slotCount()) + currencySection;
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("El snapshot ocupa " + size + " bytes y supera el máximo de un fichero mapeado");
+    }
+
+    Path absolute = path.toAbsolutePath();
+    Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        out.position(HEADER_BYTES);
+        for (int slot = 0; slot < store.slotCount(); slot++) {
+          out.putLong(store.slotKey(slot));
+        }
+        for (int row = 0; row < store.rowCount(); row++) {
+          out.putLong(store.startSeconds(row));
+        }
+        for (int row = 0; row < store.rowCount(); row++) {
+          out.putLong(store.endSeconds(row));
+        }
+        for (int row = 0; row < store.rowCount(); row++) {
+          out.putLong(store.priceInMinorUnits(row));
+        }
+        for (int slot = 0; slot < store.slotCount(); slot++) {
+          out.putInt(store.slotFirstRow(slot));
+        }
+        for (int slot = 0; slot < store.slotCount(); slot++) {
+          out.putInt(store.slotRowCount(slot));
+        }
+        for (int row = 0; row < store.rowCount(); row++) {
+          out.putInt(store.priceList(row));
+        }
+        for (int row = 0; row < store.rowCount(); row++) {
+          out.putInt(store.priority(row));
+        }
+        for (int row = 0; row < store.rowCount(); row++) {
+          out.putShort(store.currencyCode(row));
+        }
+        for (byte[] currency : currencyBytes) {
+          out.putShort((short) currency.length);
+          out.put(currency);
+        }
+
+        out.putInt(0, MAGIC);
+        out.putInt(4, VERSION);
+        out.putInt(8, store.rowCount());
+        out.putInt(12, store.slotCount());
+        out.putInt(16, store.keyCount());
+        out.putInt(20, currencyBytes.length);
+        out.putLong(CRC_OFFSET, checksum(out));
+        out.force();
+      }
+      Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+
+  }
+
+  /**
+   * Mapea un snapshot escrito con {@link #write(PriceStore, Path)} tras comprobar cabecera, tamaño y checksum.
+   *
+   * @throws CorruptedSnapshotException si el fichero no es un snapshot válido de esta versión
+   */
+  public static MappedPriceStore open(Path path) throws IOException {
+
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+        throw new CorruptedSnapshotException(path, "tamaño " + size + " no válido");
+      }
+      // El mapeo sigue siendo válido después de cerrar el canal
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    if (buffer.getInt(0) != MAGIC) {
+      throw new CorruptedSnapshotException(path, "no es un snapshot de precios");
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new CorruptedSnapshotException(path, "versión " + buffer.getInt(4) + " no soportada");
+    }
+    int rowCount = buffer.getInt(8);
+    int slotCount = buffer.getInt(12);
+    int keyCount = buffer.getInt(16);
+    int currencyCount = buffer.getInt(20);
+    if (rowCount < 0 || slotCount <= 0 || Integer.bitCount(slotCount) != 1 || keyCount < 0 || currencyCount < 0
+        || bodyOffset(rowCount, slotCount) > buffer.capacity()) {
+      throw new CorruptedSnapshotException(path, "cabecera incoherente con el tamaño del fichero");
+    }
+    if (buffer.getLong(CRC_OFFSET) != checksum(buffer)) {
+      throw new CorruptedSnapshotException(path, "el checksum no coincide");
+    }
+
+    String[] currencies = new String[currencyCount];
+    int position = (int) bodyOffset(rowCount, slotCount);
+    for (int code = 0; code < currencyCount; code++) {
+      int length = buffer.getShort(position);
+      byte[] bytes = new byte[length];
+      buffer.get(position + Short.BYTES, bytes);
+      currencies[code] = new String(bytes, StandardCharsets.UTF_8);
+      position += Short.BYTES + length;
+    }
+
+    return new MappedPriceStore(buffer, rowCount, slotCount, keyCount, currencies);
+
+  }
+
+  @Override
+  int slotCount() {
+    return slotCount;
+  }
+
+  @Override
+  long slotKey(int slot) {
+    return buffer.getLong(slotKeysOffset + slot * Long.BYTES);
+  }
+
+  @Override
+  int slotFirstRow(int slot) {
+    return buffer.getInt(slotFirstRowsOffset + slot * Integer.BYTES);
+  }
+
+  @Override
+  int slotRowCount(int slot) {
+    return buffer.getInt(slotRowCountsOffset + slot * Integer.BYTES);
+  }
+
+  @Override
+  long startSeconds(int row) {
+    return buffer.getLong(startSecondsOffset + row * Long.BYTES);
+  }
+
+  @Override
+  long endSeconds(int row) {
+    return buffer.getLong(endSecondsOffset + row * Long.BYTES);
+  }
+
+  @Override
+  int priceList(int row) {
+    return buffer.getInt(priceListsOffset + row * Integer.BYTES);
+  }
+
+  @Override
+  int priority(int row) {
+    return buffer.getInt(prioritiesOffset + row * Integer.BYTES);
+  }
+
+  @Override
+  long priceInMinorUnits(int row) {
+    return buffer.getLong(pricesOffset + row * Long.BYTES);
+  }
+
+  @Override
+  short currencyCode(int row) {
+    return buffer.getShort(currencyCodesOffset + row * Short.BYTES);
+  }
+
+  @Override
+  int currencyCount() {
+    return currencies.length;
+  }
+
+  @Override
+  String currency(int code) {
+    return currencies[code];
+  }
+
+  @Override
+  public int rowCount() {
+    return rowCount;
+  }
+
+  @Override
+  public int keyCount() {
+    return keyCount;
+  }
+
+  private static long bodyOffset(long rowCount, long slotCount) {
+    return HEADER_BYTES
+        + slotCount * (Long.BYTES + 2 * Integer.BYTES)
+        + rowCount * (3 * Long.BYTES + 2 * Integer.BYTES + Short.BYTES);
+  }
+
+  private static long checksum(ByteBuffer buffer) {
+    CRC32 crc = new CRC32();
+    crc.update(buffer.slice(HEADER_BYTES, buffer.capacity() - HEADER_BYTES));
+    return crc.getValue();
+  }
+
+  /**
+   * El fichero no es un snapshot de precios válido: otro formato, otra versión, truncado o con el checksum roto.
+   */
+  public static class CorruptedSnapshotException extends IOException {
+
+    public CorruptedSnapshotException(Path path, String reason) {
+      super("Snapshot de precios " + path + " no válido: " + reason);
+    }
+
+  }
+
+}
@@ -0,0 +1,104 @@
+package com.products.secadapter.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de pares (brandId, productId).
+ *
+ * <p>{@link #mightContain(int, int)} nunca da un falso negativo: si devuelve {@code false} el par no se ha añadido.
+ * Un {@code true} puede ser un falso positivo con la probabilidad que indica {@link #expectedFalsePositiveRate()}.
+ * No admite borrados; para olvidar pares hay que construir un filtro nuevo.
+ *
+ * <p>Las {@code k} posiciones de cada par salen de dos hashes de 64 bits combinados ({@code h1 + i * h2}). Los bits
+ * viven en un {@link AtomicLongArray}, así que añadir y consultar desde hilos distintos es seguro sin bloqueos.
+ */
+public final class PairBloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+
+  private final long bitSize;
+
+  private final int hashCount;
+
+  private final AtomicLong bitsSet = new AtomicLong();
+
+  private PairBloomFilter(long bitSize, int hashCount) {
+    this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+    this.bitSize = (long) words.length() * 64;
+    this.hashCount = hashCount;
+  }
+
+  /**
+   * Dimensiona el filtro para {@code expectedInsertions} pares con la probabilidad de falso positivo indicada.
+   */
+  public static PairBloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("falsePositiveProbability debe estar entre 0 y 1");
+    }
+
+    long insertions = Math.max(1, expectedInsertions);
+    long bitSize = Math.max(64, (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (LN2 * LN2)));
+    int hashCount = Math.max(1, (int) Math.round((double) bitSize / insertions * LN2));
+    return new PairBloomFilter(bitSize, hashCount);
+
+  }
+
+  public void put(int brandId, int productId) {
+
+    long key = PriceIntervalIndex.key(brandId, productId);
+    long hash1 = PriceIntervalIndex.mix(key);
+    long hash2 = PriceIntervalIndex.mix(key ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      if ((words.getAndUpdate(word, value -> value | mask) & mask) == 0) {
+        bitsSet.incrementAndGet();
+      }
+    }
+
+  }
+
+  public boolean mightContain(int brandId, int productId) {
+
+    long key = PriceIntervalIndex.key(brandId, productId);
+    long hash1 = PriceIntervalIndex.mix(key);
+    long hash2 = PriceIntervalIndex.mix(key ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+
+  }
+
+  /**
+   * Probabilidad de falso positivo con los bits que hay activos ahora: {@code (bits activos / bits) ^ k}. Crece a
+   * medida que se añaden pares por encima de los previstos al dimensionar.
+   */
+  public double expectedFalsePositiveRate() {
+    return Math.pow((double) bitsSet.get() / bitSize, hashCount);
+  }
+
+  public long bitSize() {
+    return bitSize;
+  }
+
+  public int hashCount() {
+    return hashCount;
+  }
+
+  /**
+   * Memoria ocupada por los bits del filtro, en bytes.
+   */
+  public long memoryBytes() {
+    return (long) words.length() * Long.BYTES;
+  }
+
+}
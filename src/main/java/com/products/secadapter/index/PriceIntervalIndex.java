@@ -0,0 +1,168 @@
+package com.products.secadapter.index;
+
+import com.products.secadapter.model.ProductEntity;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Índice en memoria de la tabla PRICES agrupado por (brandId, productId).
+ *
+ * <p>Cada grupo se guarda como una {@link PriceTimeline} ya aplanada, de forma que la búsqueda de la tarifa vigente
+ * es una búsqueda binaria sobre segmentos disjuntos con el ganador precalculado.
+ *
+ * <p>Las claves se reparten en {@value #SHARDS} mapas según su hash. La instancia es inmutable: para reflejar cambios
+ * en PRICES se construye un índice nuevo, completo con {@link #build(Collection)} o con
+ * {@link #withTimelines(Map)}, que copia solo los mapas de las claves cambiadas y comparte el resto, de forma que
+ * una escritura no cuesta proporcional al catálogo entero.
+ */
+public final class PriceIntervalIndex {
+
+  static final int SHARDS = 256;
+
+  private static final PriceIntervalIndex EMPTY = new PriceIntervalIndex(emptyShards());
+
+  private final Map<Long, PriceTimeline>[] shards;
+
+  private PriceIntervalIndex(Map<Long, PriceTimeline>[] shards) {
+    this.shards = shards;
+  }
+
+  public static PriceIntervalIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Construye el índice a partir de las filas de PRICES.
+   */
+  public static PriceIntervalIndex build(Collection<ProductEntity> rows) {
+
+    Map<Long, List<ProductEntity>> grouped = new HashMap<>();
+    for (ProductEntity row : rows) {
+      grouped.computeIfAbsent(key(row.getBrandId(), row.getProductId()), k -> new ArrayList<>()).add(row);
+    }
+
+    Map<Long, PriceTimeline>[] shards = emptyShards();
+    grouped.forEach((key, list) -> {
+      int shard = shard(key);
+      if (shards[shard].isEmpty()) {
+        shards[shard] = new HashMap<>();
+      }
+      putTimeline(shards[shard], key, PriceTimeline.build(list));
+    });
+
+    return new PriceIntervalIndex(shards);
+
+  }
+
+  public static long key(int brandId, int productId) {
+    return ((long) brandId << 32) | (productId & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Finalizador de SplitMix64 para repartir bien en tablas hash claves consecutivas como los IDs de producto.
+   */
+  static long mix(long key) {
+    key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+    key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+    return key ^ (key >>> 31);
+  }
+
+  /**
+   * Devuelve un índice nuevo en el que las claves indicadas usan las líneas temporales recibidas; el resto se
+   * comparten con este índice. Una línea temporal sin segmentos elimina la clave.
+   */
+  public PriceIntervalIndex withTimelines(Map<Long, PriceTimeline> changed) {
+
+    Map<Long, PriceTimeline>[] copy = shards.clone();
+    boolean[] copied = new boolean[SHARDS];
+    changed.forEach((key, timeline) -> {
+      int shard = shard(key);
+      if (!copied[shard]) {
+        copy[shard] = new HashMap<>(copy[shard]);
+        copied[shard] = true;
+      }
+      putTimeline(copy[shard], key, timeline);
+    });
+    return new PriceIntervalIndex(copy);
+
+  }
+
+  /**
+   * Devuelve la tarifa de mayor prioridad cuyo rango [START_DATE, END_DATE] contiene la fecha indicada, o
+   * {@code null} si no hay ninguna. A igualdad de prioridad gana la de START_DATE más reciente.
+   */
+  public ProductEntity findHighestPriority(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+
+    PriceTimeline timeline = findTimeline(brandId, productId);
+    return timeline != null && applicationDate != null ? timeline.findWinner(applicationDate) : null;
+
+  }
+
+  /**
+   * Pasa a {@code consumer} la tarifa vigente en la fecha de cada producto de la marca que tenga una, sin orden
+   * definido. Recorre todas las claves del índice: cuesta lo mismo para cualquier marca, pero no reserva memoria.
+   */
+  public void forEachWinner(int brandId, LocalDateTime applicationDate, Consumer<ProductEntity> consumer) {
+
+    for (Map<Long, PriceTimeline> shard : shards) {
+      shard.forEach((key, timeline) -> {
+        if ((int) (key >>> 32) == brandId) {
+          ProductEntity winner = timeline.findWinner(applicationDate);
+          if (winner != null) {
+            consumer.accept(winner);
+          }
+        }
+      });
+    }
+
+  }
+
+  public PriceTimeline findTimeline(Integer brandId, Integer productId) {
+    if (brandId == null || productId == null) {
+      return null;
+    }
+    long key = key(brandId, productId);
+    return shards[shard(key)].get(key);
+  }
+
+  public int keyCount() {
+    int keys = 0;
+    for (Map<Long, PriceTimeline> shard : shards) {
+      keys += shard.size();
+    }
+    return keys;
+  }
+
+  public int segmentCount() {
+    return Arrays.stream(shards)
+        .flatMap(shard -> shard.values().stream())
+        .mapToInt(PriceTimeline::segmentCount)
+        .sum();
+  }
+
+  private static int shard(long key) {
+    return (int) mix(key) & (SHARDS - 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<Long, PriceTimeline>[] emptyShards() {
+    Map<Long, PriceTimeline>[] shards = new Map[SHARDS];
+    Arrays.fill(shards, Map.of());
+    return shards;
+  }
+
+  private static void putTimeline(Map<Long, PriceTimeline> timelines, long key, PriceTimeline timeline) {
+    if (timeline.segmentCount() == 0) {
+      timelines.remove(key);
+    } else {
+      timelines.put(key, timeline);
+    }
+  }
+
+}
@@ -0,0 +1,268 @@
+package com.products.secadapter.index;
+
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.secadapter.model.ProductEntity;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Tabla PRICES en formato columnar sin un objeto por fila: la búsqueda de la tarifa vigente y de su periodo de
+ * validez, independiente de dónde estén guardadas las columnas.
+ *
+ * <p>Cada fila tiene las fechas en segundos desde epoch (UTC, sin zona), el precio en céntimos, la moneda como código
+ * de un diccionario y prioridad y lista de precios como {@code int}; los {@code null} se guardan con los valores
+ * centinela {@link #NULL_INT}, {@link #NULL_PRICE} y {@link #NULL_CURRENCY}. El par (brandId, productId) se empaqueta
+ * en un {@code long} ({@link PriceIntervalIndex#key(int, int)}) y un índice hash de direccionamiento abierto con
+ * sondeo lineal lleva a las filas contiguas de cada producto; una ranura con 0 filas está libre.
+ *
+ * <p>Resuelve igual que la consulta SQL: la tarifa vigente es la de mayor prioridad y, a igualdad, la de START_DATE
+ * más reciente entre las que cumplen {@code START_DATE <= fecha <= END_DATE}.
+ *
+ * @see PrimitivePriceStore
+ * @see MappedPriceStore
+ */
+public abstract class PriceStore {
+
+  static final int NULL_INT = Integer.MIN_VALUE;
+
+  static final long NULL_PRICE = Long.MIN_VALUE;
+
+  static final short NULL_CURRENCY = -1;
+
+  static final int PRICE_SCALE = 2;
+
+  /**
+   * Número de ranuras del índice hash; siempre potencia de dos.
+   */
+  abstract int slotCount();
+
+  abstract long slotKey(int slot);
+
+  abstract int slotFirstRow(int slot);
+
+  abstract int slotRowCount(int slot);
+
+  abstract long startSeconds(int row);
+
+  abstract long endSeconds(int row);
+
+  abstract int priceList(int row);
+
+  abstract int priority(int row);
+
+  abstract long priceInMinorUnits(int row);
+
+  abstract short currencyCode(int row);
+
+  abstract int currencyCount();
+
+  abstract String currency(int code);
+
+  public abstract int rowCount();
+
+  public abstract int keyCount();
+
+  /**
+   * Devuelve la tarifa de mayor prioridad vigente en la fecha indicada, o {@code null} si no hay ninguna.
+   */
+  public ProductDto findHighestPriority(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+
+    int slot = slot(brandId, productId);
+    int winner = slot >= 0 && applicationDate != null ? findWinner(slot, applicationDate) : -1;
+    return winner >= 0 ? toProductDto(brandId, productId, winner) : null;
+
+  }
+
+  /**
+   * Igual que {@link #findHighestPriority(Integer, Integer, LocalDateTime)}, pero con el periodo {@code [validFrom,
+   * validTo)} en el que la tarifa encontrada sigue siendo la vigente.
+   */
+  public PriceSegmentDto findEffectivePriceSegment(Integer brandId, Integer productId,
+      LocalDateTime applicationDate) {
+
+    int slot = slot(brandId, productId);
+    int winner = slot >= 0 && applicationDate != null ? findWinner(slot, applicationDate) : -1;
+    if (winner < 0) {
+      return null;
+    }
+
+    long seconds = applicationDate.toEpochSecond(ZoneOffset.UTC);
+    boolean wholeSecond = applicationDate.getNano() == 0;
+    // Límites que ponen las tarifas que ganarían a la vigente: las que acaban antes de la fecha y las que empiezan
+    // después, como en la consulta SQL del periodo de validez
+    long higherEndBefore = Long.MIN_VALUE;
+    long higherStartAfter = Long.MAX_VALUE;
+    int first = slotFirstRow(slot);
+    int last = first + slotRowCount(slot);
+    for (int row = first; row < last; row++) {
+      if (!isPreferred(row, winner)) {
+        continue;
+      }
+      long end = endSeconds(row);
+      if (end < seconds || (end == seconds && !wholeSecond)) {
+        higherEndBefore = Math.max(higherEndBefore, end);
+      }
+      long start = startSeconds(row);
+      if (start > seconds) {
+        higherStartAfter = Math.min(higherStartAfter, start);
+      }
+    }
+
+    LocalDateTime validFrom = higherEndBefore >= startSeconds(winner)
+        ? toLocalDateTime(higherEndBefore).plusNanos(1)
+        : toLocalDateTime(startSeconds(winner));
+    LocalDateTime validTo = higherStartAfter <= endSeconds(winner)
+        ? toLocalDateTime(higherStartAfter)
+        : toLocalDateTime(endSeconds(winner)).plusNanos(1);
+    return new PriceSegmentDto(validFrom, validTo, toProductDto(brandId, productId, winner));
+
+  }
+
+  /**
+   * Segmentos de precio efectivo del producto que se solapan con {@code [from, to)}, en orden y recortados a ese
+   * rango: solo las tarifas del producto que tocan el rango se resuelven con {@link PriceTimeline}.
+   */
+  public List<PriceSegmentDto> findPriceHistory(Integer brandId, Integer productId, LocalDateTime from,
+      LocalDateTime to) {
+
+    int slot = slot(brandId, productId);
+    if (slot < 0) {
+      return List.of();
+    }
+    long fromSeconds = from.toEpochSecond(ZoneOffset.UTC);
+    long toSeconds = to.toEpochSecond(ZoneOffset.UTC);
+    List<ProductEntity> rows = new ArrayList<>();
+    int first = slotFirstRow(slot);
+    for (int row = first; row < first + slotRowCount(slot); row++) {
+      if (startSeconds(row) <= toSeconds && endSeconds(row) >= fromSeconds) {
+        rows.add(toProductEntity(brandId, productId, row));
+      }
+    }
+
+    List<PriceSegmentDto> history = new ArrayList<>();
+    PriceTimeline.build(rows).forEachSegment(from, to, (start, end, winner) ->
+        history.add(new PriceSegmentDto(start, end, new ProductDto(brandId, winner.getStartDate(),
+            winner.getEndDate(), winner.getPriceList(), productId, winner.getPriority(), winner.getPrice(),
+            winner.getCurrency()))));
+    return history;
+
+  }
+
+  /**
+   * Pasa a {@code consumer} la tarifa vigente en la fecha de cada producto de la marca que tenga una, en el orden de
+   * las ranuras. Recorre todas las ranuras: cuesta lo mismo para cualquier marca, pero no reserva memoria.
+   */
+  public void forEachHighestPriority(int brandId, LocalDateTime applicationDate, Consumer<ProductDto> consumer) {
+
+    for (int slot = 0; slot < slotCount(); slot++) {
+      long key = slotKey(slot);
+      if (slotRowCount(slot) == 0 || (int) (key >>> 32) != brandId) {
+        continue;
+      }
+      int winner = findWinner(slot, applicationDate);
+      if (winner >= 0) {
+        consumer.accept(toProductDto(brandId, (int) key, winner));
+      }
+    }
+
+  }
+
+  /**
+   * Devuelve un {@link PrimitivePriceStore} en el que los productos indicados tienen exactamente las filas recibidas;
+   * el resto se copian de este. Una lista vacía elimina el producto.
+   */
+  public PrimitivePriceStore withProducts(Map<Long, List<ProductEntity>> changed) {
+
+    PrimitivePriceStore.Builder builder = PrimitivePriceStore.builder(rowCount());
+    for (int slot = 0; slot < slotCount(); slot++) {
+      int rows = slotRowCount(slot);
+      if (rows == 0 || changed.containsKey(slotKey(slot))) {
+        continue;
+      }
+      int first = slotFirstRow(slot);
+      for (int row = first; row < first + rows; row++) {
+        short code = currencyCode(row);
+        builder.add(slotKey(slot), startSeconds(row), endSeconds(row), priceList(row), priority(row),
+            priceInMinorUnits(row), code == NULL_CURRENCY ? null : currency(code));
+      }
+    }
+    changed.values().forEach(rows -> rows.forEach(builder::add));
+    return builder.build();
+
+  }
+
+  private int slot(Integer brandId, Integer productId) {
+
+    if (brandId == null || productId == null) {
+      return -1;
+    }
+    long key = PriceIntervalIndex.key(brandId, productId);
+    int mask = slotCount() - 1;
+    int slot = (int) PriceIntervalIndex.mix(key) & mask;
+    while (slotRowCount(slot) != 0) {
+      if (slotKey(slot) == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+
+  }
+
+  private int findWinner(int slot, LocalDateTime applicationDate) {
+
+    long seconds = applicationDate.toEpochSecond(ZoneOffset.UTC);
+    boolean wholeSecond = applicationDate.getNano() == 0;
+    int winner = -1;
+    int first = slotFirstRow(slot);
+    int last = first + slotRowCount(slot);
+    for (int row = first; row < last; row++) {
+      long end = endSeconds(row);
+      boolean covers = startSeconds(row) <= seconds && (seconds < end || (seconds == end && wholeSecond));
+      if (covers && (winner < 0 || isPreferred(row, winner))) {
+        winner = row;
+      }
+    }
+    return winner;
+
+  }
+
+  /**
+   * {@code ORDER BY PRIORITY DESC, START_DATE DESC}: {@code true} si la fila gana a la otra.
+   */
+  private boolean isPreferred(int row, int other) {
+    int priority = priority(row);
+    int otherPriority = priority(other);
+    return priority > otherPriority || (priority == otherPriority && startSeconds(row) > startSeconds(other));
+  }
+
+  private ProductEntity toProductEntity(Integer brandId, Integer productId, int row) {
+    ProductDto dto = toProductDto(brandId, productId, row);
+    return new ProductEntity(brandId, dto.getStartDate(), dto.getEndDate(), dto.getPriceList(), productId,
+        dto.getPriority(), dto.getPrice(), dto.getCurrency());
+  }
+
+  private ProductDto toProductDto(Integer brandId, Integer productId, int row) {
+    int priceList = priceList(row);
+    int priority = priority(row);
+    long price = priceInMinorUnits(row);
+    short code = currencyCode(row);
+    return new ProductDto(brandId, toLocalDateTime(startSeconds(row)), toLocalDateTime(endSeconds(row)),
+        priceList == NULL_INT ? null : priceList,
+        productId,
+        priority == NULL_INT ? null : priority,
+        price == NULL_PRICE ? null : BigDecimal.valueOf(price, PRICE_SCALE),
+        code == NULL_CURRENCY ? null : currency(code));
+  }
+
+  private static LocalDateTime toLocalDateTime(long epochSeconds) {
+    return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+  }
+
+}
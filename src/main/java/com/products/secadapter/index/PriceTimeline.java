@@ -0,0 +1,205 @@
+package com.products.secadapter.index;
+
+import com.products.secadapter.model.ProductEntity;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+/**
+ * Línea temporal de precio efectivo de un (brandId, productId).
+ *
+ * <p>Las tarifas solapadas de PRICES se aplanan en segmentos disjuntos {@code [start, end)}, cada uno con la tarifa
+ * que gana en ese tramo ya resuelta. Una búsqueda es una única búsqueda binaria sin desempates en tiempo de
+ * petición. Los segmentos consecutivos con la misma tarifa ganadora se fusionan, de modo que cada segmento es el
+ * periodo completo durante el que esa tarifa sigue siendo la vigente.
+ *
+ * <p>Como BETWEEN es inclusivo, el fin exclusivo de cada tarifa es {@code END_DATE + 1ns}.
+ */
+public final class PriceTimeline {
+
+  /**
+   * Orden de preferencia entre tarifas vigentes, el mismo que {@code ORDER BY PRIORITY DESC, START_DATE DESC}:
+   * mayor prioridad y, a igualdad, START_DATE más reciente.
+   */
+  public static final Comparator<ProductEntity> PREFERENCE = Comparator
+      .comparing(ProductEntity::getPriority)
+      .thenComparing(ProductEntity::getStartDate);
+
+  private final LocalDateTime[] starts;
+
+  private final LocalDateTime[] ends;
+
+  private final ProductEntity[] winners;
+
+  private PriceTimeline(LocalDateTime[] starts, LocalDateTime[] ends, ProductEntity[] winners) {
+    this.starts = starts;
+    this.ends = ends;
+    this.winners = winners;
+  }
+
+  /**
+   * Aplana las tarifas de un mismo (brandId, productId) con un barrido por sus fechas límite. Las filas sin
+   * START_DATE o END_DATE, o con END_DATE anterior a START_DATE, no cubren ninguna fecha y se descartan.
+   */
+  public static PriceTimeline build(Collection<ProductEntity> rows) {
+
+    ProductEntity[] valid = rows.stream()
+        .filter(row -> row.getStartDate() != null && row.getEndDate() != null)
+        .filter(row -> !row.getEndDate().isBefore(row.getStartDate()))
+        .toArray(ProductEntity[]::new);
+
+    Integer[] byStart = indexesSortedBy(valid, i -> valid[i].getStartDate());
+    Integer[] byEnd = indexesSortedBy(valid, i -> exclusiveEnd(valid[i]));
+
+    Comparator<Integer> preference = Comparator.<Integer, ProductEntity>comparing(i -> valid[i], PREFERENCE)
+        .thenComparing(Comparator.naturalOrder());
+    TreeSet<Integer> active = new TreeSet<>(preference);
+
+    List<LocalDateTime> starts = new ArrayList<>();
+    List<LocalDateTime> ends = new ArrayList<>();
+    List<ProductEntity> winners = new ArrayList<>();
+
+    int nextStart = 0;
+    int nextEnd = 0;
+    while (nextStart < valid.length || nextEnd < valid.length) {
+
+      LocalDateTime boundary = nextBoundary(valid, byStart, nextStart, byEnd, nextEnd);
+      while (nextEnd < valid.length && exclusiveEnd(valid[byEnd[nextEnd]]).equals(boundary)) {
+        active.remove(byEnd[nextEnd++]);
+      }
+      while (nextStart < valid.length && valid[byStart[nextStart]].getStartDate().equals(boundary)) {
+        active.add(byStart[nextStart++]);
+      }
+      if (active.isEmpty()) {
+        continue;
+      }
+
+      ProductEntity winner = valid[active.last()];
+      LocalDateTime segmentEnd = nextBoundary(valid, byStart, nextStart, byEnd, nextEnd);
+      int last = winners.size() - 1;
+      if (last >= 0 && winners.get(last) == winner && ends.get(last).equals(boundary)) {
+        ends.set(last, segmentEnd);
+      } else {
+        starts.add(boundary);
+        ends.add(segmentEnd);
+        winners.add(winner);
+      }
+
+    }
+
+    return new PriceTimeline(starts.toArray(new LocalDateTime[0]), ends.toArray(new LocalDateTime[0]),
+        winners.toArray(new ProductEntity[0]));
+
+  }
+
+  /**
+   * Devuelve la tarifa vigente en la fecha indicada o {@code null} si ninguna la cubre.
+   */
+  public ProductEntity findWinner(LocalDateTime applicationDate) {
+    int segment = findSegment(applicationDate);
+    return segment >= 0 ? winners[segment] : null;
+  }
+
+  public int segmentCount() {
+    return winners.length;
+  }
+
+  public LocalDateTime segmentStart(int segment) {
+    return starts[segment];
+  }
+
+  public LocalDateTime segmentEnd(int segment) {
+    return ends[segment];
+  }
+
+  public ProductEntity segmentWinner(int segment) {
+    return winners[segment];
+  }
+
+  /**
+   * Recorre en orden los segmentos que se solapan con {@code [from, to)}, recortados a ese rango. Los huecos sin
+   * tarifa no se recorren.
+   */
+  public void forEachSegment(LocalDateTime from, LocalDateTime to, SegmentConsumer consumer) {
+
+    int segment = lastStartingAtOrBefore(from);
+    if (segment < 0 || !ends[segment].isAfter(from)) {
+      segment++;
+    }
+    for (; segment < starts.length && starts[segment].isBefore(to); segment++) {
+      LocalDateTime start = starts[segment].isBefore(from) ? from : starts[segment];
+      LocalDateTime end = ends[segment].isAfter(to) ? to : ends[segment];
+      consumer.accept(start, end, winners[segment]);
+    }
+
+  }
+
+  /**
+   * Posición del segmento que contiene la fecha o {@code -1} si cae en un hueco o fuera de la línea temporal.
+   */
+  public int findSegment(LocalDateTime applicationDate) {
+
+    int segment = lastStartingAtOrBefore(applicationDate);
+    return segment >= 0 && applicationDate.isBefore(ends[segment]) ? segment : -1;
+
+  }
+
+  private int lastStartingAtOrBefore(LocalDateTime date) {
+
+    int low = 0;
+    int high = starts.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (starts[mid].isAfter(date)) {
+        high = mid - 1;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return high;
+
+  }
+
+  static LocalDateTime exclusiveEnd(ProductEntity row) {
+    return row.getEndDate().plusNanos(1);
+  }
+
+  private static LocalDateTime nextBoundary(ProductEntity[] rows, Integer[] byStart, int nextStart,
+      Integer[] byEnd, int nextEnd) {
+
+    LocalDateTime start = nextStart < rows.length ? rows[byStart[nextStart]].getStartDate() : null;
+    LocalDateTime end = nextEnd < rows.length ? exclusiveEnd(rows[byEnd[nextEnd]]) : null;
+    if (start == null) {
+      return end;
+    }
+    return end == null || start.isBefore(end) ? start : end;
+
+  }
+
+  private static Integer[] indexesSortedBy(ProductEntity[] rows, IntFunction<LocalDateTime> dateOf) {
+    Integer[] indexes = new Integer[rows.length];
+    Arrays.setAll(indexes, i -> i);
+    Arrays.sort(indexes, Comparator.comparing(dateOf::apply));
+    return indexes;
+  }
+
+  /**
+   * Tramo de la línea temporal con su tarifa ganadora.
+   */
+  @FunctionalInterface
+  public interface SegmentConsumer {
+
+    /**
+     * @param start inicio del tramo, incluido
+     * @param end fin del tramo, excluido
+     */
+    void accept(LocalDateTime start, LocalDateTime end, ProductEntity winner);
+
+  }
+
+}
@@ -0,0 +1,292 @@
+package com.products.secadapter.index;
+
+import com.products.secadapter.model.ProductEntity;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link PriceStore} con las columnas en arrays de tipos primitivos del heap.
+ *
+ * <p>Las filas de cada (brandId, productId) quedan contiguas y el índice hash también son arrays primitivos, así que
+ * el almacén completo son unos pocos objetos sea cual sea el número de tarifas. Las fechas de PRICES se guardan con
+ * precisión de segundos y los precios con dos decimales. Las filas sin START_DATE o END_DATE no cubren ninguna fecha
+ * y se descartan.
+ *
+ * <p>La instancia es inmutable; los cambios se aplican construyendo otra con {@link #withProducts(Map)}.
+ */
+public final class PrimitivePriceStore extends PriceStore {
+
+  private static final PrimitivePriceStore EMPTY = builder(0).build();
+
+  // Índice hash: una ranura con 0 filas está libre
+  private final long[] slotKeys;
+
+  private final int[] slotFirstRows;
+
+  private final int[] slotRowCounts;
+
+  private final int slotMask;
+
+  private final int keyCount;
+
+  // Columnas, con las filas de cada (brandId, productId) contiguas
+  private final long[] startSeconds;
+
+  private final long[] endSeconds;
+
+  private final int[] priceLists;
+
+  private final int[] priorities;
+
+  private final long[] pricesInMinorUnits;
+
+  private final short[] currencyCodes;
+
+  private final String[] currencies;
+
+  private PrimitivePriceStore(Builder builder) {
+
+    int rows = builder.rows;
+    long[] distinct = Arrays.copyOf(builder.keys, rows);
+    Arrays.sort(distinct);
+    int keys = 0;
+    for (int i = 0; i < rows; i++) {
+      if (i == 0 || distinct[i] != distinct[i - 1]) {
+        keys++;
+      }
+    }
+
+    int slots = Integer.highestOneBit(Math.max(2, keys * 2 - 1)) << 1;
+    this.slotKeys = new long[slots];
+    this.slotFirstRows = new int[slots];
+    this.slotRowCounts = new int[slots];
+    this.slotMask = slots - 1;
+    this.keyCount = keys;
+
+    // Primera pasada: filas por clave; segunda: cada fila en el hueco de su clave
+    int[] rowSlots = new int[rows];
+    for (int i = 0; i < rows; i++) {
+      int slot = findOrInsertSlot(builder.keys[i]);
+      slotRowCounts[slot]++;
+      rowSlots[i] = slot;
+    }
+    int next = 0;
+    for (int slot = 0; slot < slots; slot++) {
+      slotFirstRows[slot] = next;
+      next += slotRowCounts[slot];
+    }
+
+    this.startSeconds = new long[rows];
+    this.endSeconds = new long[rows];
+    this.priceLists = new int[rows];
+    this.priorities = new int[rows];
+    this.pricesInMinorUnits = new long[rows];
+    this.currencyCodes = new short[rows];
+    int[] placed = new int[slots];
+    for (int i = 0; i < rows; i++) {
+      int slot = rowSlots[i];
+      int row = slotFirstRows[slot] + placed[slot]++;
+      startSeconds[row] = builder.startSeconds[i];
+      endSeconds[row] = builder.endSeconds[i];
+      priceLists[row] = builder.priceLists[i];
+      priorities[row] = builder.priorities[i];
+      pricesInMinorUnits[row] = builder.pricesInMinorUnits[i];
+      currencyCodes[row] = builder.currencyCodes[i];
+    }
+    this.currencies = builder.currencies.toArray(new String[0]);
+
+  }
+
+  public static PrimitivePriceStore empty() {
+    return EMPTY;
+  }
+
+  public static Builder builder(int expectedRows) {
+    return new Builder(expectedRows);
+  }
+
+  @Override
+  int slotCount() {
+    return slotKeys.length;
+  }
+
+  @Override
+  long slotKey(int slot) {
+    return slotKeys[slot];
+  }
+
+  @Override
+  int slotFirstRow(int slot) {
+    return slotFirstRows[slot];
+  }
+
+  @Override
+  int slotRowCount(int slot) {
+    return slotRowCounts[slot];
+  }
+
+  @Override
+  long startSeconds(int row) {
+    return startSeconds[row];
+  }
+
+  @Override
+  long endSeconds(int row) {
+    return endSeconds[row];
+  }
+
+  @Override
+  int priceList(int row) {
+    return priceLists[row];
+  }
+
+  @Override
+  int priority(int row) {
+    return priorities[row];
+  }
+
+  @Override
+  long priceInMinorUnits(int row) {
+    return pricesInMinorUnits[row];
+  }
+
+  @Override
+  short currencyCode(int row) {
+    return currencyCodes[row];
+  }
+
+  @Override
+  int currencyCount() {
+    return currencies.length;
+  }
+
+  @Override
+  String currency(int code) {
+    return currencies[code];
+  }
+
+  @Override
+  public int rowCount() {
+    return startSeconds.length;
+  }
+
+  @Override
+  public int keyCount() {
+    return keyCount;
+  }
+
+  private int findOrInsertSlot(long key) {
+    int slot = (int) PriceIntervalIndex.mix(key) & slotMask;
+    while (slotRowCounts[slot] != 0 && slotKeys[slot] != key) {
+      slot = (slot + 1) & slotMask;
+    }
+    slotKeys[slot] = key;
+    return slot;
+  }
+
+  /**
+   * Acumula filas en arrays primitivos que crecen según hace falta, sin guardar los {@link ProductEntity}.
+   */
+  public static final class Builder {
+
+    private long[] keys;
+
+    private long[] startSeconds;
+
+    private long[] endSeconds;
+
+    private int[] priceLists;
+
+    private int[] priorities;
+
+    private long[] pricesInMinorUnits;
+
+    private short[] currencyCodes;
+
+    private final List<String> currencies = new ArrayList<>();
+
+    private final Map<String, Short> currencyCodesByName = new HashMap<>();
+
+    private int rows;
+
+    private Builder(int expectedRows) {
+      int capacity = Math.max(16, expectedRows);
+      keys = new long[capacity];
+      startSeconds = new long[capacity];
+      endSeconds = new long[capacity];
+      priceLists = new int[capacity];
+      priorities = new int[capacity];
+      pricesInMinorUnits = new long[capacity];
+      currencyCodes = new short[capacity];
+    }
+
+    public Builder add(ProductEntity row) {
+
+      if (row.getBrandId() == null || row.getProductId() == null || row.getStartDate() == null
+          || row.getEndDate() == null) {
+        return this;
+      }
+      long price = row.getPrice() == null
+          ? NULL_PRICE
+          : row.getPrice().setScale(PRICE_SCALE).unscaledValue().longValueExact();
+      return add(PriceIntervalIndex.key(row.getBrandId(), row.getProductId()),
+          row.getStartDate().toEpochSecond(ZoneOffset.UTC), row.getEndDate().toEpochSecond(ZoneOffset.UTC),
+          row.getPriceList() == null ? NULL_INT : row.getPriceList(),
+          row.getPriority() == null ? NULL_INT : row.getPriority(),
+          price, row.getCurrency());
+
+    }
+
+    Builder add(long key, long start, long end, int priceList, int priority, long priceInMinorUnits,
+        String currency) {
+
+      if (rows == keys.length) {
+        grow();
+      }
+      keys[rows] = key;
+      startSeconds[rows] = start;
+      endSeconds[rows] = end;
+      priceLists[rows] = priceList;
+      priorities[rows] = priority;
+      pricesInMinorUnits[rows] = priceInMinorUnits;
+      currencyCodes[rows] = currencyCode(currency);
+      rows++;
+      return this;
+
+    }
+
+    public PrimitivePriceStore build() {
+      return new PrimitivePriceStore(this);
+    }
+
+    private short currencyCode(String currency) {
+      if (currency == null) {
+        return NULL_CURRENCY;
+      }
+      return currencyCodesByName.computeIfAbsent(currency, name -> {
+        if (currencies.size() == Short.MAX_VALUE) {
+          throw new IllegalStateException("Demasiadas monedas distintas para un código short");
+        }
+        currencies.add(name);
+        return (short) (currencies.size() - 1);
+      });
+    }
+
+    private void grow() {
+      int capacity = keys.length + (keys.length >> 1);
+      keys = Arrays.copyOf(keys, capacity);
+      startSeconds = Arrays.copyOf(startSeconds, capacity);
+      endSeconds = Arrays.copyOf(endSeconds, capacity);
+      priceLists = Arrays.copyOf(priceLists, capacity);
+      priorities = Arrays.copyOf(priorities, capacity);
+      pricesInMinorUnits = Arrays.copyOf(pricesInMinorUnits, capacity);
+      currencyCodes = Arrays.copyOf(currencyCodes, capacity);
+    }
+
+  }
+
+}
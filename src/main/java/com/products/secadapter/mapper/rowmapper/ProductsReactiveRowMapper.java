@@ -0,0 +1,32 @@
+package com.products.secadapter.mapper.rowmapper;
+
+import com.products.secadapter.model.ProductEntity;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * Equivalente de {@link ProductsRowMapper} para las filas de R2DBC, con los mismos alias de columna.
+ */
+public class ProductsReactiveRowMapper implements BiFunction<Row, RowMetadata, ProductEntity> {
+
+  @Override
+  public ProductEntity apply(Row row, RowMetadata rowMetadata) {
+
+    ProductEntity productEntity = new ProductEntity();
+    productEntity.setBrandId(row.get("brandId", Integer.class));
+    productEntity.setStartDate(row.get("startDate", LocalDateTime.class));
+    productEntity.setEndDate(row.get("endDate", LocalDateTime.class));
+    productEntity.setPriceList(row.get("priceList", Integer.class));
+    productEntity.setProductId(row.get("productId", Integer.class));
+    productEntity.setPriority(row.get("priority", Integer.class));
+    productEntity.setPrice(row.get("price", BigDecimal.class));
+    productEntity.setCurrency(row.get("currency", String.class));
+
+    return productEntity;
+
+  }
+
+}
@@ -1,5 +1,6 @@
 package com.products.secadapter.mapper.rowmapper;
 
+import com.products.application.timing.StageTimings;
 import com.products.application.utils.Utils;
 import com.products.secadapter.model.ProductEntity;
 import java.sql.ResultSet;
@@ -11,6 +12,7 @@ public class ProductsRowMapper implements RowMapper<ProductEntity> {
   @Override
   public ProductEntity mapRow(ResultSet rs, int rowNum) throws SQLException {
 
+    long start = StageTimings.start();
     ProductEntity productEntity = new ProductEntity();
     productEntity.setBrandId(rs.getInt("brandId"));
     productEntity.setStartDate(Utils.getLocalDateTimeFromResultSet(rs, "startDate"));
@@ -20,6 +22,7 @@ public class ProductsRowMapper implements RowMapper<ProductEntity> {
     productEntity.setPriority(rs.getInt("priority"));
     productEntity.setPrice(rs.getBigDecimal("price"));
     productEntity.setCurrency(rs.getString("currency"));
+    StageTimings.stop(StageTimings.Stage.ROW_MAPPING, start);
 
     return productEntity;
 
@@ -0,0 +1,170 @@
+package com.products.secadapter.repository;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.secadapter.index.PairBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pares (brandId, productId) con alguna fila en PRICES, en un {@link PairBloomFilter}.
+ *
+ * <p>{@link ProductsRepositoryImpl} lo consulta antes de ir a la BD: si el par no está en el filtro seguro que no
+ * tiene tarifas y la búsqueda termina sin consulta. Se carga al arrancar y sigue los {@link PricesChangedEvent}: los
+ * productos cambiados se añaden y una recarga completa reconstruye el filtro, lo que además olvida los pares
+ * borrados y lo redimensiona.
+ *
+ * <p>Publica en Micrometer {@code products.bloom.false-positive-rate}, {@code products.bloom.memory} (bytes) y
+ * {@code products.bloom.rejections}. Desactivado ({@code products.repository.bloom-filter.enabled=false}) deja pasar
+ * todas las búsquedas.
+ */
+@Slf4j
+@Component
+public class KnownPricePairs {
+
+  private static final String QUERY_SELECT_DISTINCT_PAIRS = """
+      SELECT DISTINCT BRAND_ID, PRODUCT_ID FROM PRICES
+      """;
+
+  private static final String QUERY_COUNT_DISTINCT_PAIRS = """
+      SELECT COUNT(*) FROM (
+      """ + QUERY_SELECT_DISTINCT_PAIRS + """
+      ) p
+      """;
+
+  /**
+   * Margen sobre los pares actuales al dimensionar, para que los productos nuevos no disparen los falsos positivos
+   * antes de la siguiente recarga completa.
+   */
+  private static final int CAPACITY_FACTOR = 2;
+
+  private static final int MINIMUM_CAPACITY = 1024;
+
+  private final boolean enabled;
+
+  private final double falsePositiveProbability;
+
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private final Counter rejections;
+
+  private volatile PairBloomFilter filter;
+
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  public KnownPricePairs(
+      @Value("${products.repository.bloom-filter.enabled:false}") boolean enabled,
+      @Value("${products.repository.bloom-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+      NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+      MeterRegistry meterRegistry) {
+
+    this.enabled = enabled;
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    this.rejections = Counter.builder("products.bloom.rejections")
+        .description("Búsquedas resueltas sin consulta porque el par no tiene tarifas")
+        .register(meterRegistry);
+    Gauge.builder("products.bloom.false-positive-rate", this, KnownPricePairs::falsePositiveRate)
+        .description("Probabilidad estimada de que un par sin tarifas pase el filtro")
+        .register(meterRegistry);
+    Gauge.builder("products.bloom.memory", this, KnownPricePairs::memoryBytes)
+        .description("Memoria ocupada por el filtro")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Vuelve a leer los pares de PRICES y sustituye el filtro de una sola vez.
+   */
+  @PostConstruct
+  public void reload() {
+
+    if (!enabled) {
+      return;
+    }
+
+    reloadLock.lock();
+    try {
+      Long pairs = namedParameterJdbcTemplate.getJdbcTemplate()
+          .queryForObject(QUERY_COUNT_DISTINCT_PAIRS, Long.class);
+      PairBloomFilter rebuilt = PairBloomFilter.create(
+          Math.max(MINIMUM_CAPACITY, (pairs != null ? pairs : 0) * CAPACITY_FACTOR), falsePositiveProbability);
+      namedParameterJdbcTemplate.getJdbcTemplate().query(QUERY_SELECT_DISTINCT_PAIRS,
+          rs -> {
+            rebuilt.put(rs.getInt("BRAND_ID"), rs.getInt("PRODUCT_ID"));
+          });
+      filter = rebuilt;
+
+      log.info("Filtro de pares con tarifa cargado: {} pares, {} bytes, {} funciones hash", pairs,
+          rebuilt.memoryBytes(), rebuilt.hashCount());
+    } finally {
+      reloadLock.unlock();
+    }
+
+  }
+
+  @EventListener
+  @Order(PricesChangedEvent.SOURCE_ORDER)
+  public void onPricesChanged(PricesChangedEvent event) {
+
+    if (!enabled) {
+      return;
+    }
+
+    reloadLock.lock();
+    try {
+      if (event.isFullReload()) {
+        reload();
+        return;
+      }
+      for (PricesChangedEvent.ProductKey product : event.products()) {
+        filter.put(product.brandId(), product.productId());
+      }
+    } finally {
+      reloadLock.unlock();
+    }
+
+  }
+
+  /**
+   * Devuelve {@code false} solo si el par seguro que no tiene tarifas o le falta alguno de los IDs. Con el filtro
+   * desactivado devuelve siempre {@code true}.
+   */
+  public boolean mightHavePrices(Integer brandId, Integer productId) {
+
+    PairBloomFilter current = filter;
+    if (current == null) {
+      return true;
+    }
+    if (brandId == null || productId == null || !current.mightContain(brandId, productId)) {
+      rejections.increment();
+      return false;
+    }
+    return true;
+
+  }
+
+  public double falsePositiveRate() {
+    PairBloomFilter current = filter;
+    return current != null ? current.expectedFalsePositiveRate() : 0;
+  }
+
+  public long memoryBytes() {
+    PairBloomFilter current = filter;
+    return current != null ? current.memoryBytes() : 0;
+  }
+
+}
@@ -0,0 +1,130 @@
+package com.products.secadapter.repository;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.ports.secondary.PricesRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementación JDBC de {@link PricesRepository}. Es la misma para todos los tipos de
+ * {@code products.repository.type}: las escrituras siempre van a la BD y las estructuras en memoria se actualizan
+ * después con el evento que publica el caso de uso. {@link #upsertPrices(List)} usa el {@code MERGE ... KEY} de H2.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PricesRepositoryImpl implements PricesRepository {
+
+  private final @NonNull NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private static final String INSERT_PRICE = """
+      INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR)
+      VALUES (:brandId, :startDate, :endDate, :priceList, :productId, :priority, :price, :currency)
+      """;
+
+  private static final String UPDATE_PRICE = """
+      UPDATE PRICES
+      SET END_DATE = :endDate,
+          PRICE_LIST = :priceList,
+          PRIORITY = :priority,
+          PRICE = :price,
+          CURR = :currency
+      WHERE BRAND_ID = :brandId
+      AND PRODUCT_ID = :productId
+      AND START_DATE = :startDate
+      """;
+
+  private static final String MERGE_PRICE = """
+      MERGE INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR)
+      KEY (BRAND_ID, PRODUCT_ID, START_DATE)
+      VALUES (:brandId, :startDate, :endDate, :priceList, :productId, :priority, :price, :currency)
+      """;
+
+  private static final String DELETE_PRICE = """
+      DELETE FROM PRICES
+      WHERE BRAND_ID = :brandId
+      AND PRODUCT_ID = :productId
+      AND START_DATE = :startDate
+      """;
+
+  @Override
+  public void insertPrice(ProductDto price) throws DbException.Duplicated, DbException.BadExecution {
+
+    try {
+      namedParameterJdbcTemplate.update(INSERT_PRICE, toParameters(price));
+    } catch (DuplicateKeyException e) {
+      throw new DbException.Duplicated("Ya existe una tarifa para la marca " + price.getBrandId() + ", producto "
+          + price.getProductId() + " y fecha de inicio " + price.getStartDate());
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  @Override
+  public boolean updatePrice(ProductDto price) throws DbException.BadExecution {
+
+    try {
+      return namedParameterJdbcTemplate.update(UPDATE_PRICE, toParameters(price)) > 0;
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  @Override
+  public boolean deletePrice(Integer brandId, Integer productId, LocalDateTime startDate)
+      throws DbException.BadExecution {
+
+    try {
+
+      MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+      namedParameters.addValue("brandId", brandId);
+      namedParameters.addValue("productId", productId);
+      namedParameters.addValue("startDate", startDate);
+      return namedParameterJdbcTemplate.update(DELETE_PRICE, namedParameters) > 0;
+
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  @Override
+  @Transactional(rollbackFor = Exception.class)
+  public void upsertPrices(List<ProductDto> prices) throws DbException.BadExecution {
+
+    SqlParameterSource[] batch = new SqlParameterSource[prices.size()];
+    for (int i = 0; i < batch.length; i++) {
+      batch[i] = toParameters(prices.get(i));
+    }
+    try {
+      namedParameterJdbcTemplate.batchUpdate(MERGE_PRICE, batch);
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  private static MapSqlParameterSource toParameters(ProductDto price) {
+    MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+    namedParameters.addValue("brandId", price.getBrandId());
+    namedParameters.addValue("productId", price.getProductId());
+    namedParameters.addValue("startDate", price.getStartDate());
+    namedParameters.addValue("endDate", price.getEndDate());
+    namedParameters.addValue("priceList", price.getPriceList());
+    namedParameters.addValue("priority", price.getPriority());
+    namedParameters.addValue("price", price.getPrice());
+    namedParameters.addValue("currency", price.getCurrency());
+    return namedParameters;
+  }
+
+}
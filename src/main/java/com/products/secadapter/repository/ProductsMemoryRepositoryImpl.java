@@ -0,0 +1,262 @@
+package com.products.secadapter.repository;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.application.ports.secondary.ProductsRepository;
+import com.products.application.timing.StageTimings;
+import com.products.secadapter.concurrency.VersionedCatalog;
+import com.products.secadapter.index.PriceIntervalIndex;
+import com.products.secadapter.index.PriceTimeline;
+import com.products.secadapter.mapper.rowmapper.ProductsRowMapper;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapper;
+import com.products.secadapter.model.ProductEntity;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Implementación de {@link ProductsRepository} que carga la tabla PRICES una sola vez en un
+ * {@link PriceIntervalIndex} y resuelve las búsquedas en memoria, sin ida y vuelta a la BD.
+ *
+ * <p>Cuando cambian filas de PRICES se publica un {@link PricesChangedEvent}; el índice se reconstruye entero o solo
+ * para las líneas temporales de los productos afectados. Cada índice nuevo se publica como una versión de un
+ * {@link VersionedCatalog}: las búsquedas no toman ningún lock y cada una trabaja entera sobre una sola versión. Las
+ * recargas sí se serializan entre sí para que una lectura completa de PRICES no se publique encima de un cambio
+ * posterior.
+ *
+ * <p>Se activa con {@code products.repository.type=memory}. Devuelve los mismos resultados que
+ * {@link ProductsRepositoryImpl}, incluido {@link Optional#empty()} cuando no hay tarifa vigente.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "products.repository.type", havingValue = "memory")
+public class ProductsMemoryRepositoryImpl implements ProductsRepository {
+
+  private final @NonNull NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private final @NonNull ProductsSecMapper productsSecMapper;
+
+  private final @NonNull LookupMetrics lookupMetrics;
+
+  private final VersionedCatalog<PriceIntervalIndex> catalog = new VersionedCatalog<>(PriceIntervalIndex.empty());
+
+  /**
+   * Serializa las recargas. Es un lock explícito y no {@code synchronized} porque las recargas consultan la BD y se
+   * ejecutan en el hilo que publica el cambio: con hilos virtuales, bloquearse dentro de un monitor deja fijado el
+   * hilo portador (Java 21).
+   */
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  private static final String QUERY_SELECT_ALL_PRICES = """
+      SELECT
+          BRAND_ID as brandId,
+          START_DATE as startDate,
+          END_DATE as endDate,
+          PRICE_LIST as priceList,
+          PRODUCT_ID as productId,
+          PRIORITY as priority,
+          PRICE as price,
+          CURR as currency
+      FROM PRICES
+      """;
+
+  private static final String QUERY_SELECT_PRICES_BY_PRODUCT = QUERY_SELECT_ALL_PRICES + """
+      WHERE PRODUCT_ID = :productId
+      AND BRAND_ID = :brandId
+      """;
+
+  /**
+   * Vuelve a leer PRICES completa y publica el índice nuevo de una sola vez; las búsquedas en curso siguen usando el
+   * índice anterior hasta que terminan.
+   */
+  @PostConstruct
+  public void reload() {
+
+    reloadLock.lock();
+    try {
+      List<ProductEntity> rows = namedParameterJdbcTemplate.query(QUERY_SELECT_ALL_PRICES, new ProductsRowMapper());
+      PriceIntervalIndex index = PriceIntervalIndex.build(rows);
+      long version = catalog.publish(index).version();
+
+      log.info("Índice de precios v{} cargado: {} tarifas en {} segmentos para {} productos", version, rows.size(),
+          index.segmentCount(), index.keyCount());
+    } finally {
+      reloadLock.unlock();
+    }
+
+  }
+
+  /**
+   * Reconstruye solo las líneas temporales de los productos afectados por el cambio.
+   */
+  @EventListener
+  @Order(PricesChangedEvent.SOURCE_ORDER)
+  public void onPricesChanged(PricesChangedEvent event) {
+
+    reloadLock.lock();
+    try {
+      if (event.isFullReload()) {
+        reload();
+        return;
+      }
+
+      Map<Long, PriceTimeline> changed = new HashMap<>();
+      for (PricesChangedEvent.ProductKey product : event.products()) {
+        MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+        namedParameters.addValue("productId", product.productId());
+        namedParameters.addValue("brandId", product.brandId());
+
+        List<ProductEntity> rows = namedParameterJdbcTemplate
+            .query(QUERY_SELECT_PRICES_BY_PRODUCT, namedParameters, new ProductsRowMapper());
+        changed.put(PriceIntervalIndex.key(product.brandId(), product.productId()), PriceTimeline.build(rows));
+      }
+      long version = catalog.update(index -> index.withTimelines(changed)).version();
+
+      log.debug("Índice de precios v{}: líneas temporales reconstruidas para {} productos", version, changed.size());
+    } finally {
+      reloadLock.unlock();
+    }
+
+  }
+
+  @Override
+  public Optional<ProductDto> getHighestPriorityProductByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    long start = StageTimings.start();
+    try {
+      return lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> findHighestPriority(productFilterDto));
+    } finally {
+      StageTimings.stop(StageTimings.Stage.DB, start);
+    }
+  }
+
+  @Override
+  public Optional<PriceSegmentDto> getEffectivePriceSegmentByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    long start = StageTimings.start();
+    try {
+      return lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> findEffectivePriceSegment(productFilterDto));
+    } finally {
+      StageTimings.stop(StageTimings.Stage.DB, start);
+    }
+  }
+
+  private Optional<ProductDto> findHighestPriority(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+
+    ProductEntity productsEntity;
+    try {
+      productsEntity = catalog.get().findHighestPriority(productFilterDto.getBrandId(), productFilterDto.getProductId(),
+          productFilterDto.getApplicationDate());
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+    if (productsEntity == null) {
+      return Optional.empty();
+    }
+
+    return Optional.of(productsSecMapper.toProductDto(productsEntity));
+
+  }
+
+  private Optional<PriceSegmentDto> findEffectivePriceSegment(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+
+    PriceTimeline timeline;
+    int segment;
+    try {
+      timeline = catalog.get().findTimeline(productFilterDto.getBrandId(), productFilterDto.getProductId());
+      segment = timeline != null && productFilterDto.getApplicationDate() != null
+          ? timeline.findSegment(productFilterDto.getApplicationDate())
+          : -1;
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+    if (segment < 0) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new PriceSegmentDto(timeline.segmentStart(segment), timeline.segmentEnd(segment),
+        productsSecMapper.toProductDto(timeline.segmentWinner(segment))));
+
+  }
+
+  @Override
+  public List<ProductDto> getHighestPriorityProductsByFilters(List<ProductFilterDto> productFilterDtos)
+      throws DbException.BadExecution {
+
+    try {
+
+      PriceIntervalIndex current = catalog.get();
+      List<ProductDto> results = new ArrayList<>(productFilterDtos.size());
+      for (ProductFilterDto filter : productFilterDtos) {
+        ProductEntity productsEntity = current.findHighestPriority(filter.getBrandId(), filter.getProductId(),
+            filter.getApplicationDate());
+        results.add(productsEntity != null ? productsSecMapper.toProductDto(productsEntity) : null);
+      }
+      return results;
+
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  /**
+   * La línea temporal del producto ya está resuelta: solo hay que recortar sus segmentos al rango.
+   */
+  @Override
+  public List<PriceSegmentDto> getPriceHistoryByFilters(Integer brandId, Integer productId, LocalDateTime from,
+      LocalDateTime to) throws DbException.BadExecution {
+
+    PriceTimeline timeline;
+    try {
+      timeline = catalog.get().findTimeline(brandId, productId);
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+    List<PriceSegmentDto> history = new ArrayList<>();
+    if (timeline != null) {
+      timeline.forEachSegment(from, to, (start, end, winner) ->
+          history.add(new PriceSegmentDto(start, end, productsSecMapper.toProductDto(winner))));
+    }
+    return history;
+
+  }
+
+  /**
+   * Recorre una sola versión del índice de principio a fin, aunque mientras tanto se publiquen otras.
+   */
+  @Override
+  public void forEachHighestPriorityProductByBrand(Integer brandId, LocalDateTime applicationDate,
+      Consumer<ProductDto> consumer) {
+
+    catalog.get().forEachWinner(brandId, applicationDate,
+        productsEntity -> consumer.accept(productsSecMapper.toProductDto(productsEntity)));
+
+  }
+
+}
@@ -0,0 +1,361 @@
+package com.products.secadapter.repository;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.application.ports.secondary.ProductsRepository;
+import com.products.application.timing.StageTimings;
+import com.products.secadapter.concurrency.VersionedCatalog;
+import com.products.secadapter.index.MappedPriceStore;
+import com.products.secadapter.index.PriceIntervalIndex;
+import com.products.secadapter.index.PriceStore;
+import com.products.secadapter.index.PrimitivePriceStore;
+import com.products.secadapter.mapper.rowmapper.ProductsRowMapper;
+import com.products.secadapter.model.ProductEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Implementación de {@link ProductsRepository} que guarda la tabla PRICES en un {@link PrimitivePriceStore}: arrays
+ * de tipos primitivos indexados por (brandId, productId) empaquetado en un {@code long}, sin un objeto por fila.
+ *
+ * <p>Ocupa bastante menos heap que {@link ProductsMemoryRepositoryImpl} con catálogos grandes, a cambio de recorrer
+ * las tarifas del producto en cada búsqueda en lugar de buscar en segmentos ya resueltos.
+ *
+ * <p>Cada almacén nuevo se publica como una versión de un {@link VersionedCatalog}: las búsquedas no toman ningún
+ * lock y cada una trabaja entera sobre una sola versión; las recargas se serializan entre sí.
+ *
+ * <p>Con {@code products.repository.snapshot.path} guarda además el almacén en un snapshot binario
+ * ({@link MappedPriceStore}) cada vez que lo carga de la BD o aplica un cambio. El snapshot se escribe en un hilo
+ * propio, fuera del lock de recarga y del hilo que publicó el cambio, y los cambios que llegan mientras hay una
+ * escritura pendiente se escriben juntos con la última versión. Al arrancar, si el snapshot existe y es válido se
+ * mapea y se sirve directamente desde el fichero, sin leer PRICES; si falta o está dañado se carga de la BD como
+ * siempre. El snapshot manda al arrancar: tras modificar PRICES por fuera del servicio hay que borrarlo o
+ * publicar una recarga completa.
+ *
+ * <p>Se activa con {@code products.repository.type=primitive}. Devuelve los mismos resultados que
+ * {@link ProductsRepositoryImpl}, incluido {@link Optional#empty()} cuando no hay tarifa vigente.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "products.repository.type", havingValue = "primitive")
+public class ProductsPrimitiveRepositoryImpl implements ProductsRepository {
+
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private final LookupMetrics lookupMetrics;
+
+  private final Path snapshotPath;
+
+  private final VersionedCatalog<PriceStore> catalog = new VersionedCatalog<>(PrimitivePriceStore.empty());
+
+  /**
+   * Serializa el arranque, las recargas y los cambios, con el mismo criterio que en
+   * {@link ProductsMemoryRepositoryImpl}.
+   */
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  /**
+   * Última versión pendiente de escribir en el snapshot; {@code null} si no hay ninguna.
+   */
+  private final AtomicReference<PriceStore> pendingSnapshot = new AtomicReference<>();
+
+  private final ExecutorService snapshotWriter;
+
+  private final LongAdder snapshotWrites = new LongAdder();
+
+  private static final long SNAPSHOT_CLOSE_TIMEOUT_SECONDS = 30;
+
+  private static final String QUERY_COUNT_PRICES = "SELECT COUNT(*) FROM PRICES";
+
+  private static final String QUERY_SELECT_ALL_PRICES = """
+      SELECT
+          BRAND_ID as brandId,
+          START_DATE as startDate,
+          END_DATE as endDate,
+          PRICE_LIST as priceList,
+          PRODUCT_ID as productId,
+          PRIORITY as priority,
+          PRICE as price,
+          CURR as currency
+      FROM PRICES
+      """;
+
+  private static final String QUERY_SELECT_PRICES_BY_PRODUCT = QUERY_SELECT_ALL_PRICES + """
+      WHERE PRODUCT_ID = :productId
+      AND BRAND_ID = :brandId
+      """;
+
+  public ProductsPrimitiveRepositoryImpl(
+      @NonNull NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+      @NonNull LookupMetrics lookupMetrics,
+      @Value("${products.repository.snapshot.path:}") String snapshotPath) {
+
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    this.lookupMetrics = lookupMetrics;
+    this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    this.snapshotWriter = this.snapshotPath == null ? null
+        : Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("prices-snapshot-writer").factory());
+
+  }
+
+  /**
+   * Arranca desde el snapshot si hay uno válido y, si no, desde la BD.
+   */
+  @PostConstruct
+  public void init() {
+
+    reloadLock.lock();
+    try {
+      if (snapshotPath != null && Files.exists(snapshotPath)) {
+        try {
+          long start = System.nanoTime();
+          PriceStore store = MappedPriceStore.open(snapshotPath);
+          long version = catalog.publish(store).version();
+          log.info("Snapshot de precios {} mapeado en {} ms como v{}: {} tarifas para {} productos", snapshotPath,
+              (System.nanoTime() - start) / 1_000_000, version, store.rowCount(), store.keyCount());
+          return;
+        } catch (IOException e) {
+          log.warn("No se puede usar el snapshot de precios, se carga desde la BD: {}", e.getMessage());
+        }
+      }
+      reload();
+    } finally {
+      reloadLock.unlock();
+    }
+
+  }
+
+  /**
+   * Vuelve a leer PRICES completa fila a fila, sin materializar la lista de entidades, y sustituye el almacén de una
+   * sola vez.
+   */
+  public void reload() {
+
+    reloadLock.lock();
+    try {
+      Integer expectedRows = namedParameterJdbcTemplate.queryForObject(QUERY_COUNT_PRICES, new MapSqlParameterSource(),
+          Integer.class);
+      PrimitivePriceStore.Builder builder = PrimitivePriceStore.builder(expectedRows != null ? expectedRows : 0);
+      ProductsRowMapper rowMapper = new ProductsRowMapper();
+      namedParameterJdbcTemplate.query(QUERY_SELECT_ALL_PRICES,
+          rs -> {
+            builder.add(rowMapper.mapRow(rs, 0));
+          });
+      PriceStore store = builder.build();
+      long version = catalog.publish(store).version();
+      scheduleSnapshot(store);
+
+      log.info("Almacén primitivo de precios v{} cargado: {} tarifas para {} productos", version, store.rowCount(),
+          store.keyCount());
+    } finally {
+      reloadLock.unlock();
+    }
+
+  }
+
+  /**
+   * Sustituye solo las filas de los productos afectados por el cambio.
+   */
+  @EventListener
+  @Order(PricesChangedEvent.SOURCE_ORDER)
+  public void onPricesChanged(PricesChangedEvent event) {
+
+    reloadLock.lock();
+    try {
+      if (event.isFullReload()) {
+        reload();
+        return;
+      }
+
+      Map<Long, List<ProductEntity>> changed = new HashMap<>();
+      for (PricesChangedEvent.ProductKey product : event.products()) {
+        MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+        namedParameters.addValue("productId", product.productId());
+        namedParameters.addValue("brandId", product.brandId());
+
+        changed.put(PriceIntervalIndex.key(product.brandId(), product.productId()),
+            namedParameterJdbcTemplate.query(QUERY_SELECT_PRICES_BY_PRODUCT, namedParameters, new ProductsRowMapper()));
+      }
+      VersionedCatalog.Snapshot<PriceStore> published = catalog.update(store -> store.withProducts(changed));
+      scheduleSnapshot(published.catalog());
+
+      log.debug("Almacén primitivo de precios v{}: tarifas sustituidas para {} productos", published.version(),
+          changed.size());
+    } finally {
+      reloadLock.unlock();
+    }
+
+  }
+
+  /**
+   * Escribe las versiones pendientes antes de cerrar.
+   */
+  @PreDestroy
+  public void close() throws InterruptedException {
+
+    if (snapshotWriter == null) {
+      return;
+    }
+    snapshotWriter.shutdown();
+    if (!snapshotWriter.awaitTermination(SNAPSHOT_CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("El snapshot de precios {} no terminó de escribirse antes de cerrar", snapshotPath);
+    }
+
+  }
+
+  /**
+   * Deja {@code store} como la versión a escribir. Solo encola una escritura si no había ninguna pendiente: la que ya
+   * está en cola escribirá la versión más reciente.
+   */
+  private void scheduleSnapshot(PriceStore store) {
+
+    if (snapshotWriter != null && pendingSnapshot.getAndSet(store) == null) {
+      snapshotWriter.execute(this::writePendingSnapshot);
+    }
+
+  }
+
+  private void writePendingSnapshot() {
+
+    PriceStore store = pendingSnapshot.getAndSet(null);
+    if (store == null) {
+      return;
+    }
+    try {
+      MappedPriceStore.write(store, snapshotPath);
+      snapshotWrites.increment();
+    } catch (IOException e) {
+      log.warn("No se pudo escribir el snapshot de precios {}: {}", snapshotPath, e.getMessage());
+    }
+
+  }
+
+  /**
+   * Espera a que terminen las escrituras del snapshot encoladas hasta ahora.
+   */
+  void awaitSnapshot() throws Exception {
+    snapshotWriter.submit(() -> {
+    }).get();
+  }
+
+  ExecutorService snapshotWriter() {
+    return snapshotWriter;
+  }
+
+  long snapshotWriteCount() {
+    return snapshotWrites.sum();
+  }
+
+  @Override
+  public Optional<ProductDto> getHighestPriorityProductByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    long start = StageTimings.start();
+    try {
+      return lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> findHighestPriority(productFilterDto));
+    } finally {
+      StageTimings.stop(StageTimings.Stage.DB, start);
+    }
+  }
+
+  @Override
+  public Optional<PriceSegmentDto> getEffectivePriceSegmentByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    long start = StageTimings.start();
+    try {
+      return lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> findEffectivePriceSegment(productFilterDto));
+    } finally {
+      StageTimings.stop(StageTimings.Stage.DB, start);
+    }
+  }
+
+  private Optional<ProductDto> findHighestPriority(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    try {
+      return Optional.ofNullable(catalog.get().findHighestPriority(productFilterDto.getBrandId(),
+          productFilterDto.getProductId(), productFilterDto.getApplicationDate()));
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+  }
+
+  private Optional<PriceSegmentDto> findEffectivePriceSegment(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    try {
+      return Optional.ofNullable(catalog.get().findEffectivePriceSegment(productFilterDto.getBrandId(),
+          productFilterDto.getProductId(), productFilterDto.getApplicationDate()));
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+  }
+
+  @Override
+  public List<ProductDto> getHighestPriorityProductsByFilters(List<ProductFilterDto> productFilterDtos)
+      throws DbException.BadExecution {
+
+    try {
+
+      PriceStore current = catalog.get();
+      List<ProductDto> results = new ArrayList<>(productFilterDtos.size());
+      for (ProductFilterDto filter : productFilterDtos) {
+        results.add(current.findHighestPriority(filter.getBrandId(), filter.getProductId(),
+            filter.getApplicationDate()));
+      }
+      return results;
+
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  @Override
+  public List<PriceSegmentDto> getPriceHistoryByFilters(Integer brandId, Integer productId, LocalDateTime from,
+      LocalDateTime to) throws DbException.BadExecution {
+    try {
+      return catalog.get().findPriceHistory(brandId, productId, from, to);
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+  }
+
+  /**
+   * Recorre una sola versión del almacén de principio a fin, aunque mientras tanto se publiquen otras.
+   */
+  @Override
+  public void forEachHighestPriorityProductByBrand(Integer brandId, LocalDateTime applicationDate,
+      Consumer<ProductDto> consumer) {
+
+    catalog.get().forEachHighestPriority(brandId, applicationDate, consumer);
+
+  }
+
+}
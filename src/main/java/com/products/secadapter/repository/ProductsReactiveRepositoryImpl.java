@@ -0,0 +1,130 @@
+package com.products.secadapter.repository;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.application.ports.secondary.ReactiveProductsRepository;
+import com.products.secadapter.mapper.rowmapper.ProductsReactiveRowMapper;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapper;
+import com.products.secadapter.model.ProductEntity;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acceso a PRICES con R2DBC para la variante reactiva de la búsqueda. Las consultas son las mismas que en
+ * {@link ProductsRepositoryImpl}, sin coalescing, micro-batching ni filtro de Bloom, que se apoyan en bloquear al
+ * hilo que espera.
+ *
+ * <p>El pool de conexiones es propio y no se publica como bean: un {@code ConnectionFactory} en el contexto haría que
+ * Spring Boot dejara de configurar el {@code DataSource} JDBC.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "products.reactive.enabled", havingValue = "true")
+public class ProductsReactiveRepositoryImpl implements ReactiveProductsRepository {
+
+  private final ProductsSecMapper productsSecMapper;
+
+  private final LookupMetrics lookupMetrics;
+
+  private final ConnectionPool connectionPool;
+
+  private final DatabaseClient databaseClient;
+
+  private final ProductsReactiveRowMapper rowMapper = new ProductsReactiveRowMapper();
+
+  /**
+   * Tarifas vigentes de una marca con la ganadora primero dentro de cada producto, como en
+   * {@link ProductsRepositoryImpl}, pero con parámetros con nombre.
+   */
+  private static final String QUERY_SELECT_PRICES_BY_BRAND_AND_DATE = """
+      SELECT
+          BRAND_ID as brandId,
+          START_DATE as startDate,
+          END_DATE as endDate,
+          PRICE_LIST as priceList,
+          PRODUCT_ID as productId,
+          PRIORITY as priority,
+          PRICE as price,
+          CURR as currency
+      FROM PRICES
+      WHERE BRAND_ID = :brandId
+      AND :applicationDate BETWEEN START_DATE AND END_DATE
+      ORDER BY PRODUCT_ID, PRIORITY DESC, START_DATE DESC
+      """;
+
+  public ProductsReactiveRepositoryImpl(
+      @NonNull ProductsSecMapper productsSecMapper,
+      @NonNull LookupMetrics lookupMetrics,
+      @Value("${products.reactive.r2dbc.url}") String url,
+      @Value("${spring.datasource.username:}") String username,
+      @Value("${spring.datasource.password:}") String password,
+      @Value("${products.reactive.r2dbc.pool.max-size:16}") int maxPoolSize) {
+
+    this.productsSecMapper = productsSecMapper;
+    this.lookupMetrics = lookupMetrics;
+
+    ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+        .option(ConnectionFactoryOptions.USER, username)
+        .option(ConnectionFactoryOptions.PASSWORD, password)
+        .build();
+    this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+        .initialSize(1)
+        .maxSize(maxPoolSize)
+        .build());
+    this.databaseClient = DatabaseClient.create(connectionPool);
+
+    log.info("Repositorio reactivo de precios sobre {} (pool de {} conexiones)", url, maxPoolSize);
+
+  }
+
+  @PreDestroy
+  void close() {
+    connectionPool.dispose();
+  }
+
+  @Override
+  public Mono<ProductDto> getHighestPriorityProductByFilters(ProductFilterDto productFilterDto) {
+
+    Mono<ProductDto> lookup = databaseClient
+        .sql(ProductsRepositoryImpl.QUERY_SELECT_HIGHEST_PRIORITY_PRODUCT_BY_FILTERS)
+        .bind("productId", productFilterDto.getProductId())
+        .bind("brandId", productFilterDto.getBrandId())
+        .bind("applicationDate", productFilterDto.getApplicationDate())
+        .map(rowMapper)
+        .first()
+        .map(productsSecMapper::toProductDto)
+        .onErrorMap(e -> new DbException.BadExecution(e.getMessage()));
+    return lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, lookup);
+
+  }
+
+  @Override
+  public Flux<ProductDto> findHighestPriorityProductsByBrand(Integer brandId, LocalDateTime applicationDate) {
+
+    // Las filas llegan ordenadas por producto con la ganadora primero: basta con la primera de cada producto
+    return databaseClient.sql(QUERY_SELECT_PRICES_BY_BRAND_AND_DATE)
+        .bind("brandId", brandId)
+        .bind("applicationDate", applicationDate)
+        .map(rowMapper)
+        .all()
+        .distinctUntilChanged(ProductEntity::getProductId)
+        .map(productsSecMapper::toProductDto)
+        .onErrorMap(e -> new DbException.BadExecution(e.getMessage()));
+
+  }
+
+}
@@ -1,28 +1,94 @@
 package com.products.secadapter.repository;
 
 import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
 import com.products.application.ports.secondary.ProductsRepository;
+import com.products.application.timing.StageTimings;
+import com.products.application.utils.Utils;
+import com.products.secadapter.concurrency.InFlightCoalescer;
+import com.products.secadapter.concurrency.MicroBatcher;
+import com.products.secadapter.index.PriceTimeline;
 import com.products.secadapter.mapper.rowmapper.ProductsRowMapper;
 import com.products.secadapter.mapper.rowmapper.ProductsSecMapper;
 import com.products.secadapter.model.ProductEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "products.repository.type", havingValue = "jdbc", matchIfMissing = true)
 public class ProductsRepositoryImpl implements ProductsRepository {
 
   private final @NonNull NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
   private final @NonNull ProductsSecMapper productsSecMapper;
 
-  private static final String QUERY_SELECT_HIGHEST_PRIORITY_PRODUCT_BY_FILTERS = """
+  private final @NonNull LookupMetrics lookupMetrics;
+
+  private final @NonNull KnownPricePairs knownPricePairs;
+
+  /**
+   * Agrupa las búsquedas idénticas concurrentes: mientras hay una consulta en curso para un (brandId, productId,
+   * applicationDate), el resto de peticiones con la misma clave esperan a su resultado en vez de ir a la BD.
+   */
+  @Value("${products.repository.coalescing.enabled:true}")
+  private boolean coalescingEnabled = true;
+
+  private final InFlightCoalescer<LookupKey, Optional<ProductDto>> productLookups = new InFlightCoalescer<>();
+
+  private final InFlightCoalescer<LookupKey, Optional<PriceSegmentDto>> segmentLookups = new InFlightCoalescer<>();
+
+  /**
+   * Micro-batching de las búsquedas individuales: las que llegan mientras hay lotes en curso se resuelven juntas con
+   * la consulta por lotes. Sin carga no añade espera. Cubre tanto la tarifa ganadora como su periodo de validez, que
+   * es lo que pide la caché por periodos activada por defecto.
+   */
+  @Value("${products.repository.batching.enabled:false}")
+  private boolean batchingEnabled;
+
+  @Value("${products.repository.batching.window:1ms}")
+  private Duration batchingWindow = Duration.ofMillis(1);
+
+  @Value("${products.repository.batching.max-size:100}")
+  private int batchingMaxSize = 100;
+
+  @Value("${products.repository.batching.max-concurrent-batches:4}")
+  private int batchingMaxConcurrentBatches = 4;
+
+  /**
+   * Con hilos virtuales activados en Spring los lotes también se ejecutan en hilos virtuales.
+   */
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreads;
+
+  private MicroBatcher<ProductFilterDto, ProductDto> productBatcher;
+
+  private MicroBatcher<ProductFilterDto, PriceSegmentDto> segmentBatcher;
+
+  static final String QUERY_SELECT_HIGHEST_PRIORITY_PRODUCT_BY_FILTERS = """
       SELECT 
           BRAND_ID as brandId, 
           START_DATE as startDate, 
@@ -36,12 +102,176 @@ public class ProductsRepositoryImpl implements ProductsRepository {
       WHERE PRODUCT_ID = :productId
       AND BRAND_ID = :brandId
       AND :applicationDate BETWEEN START_DATE AND END_DATE
-      ORDER BY PRIORITY DESC LIMIT 1
+      ORDER BY PRIORITY DESC, START_DATE DESC LIMIT 1
+      """;
+
+  /**
+   * Tarifa ganadora junto con los límites que acotan el periodo en que sigue ganando: el último END_DATE anterior
+   * y el primer START_DATE posterior a la fecha de las tarifas que la superarían (mayor prioridad o igual prioridad
+   * y START_DATE más reciente).
+   */
+  private static final String QUERY_SELECT_EFFECTIVE_PRICE_SEGMENT_BY_FILTERS = """
+      SELECT
+          w.*,
+          (SELECT MAX(h.END_DATE) FROM PRICES h
+              WHERE h.PRODUCT_ID = w.productId
+              AND h.BRAND_ID = w.brandId
+              AND h.END_DATE < :applicationDate
+              AND (h.PRIORITY > w.priority OR (h.PRIORITY = w.priority AND h.START_DATE > w.startDate))
+          ) as higherEndBefore,
+          (SELECT MIN(h.START_DATE) FROM PRICES h
+              WHERE h.PRODUCT_ID = w.productId
+              AND h.BRAND_ID = w.brandId
+              AND h.START_DATE > :applicationDate
+              AND (h.PRIORITY > w.priority OR (h.PRIORITY = w.priority AND h.START_DATE > w.startDate))
+          ) as higherStartAfter
+      FROM (
+      """ + QUERY_SELECT_HIGHEST_PRIORITY_PRODUCT_BY_FILTERS + """
+      ) w
+      """;
+
+  /**
+   * Versión por lotes de la consulta anterior: las búsquedas llegan como filas de una tabla VALUES y
+   * ROW_NUMBER() se queda con la tarifa de mayor prioridad de cada una.
+   */
+  private static final String QUERY_SELECT_HIGHEST_PRIORITY_PRODUCTS_BY_FILTERS = """
+      SELECT ranked.* FROM (
+          SELECT
+              r.IDX as idx,
+              p.BRAND_ID as brandId,
+              p.START_DATE as startDate,
+              p.END_DATE as endDate,
+              p.PRICE_LIST as priceList,
+              p.PRODUCT_ID as productId,
+              p.PRIORITY as priority,
+              p.PRICE as price,
+              p.CURR as currency,
+              CAST(r.APPLICATION_DATE AS TIMESTAMP) as applicationDate,
+              ROW_NUMBER() OVER (PARTITION BY r.IDX ORDER BY p.PRIORITY DESC, p.START_DATE DESC) as rn
+          FROM (VALUES :filters) AS r(IDX, BRAND_ID, PRODUCT_ID, APPLICATION_DATE)
+          JOIN PRICES p
+          ON p.PRODUCT_ID = r.PRODUCT_ID
+          AND p.BRAND_ID = r.BRAND_ID
+          AND CAST(r.APPLICATION_DATE AS TIMESTAMP) BETWEEN p.START_DATE AND p.END_DATE
+      ) ranked
+      WHERE ranked.rn = 1
+      """;
+
+  /**
+   * Versión por lotes de {@link #QUERY_SELECT_EFFECTIVE_PRICE_SEGMENT_BY_FILTERS}: los límites del periodo se
+   * calculan con la fecha de cada búsqueda del lote.
+   */
+  private static final String QUERY_SELECT_EFFECTIVE_PRICE_SEGMENTS_BY_FILTERS = """
+      SELECT
+          w.*,
+          (SELECT MAX(h.END_DATE) FROM PRICES h
+              WHERE h.PRODUCT_ID = w.productId
+              AND h.BRAND_ID = w.brandId
+              AND h.END_DATE < w.applicationDate
+              AND (h.PRIORITY > w.priority OR (h.PRIORITY = w.priority AND h.START_DATE > w.startDate))
+          ) as higherEndBefore,
+          (SELECT MIN(h.START_DATE) FROM PRICES h
+              WHERE h.PRODUCT_ID = w.productId
+              AND h.BRAND_ID = w.brandId
+              AND h.START_DATE > w.applicationDate
+              AND (h.PRIORITY > w.priority OR (h.PRIORITY = w.priority AND h.START_DATE > w.startDate))
+          ) as higherStartAfter
+      FROM (
+      """ + QUERY_SELECT_HIGHEST_PRIORITY_PRODUCTS_BY_FILTERS + """
+      ) w
       """;
 
+  static final int BATCH_QUERY_CHUNK_SIZE = 500;
+
+  /**
+   * Tarifas del producto que tocan el rango {@code [:from, :to)}: las que acaban antes o empiezan después no cambian
+   * qué tarifa gana dentro del rango.
+   */
+  private static final String QUERY_SELECT_PRICES_BY_PRODUCT_AND_RANGE = """
+      SELECT
+          BRAND_ID as brandId,
+          START_DATE as startDate,
+          END_DATE as endDate,
+          PRICE_LIST as priceList,
+          PRODUCT_ID as productId,
+          PRIORITY as priority,
+          PRICE as price,
+          CURR as currency
+      FROM PRICES
+      WHERE PRODUCT_ID = :productId
+      AND BRAND_ID = :brandId
+      AND START_DATE < :to
+      AND END_DATE >= :from
+      """;
+
+  /**
+   * Tarifas vigentes de una marca ordenadas por producto y, dentro de cada uno, con la ganadora primero: basta
+   * quedarse con la primera fila de cada producto según llegan, sin agrupar en memoria.
+   */
+  private static final String QUERY_SELECT_PRICES_BY_BRAND_AND_DATE = """
+      SELECT
+          BRAND_ID as brandId,
+          START_DATE as startDate,
+          END_DATE as endDate,
+          PRICE_LIST as priceList,
+          PRODUCT_ID as productId,
+          PRIORITY as priority,
+          PRICE as price,
+          CURR as currency
+      FROM PRICES
+      WHERE BRAND_ID = ?
+      AND ? BETWEEN START_DATE AND END_DATE
+      ORDER BY PRODUCT_ID, PRIORITY DESC, START_DATE DESC
+      """;
+
+  /**
+   * Filas que pide el driver en cada viaje al recorrer las tarifas de una marca.
+   */
+  @Value("${products.export.fetch-size:500}")
+  private int exportFetchSize = 500;
+
+  @PostConstruct
+  void startBatching() {
+    if (batchingEnabled) {
+      productBatcher = new MicroBatcher<>("prices-batcher", this::queryHighestPriorityProducts, batchingWindow,
+          Math.min(batchingMaxSize, BATCH_QUERY_CHUNK_SIZE), batchingMaxConcurrentBatches, virtualThreads);
+      segmentBatcher = new MicroBatcher<>("segments-batcher", this::queryEffectivePriceSegments, batchingWindow,
+          Math.min(batchingMaxSize, BATCH_QUERY_CHUNK_SIZE), batchingMaxConcurrentBatches, virtualThreads);
+    }
+  }
+
+  @PreDestroy
+  void stopBatching() {
+    if (productBatcher != null) {
+      productBatcher.close();
+    }
+    if (segmentBatcher != null) {
+      segmentBatcher.close();
+    }
+  }
+
   @Override
-  public ProductDto getHighestPriorityProductByFilters(ProductFilterDto productFilterDto)
-      throws DbException.BadExecution, DbException.NoData {
+  public Optional<ProductDto> getHighestPriorityProductByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    return lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> mightHavePrices(productFilterDto)
+        ? coalesce(productLookups, productFilterDto, productBatcher != null
+            ? () -> lookupBatched(productFilterDto)
+            : () -> queryHighestPriorityProduct(productFilterDto))
+        : Optional.empty());
+  }
+
+  @Override
+  public Optional<PriceSegmentDto> getEffectivePriceSegmentByFilters(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+    return lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> mightHavePrices(productFilterDto)
+        ? coalesce(segmentLookups, productFilterDto, segmentBatcher != null
+            ? () -> Optional.ofNullable(segmentBatcher.submit(productFilterDto))
+            : () -> queryEffectivePriceSegment(productFilterDto))
+        : Optional.empty());
+  }
+
+  private Optional<ProductDto> queryHighestPriorityProduct(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
 
     try {
 
@@ -50,17 +280,256 @@ public class ProductsRepositoryImpl implements ProductsRepository {
       namedParameters.addValue("brandId", productFilterDto.getBrandId());
       namedParameters.addValue("applicationDate", productFilterDto.getApplicationDate());
 
-      ProductEntity productsEntity = namedParameterJdbcTemplate
-          .queryForObject(QUERY_SELECT_HIGHEST_PRIORITY_PRODUCT_BY_FILTERS, namedParameters, new ProductsRowMapper());
+      // query() en lugar de queryForObject(): sin tarifa vigente devuelve una lista vacía en vez de lanzar
+      // EmptyResultDataAccessException
+      List<ProductEntity> productsEntities = namedParameterJdbcTemplate
+          .query(QUERY_SELECT_HIGHEST_PRIORITY_PRODUCT_BY_FILTERS, namedParameters, new ProductsRowMapper());
 
-      return productsSecMapper.toProductDto(productsEntity);
+      return productsEntities.isEmpty() ? Optional.empty() : Optional.of(toProductDto(productsEntities.get(0)));
 
-    } catch (EmptyResultDataAccessException e) {
-      throw new DbException.NoData(e.getMessage());
     } catch (Exception e) {
       throw new DbException.BadExecution(e.getMessage());
     }
 
   }
 
+  private Optional<PriceSegmentDto> queryEffectivePriceSegment(ProductFilterDto productFilterDto)
+      throws DbException.BadExecution {
+
+    try {
+
+      MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+      namedParameters.addValue("productId", productFilterDto.getProductId());
+      namedParameters.addValue("brandId", productFilterDto.getBrandId());
+      namedParameters.addValue("applicationDate", productFilterDto.getApplicationDate());
+
+      ProductsRowMapper rowMapper = new ProductsRowMapper();
+      List<PriceSegmentDto> segments = namedParameterJdbcTemplate.query(
+          QUERY_SELECT_EFFECTIVE_PRICE_SEGMENT_BY_FILTERS, namedParameters,
+          (rs, rowNum) -> toPriceSegment(rowMapper, rs, rowNum));
+
+      return segments.isEmpty() ? Optional.empty() : Optional.of(segments.get(0));
+
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  /**
+   * Fila de la consulta de periodos: la tarifa ganadora acotada por los límites {@code higherEndBefore} y
+   * {@code higherStartAfter}.
+   */
+  private PriceSegmentDto toPriceSegment(ProductsRowMapper rowMapper, ResultSet rs, int rowNum)
+      throws SQLException {
+
+    ProductEntity productsEntity = rowMapper.mapRow(rs, rowNum);
+    LocalDateTime higherEndBefore = Utils.getLocalDateTimeFromResultSet(rs, "higherEndBefore");
+    LocalDateTime higherStartAfter = Utils.getLocalDateTimeFromResultSet(rs, "higherStartAfter");
+
+    LocalDateTime validFrom = productsEntity.getStartDate();
+    if (higherEndBefore != null && higherEndBefore.plusNanos(1).isAfter(validFrom)) {
+      validFrom = higherEndBefore.plusNanos(1);
+    }
+    LocalDateTime validTo = productsEntity.getEndDate().plusNanos(1);
+    if (higherStartAfter != null && higherStartAfter.isBefore(validTo)) {
+      validTo = higherStartAfter;
+    }
+    return new PriceSegmentDto(validFrom, validTo, toProductDto(productsEntity));
+
+  }
+
+  @Override
+  public List<ProductDto> getHighestPriorityProductsByFilters(List<ProductFilterDto> productFilterDtos)
+      throws DbException.BadExecution {
+
+    long start = StageTimings.start();
+    try {
+      return queryHighestPriorityProducts(productFilterDtos);
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    } finally {
+      StageTimings.stop(StageTimings.Stage.DB, start);
+    }
+
+  }
+
+  private List<ProductDto> queryHighestPriorityProducts(List<ProductFilterDto> productFilterDtos) {
+    ProductsRowMapper rowMapper = new ProductsRowMapper();
+    return queryByFilters(productFilterDtos, QUERY_SELECT_HIGHEST_PRIORITY_PRODUCTS_BY_FILTERS,
+        (rs, rowNum) -> toProductDto(rowMapper.mapRow(rs, rowNum)));
+  }
+
+  private List<PriceSegmentDto> queryEffectivePriceSegments(List<ProductFilterDto> productFilterDtos) {
+    ProductsRowMapper rowMapper = new ProductsRowMapper();
+    return queryByFilters(productFilterDtos, QUERY_SELECT_EFFECTIVE_PRICE_SEGMENTS_BY_FILTERS,
+        (rs, rowNum) -> toPriceSegment(rowMapper, rs, rowNum));
+  }
+
+  /**
+   * Lanza {@code query} por tramos de {@link #BATCH_QUERY_CHUNK_SIZE} búsquedas y coloca cada fila en la posición de
+   * su búsqueda; las que no tienen tarifa quedan a {@code null}.
+   */
+  private <R> List<R> queryByFilters(List<ProductFilterDto> productFilterDtos, String query, RowMapper<R> rowMapper) {
+
+    List<R> results = new ArrayList<>(Collections.nCopies(productFilterDtos.size(), null));
+    for (int from = 0; from < results.size(); from += BATCH_QUERY_CHUNK_SIZE) {
+      queryChunk(productFilterDtos, from, Math.min(from + BATCH_QUERY_CHUNK_SIZE, results.size()), query, rowMapper,
+          results);
+    }
+    return results;
+
+  }
+
+  /**
+   * Resuelve la búsqueda dentro del lote que esté formando {@link MicroBatcher}.
+   */
+  private Optional<ProductDto> lookupBatched(ProductFilterDto productFilterDto) throws Exception {
+    return Optional.ofNullable(productBatcher.submit(productFilterDto));
+  }
+
+  private <R> void queryChunk(List<ProductFilterDto> productFilterDtos, int from, int to, String query,
+      RowMapper<R> rowMapper, List<R> results) {
+
+    List<Object[]> filters = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      ProductFilterDto filter = productFilterDtos.get(i);
+      if (filter.getBrandId() != null && filter.getProductId() != null && filter.getApplicationDate() != null
+          && mightHavePrices(filter)) {
+        filters.add(new Object[] {i, filter.getBrandId(), filter.getProductId(), filter.getApplicationDate()});
+      }
+    }
+    if (filters.isEmpty()) {
+      return;
+    }
+
+    MapSqlParameterSource namedParameters = new MapSqlParameterSource("filters", filters);
+    namedParameterJdbcTemplate.query(query, namedParameters,
+        rs -> {
+          results.set(rs.getInt("idx"), rowMapper.mapRow(rs, rs.getRow()));
+        });
+
+  }
+
+  /**
+   * Una sola consulta por rango y un barrido de {@link PriceTimeline} sobre las filas, sin búsquedas puntuales por
+   * fecha: el coste depende de las tarifas que tocan el rango, no de su duración.
+   */
+  @Override
+  public List<PriceSegmentDto> getPriceHistoryByFilters(Integer brandId, Integer productId, LocalDateTime from,
+      LocalDateTime to) throws DbException.BadExecution {
+
+    if (!knownPricePairs.mightHavePrices(brandId, productId)) {
+      return List.of();
+    }
+    List<ProductEntity> rows;
+    try {
+      MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+      namedParameters.addValue("productId", productId);
+      namedParameters.addValue("brandId", brandId);
+      namedParameters.addValue("from", from);
+      namedParameters.addValue("to", to);
+      rows = namedParameterJdbcTemplate.query(QUERY_SELECT_PRICES_BY_PRODUCT_AND_RANGE, namedParameters,
+          new ProductsRowMapper());
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+    List<PriceSegmentDto> history = new ArrayList<>();
+    PriceTimeline.build(rows).forEachSegment(from, to, (start, end, winner) ->
+        history.add(new PriceSegmentDto(start, end, toProductDto(winner))));
+    return history;
+
+  }
+
+  /**
+   * Recorre el resultado con un cursor de {@code products.export.fetch-size} filas, así que la memoria no crece con
+   * la marca; la transacción de solo lectura es la que necesitan algunos drivers para no traerse el resultado entero.
+   * Con un consumidor lento el cursor queda abierto mientras tanto.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachHighestPriorityProductByBrand(Integer brandId, LocalDateTime applicationDate,
+      Consumer<ProductDto> consumer) throws DbException.BadExecution {
+
+    ProductsRowMapper rowMapper = new ProductsRowMapper();
+    int[] lastProductId = {0};
+    boolean[] first = {true};
+    try {
+      namedParameterJdbcTemplate.getJdbcTemplate().query(QUERY_SELECT_PRICES_BY_BRAND_AND_DATE,
+          ps -> {
+            ps.setFetchSize(exportFetchSize);
+            ps.setInt(1, brandId);
+            ps.setObject(2, applicationDate);
+          },
+          rs -> {
+            int productId = rs.getInt("productId");
+            if (first[0] || productId != lastProductId[0]) {
+              first[0] = false;
+              lastProductId[0] = productId;
+              consumer.accept(toProductDto(rowMapper.mapRow(rs, rs.getRow())));
+            }
+          });
+    } catch (DataAccessException e) {
+      throw new DbException.BadExecution(e.getMessage());
+    }
+
+  }
+
+  /**
+   * Búsquedas resueltas reutilizando una consulta ya en curso.
+   */
+  long coalescedLookupCount() {
+    return productLookups.sharedCount() + segmentLookups.sharedCount();
+  }
+
+  MicroBatcher<ProductFilterDto, ProductDto> productBatcher() {
+    return productBatcher;
+  }
+
+  MicroBatcher<ProductFilterDto, PriceSegmentDto> segmentBatcher() {
+    return segmentBatcher;
+  }
+
+  private <V> V coalesce(InFlightCoalescer<LookupKey, V> coalescer, ProductFilterDto productFilterDto,
+      Callable<V> query) throws DbException.BadExecution {
+
+    long start = StageTimings.start();
+    try {
+      if (!coalescingEnabled) {
+        return query.call();
+      }
+      LookupKey key = new LookupKey(productFilterDto.getBrandId(), productFilterDto.getProductId(),
+          productFilterDto.getApplicationDate());
+      return coalescer.execute(key, query);
+    } catch (DbException.BadExecution e) {
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DbException.BadExecution(e.getMessage());
+    } catch (Exception e) {
+      throw new DbException.BadExecution(e.getMessage());
+    } finally {
+      StageTimings.stop(StageTimings.Stage.DB, start);
+    }
+
+  }
+
+  /**
+   * Descarta sin consulta los pares que el filtro de Bloom de {@link KnownPricePairs} sabe que no tienen tarifas.
+   */
+  private boolean mightHavePrices(ProductFilterDto productFilterDto) {
+    return knownPricePairs.mightHavePrices(productFilterDto.getBrandId(), productFilterDto.getProductId());
+  }
+
+  private ProductDto toProductDto(ProductEntity productsEntity) {
+    long start = StageTimings.start();
+    ProductDto productDto = productsSecMapper.toProductDto(productsEntity);
+    StageTimings.stop(StageTimings.Stage.ROW_MAPPING, start);
+    return productDto;
+  }
+
+  private record LookupKey(Integer brandId, Integer productId, LocalDateTime applicationDate) {
+  }
+
 }
@@ -0,0 +1,120 @@
+package com.products.application.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.service.mocks.ProductDtoMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PriceWindowCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private PriceWindowCache priceWindowCache;
+
+  private ProductDto generalPrice;
+
+  private ProductDto promotionPrice;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    priceWindowCache = new PriceWindowCache(true, 100, meterRegistry);
+    generalPrice = ProductDtoMocks.getTest2MockProducts().get(0);
+    promotionPrice = ProductDtoMocks.getTest2MockProducts().get(1);
+  }
+
+  @DisplayName("Test 1: Debe acertar para cualquier fecha dentro del periodo y fallar fuera")
+  @Test
+  void test1_get_ShouldHitAnyDateInsideWindow() {
+    // Arrange
+    priceWindowCache.put(new PriceSegmentDto(LocalDateTime.of(2020, 6, 14, 15, 0),
+        LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1), promotionPrice), priceWindowCache.generation());
+
+    // Act & Assert
+    assertSame(promotionPrice, priceWindowCache.get(1, 35455, LocalDateTime.of(2020, 6, 14, 15, 0)));
+    assertSame(promotionPrice, priceWindowCache.get(1, 35455, LocalDateTime.of(2020, 6, 14, 17, 12, 43)));
+    assertSame(promotionPrice, priceWindowCache.get(1, 35455, LocalDateTime.of(2020, 6, 14, 18, 30)));
+    assertNull(priceWindowCache.get(1, 35455, LocalDateTime.of(2020, 6, 14, 18, 30, 1)));
+    assertNull(priceWindowCache.get(1, 35455, LocalDateTime.of(2020, 6, 14, 14, 59, 59)));
+    assertNull(priceWindowCache.get(2, 35455, LocalDateTime.of(2020, 6, 14, 16, 0)));
+    assertEquals(0.5, priceWindowCache.hitRate());
+    assertEquals(3.0, meterRegistry.get("products.cache.requests").tag("result", "hit").counter().count());
+  }
+
+  @DisplayName("Test 2: Debe guardar varios periodos por producto y elegir el que contiene la fecha")
+  @Test
+  void test2_get_ShouldPickWindowContainingDate() {
+    // Arrange
+    priceWindowCache.put(new PriceSegmentDto(LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1),
+        LocalDateTime.of(2020, 6, 15, 0, 0), generalPrice), priceWindowCache.generation());
+    priceWindowCache.put(new PriceSegmentDto(LocalDateTime.of(2020, 6, 14, 15, 0),
+        LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1), promotionPrice), priceWindowCache.generation());
+
+    // Act & Assert
+    assertSame(promotionPrice, priceWindowCache.get(1, 35455, LocalDateTime.of(2020, 6, 14, 16, 0)));
+    assertSame(generalPrice, priceWindowCache.get(1, 35455, LocalDateTime.of(2020, 6, 14, 21, 0)));
+  }
+
+  @DisplayName("Test 3: Debe desalojar por tamaño y descartar productos cambiados")
+  @Test
+  void test3_put_ShouldEvictBySizeAndInvalidateOnChange() {
+    // Arrange
+    PriceWindowCache smallCache = new PriceWindowCache(true, 1, new SimpleMeterRegistry());
+    LocalDateTime from = LocalDateTime.of(2020, 6, 14, 0, 0);
+    for (int productId = 1; productId <= 50; productId++) {
+      ProductDto dto = ProductDtoMocks.getTest1MockProducts().get(0);
+      dto.setProductId(productId);
+      smallCache.put(new PriceSegmentDto(from, from.plusDays(1), dto), smallCache.generation());
+    }
+    priceWindowCache.put(new PriceSegmentDto(from, from.plusDays(1), generalPrice), priceWindowCache.generation());
+
+    // Act
+    priceWindowCache.onPricesChanged(PricesChangedEvent.of(1, 35455));
+
+    // Assert
+    assertEquals(1, smallCache.size());
+    assertNull(priceWindowCache.get(1, 35455, from));
+  }
+
+  @DisplayName("Test 4: Deshabilitada no guarda ni devuelve nada")
+  @Test
+  void test4_get_ShouldDoNothingWhenDisabled() {
+    // Arrange
+    PriceWindowCache disabled = new PriceWindowCache(false, 100, new SimpleMeterRegistry());
+    LocalDateTime from = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    // Act
+    disabled.put(new PriceSegmentDto(from, from.plusDays(1), generalPrice), disabled.generation());
+
+    // Assert
+    assertNull(disabled.get(1, 35455, from));
+  }
+
+  @DisplayName("Test 5: No guarda un periodo leído antes de un cambio notificado")
+  @Test
+  void test5_put_ShouldSkipSegmentsReadBeforeChange() {
+    // Arrange
+    LocalDateTime from = LocalDateTime.of(2020, 6, 14, 0, 0);
+    long observedGeneration = priceWindowCache.generation();
+    priceWindowCache.onPricesChanged(PricesChangedEvent.of(1, 35455));
+
+    // Act
+    priceWindowCache.put(new PriceSegmentDto(from, from.plusDays(1), generalPrice), observedGeneration);
+    ProductDto afterStalePut = priceWindowCache.get(1, 35455, from);
+    priceWindowCache.put(new PriceSegmentDto(from, from.plusDays(1), promotionPrice), priceWindowCache.generation());
+
+    // Assert
+    assertNull(afterStalePut);
+    assertSame(promotionPrice, priceWindowCache.get(1, 35455, from));
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.products.application.current;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.model.dto.ProductDto;
+import com.products.products_api.ProductsApiApplication;
+import com.products.secadapter.repository.ProductsMemoryRepositoryImpl;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Orden entre el listener de {@link CurrentPriceView} y el del repositorio en memoria del que se carga. Usa un
+ * producto que no está en data.sql.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class, properties = "products.repository.type=memory")
+@Transactional
+@ActiveProfiles("test")
+class CurrentPriceViewIntegrationTest {
+
+  private static final String INSERT_PRICE =
+      "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final int PRODUCT_ID = 99002;
+
+  @MockitoSpyBean
+  private ProductsMemoryRepositoryImpl memoryRepository;
+
+  @Autowired
+  private CurrentPriceView currentPriceView;
+
+  @Autowired
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @DisplayName("Integration Test 1: Una búsqueda entre los dos listeners no deja en la vista la tarifa anterior")
+  @Test
+  void integrationTest1_ShouldNotStoreStalePriceLoadedBetweenListeners() throws Exception {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    jdbcTemplate.update(INSERT_PRICE, 1, now.minusDays(1), now.plusDays(1), 1, PRODUCT_ID, 0, "10.00", "EUR");
+    applicationEventPublisher.publishEvent(PricesChangedEvent.of(1, PRODUCT_ID));
+    BigDecimal before = currentPrice();
+    jdbcTemplate.update("UPDATE PRICES SET PRICE = 20.00 WHERE BRAND_ID = 1 AND PRODUCT_ID = ?", PRODUCT_ID);
+
+    // Una búsqueda concurrente llega justo antes de que el repositorio aplique el cambio
+    List<BigDecimal> duringChange = new ArrayList<>();
+    doAnswer(invocation -> {
+      duringChange.add(currentPrice());
+      return invocation.callRealMethod();
+    }).when(memoryRepository).onPricesChanged(any());
+
+    // Act
+    applicationEventPublisher.publishEvent(PricesChangedEvent.of(1, PRODUCT_ID));
+    BigDecimal after = currentPrice();
+
+    // Assert
+    assertEquals(new BigDecimal("10.00"), before);
+    assertEquals(List.of(new BigDecimal("10.00")), duringChange);
+    assertEquals(new BigDecimal("20.00"), after);
+  }
+
+  private BigDecimal currentPrice() throws Exception {
+    return currentPriceView.get(1, PRODUCT_ID).map(ProductDto::getPrice).orElse(null);
+  }
+
+}
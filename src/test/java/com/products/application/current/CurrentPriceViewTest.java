@@ -0,0 +1,226 @@
+package com.products.application.current;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.ports.secondary.ProductsRepository;
+import com.products.application.service.mocks.ProductDtoMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentPriceViewTest {
+
+  private static final Duration BOUNDARY_DELAY = Duration.ofMillis(300);
+
+  @Mock
+  private ProductsRepository productsRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private CurrentPriceView currentPriceView;
+
+  private ProductDto generalPrice;
+
+  private ProductDto promotionPrice;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    currentPriceView = view(Duration.ofDays(7));
+    generalPrice = ProductDtoMocks.getTest2MockProducts().get(0);
+    promotionPrice = ProductDtoMocks.getTest2MockProducts().get(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    currentPriceView.close();
+  }
+
+  @DisplayName("Test 1: La primera búsqueda carga el producto y las siguientes se sirven de la vista")
+  @Test
+  void test1_get_ShouldLoadOnceAndServeFromView() throws Exception {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(productsRepository.getPriceHistoryByFilters(eq(1), eq(35455), any(), any()))
+        .thenReturn(List.of(new PriceSegmentDto(now.minusHours(1), now.plusHours(1), generalPrice)));
+
+    // Act
+    Optional<ProductDto> first = currentPriceView.get(1, 35455);
+    Optional<ProductDto> second = currentPriceView.get(1, 35455);
+
+    // Assert
+    assertEquals(Optional.of(generalPrice), first);
+    assertEquals(Optional.of(generalPrice), second);
+    assertEquals(1, currentPriceView.size());
+    assertEquals(1.0, meterRegistry.get("products.current.requests").tag("result", "hit").counter().count());
+    verify(productsRepository, times(1)).getPriceHistoryByFilters(eq(1), eq(35455), any(), any());
+  }
+
+  @DisplayName("Test 2: Al pasar la frontera la vista cambia de tarifa sin volver a consultar el repositorio")
+  @Test
+  void test2_get_ShouldSwitchWinnerAtBoundary() throws Exception {
+    // Arrange
+    LocalDateTime boundary = LocalDateTime.now().plus(BOUNDARY_DELAY);
+    when(productsRepository.getPriceHistoryByFilters(eq(1), eq(35455), any(), any()))
+        .thenReturn(List.of(
+            new PriceSegmentDto(boundary.minusHours(1), boundary, generalPrice),
+            new PriceSegmentDto(boundary, boundary.plusHours(1), promotionPrice)));
+
+    // Act
+    Optional<ProductDto> before = currentPriceView.get(1, 35455);
+    Optional<ProductDto> after = awaitChange(1, 35455, before);
+    LocalDateTime observedAt = LocalDateTime.now();
+
+    // Assert
+    assertEquals(Optional.of(generalPrice), before);
+    assertEquals(Optional.of(promotionPrice), after);
+    assertFalse(observedAt.isBefore(boundary), "La tarifa cambió antes de la frontera");
+    assertEquals(1.0, meterRegistry.get("products.current.transitions").counter().count());
+    verify(productsRepository, times(1)).getPriceHistoryByFilters(eq(1), eq(35455), any(), any());
+  }
+
+  @DisplayName("Test 3: Un producto sin tarifa vigente se materializa vacío hasta que empieza su siguiente periodo")
+  @Test
+  void test3_get_ShouldKeepEmptyUntilNextStart() throws Exception {
+    // Arrange
+    LocalDateTime start = LocalDateTime.now().plus(BOUNDARY_DELAY);
+    when(productsRepository.getPriceHistoryByFilters(eq(1), eq(35455), any(), any()))
+        .thenReturn(List.of(new PriceSegmentDto(start, start.plusHours(1), promotionPrice)));
+
+    // Act
+    Optional<ProductDto> before = currentPriceView.get(1, 35455);
+    Optional<ProductDto> after = awaitChange(1, 35455, before);
+
+    // Assert
+    assertTrue(before.isEmpty());
+    assertEquals(Optional.of(promotionPrice), after);
+    verify(productsRepository, times(1)).getPriceHistoryByFilters(eq(1), eq(35455), any(), any());
+  }
+
+  @DisplayName("Test 4: Los cambios notificados y el final del horizonte descartan la entrada")
+  @Test
+  void test4_get_ShouldReloadAfterChangesAndAtHorizon() throws Exception {
+    // Arrange
+    currentPriceView.close();
+    currentPriceView = view(BOUNDARY_DELAY);
+    LocalDateTime now = LocalDateTime.now();
+    when(productsRepository.getPriceHistoryByFilters(eq(1), eq(35455), any(), any()))
+        .thenReturn(List.of(new PriceSegmentDto(now.minusHours(1), now.plusHours(1), generalPrice)));
+    when(productsRepository.getPriceHistoryByFilters(eq(2), eq(35455), any(), any()))
+        .thenReturn(List.of(new PriceSegmentDto(now.minusHours(1), now.plusHours(1), promotionPrice)));
+
+    // Act
+    currentPriceView.get(1, 35455);
+    currentPriceView.get(2, 35455);
+    currentPriceView.onPricesChanged(PricesChangedEvent.of(1, 35455));
+    long afterProductChange = currentPriceView.size();
+    currentPriceView.get(1, 35455);
+    currentPriceView.onPricesChanged(PricesChangedEvent.all());
+    long afterFullReload = currentPriceView.size();
+    currentPriceView.get(1, 35455);
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (currentPriceView.size() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    long afterHorizon = currentPriceView.size();
+
+    // Assert
+    assertEquals(1, afterProductChange);
+    assertEquals(0, afterFullReload);
+    assertEquals(0, afterHorizon);
+    verify(productsRepository, times(3)).getPriceHistoryByFilters(eq(1), eq(35455), any(), any());
+  }
+
+  @DisplayName("Test 5: El periodo vigente acaba en su fin o, si es posterior, en el final del horizonte")
+  @Test
+  void test5_getSegment_ShouldEndAtBoundaryCappedByHorizon() throws Exception {
+    // Arrange
+    currentPriceView.close();
+    currentPriceView = view(Duration.ofHours(2));
+    LocalDateTime now = LocalDateTime.now();
+    PriceSegmentDto shortSegment = new PriceSegmentDto(now.minusHours(1), now.plusHours(1), generalPrice);
+    when(productsRepository.getPriceHistoryByFilters(eq(1), eq(35455), any(), any()))
+        .thenReturn(List.of(shortSegment));
+    when(productsRepository.getPriceHistoryByFilters(eq(2), eq(35455), any(), any()))
+        .thenReturn(List.of(new PriceSegmentDto(now.minusHours(1), now.plusDays(1), promotionPrice)));
+
+    // Act
+    Optional<PriceSegmentDto> withinHorizon = currentPriceView.getSegment(1, 35455);
+    Optional<PriceSegmentDto> beyondHorizon = currentPriceView.getSegment(2, 35455);
+
+    // Assert
+    assertEquals(Optional.of(shortSegment), withinHorizon);
+    assertEquals(promotionPrice, beyondHorizon.orElseThrow().getProduct());
+    assertFalse(beyondHorizon.get().getValidTo().isBefore(now.plusHours(2)));
+    assertTrue(beyondHorizon.get().getValidTo().isBefore(now.plusHours(2).plusMinutes(1)));
+  }
+
+  @DisplayName("Test 6: Los productos sin periodos no se guardan y la vista no pasa de su tamaño máximo")
+  @Test
+  void test6_get_ShouldNotStoreUnknownProductsAndStayBounded() throws Exception {
+    // Arrange
+    currentPriceView.close();
+    currentPriceView = view(Duration.ofDays(7), 4);
+    LocalDateTime now = LocalDateTime.now();
+    when(productsRepository.getPriceHistoryByFilters(eq(1), any(), any(), any()))
+        .thenReturn(List.of(new PriceSegmentDto(now.minusHours(1), now.plusHours(1), generalPrice)));
+    when(productsRepository.getPriceHistoryByFilters(eq(999), any(), any(), any()))
+        .thenReturn(List.of());
+
+    // Act
+    Optional<ProductDto> unknown = currentPriceView.get(999, 1);
+    Optional<ProductDto> unknownAgain = currentPriceView.get(999, 1);
+    long afterUnknown = currentPriceView.size();
+    for (int productId = 1; productId <= 20; productId++) {
+      currentPriceView.get(1, productId);
+    }
+
+    // Assert
+    assertTrue(unknown.isEmpty());
+    assertTrue(unknownAgain.isEmpty());
+    assertEquals(0, afterUnknown);
+    assertTrue(currentPriceView.size() <= 4, "Tamaño " + currentPriceView.size());
+    verify(productsRepository, times(2)).getPriceHistoryByFilters(eq(999), eq(1), any(), any());
+  }
+
+  private CurrentPriceView view(Duration horizon) {
+    return view(horizon, 1000);
+  }
+
+  private CurrentPriceView view(Duration horizon, long maximumSize) {
+    return new CurrentPriceView(productsRepository, true, Duration.ofMillis(5), 64, horizon, maximumSize,
+        meterRegistry);
+  }
+
+  private Optional<ProductDto> awaitChange(int brandId, int productId, Optional<ProductDto> previous)
+      throws Exception {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    Optional<ProductDto> current = currentPriceView.get(brandId, productId);
+    while (current.equals(previous) && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+      current = currentPriceView.get(brandId, productId);
+    }
+    return current;
+  }
+
+}
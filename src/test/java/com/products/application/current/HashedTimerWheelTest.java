@@ -0,0 +1,96 @@
+package com.products.application.current;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HashedTimerWheelTest {
+
+  private HashedTimerWheel timerWheel;
+
+  @BeforeEach
+  void setUp() {
+    // Pocas ranuras para que los retardos largos den varias vueltas
+    timerWheel = new HashedTimerWheel("test-wheel", Duration.ofMillis(5), 8);
+  }
+
+  @AfterEach
+  void tearDown() {
+    timerWheel.close();
+  }
+
+  @DisplayName("Test 1: Debe ejecutar las tareas en orden de vencimiento y nunca antes de su plazo")
+  @Test
+  void test1_schedule_ShouldRunInDeadlineOrderNeverEarly() throws Exception {
+    // Arrange
+    List<Integer> fired = new CopyOnWriteArrayList<>();
+    AtomicBoolean early = new AtomicBoolean();
+    CountDownLatch done = new CountDownLatch(4);
+    long start = System.nanoTime();
+
+    // Act
+    for (int delay : new int[] {120, 0, 60, 250}) {
+      timerWheel.schedule(Duration.ofMillis(delay), () -> {
+        if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) {
+          early.set(true);
+        }
+        fired.add(delay);
+        done.countDown();
+      });
+    }
+
+    // Assert
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(List.of(0, 60, 120, 250), fired);
+    assertFalse(early.get(), "Una tarea se ejecutó antes de su plazo");
+    assertEquals(0, timerWheel.pendingCount());
+  }
+
+  @DisplayName("Test 2: Una tarea cancelada no se ejecuta y no cuenta como pendiente")
+  @Test
+  void test2_cancel_ShouldSkipCancelledTasks() throws Exception {
+    // Arrange
+    AtomicBoolean cancelledRan = new AtomicBoolean();
+    CountDownLatch done = new CountDownLatch(1);
+    HashedTimerWheel.Timeout cancelled = timerWheel.schedule(Duration.ofMillis(30), () -> cancelledRan.set(true));
+    HashedTimerWheel.Timeout kept = timerWheel.schedule(Duration.ofMillis(80), done::countDown);
+
+    // Act
+    boolean firstCancel = cancelled.cancel();
+    boolean secondCancel = cancelled.cancel();
+
+    // Assert
+    assertTrue(firstCancel);
+    assertFalse(secondCancel);
+    assertEquals(1, timerWheel.pendingCount());
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertFalse(cancelledRan.get());
+    assertFalse(kept.cancel(), "No se puede cancelar una tarea ya ejecutada");
+    assertEquals(0, timerWheel.pendingCount());
+  }
+
+  @DisplayName("Test 3: Una rueda cerrada rechaza tareas nuevas y los parámetros inválidos se rechazan")
+  @Test
+  void test3_schedule_ShouldRejectWhenClosedOrInvalid() {
+    // Act
+    timerWheel.close();
+
+    // Assert
+    assertThrows(IllegalStateException.class, () -> timerWheel.schedule(Duration.ZERO, () -> { }));
+    assertThrows(IllegalArgumentException.class, () -> new HashedTimerWheel("invalid", Duration.ofMillis(1), 6));
+    assertThrows(IllegalArgumentException.class, () -> new HashedTimerWheel("invalid", Duration.ZERO, 8));
+  }
+
+}
@@ -0,0 +1,77 @@
+package com.products.application.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.products.application.exceptions.DbException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LookupMetricsTest {
+
+  private MeterRegistry meterRegistry;
+
+  private LookupMetrics lookupMetrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    lookupMetrics = new LookupMetrics(meterRegistry);
+  }
+
+  @DisplayName("Test 1: Una búsqueda con resultado se registra con outcome found")
+  @Test
+  void test1_record_ShouldTimeFoundLookups() throws Exception {
+    // Act
+    Optional<String> result = lookupMetrics.record(LookupMetrics.Layer.USE_CASE, () -> Optional.of("ok"));
+
+    // Assert
+    assertEquals(Optional.of("ok"), result);
+    assertEquals(1, timer("use_case", "found").count());
+    assertEquals(0, timer("use_case", "no_data").count());
+  }
+
+  @DisplayName("Test 2: Un resultado vacío y BadExecution se registran con su outcome y en el contador de fallos")
+  @Test
+  void test2_record_ShouldTimeAndCountFailures() throws Exception {
+    // Act
+    assertEquals(Optional.empty(), lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, Optional::empty));
+    assertThrows(DbException.BadExecution.class, () -> lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> {
+      throw new DbException.BadExecution("error");
+    }));
+    assertThrows(IllegalStateException.class, () -> lookupMetrics.record(LookupMetrics.Layer.REPOSITORY, () -> {
+      throw new IllegalStateException("error");
+    }));
+
+    // Assert
+    assertEquals(1, timer("repository", "no_data").count());
+    assertEquals(2, timer("repository", "bad_execution").count());
+    assertEquals(1, meterRegistry.get("products.lookup.failures").tag("layer", "repository")
+        .tag("outcome", "no_data").counter().count());
+    assertEquals(2, meterRegistry.get("products.lookup.failures").tag("layer", "repository")
+        .tag("outcome", "bad_execution").counter().count());
+  }
+
+  @DisplayName("Test 3: Los timers publican histograma de percentiles")
+  @Test
+  void test3_timers_ShouldPublishPercentiles() throws Exception {
+    // Act
+    lookupMetrics.record(LookupMetrics.Layer.CONTROLLER, () -> Optional.of("ok"));
+
+    // Assert
+    Timer timer = timer("controller", "found");
+    assertNotNull(timer.takeSnapshot().percentileValues());
+    assertEquals(3, timer.takeSnapshot().percentileValues().length);
+  }
+
+  private Timer timer(String layer, String outcome) {
+    return meterRegistry.get("products.lookup").tag("layer", layer).tag("outcome", outcome).timer();
+  }
+
+}
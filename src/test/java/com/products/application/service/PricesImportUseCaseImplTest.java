@@ -0,0 +1,100 @@
+package com.products.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceImportResultDto;
+import com.products.application.model.dto.PriceImportRowDto;
+import com.products.application.ports.secondary.PricesRepository;
+import com.products.application.service.mocks.ProductDtoMocks;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class PricesImportUseCaseImplTest {
+
+  @Mock
+  private PricesRepository pricesRepository;
+
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @DisplayName("Test 1: Debe guardar por bloques, contar los rechazos y publicar un solo evento al final")
+  @Test
+  void test1_importPrices_ShouldWriteChunksAndPublishOnce() throws Exception {
+    // Arrange
+    PricesImportUseCaseImpl useCase = new PricesImportUseCaseImpl(pricesRepository, applicationEventPublisher, 2, 10);
+    List<PriceImportRowDto> rows = List.of(row(1, 100), PriceImportRowDto.rejected(2, "mal"), row(3, 100),
+        row(4, 200), row(5, 300));
+
+    // Act
+    PriceImportResultDto result = useCase.importPrices(rows.iterator());
+
+    // Assert
+    assertEquals(5, result.getRead());
+    assertEquals(4, result.getImported());
+    assertEquals(1, result.getRejected());
+    assertEquals(2, result.getRejectedRows().get(0).getLineNumber());
+    verify(pricesRepository, times(2)).upsertPrices(anyList());
+    verify(applicationEventPublisher).publishEvent(new PricesChangedEvent(Set.of(
+        new PricesChangedEvent.ProductKey(1, 100), new PricesChangedEvent.ProductKey(1, 200),
+        new PricesChangedEvent.ProductKey(1, 300))));
+  }
+
+  @DisplayName("Test 2: Por encima del umbral de productos debe pedir una recarga completa")
+  @Test
+  void test2_importPrices_ShouldRequestFullReloadAboveThreshold() throws Exception {
+    // Arrange
+    PricesImportUseCaseImpl useCase = new PricesImportUseCaseImpl(pricesRepository, applicationEventPublisher, 2, 2);
+    List<PriceImportRowDto> rows = new ArrayList<>();
+    for (int line = 1; line <= 5; line++) {
+      rows.add(row(line, line));
+    }
+
+    // Act
+    useCase.importPrices(rows.iterator());
+
+    // Assert
+    verify(applicationEventPublisher).publishEvent(PricesChangedEvent.all());
+  }
+
+  @DisplayName("Test 3: Si falla un bloque debe publicar lo ya guardado e indicar la línea del bloque")
+  @Test
+  void test3_importPrices_ShouldPublishCommittedChunksOnFailure() throws Exception {
+    // Arrange
+    PricesImportUseCaseImpl useCase = new PricesImportUseCaseImpl(pricesRepository, applicationEventPublisher, 2, 10);
+    doNothing().doThrow(new DbException.BadExecution("timeout")).when(pricesRepository).upsertPrices(anyList());
+    List<PriceImportRowDto> rows = List.of(row(1, 100), row(2, 100), row(3, 200), row(4, 300));
+
+    // Act
+    DbException.BadExecution exception = assertThrows(DbException.BadExecution.class,
+        () -> useCase.importPrices(rows.iterator()));
+
+    // Assert
+    assertTrue(exception.getMessage().contains("línea 3"));
+    verify(applicationEventPublisher).publishEvent(PricesChangedEvent.of(1, 100));
+  }
+
+  private static PriceImportRowDto row(long line, int productId) {
+    return PriceImportRowDto.valid(line, ProductDtoMocks.createProductDto(1, productId, 1,
+        LocalDateTime.of(2020, 1, 1, 0, 0).plusDays(line), LocalDateTime.of(2020, 12, 31, 0, 0),
+        new BigDecimal("10.00"), 0));
+  }
+
+}
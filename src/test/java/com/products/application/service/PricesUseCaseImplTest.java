@@ -0,0 +1,101 @@
+package com.products.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.ports.secondary.PricesRepository;
+import com.products.application.service.mocks.ProductDtoMocks;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class PricesUseCaseImplTest {
+
+  @Mock
+  private PricesRepository pricesRepository;
+
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @InjectMocks
+  private PricesUseCaseImpl pricesUseCaseImpl;
+
+  private ProductDto price;
+
+  @BeforeEach
+  void setUp() {
+    price = ProductDtoMocks.createProductDto(1, 35455, 5, LocalDateTime.of(2020, 7, 1, 0, 0),
+        LocalDateTime.of(2020, 7, 31, 23, 59, 59), new BigDecimal("19.99"), 2);
+  }
+
+  @DisplayName("Test 1: Debe insertar la tarifa y avisar solo del producto afectado")
+  @Test
+  void test1_createPrice_ShouldPublishChangeForProduct() throws Exception {
+    // Act
+    pricesUseCaseImpl.createPrice(price);
+
+    // Assert
+    verify(pricesRepository).insertPrice(price);
+    verify(applicationEventPublisher).publishEvent(PricesChangedEvent.of(1, 35455));
+  }
+
+  @DisplayName("Test 2: No debe publicar evento si la tarifa ya existe")
+  @Test
+  void test2_createPrice_ShouldNotPublishWhenDuplicated() throws Exception {
+    // Arrange
+    doThrow(new DbException.Duplicated("duplicada")).when(pricesRepository).insertPrice(price);
+
+    // Act & Assert
+    assertThrows(DbException.Duplicated.class, () -> pricesUseCaseImpl.createPrice(price));
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @DisplayName("Test 3: Modificar o borrar una tarifa inexistente no publica evento")
+  @Test
+  void test3_updateAndDelete_ShouldNotPublishWhenNothingChanged() throws Exception {
+    // Arrange
+    when(pricesRepository.updatePrice(price)).thenReturn(false);
+    when(pricesRepository.deletePrice(1, 35455, price.getStartDate())).thenReturn(false);
+
+    // Act & Assert
+    assertFalse(pricesUseCaseImpl.updatePrice(price));
+    assertFalse(pricesUseCaseImpl.deletePrice(1, 35455, price.getStartDate()));
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @DisplayName("Test 4: Modificar y borrar publican el cambio del producto afectado")
+  @Test
+  void test4_updateAndDelete_ShouldPublishChangeForProduct() throws Exception {
+    // Arrange
+    when(pricesRepository.updatePrice(price)).thenReturn(true);
+    when(pricesRepository.deletePrice(1, 35455, price.getStartDate())).thenReturn(true);
+
+    // Act
+    boolean updated = pricesUseCaseImpl.updatePrice(price);
+    boolean deleted = pricesUseCaseImpl.deletePrice(1, 35455, price.getStartDate());
+
+    // Assert
+    assertTrue(updated);
+    assertTrue(deleted);
+    verify(applicationEventPublisher, times(2)).publishEvent(PricesChangedEvent.of(1, 35455));
+  }
+
+}
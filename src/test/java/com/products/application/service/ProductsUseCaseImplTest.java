@@ -2,26 +2,35 @@ package com.products.application.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.products.application.exceptions.DbException;
+import com.products.application.cache.PriceWindowCache;
+import com.products.application.current.CurrentPriceView;
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
 import com.products.application.ports.secondary.ProductsRepository;
 import com.products.application.service.mocks.ProductDtoMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +39,15 @@ class ProductsUseCaseImplTest {
   @Mock
   private ProductsRepository productsRepository;
 
+  @Spy
+  private PriceWindowCache priceWindowCache = new PriceWindowCache(false, 0, new SimpleMeterRegistry());
+
+  @Mock
+  private CurrentPriceView currentPriceView;
+
+  @Spy
+  private LookupMetrics lookupMetrics = new LookupMetrics(new SimpleMeterRegistry());
+
   @InjectMocks
   private ProductsUseCaseImpl productsUseCaseImpl;
 
@@ -49,10 +67,10 @@ class ProductsUseCaseImplTest {
     ProductDto expectedDto = mockProducts.get(0);
 
     when(productsRepository.getHighestPriorityProductByFilters(any(ProductFilterDto.class)))
-        .thenReturn(expectedDto);
+        .thenReturn(Optional.of(expectedDto));
 
     // Act
-    ProductDto result = productsUseCaseImpl.getProductByFilter(filterDto);
+    ProductDto result = productsUseCaseImpl.getProductByFilter(filterDto).orElse(null);
 
     // Assert
     assertNotNull(result);
@@ -74,10 +92,10 @@ class ProductsUseCaseImplTest {
     ProductDto expectedDto = mockProducts.get(1);
 
     when(productsRepository.getHighestPriorityProductByFilters(any(ProductFilterDto.class)))
-        .thenReturn(expectedDto);
+        .thenReturn(Optional.of(expectedDto));
 
     // Act
-    ProductDto result = productsUseCaseImpl.getProductByFilter(test2Filter);
+    ProductDto result = productsUseCaseImpl.getProductByFilter(test2Filter).orElse(null);
 
     // Assert
     assertNotNull(result);
@@ -88,17 +106,15 @@ class ProductsUseCaseImplTest {
     verify(productsRepository, times(1)).getHighestPriorityProductByFilters(any(ProductFilterDto.class));
   }
 
-  @DisplayName("Test 3: Debe lanzar NoData cuando no hay productos")
+  @DisplayName("Test 3: Debe devolver un resultado vacío cuando no hay productos")
   @Test
-  void test3_getProductByFilter_ShouldThrowNoDataWhenNoProducts() throws Exception {
+  void test3_getProductByFilter_ShouldReturnEmptyWhenNoProducts() throws Exception {
     // Arrange
     when(productsRepository.getHighestPriorityProductByFilters(any(ProductFilterDto.class)))
-        .thenThrow(new DbException.NoData("No se encontró producto con los filtros especificados"));
+        .thenReturn(Optional.empty());
 
     // Act & Assert
-    assertThrows(DbException.NoData.class, () -> {
-      productsUseCaseImpl.getProductByFilter(filterDto);
-    });
+    assertEquals(Optional.empty(), productsUseCaseImpl.getProductByFilter(filterDto));
     verify(productsRepository, times(1)).getHighestPriorityProductByFilters(any(ProductFilterDto.class));
   }
 
@@ -110,7 +126,7 @@ class ProductsUseCaseImplTest {
     ProductDto expectedDto = mockProducts.get(0);
 
     when(productsRepository.getHighestPriorityProductByFilters(any(ProductFilterDto.class)))
-        .thenReturn(expectedDto);
+        .thenReturn(Optional.of(expectedDto));
 
     // Act
     productsUseCaseImpl.getProductByFilter(filterDto);
@@ -119,4 +135,133 @@ class ProductsUseCaseImplTest {
     verify(productsRepository, times(1)).getHighestPriorityProductByFilters(filterDto);
   }
 
+  @DisplayName("Test 5: Debe resolver el lote con una sola llamada al repositorio")
+  @Test
+  void test5_getProductsByFilters_ShouldCallRepositoryOnceForWholeBatch() throws Exception {
+    // Arrange
+    ProductFilterDto missingFilter = ProductDtoMocks.createProductFilterDto(99999, 1,
+        LocalDateTime.of(2020, 6, 14, 10, 0));
+    List<ProductFilterDto> filters = List.of(filterDto, missingFilter);
+    ProductDto expectedDto = ProductDtoMocks.getTest1MockProducts().get(0);
+
+    when(productsRepository.getHighestPriorityProductsByFilters(filters))
+        .thenReturn(Arrays.asList(expectedDto, null));
+
+    // Act
+    List<ProductDto> result = productsUseCaseImpl.getProductsByFilters(filters);
+
+    // Assert
+    assertEquals(2, result.size());
+    assertEquals(expectedDto, result.get(0));
+    assertNull(result.get(1));
+    verify(productsRepository, times(1)).getHighestPriorityProductsByFilters(filters);
+  }
+
+  @DisplayName("Test 6: Con caché, una fecha dentro del periodo ya resuelto no consulta el repositorio")
+  @Test
+  void test6_getProductByFilter_ShouldServeDatesInsideCachedWindowFromCache() throws Exception {
+    // Arrange
+    ProductsUseCaseImpl cachedUseCase = new ProductsUseCaseImpl(productsRepository,
+        new PriceWindowCache(true, 100, new SimpleMeterRegistry()), currentPriceView, lookupMetrics);
+    ProductDto expectedDto = ProductDtoMocks.getTest2MockProducts().get(1);
+    PriceSegmentDto segment = new PriceSegmentDto(LocalDateTime.of(2020, 6, 14, 15, 0),
+        LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1), expectedDto);
+
+    when(productsRepository.getEffectivePriceSegmentByFilters(any(ProductFilterDto.class)))
+        .thenReturn(Optional.of(segment));
+
+    // Act
+    Optional<ProductDto> first = cachedUseCase.getProductByFilter(
+        ProductDtoMocks.createProductFilterDto(35455, 1, LocalDateTime.of(2020, 6, 14, 16, 0)));
+    Optional<ProductDto> second = cachedUseCase.getProductByFilter(
+        ProductDtoMocks.createProductFilterDto(35455, 1, LocalDateTime.of(2020, 6, 14, 18, 29, 59)));
+
+    // Assert
+    assertEquals(Optional.of(expectedDto), first);
+    assertEquals(Optional.of(expectedDto), second);
+    verify(productsRepository, times(1)).getEffectivePriceSegmentByFilters(any(ProductFilterDto.class));
+    verify(productsRepository, never()).getHighestPriorityProductByFilters(any(ProductFilterDto.class));
+  }
+
+  @DisplayName("Test 7: Con caché, una fecha fuera del periodo cacheado vuelve a consultar el repositorio")
+  @Test
+  void test7_getProductByFilter_ShouldQueryRepositoryOutsideCachedWindow() throws Exception {
+    // Arrange
+    ProductsUseCaseImpl cachedUseCase = new ProductsUseCaseImpl(productsRepository,
+        new PriceWindowCache(true, 100, new SimpleMeterRegistry()), currentPriceView, lookupMetrics);
+    ProductDto expectedDto = ProductDtoMocks.getTest2MockProducts().get(1);
+    PriceSegmentDto segment = new PriceSegmentDto(LocalDateTime.of(2020, 6, 14, 15, 0),
+        LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1), expectedDto);
+
+    when(productsRepository.getEffectivePriceSegmentByFilters(any(ProductFilterDto.class)))
+        .thenReturn(Optional.of(segment))
+        .thenReturn(Optional.empty());
+
+    // Act & Assert
+    cachedUseCase.getProductByFilter(
+        ProductDtoMocks.createProductFilterDto(35455, 1, LocalDateTime.of(2020, 6, 14, 16, 0)));
+    assertEquals(Optional.empty(), cachedUseCase.getProductByFilter(
+        ProductDtoMocks.createProductFilterDto(35455, 1, LocalDateTime.of(2020, 6, 14, 18, 30, 1))));
+    verify(productsRepository, times(2)).getEffectivePriceSegmentByFilters(any(ProductFilterDto.class));
+  }
+
+  @DisplayName("Test 8: El periodo vigente sale de la vista y, sin vista, del repositorio con la fecha actual")
+  @Test
+  void test8_getCurrentPriceSegment_ShouldUseCurrentPriceView() throws Exception {
+    // Arrange
+    ProductDto expectedDto = ProductDtoMocks.getTest1MockProducts().get(0);
+    LocalDateTime now = LocalDateTime.of(2020, 6, 14, 10, 0);
+    PriceSegmentDto segment = new PriceSegmentDto(now, LocalDateTime.of(2020, 6, 14, 15, 0), expectedDto);
+    when(currentPriceView.isEnabled()).thenReturn(true, false);
+    when(currentPriceView.getSegment(1, 35455)).thenReturn(Optional.of(segment));
+    when(currentPriceView.now()).thenReturn(now);
+    when(productsRepository.getEffectivePriceSegmentByFilters(
+        ProductDtoMocks.createProductFilterDto(35455, 1, now)))
+        .thenReturn(Optional.of(segment));
+
+    // Act
+    Optional<PriceSegmentDto> fromView = productsUseCaseImpl.getCurrentPriceSegment(1, 35455);
+    Optional<PriceSegmentDto> fromRepository = productsUseCaseImpl.getCurrentPriceSegment(1, 35455);
+
+    // Assert
+    assertEquals(Optional.of(segment), fromView);
+    assertEquals(Optional.of(segment), fromRepository);
+    verify(currentPriceView, times(1)).getSegment(1, 35455);
+    verify(productsRepository, times(1)).getEffectivePriceSegmentByFilters(any(ProductFilterDto.class));
+  }
+
+  @DisplayName("Test 9: Con caché, un cambio entre la consulta al repositorio y el put no deja la tarifa anterior")
+  @Test
+  void test9_getProductByFilter_ShouldNotCacheSegmentReadBeforeChange() throws Exception {
+    // Arrange
+    PriceWindowCache cache = new PriceWindowCache(true, 100, new SimpleMeterRegistry());
+    ProductsUseCaseImpl cachedUseCase = new ProductsUseCaseImpl(productsRepository, cache, currentPriceView,
+        lookupMetrics);
+    ProductDto oldDto = ProductDtoMocks.getTest2MockProducts().get(1);
+    ProductDto newDto = ProductDtoMocks.getTest2MockProducts().get(1);
+    newDto.setPrice(new BigDecimal("99.99"));
+    LocalDateTime from = LocalDateTime.of(2020, 6, 14, 15, 0);
+    LocalDateTime to = LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1);
+    ProductFilterDto filter = ProductDtoMocks.createProductFilterDto(35455, 1, LocalDateTime.of(2020, 6, 14, 16, 0));
+
+    // La escritura se confirma y se notifica mientras la búsqueda todavía tiene el periodo anterior
+    when(productsRepository.getEffectivePriceSegmentByFilters(any(ProductFilterDto.class)))
+        .thenAnswer(invocation -> {
+          cache.onPricesChanged(PricesChangedEvent.of(1, 35455));
+          return Optional.of(new PriceSegmentDto(from, to, oldDto));
+        })
+        .thenReturn(Optional.of(new PriceSegmentDto(from, to, newDto)));
+
+    // Act
+    Optional<ProductDto> duringChange = cachedUseCase.getProductByFilter(filter);
+    Optional<ProductDto> afterChange = cachedUseCase.getProductByFilter(filter);
+    Optional<ProductDto> cached = cachedUseCase.getProductByFilter(filter);
+
+    // Assert
+    assertEquals(Optional.of(oldDto), duringChange);
+    assertEquals(Optional.of(newDto), afterChange);
+    assertEquals(Optional.of(newDto), cached);
+    verify(productsRepository, times(2)).getEffectivePriceSegmentByFilters(any(ProductFilterDto.class));
+  }
+
 }
@@ -0,0 +1,104 @@
+package com.products.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.products.application.current.CurrentPriceView;
+import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.application.ports.secondary.ReactiveProductsRepository;
+import com.products.application.service.mocks.ProductDtoMocks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductsUseCaseImplTest {
+
+  @Mock
+  private ReactiveProductsRepository reactiveProductsRepository;
+
+  @Mock
+  private CurrentPriceView currentPriceView;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ReactiveProductsUseCaseImpl reactiveProductsUseCaseImpl;
+
+  private ProductFilterDto filterDto;
+
+  @BeforeEach
+  void setUp() {
+    reactiveProductsUseCaseImpl = new ReactiveProductsUseCaseImpl(reactiveProductsRepository, currentPriceView,
+        new LookupMetrics(meterRegistry));
+    filterDto = ProductDtoMocks.createProductFilterDto(35455, 1, LocalDateTime.of(2020, 6, 14, 16, 0));
+  }
+
+  @DisplayName("Test 1: Debe devolver la tarifa del repositorio y medirla como found al suscribirse")
+  @Test
+  void test1_getProductByFilter_ShouldReturnRepositoryProduct() {
+    // Arrange
+    ProductDto expectedDto = ProductDtoMocks.getTest2MockProducts().get(1);
+    when(reactiveProductsRepository.getHighestPriorityProductByFilters(filterDto)).thenReturn(Mono.just(expectedDto));
+
+    // Act
+    Mono<ProductDto> result = reactiveProductsUseCaseImpl.getProductByFilter(filterDto);
+
+    // Assert
+    assertEquals(0, useCaseCount("found"));
+    assertEquals(expectedDto, result.block());
+    assertEquals(1, useCaseCount("found"));
+  }
+
+  @DisplayName("Test 2: Sin tarifa completa vacío y un error de la BD llega como BadExecution")
+  @Test
+  void test2_getProductByFilter_ShouldPropagateEmptyAndErrors() {
+    // Arrange
+    when(reactiveProductsRepository.getHighestPriorityProductByFilters(filterDto))
+        .thenReturn(Mono.empty())
+        .thenReturn(Mono.error(new DbException.BadExecution("fallo")));
+
+    // Act & Assert
+    assertNull(reactiveProductsUseCaseImpl.getProductByFilter(filterDto).block());
+    assertEquals(1, useCaseCount("no_data"));
+    RuntimeException e = assertThrows(RuntimeException.class,
+        () -> reactiveProductsUseCaseImpl.getProductByFilter(filterDto).block());
+    assertEquals(DbException.BadExecution.class, e.getCause().getClass());
+    assertEquals(1, useCaseCount("bad_execution"));
+  }
+
+  @DisplayName("Test 3: La búsqueda sin fecha usa la fecha actual de la vista sin leer de ella")
+  @Test
+  void test3_getCurrentProduct_ShouldLookupWithViewClock() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.of(2020, 6, 14, 16, 0);
+    ProductDto expectedDto = ProductDtoMocks.getTest2MockProducts().get(1);
+    when(currentPriceView.now()).thenReturn(now);
+    when(reactiveProductsRepository.getHighestPriorityProductByFilters(new ProductFilterDto(now, 35455, 1)))
+        .thenReturn(Mono.just(expectedDto));
+
+    // Act
+    ProductDto result = reactiveProductsUseCaseImpl.getCurrentProduct(1, 35455).block();
+
+    // Assert
+    assertEquals(expectedDto, result);
+    verify(currentPriceView).now();
+  }
+
+  private long useCaseCount(String outcome) {
+    return meterRegistry.get("products.lookup").tag("layer", "use_case").tag("outcome", outcome).timer().count();
+  }
+
+}
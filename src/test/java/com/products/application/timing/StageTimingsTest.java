@@ -0,0 +1,77 @@
+package com.products.application.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StageTimingsTest {
+
+  @AfterEach
+  void tearDown() {
+    StageTimings.end();
+  }
+
+  @DisplayName("Test 1: Fuera de una petición medida no se registra nada")
+  @Test
+  void test1_start_ShouldBeNoOpWhenInactive() {
+    // Act
+    long start = StageTimings.start();
+    StageTimings.stop(StageTimings.Stage.DB, start);
+
+    // Assert
+    assertEquals(0L, start);
+    assertFalse(StageTimings.isActive());
+    assertNull(StageTimings.header());
+  }
+
+  @DisplayName("Test 2: La cabecera lista solo las etapas registradas, en milisegundos, y el total")
+  @Test
+  void test2_header_ShouldListRecordedStagesAndTotal() {
+    // Arrange
+    StageTimings.begin();
+
+    // Act
+    StageTimings.add(StageTimings.Stage.CACHE, TimeUnit.MICROSECONDS.toNanos(5));
+    StageTimings.add(StageTimings.Stage.DTO_MAPPING, TimeUnit.MICROSECONDS.toNanos(1_234));
+    String header = StageTimings.header();
+
+    // Assert
+    assertTrue(header.startsWith("cache;dur=0.005, dto;dur=1.234, total;dur="), header);
+    assertFalse(header.contains("db;"), header);
+  }
+
+  @DisplayName("Test 3: El tiempo de db se publica sin el mapeo de filas que ocurre dentro de la consulta")
+  @Test
+  void test3_header_ShouldSubtractRowMappingFromDb() {
+    // Arrange
+    StageTimings.begin();
+
+    // Act
+    StageTimings.add(StageTimings.Stage.DB, TimeUnit.MICROSECONDS.toNanos(2_500));
+    StageTimings.add(StageTimings.Stage.ROW_MAPPING, TimeUnit.MICROSECONDS.toNanos(400));
+
+    // Assert
+    assertTrue(StageTimings.header().startsWith("db;dur=2.100, rowmap;dur=0.400, total;dur="));
+  }
+
+  @DisplayName("Test 4: Cada begin empieza una medición limpia")
+  @Test
+  void test4_begin_ShouldResetPreviousRequest() {
+    // Arrange
+    StageTimings.begin();
+    StageTimings.add(StageTimings.Stage.DB, 1_000_000);
+
+    // Act
+    StageTimings.begin();
+
+    // Assert
+    assertTrue(StageTimings.header().startsWith("total;dur="));
+  }
+
+}
@@ -0,0 +1,103 @@
+package com.products.application.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UtilsTest {
+
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+  @DisplayName("Test 1: Debe convertir fechas válidas igual que DateTimeFormatter")
+  @Test
+  void test1_parseLocalDateTime_ShouldParseValidDates() {
+    assertEquals(LocalDateTime.of(2020, 6, 14, 10, 0), Utils.parseLocalDateTime("2020-06-14T10:00:00"));
+    assertEquals(LocalDateTime.of(2024, 2, 29, 23, 59, 59), Utils.parseLocalDateTime("2024-02-29T23:59:59"));
+    assertEquals(LocalDateTime.of(1, 1, 1, 0, 0), Utils.parseLocalDateTime("0001-01-01T00:00:00"));
+    // SMART: un día que no existe en el mes se ajusta al último día
+    assertEquals(LocalDateTime.of(2023, 2, 28, 10, 0), Utils.parseLocalDateTime("2023-02-30T10:00:00"));
+    // SMART: 24:00:00 es la medianoche del día siguiente, también tras ajustar el día
+    assertEquals(LocalDateTime.of(2020, 6, 15, 0, 0), Utils.parseLocalDateTime("2020-06-14T24:00:00"));
+    assertEquals(LocalDateTime.of(2021, 1, 1, 0, 0), Utils.parseLocalDateTime("2020-12-31T24:00:00"));
+    assertEquals(LocalDateTime.of(2023, 3, 1, 0, 0), Utils.parseLocalDateTime("2023-02-30T24:00:00"));
+    for (String value : new String[] {"2020-06-14T24:00:00", "2020-12-31T24:00:00", "2023-02-30T24:00:00"}) {
+      assertEquals(formatterParse(value), Utils.parseLocalDateTime(value), value);
+    }
+  }
+
+  @DisplayName("Test 2: Debe devolver null si el texto no tiene el formato yyyy-MM-dd'T'HH:mm:ss")
+  @Test
+  void test2_parseLocalDateTime_ShouldRejectInvalidDates() {
+    String[] invalid = {null, "", "14/06/2020 10:00", "2020-06-14 10:00:00", "2020-06-14T10:00", "2020-6-14T10:00:00",
+        "2020-06-14T10:00:00Z", "2020-13-14T10:00:00", "2020-00-14T10:00:00", "2020-06-32T10:00:00",
+        "2020-06-00T10:00:00", "2020-06-14T24:00:01", "2020-06-14T24:01:00", "2020-06-14T25:00:00",
+        "2020-06-14T10:60:00", "2020-06-14T10:00:60",
+        "0000-06-14T10:00:00", "2O20-06-14T10:00:00", "+020-06-14T10:00:00"};
+    for (String value : invalid) {
+      assertNull(Utils.parseLocalDateTime(value), value);
+    }
+  }
+
+  @DisplayName("Test 3: Acepta y rechaza exactamente lo mismo que el formatter en textos aleatorios")
+  @Test
+  void test3_parseLocalDateTime_ShouldMatchFormatterOnRandomInput() {
+    Random random = new Random(11L);
+    char[] alphabet = "0123456789-T:9".toCharArray();
+    for (int i = 0; i < 20_000; i++) {
+      String value = i % 2 == 0 ? randomDate(random) : randomText(random, alphabet);
+      assertEquals(formatterParse(value), Utils.parseLocalDateTime(value), value);
+    }
+  }
+
+  @DisplayName("Test 4: stringToLocalDateTime mantiene su contrato: null si está vacío y excepción si es inválido")
+  @Test
+  void test4_stringToLocalDateTime_ShouldKeepContract() {
+    assertNull(Utils.stringToLocalDateTime(" "));
+    assertEquals(LocalDateTime.of(2020, 6, 14, 10, 0), Utils.stringToLocalDateTime("2020-06-14T10:00:00"));
+    assertThrows(DateTimeParseException.class, () -> Utils.stringToLocalDateTime("14/06/2020"));
+  }
+
+  @DisplayName("Test 5: localDateTimeToString escribe lo mismo que el formatter dd/MM/yyyy HH:mm:ss")
+  @Test
+  void test5_localDateTimeToString_ShouldMatchFormatter() {
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    Random random = new Random(12L);
+    for (int i = 0; i < 5_000; i++) {
+      LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+          1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60));
+      assertEquals(dateTime.format(formatter), Utils.localDateTimeToString(dateTime));
+    }
+    LocalDateTime outOfRange = LocalDateTime.of(10_000, 1, 1, 0, 0);
+    assertEquals(outOfRange.format(formatter), Utils.localDateTimeToString(outOfRange));
+    assertEquals("", Utils.localDateTimeToString(null));
+  }
+
+  private static String randomDate(Random random) {
+    return String.format("%04d-%02d-%02dT%02d:%02d:%02d", random.nextInt(3000), random.nextInt(14),
+        random.nextInt(33), random.nextInt(25), random.nextInt(61), random.nextInt(61));
+  }
+
+  private static String randomText(Random random, char[] alphabet) {
+    char[] chars = new char[17 + random.nextInt(4)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = alphabet[random.nextInt(alphabet.length)];
+    }
+    return new String(chars);
+  }
+
+  private static LocalDateTime formatterParse(String value) {
+    try {
+      return LocalDateTime.parse(value, FORMATTER);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,299 @@
+package com.products.priadapter.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.products.priadapter.model.request.PriceRequestDto;
+import com.products.priadapter.model.response.BaseResponse;
+import com.products.priadapter.model.response.PriceHistorySegmentResponseDto;
+import com.products.priadapter.model.response.PriceImportRejectResponseDto;
+import com.products.priadapter.model.response.PriceImportResponseDto;
+import com.products.priadapter.model.response.PriceResponseDto;
+import com.products.priadapter.model.response.ProductResponseDto;
+import com.products.products_api.ProductsApiApplication;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests del alta, modificación y baja de tarifas contra la BD H2. Usan un producto que no está en data.sql para no
+ * dejar periodos de otros productos en la caché al deshacer la transacción.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class)
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class ControllerPricesTest {
+
+  private static final int PRODUCT_ID = 99001;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private Gson gson;
+
+  @DisplayName("Test 1: Una tarifa creada se sirve en la siguiente búsqueda")
+  @Test
+  void test1_createPrice_ShouldBeVisibleToLookups() throws Exception {
+    // Arrange
+    lookup("2020-06-14T10:00:00", status().isNotFound());
+
+    // Act
+    String resultado = mockMvc.perform(post("/prices")
+            .content(gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99")))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+
+    // Assert
+    BaseResponse<PriceResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<PriceResponseDto>>() {
+        }.getType());
+    assertEquals(new PriceResponseDto(1, PRODUCT_ID, "01/06/2020 00:00:00", "30/06/2020 23:59:59", 7, 0,
+        new BigDecimal("19.99"), "EUR"), responseObject.getData());
+    assertEquals(19, lookup("2020-06-14T10:00:00", status().isOk()).getPrice());
+  }
+
+  @DisplayName("Test 2: Crear una tarifa con la misma marca, producto y fecha de inicio devuelve 409")
+  @Test
+  void test2_createPrice_ShouldRejectDuplicates() throws Exception {
+    // Arrange
+    String body = gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99"));
+    mockMvc.perform(post("/prices").content(body).contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isCreated());
+
+    // Act & Assert
+    mockMvc.perform(post("/prices").content(body).contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isConflict());
+  }
+
+  @DisplayName("Test 3: Modificar una tarifa ya cacheada se refleja en la siguiente búsqueda")
+  @Test
+  void test3_updatePrice_ShouldInvalidateCachedWindow() throws Exception {
+    // Arrange
+    mockMvc.perform(post("/prices")
+            .content(gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99")))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isCreated());
+    assertEquals(19, lookup("2020-06-14T10:00:00", status().isOk()).getPrice());
+
+    // Act
+    mockMvc.perform(put("/prices")
+            .content(gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "24.50")))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isOk());
+
+    // Assert
+    assertEquals(24, lookup("2020-06-14T10:00:00", status().isOk()).getPrice());
+  }
+
+  @DisplayName("Test 4: Modificar o borrar una tarifa inexistente devuelve 404")
+  @Test
+  void test4_updateAndDelete_ShouldReturnNotFoundForUnknownPrice() throws Exception {
+    mockMvc.perform(put("/prices")
+            .content(gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99")))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isNotFound());
+
+    mockMvc.perform(delete("/prices/1/" + PRODUCT_ID)
+            .param("startDate", "2020-06-01T00:00:00"))
+        .andExpect(status().isNotFound());
+  }
+
+  @DisplayName("Test 5: Una tarifa borrada deja de servirse")
+  @Test
+  void test5_deletePrice_ShouldRemovePriceFromLookups() throws Exception {
+    // Arrange
+    mockMvc.perform(post("/prices")
+            .content(gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99")))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isCreated());
+    lookup("2020-06-14T10:00:00", status().isOk());
+
+    // Act
+    mockMvc.perform(delete("/prices/1/" + PRODUCT_ID)
+            .param("startDate", "2020-06-01T00:00:00"))
+        .andExpect(status().isNoContent());
+
+    // Assert
+    lookup("2020-06-14T10:00:00", status().isNotFound());
+  }
+
+  @DisplayName("Test 6: Debe rechazar tarifas con fechas invertidas, moneda inválida o precio negativo")
+  @Test
+  void test6_createPrice_ShouldValidateRequest() throws Exception {
+    PriceRequestDto reversedDates = request("2020-06-30T00:00:00", "2020-06-01T00:00:00", "19.99");
+    PriceRequestDto badCurrency = request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99");
+    badCurrency.setCurrency("euro");
+    PriceRequestDto negativePrice = request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "-1.00");
+    PriceRequestDto badDate = request("2020-06-01 00:00:00", "2020-06-30T23:59:59", "19.99");
+
+    for (PriceRequestDto invalid : new PriceRequestDto[] {reversedDates, badCurrency, negativePrice, badDate}) {
+      mockMvc.perform(post("/prices")
+              .content(gson.toJson(invalid))
+              .contentType(MediaType.APPLICATION_JSON_VALUE))
+          .andExpect(status().isBadRequest());
+    }
+    mockMvc.perform(delete("/prices/1/" + PRODUCT_ID)
+            .param("startDate", "01/06/2020"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @DisplayName("Test 7: Debe importar un CSV, sustituir las tarifas existentes y devolver las líneas rechazadas")
+  @Test
+  void test7_importPrices_ShouldImportCsvAndReportRejects() throws Exception {
+    // Arrange
+    mockMvc.perform(post("/prices")
+            .content(gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99")))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isCreated());
+    String csv = """
+        currency,brandId,productId,startDate,endDate,priceList,priority,price
+        EUR,1,%1$d,2020-06-01T00:00:00,2020-06-30T23:59:59,7,0,24.50
+        EUR,1,%1$d,2020-06-14T10:00:00,2020-06-14T12:00:00,8,1,31.00
+
+        euro,1,%1$d,2020-07-01T00:00:00,2020-07-31T23:59:59,7,0,19.99
+        EUR,1,%1$d,2020-07-01T00:00:00,2020-07-31T23:59:59,7,0
+        EUR,1,%1$d,2020-07-01T00:00:00,2020-07-31T23:59:59,7,0,doce
+        """.formatted(PRODUCT_ID);
+
+    // Act
+    PriceImportResponseDto report = importPrices(csv, "text/csv", status().isOk());
+
+    // Assert
+    assertEquals(5, report.getRead());
+    assertEquals(2, report.getImported());
+    assertEquals(3, report.getRejected());
+    assertEquals(List.of(5L, 6L, 7L), report.getRejectedRows().stream()
+        .map(PriceImportRejectResponseDto::getLineNumber).toList());
+    assertEquals("La moneda debe ser un código ISO 4217 de 3 letras", report.getRejectedRows().get(0).getError());
+    assertEquals(24, lookup("2020-06-14T09:00:00", status().isOk()).getPrice());
+    assertEquals(31, lookup("2020-06-14T11:00:00", status().isOk()).getPrice());
+    lookup("2020-07-14T10:00:00", status().isNotFound());
+  }
+
+  @DisplayName("Test 8: Debe importar NDJSON con la misma validación que el alta")
+  @Test
+  void test8_importPrices_ShouldImportNdjson() throws Exception {
+    // Arrange
+    String ndjson = String.join("\n",
+        gson.toJson(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99")),
+        gson.toJson(request("2020-07-31T00:00:00", "2020-07-01T00:00:00", "19.99")),
+        "{\"brandId\": 1,",
+        gson.toJson(request("2020-07-01T00:00:00", "2020-07-31T23:59:59", "21.00")));
+
+    // Act
+    PriceImportResponseDto report = importPrices(ndjson, "application/x-ndjson", status().isOk());
+
+    // Assert
+    assertEquals(4, report.getRead());
+    assertEquals(2, report.getImported());
+    assertEquals(List.of(2L, 3L), report.getRejectedRows().stream()
+        .map(PriceImportRejectResponseDto::getLineNumber).toList());
+    assertEquals(19, lookup("2020-06-14T10:00:00", status().isOk()).getPrice());
+    assertEquals(21, lookup("2020-07-14T10:00:00", status().isOk()).getPrice());
+  }
+
+  @DisplayName("Test 9: Un CSV sin cabecera válida o con otro tipo de contenido no se importa")
+  @Test
+  void test9_importPrices_ShouldRejectInvalidFiles() throws Exception {
+    importPrices("brandId,productId\n1,%d\n".formatted(PRODUCT_ID), "text/csv", status().isBadRequest());
+    importPrices("1,%d,2020-06-01T00:00:00,2020-06-30T23:59:59,7,0,19.99,EUR\n".formatted(PRODUCT_ID), "text/csv",
+        status().isBadRequest());
+    mockMvc.perform(post("/prices/import").content("{}").contentType(MediaType.TEXT_PLAIN_VALUE))
+        .andExpect(status().isUnsupportedMediaType());
+  }
+
+  @DisplayName("Test 10: El histórico no da periodo a la tarifa base entre dos promociones seguidas")
+  @Test
+  void test10_priceHistory_ShouldSkipSubSecondGapBetweenBackToBackPromos() throws Exception {
+    // Arrange: la primera promoción acaba a las 23:59:59 y la segunda empieza a las 00:00:00, así que la base solo
+    // gana durante el nanosegundo entre las dos
+    PriceRequestDto firstPromo = request("2020-06-10T00:00:00", "2020-06-15T23:59:59", "15.00");
+    firstPromo.setPriceList(8);
+    firstPromo.setPriority(1);
+    PriceRequestDto secondPromo = request("2020-06-16T00:00:00", "2020-06-20T23:59:59", "12.00");
+    secondPromo.setPriceList(9);
+    secondPromo.setPriority(1);
+    for (PriceRequestDto price : List.of(request("2020-06-01T00:00:00", "2020-06-30T23:59:59", "19.99"), firstPromo,
+        secondPromo)) {
+      mockMvc.perform(post("/prices").content(gson.toJson(price)).contentType(MediaType.APPLICATION_JSON_VALUE))
+          .andExpect(status().isCreated());
+    }
+
+    // Act
+    String resultado = mockMvc.perform(get("/products/1/" + PRODUCT_ID + "/history")
+            .param("from", "2020-06-01T00:00:00")
+            .param("to", "2020-07-01T00:00:00"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    // Assert
+    BaseResponse<List<PriceHistorySegmentResponseDto>> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<List<PriceHistorySegmentResponseDto>>>() {
+        }.getType());
+    assertEquals(List.of(
+        new PriceHistorySegmentResponseDto("01/06/2020 00:00:00", "09/06/2020 23:59:59", 7, 0,
+            new BigDecimal("19.99"), "EUR"),
+        new PriceHistorySegmentResponseDto("10/06/2020 00:00:00", "15/06/2020 23:59:59", 8, 1,
+            new BigDecimal("15.00"), "EUR"),
+        new PriceHistorySegmentResponseDto("16/06/2020 00:00:00", "20/06/2020 23:59:59", 9, 1,
+            new BigDecimal("12.00"), "EUR"),
+        new PriceHistorySegmentResponseDto("21/06/2020 00:00:00", "30/06/2020 23:59:59", 7, 0,
+            new BigDecimal("19.99"), "EUR")), responseObject.getData());
+  }
+
+  private PriceImportResponseDto importPrices(String body, String contentType, ResultMatcher expectedStatus)
+      throws Exception {
+    String resultado = mockMvc.perform(post("/prices/import")
+            .content(body)
+            .contentType(contentType))
+        .andExpect(expectedStatus)
+        .andReturn().getResponse().getContentAsString();
+    BaseResponse<PriceImportResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<PriceImportResponseDto>>() {
+        }.getType());
+    return responseObject.getData();
+  }
+
+  private ProductResponseDto lookup(String applicationDate, ResultMatcher expectedStatus) throws Exception {
+    String resultado = mockMvc.perform(get("/products/1/" + PRODUCT_ID)
+            .param("applicationDate", applicationDate))
+        .andExpect(expectedStatus)
+        .andReturn().getResponse().getContentAsString();
+    BaseResponse<ProductResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<ProductResponseDto>>() {
+        }.getType());
+    return responseObject.getData();
+  }
+
+  private static PriceRequestDto request(String startDate, String endDate, String price) {
+    PriceRequestDto request = new PriceRequestDto();
+    request.setBrandId(1);
+    request.setProductId(PRODUCT_ID);
+    request.setStartDate(startDate);
+    request.setEndDate(endDate);
+    request.setPriceList(7);
+    request.setPriority(0);
+    request.setPrice(new BigDecimal(price));
+    request.setCurrency("EUR");
+    return request;
+  }
+
+}
@@ -1,26 +1,53 @@
 package com.products.priadapter.adapter;
 
+import static com.products.priadapter.adapter.mocks.ProductMocks.getBatchRequest;
+import static com.products.priadapter.adapter.mocks.ProductMocks.getTest1Request;
 import static com.products.priadapter.adapter.mocks.ProductMocks.getTest1Response;
 import static com.products.priadapter.adapter.mocks.ProductMocks.getTest2Response;
 import static com.products.priadapter.adapter.mocks.ProductMocks.getTest3Response;
 import static com.products.priadapter.adapter.mocks.ProductMocks.getTest4Response;
 import static com.products.priadapter.adapter.mocks.ProductMocks.getTest5Response;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.products.priadapter.model.request.ProductBatchRequestDto;
+import com.products.priadapter.model.request.ProductFilterRequestDto;
 import com.products.priadapter.model.response.BaseResponse;
+import com.products.priadapter.model.response.PriceHistorySegmentResponseDto;
+import com.products.priadapter.model.response.ProductBatchItemResponseDto;
+import com.products.priadapter.model.response.ProductBatchItemStatus;
 import com.products.priadapter.model.response.ProductResponseDto;
 import com.products.products_api.ProductsApiApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest(classes = ProductsApiApplication.class)
 @AutoConfigureMockMvc
@@ -32,6 +59,9 @@ class ControllerProductTest {
   @Autowired
   private Gson gson;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @DisplayName("Test 1: petición a las 10:00 del día 14 del producto 35455 para la brand 1 (ZARA)")
   @Test
   void test1_getProductTest() throws Exception {
@@ -112,4 +142,305 @@ class ControllerProductTest {
     assertEquals(getTest5Response(), responseObject.getData());
   }
 
+  @DisplayName("Test 6: petición por lotes con los 5 escenarios y un producto sin tarifa")
+  @Test
+  void test6_getProductsBatchTest() throws Exception {
+    String resultado = mockMvc.perform(post("/products/batch")
+            .content(gson.toJson(getBatchRequest()))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    BaseResponse<List<ProductBatchItemResponseDto>> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<List<ProductBatchItemResponseDto>>>() {
+        }.getType());
+
+    List<ProductBatchItemResponseDto> items = responseObject.getData();
+    assertEquals(6, items.size());
+    assertEquals(ProductBatchItemStatus.FOUND, items.get(0).getStatus());
+    assertEquals(getTest1Response(), items.get(0).getProduct());
+    assertEquals(getTest2Response(), items.get(1).getProduct());
+    assertEquals(ProductBatchItemStatus.NOT_FOUND, items.get(2).getStatus());
+    assertEquals(2, items.get(2).getBrandId());
+    assertNull(items.get(2).getProduct());
+    assertEquals(getTest3Response(), items.get(3).getProduct());
+    assertEquals(getTest4Response(), items.get(4).getProduct());
+    assertEquals(getTest5Response(), items.get(5).getProduct());
+  }
+
+  @DisplayName("Test 7: petición por lotes vacía o con una fecha mal formada es inválida")
+  @Test
+  void test7_getProductsBatchInvalidTest() throws Exception {
+    mockMvc.perform(post("/products/batch")
+            .content(gson.toJson(new ProductBatchRequestDto(Collections.emptyList())))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isBadRequest());
+
+    ProductFilterRequestDto invalidDate = getTest1Request();
+    invalidDate.setApplicationDate("14/06/2020 10:00");
+    mockMvc.perform(post("/products/batch")
+            .content(gson.toJson(new ProductBatchRequestDto(List.of(invalidDate))))
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isBadRequest());
+  }
+
+  @DisplayName("Test 8: cada capa registra el tiempo de la búsqueda y su resultado en Micrometer")
+  @Test
+  void test8_getProductMetricsTest() throws Exception {
+    long controllerFound = lookupCount("controller", "found");
+    long useCaseNoData = lookupCount("use_case", "no_data");
+
+    mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2020-06-14T10:00:00")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2030-01-01T10:00:00")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isNotFound());
+
+    assertEquals(controllerFound + 1, lookupCount("controller", "found"));
+    assertEquals(useCaseNoData + 1, lookupCount("use_case", "no_data"));
+  }
+
+  @DisplayName("Test 9: una fecha de aplicación con formato incorrecto devuelve 400")
+  @Test
+  void test9_getProductInvalidDateTest() throws Exception {
+    String resultado = mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "14/06/2020 10:00")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isBadRequest())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+    BaseResponse<ProductResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<ProductResponseDto>>() {
+        }.getType());
+
+    assertEquals("Formato fecha de aplicación no válido", responseObject.getErrorMessage());
+    assertNull(responseObject.getData());
+  }
+
+  @DisplayName("Test 10: un ID de marca o de producto no positivo devuelve 400 sin consultar el caso de uso")
+  @Test
+  void test10_getProductNonPositiveIdTest() throws Exception {
+    long controllerLookups = meterRegistry.get("products.lookup").tag("layer", "controller").timers().stream()
+        .mapToLong(Timer::count).sum();
+
+    String resultado = mockMvc.perform(get("/products/0/35455")
+            .param("applicationDate", "2020-06-14T10:00:00")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isBadRequest())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    mockMvc.perform(get("/products/1/-35455")
+            .param("applicationDate", "2020-06-14T10:00:00")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isBadRequest());
+
+    BaseResponse<ProductResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<ProductResponseDto>>() {
+        }.getType());
+
+    assertEquals("Brand ID debe ser positivo", responseObject.getErrorMessage());
+    assertNull(responseObject.getData());
+    assertEquals(controllerLookups, meterRegistry.get("products.lookup").tag("layer", "controller").timers()
+        .stream().mapToLong(Timer::count).sum());
+  }
+
+  @DisplayName("Test 11: la exportación de la brand 1 a las 16:00 del día 14 devuelve una línea NDJSON por producto")
+  @Test
+  void test11_exportBrandPricesTest() throws Exception {
+    MvcResult started = mockMvc.perform(get("/products/1/export")
+            .param("applicationDate", "2020-06-14T16:00:00"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse();
+
+    String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(1, lines.length);
+    assertEquals(getTest2Response(), gson.fromJson(lines[0], ProductResponseDto.class));
+    assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @DisplayName("Test 12: la exportación se comprime con gzip si el cliente lo acepta y está vacía sin tarifas")
+  @Test
+  void test12_exportBrandPricesGzipTest() throws Exception {
+    MvcResult started = mockMvc.perform(get("/products/1/export")
+            .param("applicationDate", "2020-06-14T10:00:00")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+
+    assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      String line = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+      assertEquals(getTest1Response(), gson.fromJson(line.strip(), ProductResponseDto.class));
+    }
+
+    MvcResult empty = mockMvc.perform(get("/products/999/export")
+            .param("applicationDate", "2020-06-14T10:00:00"))
+        .andReturn();
+    assertEquals("", mockMvc.perform(asyncDispatch(empty)).andReturn().getResponse().getContentAsString());
+  }
+
+  @DisplayName("Test 13: la exportación con una fecha mal formada o una marca no positiva devuelve 400")
+  @Test
+  void test13_exportBrandPricesInvalidTest() throws Exception {
+    MvcResult started = mockMvc.perform(get("/products/1/export")
+            .param("applicationDate", "14/06/2020 10:00"))
+        .andReturn();
+    String resultado = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isBadRequest())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    MvcResult nonPositive = mockMvc.perform(get("/products/0/export")
+            .param("applicationDate", "2020-06-14T10:00:00"))
+        .andReturn();
+    mockMvc.perform(asyncDispatch(nonPositive))
+        .andExpect(status().isBadRequest());
+
+    BaseResponse<ProductResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<ProductResponseDto>>() {
+        }.getType());
+    assertEquals("Formato fecha de aplicación no válido", responseObject.getErrorMessage());
+  }
+
+  @DisplayName("Test 14: histórico del producto 35455 entre el día 14 y el 16 con los periodos de cada tarifa")
+  @Test
+  void test14_getPriceHistoryTest() throws Exception {
+    String resultado = mockMvc.perform(get("/products/1/35455/history")
+            .param("from", "2020-06-14T00:00:00")
+            .param("to", "2020-06-16T23:59:59"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+    BaseResponse<List<PriceHistorySegmentResponseDto>> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<List<PriceHistorySegmentResponseDto>>>() {
+        }.getType());
+
+    assertEquals(List.of(
+        new PriceHistorySegmentResponseDto("14/06/2020 00:00:00", "14/06/2020 14:59:59", 1, 0,
+            new BigDecimal("35.50"), "EUR"),
+        new PriceHistorySegmentResponseDto("14/06/2020 15:00:00", "14/06/2020 18:30:00", 2, 1,
+            new BigDecimal("25.45"), "EUR"),
+        new PriceHistorySegmentResponseDto("14/06/2020 18:30:01", "14/06/2020 23:59:59", 1, 0,
+            new BigDecimal("35.50"), "EUR"),
+        new PriceHistorySegmentResponseDto("15/06/2020 00:00:00", "15/06/2020 11:00:00", 3, 1,
+            new BigDecimal("30.50"), "EUR"),
+        new PriceHistorySegmentResponseDto("15/06/2020 11:00:01", "15/06/2020 15:59:59", 1, 0,
+            new BigDecimal("35.50"), "EUR"),
+        new PriceHistorySegmentResponseDto("15/06/2020 16:00:00", "16/06/2020 23:59:59", 4, 1,
+            new BigDecimal("38.95"), "EUR")), responseObject.getData());
+  }
+
+  @DisplayName("Test 15: histórico sin tarifas en el rango vacío y con rango invertido o mal formado 400")
+  @Test
+  void test15_getPriceHistoryEmptyAndInvalidTest() throws Exception {
+    String resultado = mockMvc.perform(get("/products/1/35455/history")
+            .param("from", "2019-01-01T00:00:00")
+            .param("to", "2019-12-31T23:59:59"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    BaseResponse<List<PriceHistorySegmentResponseDto>> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<List<PriceHistorySegmentResponseDto>>>() {
+        }.getType());
+    assertEquals(List.of(), responseObject.getData());
+
+    mockMvc.perform(get("/products/1/35455/history")
+            .param("from", "2020-06-16T00:00:00")
+            .param("to", "2020-06-14T00:00:00"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/products/1/35455/history")
+            .param("from", "14/06/2020")
+            .param("to", "2020-06-16T00:00:00"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @DisplayName("Test 16: sin fecha de aplicación se busca la tarifa vigente ahora desde la vista materializada")
+  @Test
+  void test16_getProductWithoutApplicationDateTest() throws Exception {
+    double misses = meterRegistry.get("products.current.requests").tag("result", "miss").counter().count();
+
+    // Las tarifas de data.sql son de 2020, así que ahora no hay ninguna vigente ni el producto se guarda en la vista:
+    // las dos búsquedas pasan por el repositorio
+    String resultado = mockMvc.perform(get("/products/1/35455")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isNotFound())
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isNotFound());
+
+    BaseResponse<ProductResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<ProductResponseDto>>() {
+        }.getType());
+
+    assertEquals("Producto no encontrado para los filtros especificados", responseObject.getErrorMessage());
+    assertTrue(meterRegistry.get("products.current.requests").tag("result", "miss").counter().count() >= misses + 2);
+  }
+
+  @DisplayName("Test 17: la búsqueda lleva ETag y max-age, y con If-None-Match de la misma tarifa responde 304")
+  @Test
+  void test17_getProductConditionalTest() throws Exception {
+    MockHttpServletResponse first = mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2020-06-14T10:00:00"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"))
+        .andReturn().getResponse();
+    String etag = first.getHeader(HttpHeaders.ETAG);
+    String otherEtag = mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2020-06-14T16:00:00"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // Otra fecha dentro del mismo periodo resuelve la misma tarifa y el mismo ETag
+    MockHttpServletResponse notModified = mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2020-06-14T12:00:00")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"otro\", " + etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag))
+        .andReturn().getResponse();
+    mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2020-06-14T16:00:00")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+
+    assertTrue(etag.startsWith("\"") && etag.endsWith("\""), etag);
+    assertNotEquals(etag, otherEtag);
+    assertEquals("", notModified.getContentAsString());
+  }
+
+  @DisplayName("Test 18: la exportación no se comprime si Accept-Encoding rechaza gzip con q=0")
+  @Test
+  void test18_exportBrandPricesGzipRefusedTest() throws Exception {
+    MvcResult started = mockMvc.perform(get("/products/1/export")
+            .param("applicationDate", "2020-06-14T10:00:00")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *;q=0.5"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+
+    assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(getTest1Response(),
+        gson.fromJson(response.getContentAsString(StandardCharsets.UTF_8).strip(), ProductResponseDto.class));
+    assertTrue(ControllerProducts.acceptsGzip("deflate, GZIP;q=0.8"));
+    assertTrue(ControllerProducts.acceptsGzip("br, *"));
+    assertFalse(ControllerProducts.acceptsGzip("gzip; q=0.0"));
+    assertFalse(ControllerProducts.acceptsGzip("*;q=0"));
+    assertFalse(ControllerProducts.acceptsGzip("deflate"));
+    assertFalse(ControllerProducts.acceptsGzip(null));
+  }
+
+  private long lookupCount(String layer, String outcome) {
+    return meterRegistry.get("products.lookup").tag("layer", layer).tag("outcome", outcome).timer().count();
+  }
+
 }
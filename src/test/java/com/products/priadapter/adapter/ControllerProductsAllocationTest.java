@@ -0,0 +1,74 @@
+package com.products.priadapter.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.products.priadapter.model.response.ProductLookupResponse;
+import com.products.products_api.ProductsApiApplication;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Presupuesto de memoria reservada por petición en {@code GET /products/{brandId}/{productId}}.
+ * <p>
+ * Se llama al controlador directamente, sin servlet ni serialización JSON, para medir solo lo que reserva la
+ * aplicación: validación, filtro, caché del caso de uso, respuesta y métricas.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class)
+class ControllerProductsAllocationTest {
+
+  private static final int WARMUP_REQUESTS = 20_000;
+
+  private static final int MEASURED_REQUESTS = 10_000;
+
+  private static final long BYTES_PER_REQUEST_BUDGET = 768;
+
+  @Autowired
+  private ControllerProducts controllerProducts;
+
+  @DisplayName("Test 1: el controlador no está envuelto en el proxy de validación de métodos")
+  @Test
+  void test1_controllerIsNotProxiedTest() {
+    assertFalse(AopUtils.isAopProxy(controllerProducts));
+  }
+
+  @DisplayName("Test 2: una búsqueda servida desde la caché reserva menos memoria que el presupuesto por petición")
+  @Test
+  void test2_getProductAllocationBudgetTest() {
+    // Arrange
+    com.sun.management.ThreadMXBean threadMxBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMxBean.isThreadAllocatedMemorySupported());
+    threadMxBean.setThreadAllocatedMemoryEnabled(true);
+    for (int i = 0; i < WARMUP_REQUESTS; i++) {
+      lookup();
+    }
+
+    // Act
+    long before = threadMxBean.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < MEASURED_REQUESTS; i++) {
+      lookup();
+    }
+    long bytesPerRequest = (threadMxBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_REQUESTS;
+
+    // Assert
+    ResponseEntity<ProductLookupResponse> response = lookup();
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(1, response.getBody().data().priceList());
+    assertTrue(bytesPerRequest <= BYTES_PER_REQUEST_BUDGET,
+        "Reservados " + bytesPerRequest + " bytes por petición, presupuesto " + BYTES_PER_REQUEST_BUDGET);
+  }
+
+  private ResponseEntity<ProductLookupResponse> lookup() {
+    return controllerProducts.getProductByFilter(1, 35455, "2020-06-14T10:00:00", null);
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.products.priadapter.adapter;
+
+import static com.products.priadapter.adapter.mocks.ProductMocks.getTest2Response;
+import static com.products.priadapter.adapter.mocks.ProductMocks.getTest5Response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.products.priadapter.model.response.BaseResponse;
+import com.products.priadapter.model.response.ProductResponseDto;
+import com.products.products_api.ProductsApiApplication;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Búsqueda por /reactive/products contra la BD H2 real a través de R2DBC.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class, properties = "products.reactive.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ControllerProductsReactiveTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private Gson gson;
+
+  @DisplayName("Test 1: la búsqueda reactiva devuelve la misma tarifa que la bloqueante")
+  @Test
+  void test1_getProduct_ShouldReturnHighestPriorityPrice() throws Exception {
+    // Act
+    MvcResult started = mockMvc.perform(get("/reactive/products/1/35455")
+            .param("applicationDate", "2020-06-14T16:00:00"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String resultado = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    // Assert
+    BaseResponse<ProductResponseDto> responseObject = gson.fromJson(resultado,
+        new TypeToken<BaseResponse<ProductResponseDto>>() {
+        }.getType());
+    assertEquals(getTest2Response(), responseObject.getData());
+  }
+
+  @DisplayName("Test 2: sin tarifa vigente devuelve 404 y con una fecha mal formada 400")
+  @Test
+  void test2_getProduct_ShouldReturnNotFoundAndBadRequest() throws Exception {
+    // Act
+    MvcResult started = mockMvc.perform(get("/reactive/products/1/99999")
+            .param("applicationDate", "2020-06-14T16:00:00"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // Assert
+    mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isNotFound());
+    MvcResult invalid = mockMvc.perform(get("/reactive/products/1/35455")
+            .param("applicationDate", "14/06/2020 16:00"))
+        .andReturn();
+    mockMvc.perform(asyncDispatch(invalid))
+        .andExpect(status().isBadRequest());
+  }
+
+  @DisplayName("Test 3: la exportación reactiva escribe una línea NDJSON por producto con su tarifa ganadora")
+  @Test
+  void test3_exportBrandPrices_ShouldStreamWinningPricePerProduct() throws Exception {
+    // Act
+    MvcResult started = mockMvc.perform(get("/reactive/products/1/export")
+            .param("applicationDate", "2020-06-16T21:00:00"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+    // Assert
+    String[] lines = body.strip().split("\n");
+    assertEquals(1, lines.length);
+    assertEquals(getTest5Response(), gson.fromJson(lines[0], ProductResponseDto.class));
+  }
+
+}
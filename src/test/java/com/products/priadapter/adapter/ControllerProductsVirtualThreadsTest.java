@@ -0,0 +1,61 @@
+package com.products.priadapter.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.products_api.ProductsApiApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(classes = ProductsApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual"})
+class ControllerProductsVirtualThreadsTest {
+
+  private static final int CONCURRENT_REQUESTS = 50;
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private ServletWebServerApplicationContext context;
+
+  @DisplayName("Test 1: con el perfil virtual Tomcat atiende las peticiones en hilos virtuales")
+  @Test
+  void test1_virtualProfile_ShouldServeRequestsOnVirtualThreads() throws Exception {
+    // Arrange
+    TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder(
+        URI.create("http://localhost:" + port + "/products/1/35455?applicationDate=2020-06-14T16:00:00")).build();
+
+    // Act
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+      responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    // Assert
+    assertInstanceOf(VirtualThreadExecutor.class,
+        webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      assertEquals(200, response.get().statusCode());
+      assertTrue(response.get().body().contains("\"priceList\":2"), response.get().body());
+    }
+  }
+
+}
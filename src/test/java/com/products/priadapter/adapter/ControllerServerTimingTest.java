@@ -0,0 +1,53 @@
+package com.products.priadapter.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.products.products_api.ProductsApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(classes = ProductsApiApplication.class, properties = "products.server-timing.enabled=true")
+@AutoConfigureMockMvc
+class ControllerServerTimingTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @DisplayName("Test 1: con el modo activo la respuesta incluye el desglose Server-Timing por etapas")
+  @Test
+  void test1_getProductServerTimingTest() throws Exception {
+    String header = mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2020-06-14T10:00:00")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("Server-Timing");
+
+    assertNotNull(header);
+    for (String stage : new String[] {"parse;dur=", "cache;dur=", "db;dur=", "rowmap;dur=", "dto;dur=",
+        "total;dur="}) {
+      assertTrue(header.contains(stage), "Falta " + stage + " en " + header);
+    }
+  }
+
+  @DisplayName("Test 2: las respuestas 404 también incluyen Server-Timing")
+  @Test
+  void test2_getProductNotFoundServerTimingTest() throws Exception {
+    String header = mockMvc.perform(get("/products/1/35455")
+            .param("applicationDate", "2030-01-01T10:00:00")
+            .contentType(MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(status().isNotFound())
+        .andReturn().getResponse().getHeader("Server-Timing");
+
+    assertNotNull(header);
+    assertTrue(header.contains("db;dur="), header);
+  }
+
+}
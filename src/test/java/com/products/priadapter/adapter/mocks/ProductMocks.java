@@ -1,7 +1,9 @@
 package com.products.priadapter.adapter.mocks;
 
+import com.products.priadapter.model.request.ProductBatchRequestDto;
 import com.products.priadapter.model.request.ProductFilterRequestDto;
 import com.products.priadapter.model.response.ProductResponseDto;
+import java.util.List;
 
 public class ProductMocks {
 
@@ -45,6 +47,19 @@ public class ProductMocks {
     return filterRequestDto;
   }
 
+  public static ProductFilterRequestDto getNotFoundRequest() {
+    ProductFilterRequestDto filterRequestDto = new ProductFilterRequestDto();
+    filterRequestDto.setProductId(35455);
+    filterRequestDto.setBrandId(2);
+    filterRequestDto.setApplicationDate("2020-06-14T10:00:00");
+    return filterRequestDto;
+  }
+
+  public static ProductBatchRequestDto getBatchRequest() {
+    return new ProductBatchRequestDto(List.of(getTest1Request(), getTest2Request(), getNotFoundRequest(),
+        getTest3Request(), getTest4Request(), getTest5Request()));
+  }
+
   public static ProductResponseDto getTest1Response() {
     ProductResponseDto response = new ProductResponseDto();
     response.setProductId(35455);
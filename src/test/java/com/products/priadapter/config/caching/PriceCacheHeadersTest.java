@@ -0,0 +1,109 @@
+package com.products.priadapter.config.caching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.application.model.dto.ProductDto;
+import com.products.application.service.mocks.ProductDtoMocks;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class PriceCacheHeadersTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+  private PriceCacheHeaders priceCacheHeaders;
+
+  private ProductDto product;
+
+  @BeforeEach
+  void setUp() {
+    priceCacheHeaders = new PriceCacheHeaders(true, Duration.ofMinutes(5), 100) {
+      @Override
+      LocalDateTime now() {
+        return NOW;
+      }
+    };
+    product = ProductDtoMocks.getTest1MockProducts().get(0);
+  }
+
+  @DisplayName("Test 1: Con fecha las cabeceras son de solo lectura, se reutilizan y llevan el max-age configurado")
+  @Test
+  void test1_forDate_ShouldReuseReadOnlyHeaders() {
+    // Act
+    HttpHeaders first = priceCacheHeaders.forDate(product);
+    HttpHeaders second = priceCacheHeaders.forDate(product);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals("max-age=300", first.getCacheControl());
+    assertEquals(priceCacheHeaders.etag(product), first.getETag());
+    assertThrows(UnsupportedOperationException.class, () -> first.setCacheControl("no-store"));
+  }
+
+  @DisplayName("Test 2: Sin fecha el max-age son los segundos enteros que le quedan al periodo, y nunca negativo")
+  @Test
+  void test2_forCurrent_ShouldExpireAtEndOfSegment() {
+    // Act
+    HttpHeaders current = priceCacheHeaders.forCurrent(product, NOW.plusMinutes(2).plusNanos(999_999_999));
+    HttpHeaders expired = priceCacheHeaders.forCurrent(product, NOW.minusSeconds(1));
+
+    // Assert
+    assertEquals("max-age=120", current.getCacheControl());
+    assertEquals("max-age=0", expired.getCacheControl());
+    assertEquals(priceCacheHeaders.etag(product), current.getETag());
+  }
+
+  @DisplayName("Test 3: El ETag es fuerte, igual para la misma fila y distinto si cambia un campo")
+  @Test
+  void test3_etag_ShouldDependOnEveryField() {
+    // Arrange
+    ProductDto copy = ProductDtoMocks.createProductDto(product.getBrandId(), product.getProductId(),
+        product.getPriceList(), product.getStartDate(), product.getEndDate(), product.getPrice(),
+        product.getPriority());
+    ProductDto otherPrice = ProductDtoMocks.createProductDto(product.getBrandId(), product.getProductId(),
+        product.getPriceList(), product.getStartDate(), product.getEndDate(), new BigDecimal("99.99"),
+        product.getPriority());
+
+    // Act
+    String etag = priceCacheHeaders.etag(product);
+
+    // Assert
+    assertTrue(etag.startsWith("\"") && etag.endsWith("\""), etag);
+    assertFalse(etag.startsWith("W/"));
+    assertEquals(etag, priceCacheHeaders.etag(copy));
+    assertNotEquals(etag, priceCacheHeaders.etag(otherPrice));
+  }
+
+  @DisplayName("Test 4: If-None-Match coincide con cualquiera de la lista, con W/ o con *")
+  @Test
+  void test4_matches_ShouldCompareWeakly() {
+    assertTrue(PriceCacheHeaders.matches("\"a1\"", "\"a1\""));
+    assertTrue(PriceCacheHeaders.matches("\"b2\", W/\"a1\"", "\"a1\""));
+    assertTrue(PriceCacheHeaders.matches("*", "\"a1\""));
+    assertFalse(PriceCacheHeaders.matches("\"b2\"", "\"a1\""));
+    assertFalse(PriceCacheHeaders.matches(null, "\"a1\""));
+  }
+
+  @DisplayName("Test 5: Sin fecha y con un periodo de días el max-age no pasa del de las búsquedas con fecha")
+  @Test
+  void test5_forCurrent_ShouldCapLongSegmentsAtDatedMaxAge() {
+    // Act
+    HttpHeaders current = priceCacheHeaders.forCurrent(product, NOW.plusDays(30));
+    HttpHeaders atLimit = priceCacheHeaders.forCurrent(product, NOW.plusMinutes(5));
+
+    // Assert
+    assertEquals("max-age=300", current.getCacheControl());
+    assertEquals("max-age=300", atLimit.getCacheControl());
+  }
+
+}
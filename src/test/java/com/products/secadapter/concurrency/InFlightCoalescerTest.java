@@ -0,0 +1,119 @@
+package com.products.secadapter.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.application.exceptions.DbException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InFlightCoalescerTest {
+
+  private static final int CALLERS = 32;
+
+  private InFlightCoalescer<String, Object> coalescer;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    coalescer = new InFlightCoalescer<>();
+    executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @DisplayName("Test 1: Llamadas concurrentes con la misma clave comparten una única carga")
+  @Test
+  void test1_execute_ShouldCoalesceConcurrentCallsWithSameKey() throws Exception {
+    // Arrange
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Object result = new Object();
+
+    // Act
+    List<Future<Object>> futures = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      futures.add(executor.submit(() -> coalescer.execute("1-35455", () -> {
+        loads.incrementAndGet();
+        release.await();
+        return result;
+      })));
+    }
+    waitUntil(() -> coalescer.loadCount() + coalescer.sharedCount() == CALLERS);
+    release.countDown();
+
+    // Assert
+    for (Future<Object> future : futures) {
+      assertSame(result, future.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loads.get());
+    assertEquals(CALLERS - 1, coalescer.sharedCount());
+  }
+
+  @DisplayName("Test 2: La excepción de la carga se propaga a todas las llamadas agrupadas")
+  @Test
+  void test2_execute_ShouldShareLoaderException() throws Exception {
+    // Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    DbException.BadExecution failure = new DbException.BadExecution("error");
+
+    // Act
+    List<Future<Object>> futures = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      futures.add(executor.submit(() -> coalescer.execute("1-99999", () -> {
+        release.await();
+        throw failure;
+      })));
+    }
+    waitUntil(() -> coalescer.loadCount() + coalescer.sharedCount() == CALLERS);
+    release.countDown();
+
+    // Assert
+    for (Future<Object> future : futures) {
+      ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+      assertSame(failure, e.getCause());
+    }
+    assertEquals(1, coalescer.loadCount());
+  }
+
+  @DisplayName("Test 3: Claves distintas y llamadas posteriores no se agrupan")
+  @Test
+  void test3_execute_ShouldNotCoalesceDifferentKeysOrSequentialCalls() throws Exception {
+    // Act
+    coalescer.execute("a", () -> "1");
+    coalescer.execute("a", () -> "2");
+    Object other = coalescer.execute("b", () -> "3");
+
+    // Assert
+    assertEquals("3", other);
+    assertEquals(3, coalescer.loadCount());
+    assertEquals(0, coalescer.sharedCount());
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "Timeout esperando a las llamadas concurrentes");
+      Thread.sleep(1);
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+package com.products.secadapter.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+  private MicroBatcher<Integer, String> batcher;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(32);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+    if (batcher != null) {
+      batcher.close();
+    }
+  }
+
+  @DisplayName("Test 1: Sin carga la petición se despacha sola y sin esperar la ventana")
+  @Test
+  void test1_submit_ShouldDispatchImmediatelyWhenIdle() throws Exception {
+    // Arrange
+    batcher = new MicroBatcher<>("test", requests -> requests.stream().map(i -> "v" + i).toList(),
+        Duration.ofSeconds(10), 100, 1);
+
+    // Act
+    long start = System.nanoTime();
+    String first = batcher.submit(1);
+    String second = batcher.submit(2);
+
+    // Assert
+    assertEquals("v1", first);
+    assertEquals("v2", second);
+    assertEquals(2, batcher.batchCount());
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @DisplayName("Test 2: Las peticiones que llegan con un lote en curso se agrupan en el siguiente")
+  @Test
+  void test2_submit_ShouldGroupRequestsArrivingWhileBatchInFlight() throws Exception {
+    // Arrange
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    batcher = new MicroBatcher<>("test", requests -> {
+      batches.add(requests);
+      firstBatchStarted.countDown();
+      release.await();
+      return requests.stream().map(i -> "v" + i).toList();
+    }, Duration.ofMillis(1), 100, 1);
+
+    // Act
+    List<Future<String>> futures = new ArrayList<>();
+    futures.add(executor.submit(() -> batcher.submit(0)));
+    firstBatchStarted.await(5, TimeUnit.SECONDS);
+    for (int i = 1; i <= 20; i++) {
+      int request = i;
+      futures.add(executor.submit(() -> batcher.submit(request)));
+    }
+    Thread.sleep(100);
+    release.countDown();
+
+    // Assert
+    for (int i = 0; i < futures.size(); i++) {
+      assertEquals("v" + i, futures.get(i).get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(List.of(0), batches.get(0));
+    assertEquals(21, batcher.requestCount());
+    assertTrue(batches.size() < 21, "Las peticiones deberían haberse agrupado: " + batches);
+  }
+
+  @DisplayName("Test 3: La excepción del lote se propaga a todas sus peticiones")
+  @Test
+  void test3_submit_ShouldShareBatchException() {
+    // Arrange
+    IllegalStateException failure = new IllegalStateException("BD caída");
+    batcher = new MicroBatcher<>("test", requests -> {
+      throw failure;
+    }, Duration.ofMillis(1), 100, 1);
+
+    // Act
+    Future<String> future = executor.submit(() -> batcher.submit(1));
+
+    // Assert
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertSame(failure, e.getCause());
+  }
+
+  @DisplayName("Test 4: Con hilos virtuales cada lote se ejecuta en un hilo virtual")
+  @Test
+  void test4_submit_ShouldRunBatchesOnVirtualThreads() throws Exception {
+    // Arrange
+    List<Boolean> virtualWorkers = new CopyOnWriteArrayList<>();
+    batcher = new MicroBatcher<>("test", requests -> {
+      virtualWorkers.add(Thread.currentThread().isVirtual());
+      return requests.stream().map(i -> "v" + i).toList();
+    }, Duration.ofMillis(1), 100, 2, true);
+
+    // Act
+    String result = batcher.submit(1);
+
+    // Assert
+    assertEquals("v1", result);
+    assertEquals(List.of(true), virtualWorkers);
+  }
+
+}
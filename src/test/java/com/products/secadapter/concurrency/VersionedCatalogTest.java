@@ -0,0 +1,115 @@
+package com.products.secadapter.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VersionedCatalogTest {
+
+  private static final int WRITERS = 4;
+
+  private static final int READERS = 8;
+
+  private static final int UPDATES_PER_WRITER = 2_000;
+
+  private static final int CATALOG_SIZE = 256;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(WRITERS + READERS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @DisplayName("Test 1: Cada publicación incrementa la versión y no altera los snapshots ya leídos")
+  @Test
+  void test1_publish_ShouldIncrementVersionAndKeepOldSnapshots() {
+    // Arrange
+    VersionedCatalog<List<Integer>> catalog = new VersionedCatalog<>(List.of(0));
+    VersionedCatalog.Snapshot<List<Integer>> initial = catalog.snapshot();
+
+    // Act
+    catalog.publish(List.of(5));
+    VersionedCatalog.Snapshot<List<Integer>> updated = catalog.update(list -> List.of(list.get(0) + 1));
+
+    // Assert
+    assertEquals(0, initial.version());
+    assertEquals(List.of(0), initial.catalog());
+    assertEquals(2, updated.version());
+    assertEquals(List.of(6), catalog.get());
+    assertSame(updated, catalog.snapshot());
+  }
+
+  @DisplayName("Test 2: Con escritores concurrentes los lectores siempre ven una única versión completa")
+  @Test
+  void test2_update_ShouldExposeOnlyConsistentVersionsUnderContention() throws Exception {
+    // Arrange
+    // Cada versión es una lista en la que todos los elementos valen su número de versión
+    VersionedCatalog<List<Long>> catalog = new VersionedCatalog<>(Collections.nCopies(CATALOG_SIZE, 0L));
+    AtomicBoolean writing = new AtomicBoolean(true);
+    CountDownLatch start = new CountDownLatch(1);
+
+    // Act
+    List<Future<Long>> readers = new ArrayList<>();
+    for (int i = 0; i < READERS; i++) {
+      readers.add(executor.submit(() -> {
+        start.await();
+        long reads = 0;
+        long lastVersion = -1;
+        while (writing.get() || reads == 0) {
+          VersionedCatalog.Snapshot<List<Long>> snapshot = catalog.snapshot();
+          assertTrue(snapshot.version() >= lastVersion, "La versión no puede retroceder");
+          for (Long value : snapshot.catalog()) {
+            assertEquals(snapshot.version(), value, "Versión mezclada con otra");
+          }
+          lastVersion = snapshot.version();
+          reads++;
+        }
+        return reads;
+      }));
+    }
+    List<Future<?>> writers = new ArrayList<>();
+    for (int i = 0; i < WRITERS; i++) {
+      writers.add(executor.submit(() -> {
+        start.await();
+        for (int update = 0; update < UPDATES_PER_WRITER; update++) {
+          catalog.update(list -> Collections.nCopies(CATALOG_SIZE, list.get(0) + 1));
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> writer : writers) {
+      writer.get(30, TimeUnit.SECONDS);
+    }
+    writing.set(false);
+
+    // Assert
+    for (Future<Long> reader : readers) {
+      assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+    }
+    long expectedVersion = (long) WRITERS * UPDATES_PER_WRITER;
+    assertEquals(expectedVersion, catalog.version());
+    assertEquals(Collections.nCopies(CATALOG_SIZE, expectedVersion), catalog.get());
+  }
+
+}
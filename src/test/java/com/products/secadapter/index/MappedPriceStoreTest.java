@@ -0,0 +1,116 @@
+package com.products.secadapter.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.secadapter.model.ProductEntity;
+import com.products.secadapter.repository.dataset.PricesDatasetGenerator;
+import com.products.secadapter.repository.mocks.ProductEntityMocks;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedPriceStoreTest {
+
+  @TempDir
+  private Path dir;
+
+  @DisplayName("Test 1: El snapshot mapeado resuelve lo mismo que el almacén del que se escribió")
+  @Test
+  void test1_open_ShouldMatchWrittenStore() throws Exception {
+    // Arrange
+    PricesDatasetGenerator generator = PricesDatasetGenerator.builder().brands(2).productsPerBrand(300).build();
+    PrimitivePriceStore written = build(generator.generate());
+    Path snapshot = dir.resolve("prices.snapshot");
+
+    // Act
+    MappedPriceStore.write(written, snapshot);
+    MappedPriceStore mapped = MappedPriceStore.open(snapshot);
+
+    // Assert
+    assertEquals(written.rowCount(), mapped.rowCount());
+    assertEquals(written.keyCount(), mapped.keyCount());
+    for (ProductFilterDto filter : generator.lookups(20_000, 11L)) {
+      assertEquals(
+          written.findEffectivePriceSegment(filter.getBrandId(), filter.getProductId(), filter.getApplicationDate()),
+          mapped.findEffectivePriceSegment(filter.getBrandId(), filter.getProductId(), filter.getApplicationDate()),
+          "Resultado distinto para " + filter);
+    }
+    assertNull(mapped.findHighestPriority(999, 1, generator.getFrom()));
+  }
+
+  @DisplayName("Test 2: Debe conservar los nulos, las monedas y los cambios aplicados sobre el snapshot")
+  @Test
+  void test2_open_ShouldKeepNullsCurrenciesAndChanges() throws Exception {
+    // Arrange
+    ProductEntity usd = ProductEntityMocks.createProductEntity(2, 100, null,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), null, 0);
+    usd.setCurrency("USD");
+    Path snapshot = dir.resolve("prices.snapshot");
+    PrimitivePriceStore written = build(ProductEntityMocks.getAllPricesMockEntities())
+        .withProducts(Map.of(PriceIntervalIndex.key(2, 100), List.of(usd)));
+    MappedPriceStore.write(written, snapshot);
+
+    // Act
+    MappedPriceStore mapped = MappedPriceStore.open(snapshot);
+    ProductEntity replacement = ProductEntityMocks.createProductEntity(1, 35455, 9,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), new BigDecimal("1.00"), 0);
+    PriceStore changed = mapped.withProducts(Map.of(PriceIntervalIndex.key(1, 35455), List.of(replacement)));
+
+    // Assert
+    LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+    assertEquals(written.findHighestPriority(2, 100, date), mapped.findHighestPriority(2, 100, date));
+    assertEquals("USD", mapped.findHighestPriority(2, 100, date).getCurrency());
+    assertNull(mapped.findHighestPriority(2, 100, date).getPrice());
+    assertEquals(2, mapped.findHighestPriority(1, 35455, date).getPriceList());
+    assertEquals(9, changed.findHighestPriority(1, 35455, date).getPriceList());
+    assertEquals("USD", changed.findHighestPriority(2, 100, date).getCurrency());
+  }
+
+  @DisplayName("Test 3: Debe rechazar snapshots con el checksum roto, truncados o de otra versión")
+  @Test
+  void test3_open_ShouldRejectCorruptedSnapshots() throws Exception {
+    // Arrange
+    Path snapshot = dir.resolve("prices.snapshot");
+    MappedPriceStore.write(build(ProductEntityMocks.getAllPricesMockEntities()), snapshot);
+    byte[] valid = Files.readAllBytes(snapshot);
+
+    Path flipped = dir.resolve("flipped.snapshot");
+    Files.write(flipped, valid);
+    try (RandomAccessFile file = new RandomAccessFile(flipped.toFile(), "rw")) {
+      file.seek(valid.length - 10);
+      file.write(valid[valid.length - 10] ^ 0x01);
+    }
+    Path truncated = dir.resolve("truncated.snapshot");
+    Files.write(truncated, Arrays.copyOf(valid, valid.length / 2));
+    Path otherVersion = dir.resolve("version.snapshot");
+    byte[] versioned = valid.clone();
+    versioned[4] = (byte) (MappedPriceStore.VERSION + 1);
+    Files.write(otherVersion, versioned);
+    Path empty = Files.createFile(dir.resolve("empty.snapshot"));
+
+    // Act & Assert
+    assertEquals(4, MappedPriceStore.open(snapshot).rowCount());
+    assertThrows(MappedPriceStore.CorruptedSnapshotException.class, () -> MappedPriceStore.open(flipped));
+    assertThrows(MappedPriceStore.CorruptedSnapshotException.class, () -> MappedPriceStore.open(truncated));
+    assertThrows(MappedPriceStore.CorruptedSnapshotException.class, () -> MappedPriceStore.open(otherVersion));
+    assertThrows(MappedPriceStore.CorruptedSnapshotException.class, () -> MappedPriceStore.open(empty));
+  }
+
+  private static PrimitivePriceStore build(List<ProductEntity> rows) {
+    PrimitivePriceStore.Builder builder = PrimitivePriceStore.builder(rows.size());
+    rows.forEach(builder::add);
+    return builder.build();
+  }
+
+}
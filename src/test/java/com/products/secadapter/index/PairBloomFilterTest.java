@@ -0,0 +1,71 @@
+package com.products.secadapter.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PairBloomFilterTest {
+
+  private static final int PAIRS = 20_000;
+
+  @DisplayName("Test 1: Nunca da falsos negativos para los pares añadidos")
+  @Test
+  void test1_mightContain_ShouldHaveNoFalseNegatives() {
+    // Arrange
+    PairBloomFilter filter = PairBloomFilter.create(PAIRS, 0.01);
+
+    // Act
+    for (int productId = 1; productId <= PAIRS; productId++) {
+      filter.put(1 + productId % 5, productId);
+    }
+
+    // Assert
+    for (int productId = 1; productId <= PAIRS; productId++) {
+      assertTrue(filter.mightContain(1 + productId % 5, productId), "Falso negativo para " + productId);
+    }
+  }
+
+  @DisplayName("Test 2: La tasa de falsos positivos medida y la estimada rondan la configurada")
+  @Test
+  void test2_mightContain_ShouldKeepFalsePositiveRateNearTarget() {
+    // Arrange
+    PairBloomFilter filter = PairBloomFilter.create(PAIRS, 0.01);
+    for (int productId = 1; productId <= PAIRS; productId++) {
+      filter.put(1, productId);
+    }
+
+    // Act
+    int falsePositives = 0;
+    int probes = 100_000;
+    for (int productId = PAIRS + 1; productId <= PAIRS + probes; productId++) {
+      if (filter.mightContain(1, productId)) {
+        falsePositives++;
+      }
+    }
+    double measured = (double) falsePositives / probes;
+
+    // Assert
+    assertTrue(measured < 0.02, "Tasa medida " + measured);
+    assertTrue(Math.abs(filter.expectedFalsePositiveRate() - 0.01) < 0.005,
+        "Tasa estimada " + filter.expectedFalsePositiveRate());
+    // ~9,6 bits por par para un 1 %
+    assertTrue(filter.memoryBytes() < PAIRS * 10L / 8 + 64, "Memoria " + filter.memoryBytes());
+    assertEquals(filter.bitSize() / 8, filter.memoryBytes());
+  }
+
+  @DisplayName("Test 3: Un filtro vacío no contiene nada y la probabilidad debe estar entre 0 y 1")
+  @Test
+  void test3_create_ShouldStartEmptyAndValidateProbability() {
+    PairBloomFilter filter = PairBloomFilter.create(0, 0.01);
+
+    assertFalse(filter.mightContain(1, 35455));
+    assertEquals(0, filter.expectedFalsePositiveRate());
+    assertThrows(IllegalArgumentException.class, () -> PairBloomFilter.create(100, 0));
+    assertThrows(IllegalArgumentException.class, () -> PairBloomFilter.create(100, 1));
+  }
+
+}
@@ -0,0 +1,102 @@
+package com.products.secadapter.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.products.secadapter.model.ProductEntity;
+import com.products.secadapter.repository.mocks.ProductEntityMocks;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PriceIntervalIndexTest {
+
+  private PriceIntervalIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = PriceIntervalIndex.build(ProductEntityMocks.getAllPricesMockEntities());
+  }
+
+  @DisplayName("Test 1: Debe resolver la tarifa de mayor prioridad en los 5 escenarios de negocio")
+  @Test
+  void test1_findHighestPriority_ShouldResolveBusinessScenarios() {
+    assertEquals(1, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 10, 0)).getPriceList());
+    assertEquals(2, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 16, 0)).getPriceList());
+    assertEquals(1, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 21, 0)).getPriceList());
+    assertEquals(3, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 15, 10, 0)).getPriceList());
+    assertEquals(4, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 16, 21, 0)).getPriceList());
+  }
+
+  @DisplayName("Test 2: Los límites START_DATE y END_DATE son inclusivos")
+  @Test
+  void test2_findHighestPriority_ShouldIncludeRangeLimits() {
+    assertEquals(2, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 15, 0)).getPriceList());
+    assertEquals(2, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 18, 30)).getPriceList());
+    assertEquals(1, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 18, 30, 1)).getPriceList());
+    assertEquals(4, index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 12, 31, 23, 59, 59)).getPriceList());
+  }
+
+  @DisplayName("Test 3: Debe retornar null fuera de rango o para claves desconocidas")
+  @Test
+  void test3_findHighestPriority_ShouldReturnNullWhenNoPriceApplies() {
+    assertNull(index.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 13, 23, 59, 59)));
+    assertNull(index.findHighestPriority(1, 35455, LocalDateTime.of(2021, 1, 1, 0, 0)));
+    assertNull(index.findHighestPriority(999, 35455, LocalDateTime.of(2020, 6, 14, 10, 0)));
+    assertNull(index.findHighestPriority(1, 99999, LocalDateTime.of(2020, 6, 14, 10, 0)));
+    assertNull(index.findHighestPriority(1, 35455, null));
+  }
+
+  @DisplayName("Test 4: A igualdad de prioridad gana la tarifa con START_DATE más reciente")
+  @Test
+  void test4_findHighestPriority_ShouldBreakTiesByLatestStartDate() {
+    // Arrange
+    ProductEntity older = ProductEntityMocks.createProductEntity(1, 1, 10,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), new BigDecimal("10.00"), 1);
+    ProductEntity newer = ProductEntityMocks.createProductEntity(1, 1, 11,
+        LocalDateTime.of(2020, 3, 1, 0, 0), LocalDateTime.of(2020, 4, 1, 0, 0), new BigDecimal("11.00"), 1);
+    PriceIntervalIndex tieIndex = PriceIntervalIndex.build(List.of(newer, older));
+
+    // Act & Assert
+    assertEquals(11, tieIndex.findHighestPriority(1, 1, LocalDateTime.of(2020, 3, 15, 0, 0)).getPriceList());
+    assertEquals(10, tieIndex.findHighestPriority(1, 1, LocalDateTime.of(2020, 5, 1, 0, 0)).getPriceList());
+  }
+
+  @DisplayName("Test 5: withTimelines sustituye solo las claves cambiadas y conserva el resto")
+  @Test
+  void test5_withTimelines_ShouldReplaceOnlyChangedKeys() {
+    // Arrange
+    List<ProductEntity> rows = new ArrayList<>();
+    for (int productId = 1; productId <= 1_000; productId++) {
+      rows.add(ProductEntityMocks.createProductEntity(1, productId, productId,
+          LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), new BigDecimal("10.00"), 0));
+    }
+    PriceIntervalIndex large = PriceIntervalIndex.build(rows);
+    ProductEntity replacement = ProductEntityMocks.createProductEntity(1, 7, 9_999,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), new BigDecimal("1.00"), 0);
+
+    // Act
+    PriceIntervalIndex changed = large.withTimelines(Map.of(
+        PriceIntervalIndex.key(1, 7), PriceTimeline.build(List.of(replacement)),
+        PriceIntervalIndex.key(1, 8), PriceTimeline.build(List.of())));
+
+    // Assert
+    LocalDateTime date = LocalDateTime.of(2020, 6, 1, 0, 0);
+    assertEquals(9_999, changed.findHighestPriority(1, 7, date).getPriceList());
+    assertNull(changed.findHighestPriority(1, 8, date));
+    assertEquals(7, large.findHighestPriority(1, 7, date).getPriceList());
+    assertEquals(8, large.findHighestPriority(1, 8, date).getPriceList());
+    for (int productId = 9; productId <= 1_000; productId++) {
+      assertSame(large.findTimeline(1, productId), changed.findTimeline(1, productId));
+    }
+    assertEquals(1_000, large.keyCount());
+    assertEquals(999, changed.keyCount());
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.products.secadapter.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.products_api.ProductsApiApplication;
+import com.products.secadapter.mapper.rowmapper.ProductsRowMapper;
+import com.products.secadapter.model.ProductEntity;
+import com.products.secadapter.repository.ProductsRepositoryImpl;
+import com.products.secadapter.repository.dataset.PricesDatasetGenerator;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests para PriceTimeline
+ * <p>
+ * Cargan tarifas solapadas aleatorias (con semilla fija) de {@link PricesDatasetGenerator} en H2 y comprueban que
+ * la línea temporal aplanada devuelve la misma tarifa que {@code ORDER BY PRIORITY DESC, START_DATE DESC LIMIT 1}
+ * en cada límite de tarifa, justo antes y justo después, y en instantes aleatorios.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class)
+@Transactional
+@ActiveProfiles("test")
+class PriceTimelineIntegrationTest {
+
+  private static final int BRAND_ID = 7;
+
+  private static final int PRODUCTS = 5;
+
+  private static final int ROWS_PER_PRODUCT = 40;
+
+  private static final LocalDateTime ORIGIN = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ProductsRepositoryImpl sqlRepository;
+
+  private final Random random = new Random(20240101L);
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.execute("DELETE FROM PRICES");
+    PricesDatasetGenerator.builder()
+        .seed(20240101L)
+        .firstBrandId(BRAND_ID)
+        .productsPerBrand(PRODUCTS)
+        .rowsPerProduct(ROWS_PER_PRODUCT)
+        .from(ORIGIN)
+        .horizon(Duration.ofDays(90))
+        .minInterval(Duration.ofMinutes(1))
+        .maxInterval(Duration.ofDays(20))
+        .overlapDepth(6)
+        .build()
+        .load(jdbcTemplate);
+  }
+
+  @DisplayName("Integration Test 1: La línea temporal aplanada coincide con la semántica SQL")
+  @Test
+  void integrationTest1_ShouldMatchSqlSemanticsAtEveryBoundary() throws Exception {
+    for (int productId = 1; productId <= PRODUCTS; productId++) {
+
+      List<ProductEntity> rows = jdbcTemplate.query(
+          "SELECT BRAND_ID as brandId, START_DATE as startDate, END_DATE as endDate, PRICE_LIST as priceList, "
+              + "PRODUCT_ID as productId, PRIORITY as priority, PRICE as price, CURR as currency "
+              + "FROM PRICES WHERE BRAND_ID = ? AND PRODUCT_ID = ?",
+          new ProductsRowMapper(), BRAND_ID, productId);
+      PriceTimeline timeline = PriceTimeline.build(rows);
+
+      for (LocalDateTime instant : probes(rows)) {
+        ProductEntity winner = timeline.findWinner(instant);
+        Integer expected = sqlPriceList(productId, instant);
+        assertEquals(expected, winner != null ? winner.getPriceList() : null,
+            "Producto " + productId + " en " + instant);
+      }
+    }
+  }
+
+  private List<LocalDateTime> probes(List<ProductEntity> rows) {
+    List<LocalDateTime> probes = new ArrayList<>();
+    for (ProductEntity row : rows) {
+      probes.add(row.getStartDate());
+      probes.add(row.getStartDate().minusSeconds(1));
+      probes.add(row.getEndDate());
+      probes.add(row.getEndDate().plusSeconds(1));
+    }
+    for (int i = 0; i < 100; i++) {
+      probes.add(ORIGIN.plusSeconds(random.nextInt(60 * 60 * 24 * 120)));
+    }
+    return probes;
+  }
+
+  private Integer sqlPriceList(int productId, LocalDateTime instant) throws DbException.BadExecution {
+    return sqlRepository.getHighestPriorityProductByFilters(new ProductFilterDto(instant, productId, BRAND_ID))
+        .map(ProductDto::getPriceList)
+        .orElse(null);
+  }
+
+}
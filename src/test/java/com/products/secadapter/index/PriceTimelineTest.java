@@ -0,0 +1,131 @@
+package com.products.secadapter.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.secadapter.model.ProductEntity;
+import com.products.secadapter.repository.mocks.ProductEntityMocks;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PriceTimelineTest {
+
+  @DisplayName("Test 1: Debe aplanar las tarifas de data.sql en segmentos disjuntos con su ganador")
+  @Test
+  void test1_build_ShouldFlattenOverlappingPricesIntoSegments() {
+    // Act
+    PriceTimeline timeline = PriceTimeline.build(ProductEntityMocks.getAllPricesMockEntities());
+
+    // Assert
+    // 1 | 2 | 1 | 3 | 1 | 4
+    assertEquals(6, timeline.segmentCount());
+    int[] expectedPriceLists = {1, 2, 1, 3, 1, 4};
+    for (int i = 0; i < timeline.segmentCount(); i++) {
+      assertEquals(expectedPriceLists[i], timeline.segmentWinner(i).getPriceList());
+      assertTrue(timeline.segmentStart(i).isBefore(timeline.segmentEnd(i)));
+      if (i > 0) {
+        assertEquals(timeline.segmentEnd(i - 1), timeline.segmentStart(i));
+      }
+    }
+    assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1), timeline.segmentEnd(1));
+    assertEquals(LocalDateTime.of(2020, 12, 31, 23, 59, 59).plusNanos(1), timeline.segmentEnd(5));
+  }
+
+  @DisplayName("Test 2: Debe fusionar segmentos consecutivos con el mismo ganador")
+  @Test
+  void test2_build_ShouldMergeConsecutiveSegmentsWithSameWinner() {
+    // Arrange
+    // La tarifa de prioridad 0 empieza y termina dentro de la de prioridad 5: no cambia el ganador
+    ProductEntity dominant = ProductEntityMocks.createProductEntity(1, 1, 1,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), new BigDecimal("10.00"), 5);
+    ProductEntity hidden = ProductEntityMocks.createProductEntity(1, 1, 2,
+        LocalDateTime.of(2020, 3, 1, 0, 0), LocalDateTime.of(2020, 4, 1, 0, 0), new BigDecimal("11.00"), 0);
+
+    // Act
+    PriceTimeline timeline = PriceTimeline.build(List.of(hidden, dominant));
+
+    // Assert
+    assertEquals(1, timeline.segmentCount());
+    assertSame(dominant, timeline.segmentWinner(0));
+  }
+
+  @DisplayName("Test 3: Debe dejar huecos donde ninguna tarifa aplica")
+  @Test
+  void test3_findWinner_ShouldReturnNullInGaps() {
+    // Arrange
+    ProductEntity first = ProductEntityMocks.createProductEntity(1, 1, 1,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 1, 31, 23, 59, 59), new BigDecimal("10.00"), 0);
+    ProductEntity second = ProductEntityMocks.createProductEntity(1, 1, 2,
+        LocalDateTime.of(2020, 3, 1, 0, 0), LocalDateTime.of(2020, 3, 31, 23, 59, 59), new BigDecimal("11.00"), 0);
+
+    // Act
+    PriceTimeline timeline = PriceTimeline.build(List.of(second, first));
+
+    // Assert
+    assertEquals(2, timeline.segmentCount());
+    assertSame(first, timeline.findWinner(LocalDateTime.of(2020, 1, 31, 23, 59, 59)));
+    assertNull(timeline.findWinner(LocalDateTime.of(2020, 2, 15, 0, 0)));
+    assertSame(second, timeline.findWinner(LocalDateTime.of(2020, 3, 1, 0, 0)));
+    assertNull(timeline.findWinner(LocalDateTime.of(2019, 12, 31, 23, 59, 59)));
+    assertNull(timeline.findWinner(LocalDateTime.of(2020, 4, 1, 0, 0)));
+  }
+
+  @DisplayName("Test 4: Debe ignorar filas sin fechas y producir una línea vacía sin filas")
+  @Test
+  void test4_build_ShouldIgnoreRowsWithoutDates() {
+    // Arrange
+    ProductEntity noDates = ProductEntityMocks.createProductEntity(1, 1, 1, null, null, new BigDecimal("10.00"), 0);
+
+    // Act & Assert
+    assertEquals(0, PriceTimeline.build(List.of(noDates)).segmentCount());
+    assertEquals(0, PriceTimeline.build(List.of()).segmentCount());
+  }
+
+  @DisplayName("Test 5: Debe recorrer en orden solo los segmentos del rango, recortados a sus extremos")
+  @Test
+  void test5_forEachSegment_ShouldClipSegmentsToRange() {
+    // Arrange
+    PriceTimeline timeline = PriceTimeline.build(ProductEntityMocks.getAllPricesMockEntities());
+    LocalDateTime from = LocalDateTime.of(2020, 6, 14, 16, 0);
+    LocalDateTime to = LocalDateTime.of(2020, 6, 15, 10, 0);
+    List<LocalDateTime> bounds = new ArrayList<>();
+    List<Integer> priceLists = new ArrayList<>();
+
+    // Act
+    timeline.forEachSegment(from, to, (start, end, winner) -> {
+      bounds.add(start);
+      bounds.add(end);
+      priceLists.add(winner.getPriceList());
+    });
+
+    // Assert
+    assertEquals(List.of(2, 1, 3), priceLists);
+    assertEquals(List.of(from, LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1),
+        LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1), LocalDateTime.of(2020, 6, 15, 0, 0),
+        LocalDateTime.of(2020, 6, 15, 0, 0), to), bounds);
+  }
+
+  @DisplayName("Test 6: Un rango en un hueco o fuera de la línea temporal no recorre ningún segmento")
+  @Test
+  void test6_forEachSegment_ShouldSkipRangesWithoutPrices() {
+    // Arrange
+    PriceTimeline timeline = PriceTimeline.build(ProductEntityMocks.getAllPricesMockEntities());
+    List<ProductEntity> winners = new ArrayList<>();
+
+    // Act
+    timeline.forEachSegment(LocalDateTime.of(2019, 1, 1, 0, 0), LocalDateTime.of(2020, 6, 14, 0, 0),
+        (start, end, winner) -> winners.add(winner));
+    timeline.forEachSegment(LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 1, 0, 0),
+        (start, end, winner) -> winners.add(winner));
+
+    // Assert
+    assertTrue(winners.isEmpty());
+  }
+
+}
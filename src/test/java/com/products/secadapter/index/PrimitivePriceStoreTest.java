@@ -0,0 +1,165 @@
+package com.products.secadapter.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.secadapter.model.ProductEntity;
+import com.products.secadapter.repository.dataset.PricesDatasetGenerator;
+import com.products.secadapter.repository.mocks.ProductEntityMocks;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+class PrimitivePriceStoreTest {
+
+  private PrimitivePriceStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = build(ProductEntityMocks.getAllPricesMockEntities());
+  }
+
+  @DisplayName("Test 1: Debe resolver la tarifa de mayor prioridad en los 5 escenarios de negocio")
+  @Test
+  void test1_findHighestPriority_ShouldResolveBusinessScenarios() {
+    assertEquals(1, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 10, 0)).getPriceList());
+    assertEquals(2, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 16, 0)).getPriceList());
+    assertEquals(1, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 21, 0)).getPriceList());
+    assertEquals(3, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 15, 10, 0)).getPriceList());
+    assertEquals(4, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 16, 21, 0)).getPriceList());
+  }
+
+  @DisplayName("Test 2: Los límites son inclusivos y END_DATE no cubre fracciones de segundo posteriores")
+  @Test
+  void test2_findHighestPriority_ShouldIncludeRangeLimits() {
+    assertEquals(2, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 15, 0)).getPriceList());
+    assertEquals(2, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 18, 30)).getPriceList());
+    assertEquals(1, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1)).getPriceList());
+    assertEquals(4, store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 12, 31, 23, 59, 59)).getPriceList());
+    assertNull(store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 12, 31, 23, 59, 59, 500)));
+  }
+
+  @DisplayName("Test 3: Debe retornar null fuera de rango, para claves desconocidas o sin fecha")
+  @Test
+  void test3_findHighestPriority_ShouldReturnNullWhenNoPriceApplies() {
+    assertNull(store.findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 13, 23, 59, 59)));
+    assertNull(store.findHighestPriority(999, 35455, LocalDateTime.of(2020, 6, 14, 10, 0)));
+    assertNull(store.findHighestPriority(1, 99999, LocalDateTime.of(2020, 6, 14, 10, 0)));
+    assertNull(store.findHighestPriority(null, 35455, LocalDateTime.of(2020, 6, 14, 10, 0)));
+    assertNull(store.findHighestPriority(1, 35455, null));
+    assertNull(PrimitivePriceStore.empty().findHighestPriority(1, 35455, LocalDateTime.of(2020, 6, 14, 10, 0)));
+  }
+
+  @DisplayName("Test 4: Debe devolver los mismos campos que la entidad original, precio con dos decimales")
+  @Test
+  void test4_findHighestPriority_ShouldKeepEveryColumn() {
+    // Arrange
+    ProductEntity row = ProductEntityMocks.createProductEntity(7, 8, 9,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), new BigDecimal("12.5"), 4);
+
+    // Act
+    ProductDto found = build(List.of(row)).findHighestPriority(7, 8, LocalDateTime.of(2020, 5, 1, 0, 0));
+
+    // Assert
+    assertEquals(new ProductDto(7, row.getStartDate(), row.getEndDate(), 9, 8, 4, new BigDecimal("12.50"),
+        row.getCurrency()), found);
+  }
+
+  @DisplayName("Test 5: Debe coincidir con PriceIntervalIndex y PriceTimeline en un dataset aleatorio")
+  @Test
+  void test5_ShouldMatchIntervalIndexOnGeneratedDataset() {
+    // Arrange
+    PricesDatasetGenerator generator = PricesDatasetGenerator.builder().brands(2).productsPerBrand(300).build();
+    List<ProductEntity> rows = generator.generate();
+    PriceIntervalIndex index = PriceIntervalIndex.build(rows);
+    PrimitivePriceStore generated = build(rows);
+
+    // Act & Assert
+    assertEquals(rows.size(), generated.rowCount());
+    assertEquals(index.keyCount(), generated.keyCount());
+    for (ProductFilterDto filter : generator.lookups(20_000, 7L)) {
+      assertEquals(toProductDto(index.findHighestPriority(filter.getBrandId(), filter.getProductId(),
+              filter.getApplicationDate())),
+          generated.findHighestPriority(filter.getBrandId(), filter.getProductId(), filter.getApplicationDate()),
+          "Resultado distinto para " + filter);
+      assertEquals(segment(index, filter), generated.findEffectivePriceSegment(filter.getBrandId(),
+          filter.getProductId(), filter.getApplicationDate()), "Periodo distinto para " + filter);
+    }
+  }
+
+  @DisplayName("Test 6: withProducts sustituye solo las tarifas del producto indicado")
+  @Test
+  void test6_withProducts_ShouldReplaceOnlyChangedProduct() {
+    // Arrange
+    ProductEntity other = ProductEntityMocks.createProductEntity(2, 100, 50,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), new BigDecimal("1.00"), 0);
+    ProductEntity replacement = ProductEntityMocks.createProductEntity(1, 35455, 60,
+        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0), new BigDecimal("2.00"), 0);
+    PrimitivePriceStore withOther = store.withProducts(Map.of(PriceIntervalIndex.key(2, 100), List.of(other)));
+
+    // Act
+    PrimitivePriceStore changed = withOther.withProducts(
+        Map.of(PriceIntervalIndex.key(1, 35455), List.of(replacement)));
+
+    // Assert
+    LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0);
+    assertEquals(2, store.findHighestPriority(1, 35455, date).getPriceList());
+    assertEquals(60, changed.findHighestPriority(1, 35455, date).getPriceList());
+    assertEquals(50, changed.findHighestPriority(2, 100, date).getPriceList());
+    assertEquals(2, changed.keyCount());
+    assertNull(changed.withProducts(Map.of(PriceIntervalIndex.key(2, 100), List.of()))
+        .findHighestPriority(2, 100, date));
+  }
+
+  @DisplayName("Test 7: Debe ocupar menos de un tercio del heap que las entidades y que el índice de segmentos")
+  @Test
+  void test7_ShouldUseFarLessHeapThanObjectModel() {
+    // Arrange
+    List<ProductEntity> rows = PricesDatasetGenerator.builder().productsPerBrand(2_000).build().generate();
+
+    // Act
+    long entityBytes = GraphLayout.parseInstance(rows).totalSize();
+    long indexBytes = GraphLayout.parseInstance(PriceIntervalIndex.build(rows)).totalSize();
+    long storeBytes = GraphLayout.parseInstance(build(rows)).totalSize();
+
+    // Assert
+    String report = String.format("bytes/fila: List<ProductEntity>=%d, PriceIntervalIndex=%d, PrimitivePriceStore=%d",
+        entityBytes / rows.size(), indexBytes / rows.size(), storeBytes / rows.size());
+    assertTrue(storeBytes * 3 < entityBytes, report);
+    assertTrue(storeBytes * 3 < indexBytes, report);
+  }
+
+  private static PrimitivePriceStore build(List<ProductEntity> rows) {
+    PrimitivePriceStore.Builder builder = PrimitivePriceStore.builder(rows.size());
+    rows.forEach(builder::add);
+    return builder.build();
+  }
+
+  private static PriceSegmentDto segment(PriceIntervalIndex index, ProductFilterDto filter) {
+    PriceTimeline timeline = index.findTimeline(filter.getBrandId(), filter.getProductId());
+    int segment = timeline != null ? timeline.findSegment(filter.getApplicationDate()) : -1;
+    if (segment < 0) {
+      return null;
+    }
+    return new PriceSegmentDto(timeline.segmentStart(segment), timeline.segmentEnd(segment),
+        toProductDto(timeline.segmentWinner(segment)));
+  }
+
+  private static ProductDto toProductDto(ProductEntity entity) {
+    if (entity == null) {
+      return null;
+    }
+    return new ProductDto(entity.getBrandId(), entity.getStartDate(), entity.getEndDate(), entity.getPriceList(),
+        entity.getProductId(), entity.getPriority(), entity.getPrice(), entity.getCurrency());
+  }
+
+}
@@ -0,0 +1,96 @@
+package com.products.secadapter.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.products_api.ProductsApiApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests de ProductsRepositoryImpl con el filtro de Bloom de {@link KnownPricePairs} activado.
+ * <p>
+ * El filtro se carga al arrancar con los pares de data.sql.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class, properties = "products.repository.bloom-filter.enabled=true")
+@Transactional
+@ActiveProfiles("test")
+class KnownPricePairsIntegrationTest {
+
+  private static final String INSERT_PRICE =
+      "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Autowired
+  private ProductsRepositoryImpl productsRepository;
+
+  @Autowired
+  private KnownPricePairs knownPricePairs;
+
+  @Autowired
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @DisplayName("Integration Test 1: Un par sin tarifas se resuelve sin consulta y un par conocido sigue encontrándose")
+  @Test
+  void integrationTest1_ShouldRejectUnknownPairsAndKeepKnownOnes() throws Exception {
+    // Arrange
+    LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
+    double rejectionsBefore = rejections();
+
+    // Act
+    Optional<?> known = productsRepository.getHighestPriorityProductByFilters(new ProductFilterDto(date, 35455, 1));
+    Optional<?> unknown = productsRepository.getHighestPriorityProductByFilters(new ProductFilterDto(date, 99999, 1));
+
+    // Assert
+    assertTrue(known.isPresent());
+    assertEquals(Optional.empty(), unknown);
+    assertEquals(rejectionsBefore + 1, rejections());
+  }
+
+  @DisplayName("Integration Test 2: Un par nuevo se encuentra tras publicarse su PricesChangedEvent")
+  @Test
+  void integrationTest2_ShouldAcceptNewPairAfterPricesChangedEvent() throws Exception {
+    // Arrange
+    ProductFilterDto filterDto = new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 10, 0), 100, 2);
+    jdbcTemplate.update(INSERT_PRICE, 2, "2020-01-01 00:00:00", "2020-12-31 23:59:59", 5, 100, 0, "10.00", "EUR");
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(filterDto));
+
+    // Act
+    applicationEventPublisher.publishEvent(PricesChangedEvent.of(2, 100));
+
+    // Assert
+    assertEquals(5, productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow().getPriceList());
+  }
+
+  @DisplayName("Integration Test 3: Publica la tasa de falsos positivos y la memoria del filtro")
+  @Test
+  void integrationTest3_ShouldPublishFalsePositiveRateAndMemory() {
+    assertTrue(knownPricePairs.falsePositiveRate() < 0.01);
+    assertTrue(knownPricePairs.memoryBytes() > 0);
+    assertEquals(knownPricePairs.memoryBytes(), meterRegistry.get("products.bloom.memory").gauge().value());
+    assertEquals(knownPricePairs.falsePositiveRate(),
+        meterRegistry.get("products.bloom.false-positive-rate").gauge().value());
+  }
+
+  private double rejections() {
+    return meterRegistry.get("products.bloom.rejections").counter().count();
+  }
+
+}
@@ -0,0 +1,271 @@
+package com.products.secadapter.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.application.events.PricesChangedEvent;
+import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.application.ports.secondary.ProductsRepository;
+import com.products.products_api.ProductsApiApplication;
+import com.products.secadapter.mapper.rowmapper.ProductsSecMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests para ProductsMemoryRepositoryImpl
+ * <p>
+ * Comparan el índice en memoria con la consulta SQL de ProductsRepositoryImpl sobre la misma BD H2 para
+ * garantizar que ambas implementaciones devuelven exactamente lo mismo.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class)
+@Transactional
+@ActiveProfiles("test")
+class ProductsMemoryRepositoryImplIntegrationTest {
+
+  private static final String INSERT_PRICE =
+      "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String UPDATE_BOTH_PRODUCTS_PRICE =
+      "UPDATE PRICES SET PRICE = ? WHERE (BRAND_ID = 1 AND PRODUCT_ID = 35455) OR (BRAND_ID = 2 AND PRODUCT_ID = 100)";
+
+  private static final int READERS = 8;
+
+  private static final int RELOADS = 200;
+
+  @Autowired
+  private ProductsRepositoryImpl sqlRepository;
+
+  @Autowired
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  @Autowired
+  private ProductsSecMapper productsSecMapper;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private ProductsMemoryRepositoryImpl memoryRepository;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.execute("DELETE FROM PRICES");
+    jdbcTemplate.update(INSERT_PRICE, 1, "2020-06-14 00:00:00", "2020-12-31 23:59:59", 1, 35455, 0, "35.50", "EUR");
+    jdbcTemplate.update(INSERT_PRICE, 1, "2020-06-14 15:00:00", "2020-06-14 18:30:00", 2, 35455, 1, "25.45", "EUR");
+    jdbcTemplate.update(INSERT_PRICE, 1, "2020-06-15 00:00:00", "2020-06-15 11:00:00", 3, 35455, 1, "30.50", "EUR");
+    jdbcTemplate.update(INSERT_PRICE, 1, "2020-06-15 16:00:00", "2020-12-31 23:59:59", 4, 35455, 1, "38.95", "EUR");
+    // Empate de prioridad solapado para fijar el desempate por START_DATE más reciente
+    jdbcTemplate.update(INSERT_PRICE, 2, "2020-01-01 00:00:00", "2020-12-31 23:59:59", 5, 100, 3, "10.00", "EUR");
+    jdbcTemplate.update(INSERT_PRICE, 2, "2020-03-01 00:00:00", "2020-03-31 23:59:59", 6, 100, 3, "12.00", "EUR");
+
+    memoryRepository = new ProductsMemoryRepositoryImpl(namedParameterJdbcTemplate, productsSecMapper,
+        new LookupMetrics(new SimpleMeterRegistry()));
+    memoryRepository.reload();
+  }
+
+  @DisplayName("Integration Test 1: El índice en memoria coincide con la consulta SQL en todo el rango")
+  @Test
+  void integrationTest1_ShouldMatchSqlRepositoryForEveryInstant() throws Exception {
+    for (ProductFilterDto filterDto : sampleFilters()) {
+      ProductDto expected = lookup(sqlRepository, filterDto);
+      ProductDto actual = lookup(memoryRepository, filterDto);
+      assertEquals(expected, actual, "Resultado distinto para " + filterDto);
+    }
+  }
+
+  @DisplayName("Integration Test 2: Debe devolver un resultado vacío igual que la consulta SQL")
+  @Test
+  void integrationTest2_ShouldReturnEmptyLikeSqlRepository() throws Exception {
+    ProductFilterDto outOfRange = new ProductFilterDto(LocalDateTime.of(2021, 1, 1, 10, 0), 35455, 1);
+    ProductFilterDto wrongBrand = new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 999);
+
+    assertEquals(Optional.empty(), sqlRepository.getHighestPriorityProductByFilters(outOfRange));
+    assertEquals(Optional.empty(), memoryRepository.getHighestPriorityProductByFilters(outOfRange));
+    assertEquals(Optional.empty(), memoryRepository.getEffectivePriceSegmentByFilters(outOfRange));
+    assertEquals(Optional.empty(), memoryRepository.getHighestPriorityProductByFilters(wrongBrand));
+  }
+
+  @DisplayName("Integration Test 3: Debe reconstruir solo el producto afectado al publicarse un cambio")
+  @Test
+  void integrationTest3_ShouldRebuildChangedProductOnPricesChangedEvent() throws Exception {
+    // Arrange
+    ProductFilterDto filterDto = new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 1);
+    jdbcTemplate.update(INSERT_PRICE,
+        1, "2020-06-14 09:00:00", "2020-06-14 11:00:00", 9, 35455, 5, "19.99", "EUR");
+    assertEquals(1, memoryRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow().getPriceList());
+
+    // Act
+    memoryRepository.onPricesChanged(PricesChangedEvent.of(1, 35455));
+
+    // Assert
+    assertEquals(9, memoryRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow().getPriceList());
+    assertEquals(lookup(sqlRepository, filterDto), lookup(memoryRepository, filterDto));
+  }
+
+  @DisplayName("Integration Test 4: La búsqueda por lotes coincide con la consulta SQL por lotes")
+  @Test
+  void integrationTest4_ShouldMatchSqlRepositoryForBatches() throws Exception {
+    List<ProductFilterDto> filters = sampleFilters();
+    assertEquals(sqlRepository.getHighestPriorityProductsByFilters(filters),
+        memoryRepository.getHighestPriorityProductsByFilters(filters));
+  }
+
+  @DisplayName("Integration Test 5: El periodo de validez coincide con el calculado por la consulta SQL")
+  @Test
+  void integrationTest5_ShouldMatchSqlValidityWindows() throws Exception {
+    for (ProductFilterDto filterDto : sampleFilters()) {
+      assertEquals(segment(sqlRepository, filterDto), segment(memoryRepository, filterDto),
+          "Periodo distinto para " + filterDto);
+    }
+  }
+
+  @DisplayName("Integration Test 6: Las búsquedas concurrentes con recargas ven siempre una sola versión del índice")
+  @Test
+  void integrationTest6_ShouldNeverMixIndexVersionsWhileReloading() throws Exception {
+    // Arrange
+    // Los dos productos se actualizan siempre juntos con el mismo precio en un único evento
+    PricesChangedEvent bothProducts = new PricesChangedEvent(Set.of(
+        new PricesChangedEvent.ProductKey(1, 35455), new PricesChangedEvent.ProductKey(2, 100)));
+    jdbcTemplate.update(UPDATE_BOTH_PRODUCTS_PRICE, BigDecimal.ZERO);
+    memoryRepository.onPricesChanged(bothProducts);
+    List<ProductFilterDto> filters = List.of(
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 16, 0), 35455, 1),
+        new ProductFilterDto(LocalDateTime.of(2020, 3, 15, 0, 0), 100, 2));
+    ExecutorService readers = Executors.newFixedThreadPool(READERS);
+    AtomicBoolean reloading = new AtomicBoolean(true);
+
+    try {
+      // Act
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < READERS; i++) {
+        results.add(readers.submit(() -> {
+          int reads = 0;
+          BigDecimal last = BigDecimal.ZERO;
+          while (reloading.get() || reads == 0) {
+            List<ProductDto> found = memoryRepository.getHighestPriorityProductsByFilters(filters);
+            BigDecimal price = found.get(0).getPrice();
+            assertEquals(0, price.compareTo(found.get(1).getPrice()), "Precios de versiones distintas: " + found);
+            assertTrue(price.compareTo(last) >= 0, "El índice no puede volver a una versión anterior");
+            last = price;
+            reads++;
+          }
+          return reads;
+        }));
+      }
+      for (int version = 1; version <= RELOADS; version++) {
+        jdbcTemplate.update(UPDATE_BOTH_PRODUCTS_PRICE, BigDecimal.valueOf(version));
+        memoryRepository.onPricesChanged(bothProducts);
+      }
+      reloading.set(false);
+
+      // Assert
+      for (Future<Integer> result : results) {
+        assertTrue(result.get(30, TimeUnit.SECONDS) > 0);
+      }
+      assertEquals(0, BigDecimal.valueOf(RELOADS).compareTo(lookup(memoryRepository, filters.get(0)).getPrice()));
+    } finally {
+      readers.shutdownNow();
+    }
+  }
+
+  @DisplayName("Integration Test 7: La exportación de una marca coincide con la consulta SQL en todo el rango")
+  @Test
+  void integrationTest7_ShouldExportSameBrandCatalogAsSqlRepository() throws Exception {
+    // Arrange
+    jdbcTemplate.update(INSERT_PRICE, 1, "2020-06-01 00:00:00", "2020-06-30 23:59:59", 7, 35456, 0, "12.00", "EUR");
+    jdbcTemplate.update(INSERT_PRICE, 1, "2020-06-14 12:00:00", "2020-06-20 23:59:59", 8, 35456, 2, "9.99", "USD");
+    jdbcTemplate.update(INSERT_PRICE, 1, "2020-01-01 00:00:00", "2020-12-31 23:59:59", 9, 35457, 0, "5.00", "EUR");
+    memoryRepository.reload();
+
+    for (LocalDateTime date : sampleFilters().stream().map(ProductFilterDto::getApplicationDate).distinct()
+        .toList()) {
+      // Act
+      List<ProductDto> expected = export(sqlRepository, 1, date);
+      List<ProductDto> actual = export(memoryRepository, 1, date);
+
+      // Assert
+      assertEquals(expected, actual, "Exportación distinta para " + date);
+      assertTrue(actual.stream().allMatch(product -> product.getBrandId() == 1));
+    }
+    assertEquals(3, export(memoryRepository, 1, LocalDateTime.of(2020, 6, 14, 16, 0)).size());
+    assertEquals(List.of(), export(memoryRepository, 999, LocalDateTime.of(2020, 6, 14, 16, 0)));
+  }
+
+  @DisplayName("Integration Test 8: El histórico de precios coincide con el barrido sobre la consulta SQL")
+  @Test
+  void integrationTest8_ShouldMatchSqlPriceHistory() throws Exception {
+    List<LocalDateTime[]> ranges = List.of(
+        new LocalDateTime[] {LocalDateTime.of(2019, 1, 1, 0, 0), LocalDateTime.of(2022, 1, 1, 0, 0)},
+        new LocalDateTime[] {LocalDateTime.of(2020, 6, 14, 16, 0), LocalDateTime.of(2020, 6, 15, 10, 0)},
+        new LocalDateTime[] {LocalDateTime.of(2020, 3, 15, 0, 0), LocalDateTime.of(2020, 3, 15, 0, 0, 1)},
+        new LocalDateTime[] {LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 1, 0, 0)});
+
+    for (LocalDateTime[] range : ranges) {
+      for (int[] product : new int[][] {{1, 35455}, {2, 100}, {999, 1}}) {
+        assertEquals(sqlRepository.getPriceHistoryByFilters(product[0], product[1], range[0], range[1]),
+            memoryRepository.getPriceHistoryByFilters(product[0], product[1], range[0], range[1]),
+            "Histórico distinto para " + product[0] + "/" + product[1] + " entre " + range[0] + " y " + range[1]);
+      }
+    }
+    assertEquals(6, memoryRepository.getPriceHistoryByFilters(1, 35455, ranges.get(0)[0], ranges.get(0)[1]).size());
+  }
+
+  private static List<ProductDto> export(ProductsRepository repository, int brandId, LocalDateTime date)
+      throws DbException.BadExecution {
+    List<ProductDto> products = new ArrayList<>();
+    repository.forEachHighestPriorityProductByBrand(brandId, date, products::add);
+    products.sort(Comparator.comparing(ProductDto::getProductId));
+    return products;
+  }
+
+  private static PriceSegmentDto segment(ProductsRepository repository, ProductFilterDto filterDto)
+      throws DbException.BadExecution {
+    return repository.getEffectivePriceSegmentByFilters(filterDto).orElse(null);
+  }
+
+  private static ProductDto lookup(ProductsRepository repository, ProductFilterDto filterDto)
+      throws DbException.BadExecution {
+    return repository.getHighestPriorityProductByFilters(filterDto).orElse(null);
+  }
+
+  private static List<ProductFilterDto> sampleFilters() {
+    List<ProductFilterDto> filters = new ArrayList<>();
+    LocalDateTime date = LocalDateTime.of(2019, 12, 31, 23, 0);
+    while (date.isBefore(LocalDateTime.of(2021, 1, 2, 0, 0))) {
+      filters.add(new ProductFilterDto(date, 35455, 1));
+      filters.add(new ProductFilterDto(date, 100, 2));
+      date = date.plusMinutes(date.getYear() == 2020 && date.getMonthValue() == 6 ? 30 : 12 * 60);
+    }
+    filters.add(new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 18, 30), 35455, 1));
+    filters.add(new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 18, 30, 1), 35455, 1));
+    filters.add(new ProductFilterDto(LocalDateTime.of(2020, 12, 31, 23, 59, 59), 35455, 1));
+    filters.add(new ProductFilterDto(LocalDateTime.of(2020, 3, 31, 23, 59, 59), 100, 2));
+    filters.add(new ProductFilterDto(LocalDateTime.of(2020, 4, 1, 0, 0), 100, 2));
+    return filters;
+  }
+
+}
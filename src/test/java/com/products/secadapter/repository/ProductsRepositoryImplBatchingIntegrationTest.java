@@ -0,0 +1,121 @@
+package com.products.secadapter.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.products.application.model.dto.PriceSegmentDto;
+import com.products.application.model.dto.ProductDto;
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.products_api.ProductsApiApplication;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests de ProductsRepositoryImpl con micro-batching activado.
+ * <p>
+ * Los lotes se ejecutan en otro hilo y no ven datos de una transacción de test, así que se usan las tarifas de
+ * data.sql.
+ */
+@SpringBootTest(classes = ProductsApiApplication.class, properties = "products.repository.batching.enabled=true")
+@ActiveProfiles("test")
+class ProductsRepositoryImplBatchingIntegrationTest {
+
+  @Autowired
+  private ProductsRepositoryImpl productsRepository;
+
+  @DisplayName("Integration Test 1: Las búsquedas concurrentes por lotes devuelven la tarifa de cada llamante")
+  @Test
+  void integrationTest1_ShouldResolveEachCallerWithinBatches() throws Exception {
+    // Arrange
+    LocalDateTime[] dates = {
+        LocalDateTime.of(2020, 6, 14, 10, 0),
+        LocalDateTime.of(2020, 6, 14, 16, 0),
+        LocalDateTime.of(2020, 6, 14, 21, 0),
+        LocalDateTime.of(2020, 6, 15, 10, 0),
+        LocalDateTime.of(2020, 6, 16, 21, 0)
+    };
+    String[] expectedPrices = {"35.50", "25.45", "35.50", "30.50", "38.95"};
+    long requestsBefore = productsRepository.productBatcher().requestCount();
+    ExecutorService executor = Executors.newFixedThreadPool(32);
+
+    try {
+      // Act
+      List<Future<Optional<ProductDto>>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        ProductFilterDto filterDto = new ProductFilterDto(dates[i % dates.length].plusSeconds(i), 35455, 1);
+        futures.add(executor.submit(() -> productsRepository.getHighestPriorityProductByFilters(filterDto)));
+      }
+
+      // Assert
+      for (int i = 0; i < futures.size(); i++) {
+        ProductDto result = futures.get(i).get(10, TimeUnit.SECONDS).orElse(null);
+        assertNotNull(result);
+        assertEquals(new BigDecimal(expectedPrices[i % dates.length]), result.getPrice());
+      }
+      assertEquals(requestsBefore + 200, productsRepository.productBatcher().requestCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @DisplayName("Integration Test 2: Debe devolver un resultado vacío cuando el lote no encuentra tarifa")
+  @Test
+  void integrationTest2_ShouldReturnEmptyWhenBatchHasNoMatch() throws Exception {
+    ProductFilterDto filterDto = new ProductFilterDto(LocalDateTime.of(2021, 1, 1, 10, 0), 35455, 1);
+
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(filterDto));
+  }
+
+  @DisplayName("Integration Test 3: Los periodos de validez también se resuelven por lotes, acotados en cada fecha")
+  @Test
+  void integrationTest3_ShouldResolveSegmentsWithinBatches() throws Exception {
+    // Arrange
+    LocalDateTime[] dates = {
+        LocalDateTime.of(2020, 6, 14, 10, 0),
+        LocalDateTime.of(2020, 6, 14, 16, 0),
+        LocalDateTime.of(2020, 6, 14, 21, 0)
+    };
+    LocalDateTime[][] expectedWindows = {
+        {LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 15, 0)},
+        {LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1)},
+        {LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1), LocalDateTime.of(2020, 6, 15, 0, 0)}
+    };
+    long requestsBefore = productsRepository.segmentBatcher().requestCount();
+    ExecutorService executor = Executors.newFixedThreadPool(32);
+
+    try {
+      // Act
+      List<Future<Optional<PriceSegmentDto>>> futures = new ArrayList<>();
+      for (int i = 0; i < 150; i++) {
+        ProductFilterDto filterDto = new ProductFilterDto(dates[i % dates.length].plusSeconds(i), 35455, 1);
+        futures.add(executor.submit(() -> productsRepository.getEffectivePriceSegmentByFilters(filterDto)));
+      }
+
+      // Assert
+      for (int i = 0; i < futures.size(); i++) {
+        PriceSegmentDto result = futures.get(i).get(10, TimeUnit.SECONDS).orElse(null);
+        assertNotNull(result);
+        assertEquals(expectedWindows[i % dates.length][0], result.getValidFrom());
+        assertEquals(expectedWindows[i % dates.length][1], result.getValidTo());
+      }
+      assertEquals(requestsBefore + 150, productsRepository.segmentBatcher().requestCount());
+      assertEquals(Optional.empty(), productsRepository.getEffectivePriceSegmentByFilters(
+          new ProductFilterDto(LocalDateTime.of(2021, 1, 1, 10, 0), 35455, 1)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -2,15 +2,18 @@ package com.products.secadapter.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import com.products.application.exceptions.DbException;
+import com.products.application.model.dto.PriceSegmentDto;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
 import com.products.products_api.ProductsApiApplication;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -82,7 +85,7 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2020, 6, 14, 10, 0));
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     assertNotNull(result);
@@ -101,7 +104,7 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2020, 6, 14, 21, 0));
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     // A las 21:00 solo aplica la tarifa general (PRICE_LIST 1) porque la PRICE_LIST 2
@@ -111,9 +114,9 @@ class ProductsRepositoryImplIntegrationTest {
     assertEquals(new BigDecimal("35.50"), result.getPrice());
   }
 
-  @DisplayName("Integration Test 6: Query real filtro por brandId incorrecto - debe lanzar NoData")
+  @DisplayName("Integration Test 6: Query real filtro por brandId incorrecto - debe devolver vacío")
   @Test
-  void integrationTest6_ShouldThrowNoDataForWrongBrandId() throws Exception {
+  void integrationTest6_ShouldReturnEmptyForWrongBrandId() throws Exception {
     // Arrange
     ProductFilterDto filterDto = new ProductFilterDto();
     filterDto.setProductId(35455);
@@ -121,14 +124,12 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2020, 6, 14, 10, 0));
 
     // Act & Assert
-    assertThrows(DbException.NoData.class, () -> {
-      productsRepository.getHighestPriorityProductByFilters(filterDto);
-    });
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(filterDto));
   }
 
-  @DisplayName("Integration Test 7: Query real filtro por productId incorrecto - debe lanzar NoData")
+  @DisplayName("Integration Test 7: Query real filtro por productId incorrecto - debe devolver vacío")
   @Test
-  void integrationTest7_ShouldThrowNoDataForWrongProductId() throws Exception {
+  void integrationTest7_ShouldReturnEmptyForWrongProductId() throws Exception {
     // Arrange
     ProductFilterDto filterDto = new ProductFilterDto();
     filterDto.setProductId(99999); // Producto que no existe
@@ -136,14 +137,12 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2020, 6, 14, 10, 0));
 
     // Act & Assert
-    assertThrows(DbException.NoData.class, () -> {
-      productsRepository.getHighestPriorityProductByFilters(filterDto);
-    });
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(filterDto));
   }
 
-  @DisplayName("Integration Test 8: Query real con fecha fuera de todos los rangos - debe lanzar NoData")
+  @DisplayName("Integration Test 8: Query real con fecha fuera de todos los rangos - debe devolver vacío")
   @Test
-  void integrationTest8_ShouldThrowNoDataForDateOutOfRange() throws Exception {
+  void integrationTest8_ShouldReturnEmptyForDateOutOfRange() throws Exception {
     // Arrange
     ProductFilterDto filterDto = new ProductFilterDto();
     filterDto.setProductId(35455);
@@ -151,9 +150,7 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2021, 1, 1, 10, 0)); // Fuera de rango
 
     // Act & Assert
-    assertThrows(DbException.NoData.class, () -> {
-      productsRepository.getHighestPriorityProductByFilters(filterDto);
-    });
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(filterDto));
   }
 
   @DisplayName("Integration Test 9: Query real verifica rango exacto de fechas - Límite inferior")
@@ -166,7 +163,7 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2020, 6, 14, 0, 0)); // Exacta START_DATE
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     assertNotNull(result);
@@ -183,7 +180,7 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59)); // Exacta END_DATE
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     // A las 23:59:59 del 31/12 hay 2 tarifas vigentes:
@@ -205,7 +202,7 @@ class ProductsRepositoryImplIntegrationTest {
     filterDto.setApplicationDate(LocalDateTime.of(2020, 6, 14, 15, 30)); // Dentro de PRICE_LIST 2
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     // A las 15:30 hay 2 tarifas vigentes, pero PRICE_LIST 2 tiene mayor prioridad (1 > 0)
@@ -243,4 +240,85 @@ class ProductsRepositoryImplIntegrationTest {
         "Queries demasiado lentas, probablemente el índice no funciona: " + executionTime + "ms");
   }
 
+  @DisplayName("Integration Test 13: Query por lotes real devuelve un resultado por filtro en el mismo orden")
+  @Test
+  void integrationTest13_ShouldResolveBatchInOrderWithNullsForMisses() throws Exception {
+    // Arrange
+    List<ProductFilterDto> filters = List.of(
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 1),
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 16, 0), 35455, 1),
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 999),
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 15, 10, 0), 35455, 1),
+        new ProductFilterDto(LocalDateTime.of(2021, 1, 1, 10, 0), 35455, 1),
+        new ProductFilterDto(LocalDateTime.of(2020, 12, 31, 23, 59, 59), 35455, 1));
+
+    // Act
+    List<ProductDto> result = productsRepository.getHighestPriorityProductsByFilters(filters);
+
+    // Assert
+    assertEquals(filters.size(), result.size());
+    for (int i = 0; i < filters.size(); i++) {
+      ProductDto single = productsRepository.getHighestPriorityProductByFilters(filters.get(i)).orElse(null);
+      assertEquals(single, result.get(i), "Resultado distinto en la posición " + i);
+    }
+    assertEquals(2, result.get(1).getPriceList());
+    assertNull(result.get(2));
+    assertNull(result.get(4));
+  }
+
+  @DisplayName("Integration Test 14: Query por lotes real con más filtros que el tamaño de bloque")
+  @Test
+  void integrationTest14_ShouldResolveBatchLargerThanChunkSize() throws Exception {
+    // Arrange
+    List<ProductFilterDto> filters = new ArrayList<>();
+    for (int i = 0; i < ProductsRepositoryImpl.BATCH_QUERY_CHUNK_SIZE + 10; i++) {
+      filters.add(new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 10, 0).plusMinutes(i), 35455, 1));
+    }
+
+    // Act
+    List<ProductDto> result = productsRepository.getHighestPriorityProductsByFilters(filters);
+
+    // Assert
+    assertEquals(filters.size(), result.size());
+    assertEquals(1, result.get(0).getPriceList());
+    // 10:00 + 300 minutos = 15:00, inicio de PRICE_LIST 2
+    assertEquals(1, result.get(299).getPriceList());
+    assertEquals(2, result.get(300).getPriceList());
+    assertEquals(2, result.get(filters.size() - 1).getPriceList());
+  }
+
+  @DisplayName("Integration Test 15: Query real del periodo de validez de la tarifa ganadora")
+  @Test
+  void integrationTest15_ShouldReturnValidityWindowOfWinningPrice() throws Exception {
+    // Act
+    PriceSegmentDto at10 = productsRepository.getEffectivePriceSegmentByFilters(
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 10, 0), 35455, 1)).orElseThrow();
+    PriceSegmentDto at16 = productsRepository.getEffectivePriceSegmentByFilters(
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 16, 0), 35455, 1)).orElseThrow();
+    PriceSegmentDto at21 = productsRepository.getEffectivePriceSegmentByFilters(
+        new ProductFilterDto(LocalDateTime.of(2020, 6, 14, 21, 0), 35455, 1)).orElseThrow();
+
+    // Assert
+    // PRICE_LIST 1 gana hasta que empieza PRICE_LIST 2 a las 15:00
+    assertEquals(1, at10.getProduct().getPriceList());
+    assertEquals(LocalDateTime.of(2020, 6, 14, 0, 0), at10.getValidFrom());
+    assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0), at10.getValidTo());
+    // PRICE_LIST 2 gana durante todo su rango [15:00, 18:30:00]
+    assertEquals(2, at16.getProduct().getPriceList());
+    assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0), at16.getValidFrom());
+    assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1), at16.getValidTo());
+    // PRICE_LIST 1 vuelve a ganar tras PRICE_LIST 2 y hasta PRICE_LIST 3
+    assertEquals(1, at21.getProduct().getPriceList());
+    assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1), at21.getValidFrom());
+    assertEquals(LocalDateTime.of(2020, 6, 15, 0, 0), at21.getValidTo());
+  }
+
+  @DisplayName("Integration Test 16: Query real del periodo de validez sin resultados - debe devolver vacío")
+  @Test
+  void integrationTest16_ShouldReturnEmptyForValidityWindowOutOfRange() throws Exception {
+    ProductFilterDto filterDto = new ProductFilterDto(LocalDateTime.of(2021, 1, 1, 10, 0), 35455, 1);
+
+    assertEquals(Optional.empty(), productsRepository.getEffectivePriceSegmentByFilters(filterDto));
+  }
+
 }
@@ -5,27 +5,39 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.products.application.exceptions.DbException;
+import com.products.application.metrics.LookupMetrics;
 import com.products.application.model.dto.ProductDto;
 import com.products.application.model.dto.ProductFilterDto;
 import com.products.secadapter.mapper.rowmapper.ProductsRowMapper;
 import com.products.secadapter.mapper.rowmapper.ProductsSecMapper;
 import com.products.secadapter.model.ProductEntity;
 import com.products.secadapter.repository.mocks.ProductEntityMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
@@ -38,6 +50,12 @@ class ProductsRepositoryImplTest {
   @Mock
   private ProductsSecMapper productsSecMapper;
 
+  @Spy
+  private LookupMetrics lookupMetrics = new LookupMetrics(new SimpleMeterRegistry());
+
+  @Mock
+  private KnownPricePairs knownPricePairs;
+
   @InjectMocks
   private ProductsRepositoryImpl productsRepository;
 
@@ -49,6 +67,7 @@ class ProductsRepositoryImplTest {
     filterDto.setProductId(35455);
     filterDto.setBrandId(1);
     filterDto.setApplicationDate(LocalDateTime.of(2020, 6, 14, 10, 0));
+    lenient().when(knownPricePairs.mightHavePrices(any(), any())).thenReturn(true);
   }
 
   @DisplayName("Test 1: Debe retornar un producto cuando se encuentra registro")
@@ -58,78 +77,72 @@ class ProductsRepositoryImplTest {
     ProductEntity mockEntity = ProductEntityMocks.getTest1MockEntities().get(0);
     ProductDto expectedDto = ProductEntityMocks.createProductDtoFromEntity(mockEntity);
 
-    when(namedParameterJdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class),
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class)))
-        .thenReturn(mockEntity);
+        .thenReturn(List.of(mockEntity));
     when(productsSecMapper.toProductDto(mockEntity))
         .thenReturn(expectedDto);
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     assertNotNull(result);
     assertEquals(35455, result.getProductId());
     assertEquals(1, result.getBrandId());
-    verify(namedParameterJdbcTemplate, times(1)).queryForObject(anyString(), any(MapSqlParameterSource.class),
+    verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class));
   }
 
-  @DisplayName("Test 2: Debe lanzar NoData cuando no hay productos por brandId")
+  @DisplayName("Test 2: Debe devolver vacío cuando no hay productos por brandId")
   @Test
-  void test2_getHighestPriorityProductByFilters_ShouldThrowNoDataWhenFilterByBrandId() throws Exception {
+  void test2_getHighestPriorityProductByFilters_ShouldReturnEmptyWhenFilterByBrandId() throws Exception {
     // Arrange
     ProductFilterDto brandFilter = new ProductFilterDto();
     brandFilter.setProductId(35455);
     brandFilter.setBrandId(2);
     brandFilter.setApplicationDate(LocalDateTime.of(2020, 6, 14, 10, 0));
 
-    when(namedParameterJdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class),
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class)))
-        .thenThrow(new EmptyResultDataAccessException(1));
+        .thenReturn(List.of());
 
     // Act & Assert
-    assertThrows(DbException.NoData.class, () -> {
-      productsRepository.getHighestPriorityProductByFilters(brandFilter);
-    });
-    verify(namedParameterJdbcTemplate, times(1)).queryForObject(anyString(), any(MapSqlParameterSource.class),
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(brandFilter));
+    verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class));
   }
 
-  @DisplayName("Test 3: Debe lanzar NoData cuando no hay productos")
+  @DisplayName("Test 3: Debe devolver vacío cuando no hay productos")
   @Test
-  void test3_getHighestPriorityProductByFilters_ShouldThrowNoDataWhenEmpty() throws Exception {
+  void test3_getHighestPriorityProductByFilters_ShouldReturnEmptyWhenEmpty() throws Exception {
     // Arrange
-    when(namedParameterJdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class),
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class)))
-        .thenThrow(new EmptyResultDataAccessException(1));
+        .thenReturn(List.of());
 
     // Act & Assert
-    assertThrows(DbException.NoData.class, () -> {
-      productsRepository.getHighestPriorityProductByFilters(filterDto);
-    });
-    verify(namedParameterJdbcTemplate, times(1)).queryForObject(anyString(), any(MapSqlParameterSource.class),
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(filterDto));
+    verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class));
   }
 
-  @DisplayName("Test 4: Debe lanzar NoData cuando no hay productos por productId")
+  @DisplayName("Test 4: Debe devolver vacío cuando no hay productos por productId")
   @Test
-  void test4_getHighestPriorityProductByFilters_ShouldThrowNoDataWhenFilterByProductId() throws Exception {
+  void test4_getHighestPriorityProductByFilters_ShouldReturnEmptyWhenFilterByProductId() throws Exception {
     // Arrange
     ProductFilterDto productFilter = new ProductFilterDto();
     productFilter.setProductId(99999);
     productFilter.setBrandId(1);
     productFilter.setApplicationDate(LocalDateTime.of(2020, 6, 14, 10, 0));
 
-    when(namedParameterJdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class),
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class)))
-        .thenThrow(new EmptyResultDataAccessException(1));
+        .thenReturn(List.of());
 
     // Act & Assert
-    assertThrows(DbException.NoData.class, () -> {
-      productsRepository.getHighestPriorityProductByFilters(productFilter);
-    });
-    verify(namedParameterJdbcTemplate, times(1)).queryForObject(anyString(), any(MapSqlParameterSource.class),
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(productFilter));
+    verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class));
   }
 
@@ -137,7 +150,7 @@ class ProductsRepositoryImplTest {
   @Test
   void test5_getHighestPriorityProductByFilters_ShouldThrowBadExecutionException() throws Exception {
     // Arrange
-    when(namedParameterJdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class),
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class)))
         .thenThrow(new RuntimeException("Database connection error"));
 
@@ -145,7 +158,7 @@ class ProductsRepositoryImplTest {
     assertThrows(DbException.BadExecution.class, () -> {
       productsRepository.getHighestPriorityProductByFilters(filterDto);
     });
-    verify(namedParameterJdbcTemplate, times(1)).queryForObject(anyString(), any(MapSqlParameterSource.class),
+    verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class));
   }
 
@@ -156,18 +169,18 @@ class ProductsRepositoryImplTest {
     ProductEntity mockEntity = ProductEntityMocks.getTest1MockEntities().get(0);
     ProductDto expectedDto = ProductEntityMocks.createProductDtoFromEntity(mockEntity);
 
-    when(namedParameterJdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class),
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class)))
-        .thenReturn(mockEntity);
+        .thenReturn(List.of(mockEntity));
     when(productsSecMapper.toProductDto(mockEntity))
         .thenReturn(expectedDto);
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     assertNotNull(result);
-    verify(namedParameterJdbcTemplate, times(1)).queryForObject(anyString(), any(MapSqlParameterSource.class),
+    verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class));
   }
 
@@ -178,18 +191,78 @@ class ProductsRepositoryImplTest {
     ProductEntity mockEntity = ProductEntityMocks.getTest2MockEntities().get(0);
     ProductDto expectedDto = ProductEntityMocks.createProductDtoFromEntity(mockEntity);
 
-    when(namedParameterJdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class),
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
         any(ProductsRowMapper.class)))
-        .thenReturn(mockEntity);
+        .thenReturn(List.of(mockEntity));
     when(productsSecMapper.toProductDto(mockEntity))
         .thenReturn(expectedDto);
 
     // Act
-    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto);
+    ProductDto result = productsRepository.getHighestPriorityProductByFilters(filterDto).orElseThrow();
 
     // Assert
     assertEquals(new BigDecimal("35.50"), result.getPrice());
     verify(productsSecMapper, times(1)).toProductDto(mockEntity);
   }
 
+  @DisplayName("Test 8: Las búsquedas idénticas concurrentes comparten una única consulta")
+  @Test
+  void test8_getHighestPriorityProductByFilters_ShouldCoalesceConcurrentIdenticalLookups() throws Exception {
+    // Arrange
+    int callers = 16;
+    ProductEntity mockEntity = ProductEntityMocks.getTest1MockEntities().get(0);
+    ProductDto expectedDto = ProductEntityMocks.createProductDtoFromEntity(mockEntity);
+    CountDownLatch queryStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
+        any(ProductsRowMapper.class)))
+        .thenAnswer(invocation -> {
+          queryStarted.countDown();
+          release.await();
+          return List.of(mockEntity);
+        });
+    when(productsSecMapper.toProductDto(mockEntity))
+        .thenReturn(expectedDto);
+
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      // Act
+      List<Future<Optional<ProductDto>>> futures = new ArrayList<>();
+      futures.add(executor.submit(() -> productsRepository.getHighestPriorityProductByFilters(filterDto)));
+      queryStarted.await(5, TimeUnit.SECONDS);
+      for (int i = 1; i < callers; i++) {
+        ProductFilterDto sameFilter = new ProductFilterDto(filterDto.getApplicationDate(), 35455, 1);
+        futures.add(executor.submit(() -> productsRepository.getHighestPriorityProductByFilters(sameFilter)));
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (productsRepository.coalescedLookupCount() < callers - 1 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      release.countDown();
+
+      // Assert
+      for (Future<Optional<ProductDto>> future : futures) {
+        assertEquals(Optional.of(expectedDto), future.get(5, TimeUnit.SECONDS));
+      }
+      verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class),
+          any(ProductsRowMapper.class));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @DisplayName("Test 9: Un par sin tarifas según el filtro de Bloom no consulta la BD")
+  @Test
+  void test9_getHighestPriorityProductByFilters_ShouldSkipQueryForUnknownPair() throws Exception {
+    // Arrange
+    when(knownPricePairs.mightHavePrices(1, 35455)).thenReturn(false);
+
+    // Act & Assert
+    assertEquals(Optional.empty(), productsRepository.getHighestPriorityProductByFilters(filterDto));
+    assertEquals(Optional.empty(), productsRepository.getEffectivePriceSegmentByFilters(filterDto));
+    verify(namedParameterJdbcTemplate, never()).query(anyString(), any(MapSqlParameterSource.class),
+        any(ProductsRowMapper.class));
+  }
+
 }
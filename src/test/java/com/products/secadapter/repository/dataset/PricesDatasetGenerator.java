@@ -0,0 +1,242 @@
+package com.products.secadapter.repository.dataset;
+
+import com.products.application.model.dto.ProductFilterDto;
+import com.products.secadapter.model.ProductEntity;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Generador de tarifas sintéticas para PRICES a escala de producción (millones de filas).
+ *
+ * <p>Cada (brandId, productId) recibe {@code rowsPerProduct} tarifas repartidas en capas: la tarifa base opcional
+ * cubre todo el horizonte con prioridad 0 y el resto de tarifas se reparten en capas de intervalos disjuntos, por lo
+ * que en ningún instante se solapan más de {@code overlapDepth} tarifas. La duración de cada intervalo está entre
+ * {@code minInterval} y {@code maxInterval}.
+ *
+ * <p>Es reproducible: cada producto usa su propio generador aleatorio derivado de {@code seed} y de su clave, de
+ * modo que un producto genera las mismas filas aunque cambie el número de marcas o productos.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class PricesDatasetGenerator {
+
+  public enum PriorityDistribution {
+    /** Prioridad uniforme entre 1 y maxPriority; produce muchos empates. */
+    UNIFORM,
+    /** La mitad de las tarifas con prioridad 1, una cuarta parte con 2... hasta maxPriority. */
+    GEOMETRIC,
+    /** La prioridad crece con la capa: las promociones más anidadas ganan a las de debajo. */
+    LAYERED
+  }
+
+  private static final String INSERT_PRICE =
+      "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Builder.Default
+  private final long seed = 1L;
+
+  @Builder.Default
+  private final int firstBrandId = 1;
+
+  @Builder.Default
+  private final int brands = 1;
+
+  @Builder.Default
+  private final int firstProductId = 1;
+
+  @Builder.Default
+  private final int productsPerBrand = 1_000;
+
+  @Builder.Default
+  private final int rowsPerProduct = 8;
+
+  @Builder.Default
+  private final LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+  @Builder.Default
+  private final Duration horizon = Duration.ofDays(365);
+
+  @Builder.Default
+  private final Duration minInterval = Duration.ofHours(1);
+
+  @Builder.Default
+  private final Duration maxInterval = Duration.ofDays(30);
+
+  @Builder.Default
+  private final int overlapDepth = 3;
+
+  @Builder.Default
+  private final boolean baseTariff = true;
+
+  @Builder.Default
+  private final int maxPriority = 3;
+
+  @Builder.Default
+  private final PriorityDistribution priorityDistribution = PriorityDistribution.UNIFORM;
+
+  @Builder.Default
+  private final String currency = "EUR";
+
+  @Builder.Default
+  private final int batchSize = 5_000;
+
+  public long rowCount() {
+    return (long) brands * productsPerBrand * rowsPerProduct;
+  }
+
+  public LocalDateTime to() {
+    return from.plus(horizon);
+  }
+
+  /**
+   * Genera todas las filas en orden de (brandId, productId) sin guardarlas en memoria.
+   */
+  public void generate(Consumer<ProductEntity> sink) {
+
+    validate();
+    int priceList = 1;
+    for (int brandId = firstBrandId; brandId < firstBrandId + brands; brandId++) {
+      for (int productId = firstProductId; productId < firstProductId + productsPerBrand; productId++) {
+        for (ProductEntity row : generateProduct(brandId, productId)) {
+          row.setPriceList(priceList++);
+          sink.accept(row);
+        }
+      }
+    }
+
+  }
+
+  public List<ProductEntity> generate() {
+    List<ProductEntity> rows = new ArrayList<>((int) Math.min(rowCount(), Integer.MAX_VALUE));
+    generate(rows::add);
+    return rows;
+  }
+
+  /**
+   * Inserta el dataset en PRICES con inserciones JDBC por lotes de {@code batchSize} filas y devuelve las filas
+   * insertadas.
+   */
+  public long load(JdbcTemplate jdbcTemplate) {
+
+    List<Object[]> batch = new ArrayList<>(batchSize);
+    long[] inserted = {0};
+    generate(row -> {
+      batch.add(new Object[] {row.getBrandId(), Timestamp.valueOf(row.getStartDate()),
+          Timestamp.valueOf(row.getEndDate()), row.getPriceList(), row.getProductId(), row.getPriority(),
+          row.getPrice(), row.getCurrency()});
+      if (batch.size() == batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_PRICE, batch);
+        inserted[0] += batch.size();
+        batch.clear();
+      }
+    });
+    if (!batch.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_PRICE, batch);
+      inserted[0] += batch.size();
+    }
+    return inserted[0];
+
+  }
+
+  /**
+   * Búsquedas aleatorias reproducibles sobre productos existentes y fechas dentro del horizonte.
+   */
+  public List<ProductFilterDto> lookups(int count, long lookupSeed) {
+
+    SplittableRandom random = new SplittableRandom(lookupSeed);
+    long horizonSeconds = horizon.toSeconds();
+    List<ProductFilterDto> lookups = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      lookups.add(new ProductFilterDto(from.plusSeconds(random.nextLong(horizonSeconds)),
+          firstProductId + random.nextInt(productsPerBrand), firstBrandId + random.nextInt(brands)));
+    }
+    return lookups;
+
+  }
+
+  private List<ProductEntity> generateProduct(int brandId, int productId) {
+
+    SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + ((long) brandId << 32) + productId);
+    BigDecimal basePrice = BigDecimal.valueOf(1_000 + random.nextInt(19_000), 2);
+    List<ProductEntity> rows = new ArrayList<>(rowsPerProduct);
+    Set<LocalDateTime> usedStarts = new HashSet<>();
+
+    int promotions = rowsPerProduct;
+    if (baseTariff) {
+      LocalDateTime end = to().minusSeconds(1);
+      rows.add(row(brandId, productId, from, end, 0, basePrice, usedStarts));
+      promotions--;
+    }
+
+    int layers = overlapDepth - (baseTariff ? 1 : 0);
+    for (int layer = 0; layer < layers && promotions > 0; layer++) {
+      int inLayer = promotions / (layers - layer) + (promotions % (layers - layer) > 0 ? 1 : 0);
+      long slotSeconds = horizon.toSeconds() / inLayer;
+      for (int slot = 0; slot < inLayer; slot++) {
+        long maxLength = Math.max(1, Math.min(maxInterval.toSeconds(), slotSeconds));
+        long minLength = Math.min(minInterval.toSeconds(), maxLength);
+        long length = minLength + random.nextLong(maxLength - minLength + 1);
+        long offset = slot * slotSeconds + random.nextLong(slotSeconds - length + 1);
+
+        LocalDateTime start = from.plusSeconds(offset);
+        LocalDateTime end = start.plusSeconds(length - 1);
+        BigDecimal discount = BigDecimal.valueOf(50 + random.nextInt(50), 2);
+        BigDecimal price = basePrice.multiply(discount).setScale(2, RoundingMode.HALF_UP);
+        rows.add(row(brandId, productId, start, end, priority(random, layer), price, usedStarts));
+      }
+      promotions -= inLayer;
+    }
+    return rows;
+
+  }
+
+  private int priority(SplittableRandom random, int layer) {
+    return switch (priorityDistribution) {
+      case UNIFORM -> 1 + random.nextInt(maxPriority);
+      case GEOMETRIC -> Math.min(maxPriority, 1 + Long.numberOfTrailingZeros(random.nextLong() | Long.MIN_VALUE));
+      case LAYERED -> Math.min(maxPriority, layer + 1);
+    };
+  }
+
+  /**
+   * START_DATE forma parte de la clave primaria; si dos tarifas del producto empiezan en el mismo segundo se
+   * desplaza la nueva.
+   */
+  private ProductEntity row(int brandId, int productId, LocalDateTime start, LocalDateTime end, int priority,
+      BigDecimal price, Set<LocalDateTime> usedStarts) {
+
+    LocalDateTime uniqueStart = start;
+    while (!usedStarts.add(uniqueStart)) {
+      uniqueStart = uniqueStart.plusSeconds(1);
+    }
+    LocalDateTime uniqueEnd = end.isBefore(uniqueStart) ? uniqueStart : end;
+    return new ProductEntity(brandId, uniqueStart, uniqueEnd, null, productId, priority, price, currency);
+
+  }
+
+  private void validate() {
+    if (brands < 1 || productsPerBrand < 1 || rowsPerProduct < 1 || maxPriority < 1 || batchSize < 1) {
+      throw new IllegalArgumentException("brands, productsPerBrand, rowsPerProduct, maxPriority y batchSize > 0");
+    }
+    if (rowsPerProduct > (baseTariff ? 1 : 0) && overlapDepth <= (baseTariff ? 1 : 0)) {
+      throw new IllegalArgumentException("overlapDepth no deja capas para las tarifas promocionales");
+    }
+    if (minInterval.compareTo(maxInterval) > 0 || horizon.toSeconds() < rowsPerProduct) {
+      throw new IllegalArgumentException("Intervalos u horizonte incompatibles con rowsPerProduct");
+    }
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.products.secadapter.repository.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.secadapter.model.ProductEntity;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PricesDatasetGeneratorTest {
+
+  @DisplayName("Test 1: La misma semilla genera exactamente las mismas filas")
+  @Test
+  void test1_generate_ShouldBeReproducibleFromSeed() {
+    // Arrange
+    PricesDatasetGenerator generator = PricesDatasetGenerator.builder().seed(42).brands(2).productsPerBrand(20)
+        .build();
+
+    // Act
+    List<ProductEntity> first = generator.generate();
+    List<ProductEntity> second = generator.generate();
+    List<ProductEntity> otherSeed = generator.toBuilder().seed(43).build().generate();
+
+    // Assert
+    assertEquals(first, second);
+    assertNotEquals(first, otherSeed);
+  }
+
+  @DisplayName("Test 2: Genera rowsPerProduct filas por producto dentro del horizonte y sin claves repetidas")
+  @Test
+  void test2_generate_ShouldRespectRowCountHorizonAndPrimaryKey() {
+    // Arrange
+    PricesDatasetGenerator generator = PricesDatasetGenerator.builder().brands(3).productsPerBrand(50)
+        .rowsPerProduct(12).overlapDepth(4).build();
+
+    // Act
+    List<ProductEntity> rows = generator.generate();
+
+    // Assert
+    assertEquals(generator.rowCount(), rows.size());
+    Set<String> primaryKeys = new HashSet<>();
+    for (ProductEntity row : rows) {
+      assertTrue(primaryKeys.add(row.getBrandId() + "/" + row.getProductId() + "/" + row.getStartDate()));
+      assertFalse(row.getEndDate().isBefore(row.getStartDate()));
+      assertFalse(row.getStartDate().isBefore(generator.getFrom()));
+      assertTrue(row.getEndDate().isBefore(generator.to()));
+    }
+  }
+
+  @DisplayName("Test 3: En ningún instante se solapan más tarifas que overlapDepth")
+  @Test
+  void test3_generate_ShouldNotExceedOverlapDepth() {
+    // Arrange
+    PricesDatasetGenerator generator = PricesDatasetGenerator.builder().productsPerBrand(30).rowsPerProduct(25)
+        .overlapDepth(5).minInterval(Duration.ofDays(1)).maxInterval(Duration.ofDays(60)).build();
+
+    // Act
+    Map<Integer, List<ProductEntity>> byProduct = generator.generate().stream()
+        .collect(Collectors.groupingBy(ProductEntity::getProductId));
+
+    // Assert
+    int deepest = 0;
+    for (List<ProductEntity> rows : byProduct.values()) {
+      for (LocalDateTime instant : starts(rows)) {
+        long active = rows.stream()
+            .filter(row -> !instant.isBefore(row.getStartDate()) && !instant.isAfter(row.getEndDate()))
+            .count();
+        deepest = Math.max(deepest, (int) active);
+      }
+    }
+    assertTrue(deepest <= 5, "Solapamiento máximo " + deepest);
+    assertTrue(deepest >= 2, "Debería haber tarifas solapadas");
+  }
+
+  @DisplayName("Test 4: Debe rechazar configuraciones sin capas para las promociones")
+  @Test
+  void test4_generate_ShouldRejectInvalidConfiguration() {
+    PricesDatasetGenerator generator = PricesDatasetGenerator.builder().overlapDepth(1).build();
+
+    assertThrows(IllegalArgumentException.class, generator::generate);
+  }
+
+  private static List<LocalDateTime> starts(List<ProductEntity> rows) {
+    List<LocalDateTime> starts = new ArrayList<>();
+    rows.forEach(row -> starts.add(row.getStartDate()));
+    return starts;
+  }
+
+}
@@ -111,6 +111,30 @@ public class ProductEntityMocks {
     return entities;
   }
 
+  /**
+   * Retorna las 4 tarifas de data.sql
+   */
+  public static List<ProductEntity> getAllPricesMockEntities() {
+    List<ProductEntity> entities = new ArrayList<>();
+    entities.add(createProductEntity(1, 35455, 1,
+        LocalDateTime.of(2020, 6, 14, 0, 0),
+        LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+        new BigDecimal("35.50"), 0));
+    entities.add(createProductEntity(1, 35455, 2,
+        LocalDateTime.of(2020, 6, 14, 15, 0),
+        LocalDateTime.of(2020, 6, 14, 18, 30),
+        new BigDecimal("25.45"), 1));
+    entities.add(createProductEntity(1, 35455, 3,
+        LocalDateTime.of(2020, 6, 15, 0, 0),
+        LocalDateTime.of(2020, 6, 15, 11, 0),
+        new BigDecimal("30.50"), 1));
+    entities.add(createProductEntity(1, 35455, 4,
+        LocalDateTime.of(2020, 6, 15, 16, 0),
+        LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+        new BigDecimal("38.95"), 1));
+    return entities;
+  }
+
   /**
    * Retorna lista vacía de entidades
    */